@@ -21,6 +21,7 @@ import com.google.inject.assistedinject.FactoryModuleBuilder;
 import com.google.inject.multibindings.MapBinder;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.HashMap;
 import java.util.Map;
 import javax.sql.DataSource;
@@ -42,6 +43,7 @@ import org.eclipse.che.api.user.server.jpa.JpaPreferenceDao;
 import org.eclipse.che.api.user.server.jpa.JpaUserDao;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.api.workspace.server.RuntimeRecoveryPrioritizer;
 import org.eclipse.che.api.workspace.server.WorkspaceEntityProvider;
 import org.eclipse.che.api.workspace.server.WorkspaceLockService;
 import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
@@ -77,6 +79,7 @@ import org.eclipse.che.multiuser.api.authentication.commons.token.RequestTokenEx
 import org.eclipse.che.multiuser.api.permission.server.AdminPermissionInitializer;
 import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
 import org.eclipse.che.multiuser.api.permission.server.PermissionCheckerImpl;
+import org.eclipse.che.multiuser.api.permission.server.PermissionCheckerMeterBinder;
 import org.eclipse.che.multiuser.api.workspace.activity.MultiUserWorkspaceActivityModule;
 import org.eclipse.che.multiuser.keycloak.server.deploy.KeycloakModule;
 import org.eclipse.che.multiuser.machine.authentication.server.MachineAuthModule;
@@ -174,6 +177,10 @@ public class WsMasterModule extends AbstractModule {
     legacyEnvVarProviderMultibinders.addBinding().to(MavenOptsEnvVariableProvider.class);
 
     legacyEnvVarProviderMultibinders.addBinding().to(AgentAuthEnableEnvVarProvider.class);
+
+    Multibinder.newSetBinder(binder(), RuntimeRecoveryPrioritizer.class)
+        .addBinding()
+        .to(org.eclipse.che.api.workspace.server.WorkspaceSubscriptionsRecoveryPrioritizer.class);
     bind(org.eclipse.che.api.workspace.server.event.WorkspaceJsonRpcMessenger.class)
         .asEagerSingleton();
     bind(org.eclipse.che.everrest.EverrestDownloadFileResponseFilter.class);
@@ -257,6 +264,11 @@ public class WsMasterModule extends AbstractModule {
     if (Boolean.valueOf(System.getenv("CHE_METRICS_ENABLED"))) {
       install(new org.eclipse.che.core.metrics.MetricsModule());
       install(new WsMasterMetricsModule());
+      if (Boolean.valueOf(System.getenv("CHE_MULTIUSER"))) {
+        Multibinder.newSetBinder(binder(), MeterBinder.class)
+            .addBinding()
+            .to(PermissionCheckerMeterBinder.class);
+      }
     } else {
       install(new org.eclipse.che.core.metrics.NoopMetricsModule());
     }
@@ -51,6 +51,7 @@ public class RequestHandlerManager {
   private final Multimap<String, JsonRpcMethodInvokerFilter> filters = ArrayListMultimap.create();
 
   private final Map<String, Category> methodToCategory = new ConcurrentHashMap<>();
+  private final Map<String, Class<?>> paramsTypes = new ConcurrentHashMap<>();
   private final Map<String, OneToOneHandler> oneToOneHandlers = new ConcurrentHashMap<>();
   private final Map<String, OneToPromiseOneHandler> oneToPromiseOneHandlers =
       new ConcurrentHashMap<>();
@@ -82,6 +83,7 @@ public class RequestHandlerManager {
     mustNotBeRegistered(method);
 
     methodToCategory.put(method, Category.ONE_TO_ONE);
+    paramsTypes.put(method, pClass);
     oneToOneHandlers.put(method, new OneToOneHandler<>(pClass, rClass, biFunction));
   }
 
@@ -99,6 +101,7 @@ public class RequestHandlerManager {
       BiFunction<String, P, JsonRpcPromise<R>> function) {
     mustNotBeRegistered(method);
     methodToCategory.put(method, Category.ONE_TO_PROMISE_ONE);
+    paramsTypes.put(method, pClass);
     oneToPromiseOneHandlers.put(method, new OneToPromiseOneHandler<>(pClass, rClass, function));
   }
 
@@ -107,6 +110,7 @@ public class RequestHandlerManager {
     mustNotBeRegistered(method);
 
     methodToCategory.put(method, Category.ONE_TO_MANY);
+    paramsTypes.put(method, pClass);
     oneToManyHandlers.put(method, new OneToManyHandler<>(pClass, rClass, biFunction));
   }
 
@@ -115,6 +119,7 @@ public class RequestHandlerManager {
     mustNotBeRegistered(method);
 
     methodToCategory.put(method, Category.ONE_TO_NONE);
+    paramsTypes.put(method, pClass);
     oneToNoneHandlers.put(method, new OneToNoneHandler<>(pClass, biConsumer));
   }
 
@@ -123,6 +128,7 @@ public class RequestHandlerManager {
     mustNotBeRegistered(method);
 
     methodToCategory.put(method, Category.MANY_TO_ONE);
+    paramsTypes.put(method, pClass);
     manyToOneHandlers.put(method, new ManyToOneHandler<>(pClass, rClass, biFunction));
   }
 
@@ -134,6 +140,7 @@ public class RequestHandlerManager {
     mustNotBeRegistered(method);
 
     methodToCategory.put(method, Category.MANY_TO_MANY);
+    paramsTypes.put(method, pClass);
     manyToManyHandlers.put(method, new ManyToManyHandler<>(pClass, rClass, function));
   }
 
@@ -142,6 +149,7 @@ public class RequestHandlerManager {
     mustNotBeRegistered(method);
 
     methodToCategory.put(method, Category.MANY_TO_NONE);
+    paramsTypes.put(method, pClass);
     manyToNoneHandlers.put(method, new ManyToNoneHandler<>(pClass, biConsumer));
   }
 
@@ -172,8 +180,17 @@ public class RequestHandlerManager {
     return methodToCategory.containsKey(method);
   }
 
+  /**
+   * Returns the type of params (or of each element of params list) expected by the handler of the
+   * given method, or null if the method is not registered or its handler doesn't expect params.
+   */
+  public Class<?> getParamsType(String method) {
+    return paramsTypes.get(method);
+  }
+
   public synchronized boolean deregister(String method) {
     Category category = methodToCategory.remove(method);
+    paramsTypes.remove(method);
 
     if (category == null) {
       return false;
@@ -15,26 +15,28 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-import com.google.inject.Inject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Singleton;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.StringReader;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcQualifier;
 import org.slf4j.Logger;
 
+/**
+ * Gson based implementation of {@link JsonRpcQualifier}.
+ *
+ * <p>Messages are scanned with a streaming {@link JsonReader} without building a JSON tree, since
+ * the same message is qualified several times before it is unmarshalled.
+ */
 @Singleton
 public class GsonJsonRpcQualifier implements JsonRpcQualifier {
   private static final Logger LOGGER = getLogger(GsonJsonRpcQualifier.class);
 
-  private final JsonParser jsonParser;
-
-  @Inject
-  public GsonJsonRpcQualifier(JsonParser jsonParser) {
-    this.jsonParser = jsonParser;
-  }
+  private static final int METHOD = 1;
+  private static final int RESULT = 1 << 1;
+  private static final int ERROR = 1 << 2;
 
   @Override
   public boolean isValidJson(String message) {
@@ -43,12 +45,16 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
 
     LOGGER.debug("Validating message: {}", message);
 
-    try {
-      jsonParser.parse(message);
+    try (JsonReader reader = newReader(message)) {
+      reader.skipValue();
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        LOGGER.debug("Validation failed: message contains more than one JSON value");
+        return false;
+      }
 
       LOGGER.debug("Validation successful");
       return true;
-    } catch (JsonParseException e) {
+    } catch (IOException | IllegalStateException e) {
       LOGGER.debug("Validation failed: {}", e.getMessage(), e);
       return false;
     }
@@ -60,12 +66,7 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
     checkArgument(!message.isEmpty(), "Message must not be empty");
     LOGGER.debug("Qualifying message: " + message);
 
-    JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-    LOGGER.debug(
-        "Json keys: "
-            + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
-
-    if (jsonObject.has("method")) {
+    if ((findMembers(message) & METHOD) != 0) {
       LOGGER.debug("Qualified to request");
       return true;
     } else {
@@ -80,15 +81,44 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
     checkArgument(!message.isEmpty(), "Message must not be empty");
     LOGGER.debug("Qualifying message: " + message);
 
-    JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-    LOGGER.debug(
-        "Json keys: "
-            + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
-
-    if (jsonObject.has("error") != jsonObject.has("result")) {
+    int members = findMembers(message);
+    if (((members & ERROR) != 0) != ((members & RESULT) != 0)) {
       LOGGER.debug("Qualified to response");
       return true;
     }
     return false;
   }
+
+  /** Returns a bit mask of JSON-RPC members present in the given JSON object. */
+  private static int findMembers(String message) {
+    try (JsonReader reader = newReader(message)) {
+      int members = 0;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "method":
+            members |= METHOD;
+            break;
+          case "result":
+            members |= RESULT;
+            break;
+          case "error":
+            members |= ERROR;
+            break;
+          default:
+            // not a member that qualifies the message
+        }
+        reader.skipValue();
+      }
+      return members;
+    } catch (IOException e) {
+      throw new JsonParseException(e);
+    }
+  }
+
+  private static JsonReader newReader(String message) {
+    JsonReader reader = new JsonReader(new StringReader(message));
+    reader.setLenient(true);
+    return reader;
+  }
 }
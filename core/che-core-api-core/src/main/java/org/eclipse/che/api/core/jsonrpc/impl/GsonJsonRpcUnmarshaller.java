@@ -18,31 +18,58 @@ import static java.util.Collections.singletonList;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUnmarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerManager;
+import org.eclipse.che.dto.server.DtoFactory;
 
+/**
+ * Gson based implementation of {@link JsonRpcUnmarshaller}.
+ *
+ * <p>Requests are read with a streaming {@link JsonReader}, params of the methods whose handlers
+ * expect DTOs are bound to the DTOs right away, without building an intermediate JSON tree, if the
+ * method precedes params in the request. Batches are split into messages without being parsed.
+ * Requests that can't be parsed are reported with {@link JsonRpcException}.
+ */
 @Singleton
 public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
+  private static final int PARSE_ERROR = -32700;
+  private static final int INVALID_REQUEST = -32600;
+
   private final JsonParser jsonParser;
+  private final RequestHandlerManager requestHandlerManager;
 
   @Inject
-  public GsonJsonRpcUnmarshaller(JsonParser jsonParser) {
+  public GsonJsonRpcUnmarshaller(
+      JsonParser jsonParser, RequestHandlerManager requestHandlerManager) {
     this.jsonParser = jsonParser;
+    this.requestHandlerManager = requestHandlerManager;
   }
 
   @Override
   public List<String> unmarshalArray(String message) {
-    return getArray(message, jsonParser.parse(message).isJsonArray());
+    int start = firstNonWhitespace(message);
+    if (start == -1 || message.charAt(start) != '[') {
+      return singletonList(message);
+    }
+    return splitArray(message, start);
   }
 
   @Override
@@ -50,13 +77,48 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject request = jsonParser.parse(message).getAsJsonObject();
+    try (JsonReader reader = new JsonReader(new StringReader(message))) {
+      // messages are validated by the lenient qualifier, so they are read the same way
+      reader.setLenient(true);
+      String method = null;
+      String id = null;
+      JsonRpcParams params = null;
+      JsonElement paramsElement = null;
 
-    String method = getMethod(request);
-    String id = getId(request);
-    JsonRpcParams params = getParams(request);
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "method":
+            method = reader.nextString();
+            break;
+          case "id":
+            id = readId(reader);
+            break;
+          case "params":
+            if (method != null) {
+              params = readParams(reader, requestHandlerManager.getParamsType(method));
+            } else {
+              // the type of params is not known yet, so they are bound later by the composer
+              paramsElement = jsonParser.parse(reader);
+            }
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
 
-    return new JsonRpcRequest(id, method, params);
+      if (method == null) {
+        throw new JsonRpcException(INVALID_REQUEST, "Request method is not specified");
+      }
+      if (paramsElement != null) {
+        params = getParams(paramsElement, requestHandlerManager.getParamsType(method));
+      }
+      return new JsonRpcRequest(id, method, params);
+    } catch (IOException | IllegalStateException | JsonParseException e) {
+      throw new JsonRpcException(
+          PARSE_ERROR, "Unable to parse JSON RPC request: " + e.getMessage());
+    }
   }
 
   @Override
@@ -88,9 +150,10 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
       return null;
     }
 
+    // the type of the result is not known, numeric results are composed as doubles
     JsonElement jsonElement = response.get("result");
     if (!jsonElement.isJsonArray()) {
-      return new JsonRpcResult(getInnerItem(jsonElement));
+      return new JsonRpcResult(getInnerItem(jsonElement, Double.class));
     }
 
     JsonArray jsonArray = jsonElement.getAsJsonArray();
@@ -98,20 +161,15 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     List<Object> innerResults = new ArrayList<>(size);
     for (int i = 0; i < size; i++) {
       JsonElement innerJsonElement = jsonArray.get(i);
-      innerResults.add(getInnerItem(innerJsonElement));
+      innerResults.add(getInnerItem(innerJsonElement, Double.class));
     }
 
     return new JsonRpcResult(innerResults);
   }
 
-  private JsonRpcParams getParams(JsonObject jsonObject) {
-    if (!jsonObject.has("params")) {
-      return null;
-    }
-
-    JsonElement jsonElement = jsonObject.get("params");
+  private JsonRpcParams getParams(JsonElement jsonElement, Class<?> type) {
     if (!jsonElement.isJsonArray()) {
-      return new JsonRpcParams(getInnerItem(jsonElement));
+      return new JsonRpcParams(getInnerItem(jsonElement, type));
     }
 
     JsonArray jsonArray = jsonElement.getAsJsonArray();
@@ -119,36 +177,157 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     List<Object> innerParameters = new ArrayList<>(size);
     for (int i = 0; i < size; i++) {
       JsonElement innerJsonElement = jsonArray.get(i);
-      innerParameters.add(getInnerItem(innerJsonElement));
+      innerParameters.add(getInnerItem(innerJsonElement, type));
     }
 
     return new JsonRpcParams(innerParameters);
   }
 
+  private JsonRpcParams readParams(JsonReader reader, Class<?> type) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+      return new JsonRpcParams(readParam(reader, type));
+    }
+
+    List<Object> innerParameters = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      innerParameters.add(readParam(reader, type));
+    }
+    reader.endArray();
+    return new JsonRpcParams(innerParameters);
+  }
+
+  /**
+   * Reads a single param, objects are bound to the DTO of the given type if it is known, otherwise
+   * they are read as {@link JsonObject} the same way as results of responses.
+   */
+  private Object readParam(JsonReader reader, Class<?> type) throws IOException {
+    switch (reader.peek()) {
+      case NULL:
+        reader.nextNull();
+        return null;
+      case BEGIN_OBJECT:
+        DtoFactory dtoFactory = DtoFactory.getInstance();
+        if (type != null && dtoFactory.hasProvider(type)) {
+          return dtoFactory.getGson().fromJson(reader, type);
+        }
+        return jsonParser.parse(reader);
+      case NUMBER:
+        // the literal is read as is, so it is converted without losing precision
+        return toNumber(reader.nextString(), type);
+      case STRING:
+        return reader.nextString();
+      case BOOLEAN:
+        return reader.nextBoolean();
+      default:
+        throw new IllegalStateException("Unexpected json element type");
+    }
+  }
+
+  private String readId(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    return reader.nextString();
+  }
+
   private String getId(JsonObject jsonObject) {
     return jsonObject.has("id") ? jsonObject.get("id").getAsString() : null;
   }
 
-  private String getMethod(JsonObject jsonObject) {
-    return jsonObject.get("method").getAsString();
+  /**
+   * Splits the batch message that starts at the given position into the messages it consists of.
+   * The message is expected to be a valid JSON array, strings may be single-quoted as the lenient
+   * parser of the messages accepts them.
+   */
+  private List<String> splitArray(String message, int start) {
+    List<String> messages = new ArrayList<>();
+    int depth = 0;
+    int elementStart = -1;
+    // quote of the string which is being read, or 0 if none
+    char quote = 0;
+    for (int i = start + 1; i < message.length(); i++) {
+      char c = message.charAt(i);
+      if (quote != 0) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+        continue;
+      }
+      switch (c) {
+        case '"':
+        case '\'':
+          quote = c;
+          elementStart = elementStart == -1 ? i : elementStart;
+          break;
+        case '{':
+        case '[':
+          depth++;
+          elementStart = elementStart == -1 ? i : elementStart;
+          break;
+        case '}':
+        case ']':
+          if (depth == 0) {
+            addElement(messages, message, elementStart, i);
+            return messages;
+          }
+          depth--;
+          break;
+        case ',':
+          if (depth == 0) {
+            addElement(messages, message, elementStart, i);
+            elementStart = -1;
+          }
+          break;
+        default:
+          if (elementStart == -1 && !Character.isWhitespace(c)) {
+            elementStart = i;
+          }
+      }
+    }
+    throw new IllegalArgumentException("Batch message is not a valid JSON array");
   }
 
-  private List<String> getArray(String message, boolean isArray) {
-    if (!isArray) {
-      return singletonList(message);
+  private static void addElement(List<String> messages, String message, int start, int end) {
+    if (start != -1) {
+      messages.add(message.substring(start, end).trim());
     }
+  }
 
-    JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
-    int size = jsonArray.size();
-    List<String> result = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement jsonElement = jsonArray.get(i);
-      result.add(jsonElement.toString());
+  private static int firstNonWhitespace(String message) {
+    for (int i = 0; i < message.length(); i++) {
+      if (!Character.isWhitespace(message.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Converts the number literal to the value of the given type. Numbers are converted to doubles
+   * for the handlers that expect them, otherwise integral values are kept as longs and the other
+   * ones as big decimals.
+   */
+  private static Number toNumber(String literal, Class<?> type) {
+    if (Double.class.equals(type)) {
+      return Double.valueOf(literal);
+    }
+    try {
+      return Long.valueOf(literal);
+    } catch (NumberFormatException notLong) {
+      try {
+        return new BigDecimal(literal);
+      } catch (NumberFormatException notDecimal) {
+        // NaN or infinity accepted by the lenient parser
+        return Double.valueOf(literal);
+      }
     }
-    return result;
   }
 
-  private Object getInnerItem(JsonElement jsonElement) {
+  private Object getInnerItem(JsonElement jsonElement, Class<?> type) {
     if (jsonElement.isJsonNull()) {
       return null;
     }
@@ -160,7 +339,7 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     if (jsonElement.isJsonPrimitive()) {
       JsonPrimitive jsonPrimitive = jsonElement.getAsJsonPrimitive();
       if (jsonPrimitive.isNumber()) {
-        return jsonPrimitive.getAsDouble();
+        return toNumber(jsonPrimitive.getAsString(), type);
       } else if (jsonPrimitive.isString()) {
         return jsonPrimitive.getAsString();
       } else {
@@ -28,25 +28,46 @@ public class InmemoryRemoteSubscriptionStorage implements RemoteSubscriptionStor
 
   private final Map<String, Set<RemoteSubscriptionContext>> subscriptions =
       new ConcurrentHashMap<>();
+  private final RemoteSubscriptionScopeIndex scopeIndex = new RemoteSubscriptionScopeIndex();
 
   @Override
   public Set<RemoteSubscriptionContext> getByMethod(String method) {
     return subscriptions.getOrDefault(method, Collections.emptySet());
   }
 
+  @Override
+  public Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return scopeIndex.get(method, scopeKey, scopeValue);
+  }
+
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
     subscriptions
         .computeIfAbsent(method, k -> ConcurrentHashMap.newKeySet(1))
         .add(remoteSubscriptionContext);
+    scopeIndex.add(method, remoteSubscriptionContext);
   }
 
   @Override
   public void removeSubscription(String method, String endpointId) {
-    subscriptions
-        .getOrDefault(method, Collections.emptySet())
-        .removeIf(
-            remoteSubscriptionContext ->
-                Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId));
+    removeSubscription(
+        method, subscriptions.getOrDefault(method, Collections.emptySet()), endpointId);
+  }
+
+  @Override
+  public void removeSubscriptions(String endpointId) {
+    for (Map.Entry<String, Set<RemoteSubscriptionContext>> entry : subscriptions.entrySet()) {
+      removeSubscription(entry.getKey(), entry.getValue(), endpointId);
+    }
+  }
+
+  private void removeSubscription(
+      String method, Set<RemoteSubscriptionContext> contexts, String endpointId) {
+    for (RemoteSubscriptionContext context : contexts) {
+      if (Objects.equals(context.getEndpointId(), endpointId) && contexts.remove(context)) {
+        scopeIndex.remove(method, context);
+      }
+    }
   }
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Receives measurements of events delivery performed by {@link RemoteSubscriptionManager}, e.g. to
+ * expose them as metrics.
+ */
+public interface RemoteSubscriptionFanOutListener {
+
+  /**
+   * Called each time an event was delivered to the subscribers of the method.
+   *
+   * @param method method the event was delivered to the subscribers of
+   * @param recipients number of endpoints the event was transmitted to
+   * @param durationNanos time spent on selecting subscribers, serializing and transmitting the
+   *     event
+   */
+  void onFanOut(String method, int recipients, long durationNanos);
+}
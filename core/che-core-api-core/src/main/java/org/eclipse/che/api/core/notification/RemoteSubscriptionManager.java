@@ -11,14 +11,32 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Collections.emptySet;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.MESSAGE_TTL_MILLIS;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
-import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.dto.EventSubscription;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 
+/**
+ * Manages subscriptions of remote endpoints to events and transmits the events to them.
+ *
+ * <p>Subscriptions of an endpoint are kept while it reconnects, they are removed once the endpoint
+ * doesn't reconnect within the time its messages are kept to be re-sent by {@link
+ * MessagesReSender}.
+ */
 @Singleton
 public class RemoteSubscriptionManager {
 
@@ -26,17 +44,30 @@ public class RemoteSubscriptionManager {
   public static final String UNSUBSCRIBE_JSON_RPC_METHOD = "unSubscribe";
 
   private final EventService eventService;
-  private final RequestTransmitter requestTransmitter;
+  private final JsonRpcMarshaller marshaller;
+  private final WebSocketMessageTransmitter transmitter;
   private final RemoteSubscriptionStorage remoteSubscriptionStorage;
+  private final WebSocketSessionRegistry sessionRegistry;
+
+  private RemoteSubscriptionFanOutListener fanOutListener;
 
   @Inject
   public RemoteSubscriptionManager(
       EventService eventService,
-      RequestTransmitter requestTransmitter,
-      RemoteSubscriptionStorage remoteSubscriptionStorage) {
+      JsonRpcMarshaller marshaller,
+      WebSocketMessageTransmitter transmitter,
+      RemoteSubscriptionStorage remoteSubscriptionStorage,
+      WebSocketSessionRegistry sessionRegistry) {
     this.eventService = eventService;
-    this.requestTransmitter = requestTransmitter;
+    this.marshaller = marshaller;
+    this.transmitter = transmitter;
     this.remoteSubscriptionStorage = remoteSubscriptionStorage;
+    this.sessionRegistry = sessionRegistry;
+  }
+
+  @Inject(optional = true)
+  void setFanOutListener(RemoteSubscriptionFanOutListener fanOutListener) {
+    this.fanOutListener = fanOutListener;
   }
 
   @Inject
@@ -56,18 +87,67 @@ public class RemoteSubscriptionManager {
         .withBiConsumer(this::consumeUnSubscriptionRequest);
   }
 
+  /**
+   * Transmits events of the given type to the subscribers of the method whose scope satisfies the
+   * given predicate. The predicate is tested against all the subscriptions of the method, so {@link
+   * #register(String, Class, String, Function, BiPredicate)} should be preferred when subscribers
+   * are selected by a scope value.
+   */
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
     eventService.subscribe(
-        event ->
-            remoteSubscriptionStorage
-                .getByMethod(method)
-                .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
-                .forEach(context -> transmit(context.getEndpointId(), method, event)),
+        event -> fanOut(method, event, remoteSubscriptionStorage.getByMethod(method), biPredicate),
         eventType);
   }
 
+  /**
+   * Transmits events of the given type to the subscribers of the method whose scope maps the given
+   * key to the value extracted from the event, and satisfies the given predicate. Subscriptions are
+   * looked up by the scope value, so the predicate is tested only against them.
+   *
+   * @param method method to transmit events to the subscribers of
+   * @param eventType type of events to transmit
+   * @param scopeKey key of the scope entry subscribers are selected by, e.g. workspaceId
+   * @param scopeValueExtractor extracts the expected scope value from the event, events for which
+   *     it returns null are not transmitted
+   * @param biPredicate additional check of the event and subscriber scope
+   */
+  public <T> void register(
+      String method,
+      Class<T> eventType,
+      String scopeKey,
+      Function<T, String> scopeValueExtractor,
+      BiPredicate<T, Map<String, String>> biPredicate) {
+    eventService.subscribe(
+        event -> {
+          String scopeValue = scopeValueExtractor.apply(event);
+          Set<RemoteSubscriptionContext> subscriptions =
+              scopeValue == null
+                  ? emptySet()
+                  : remoteSubscriptionStorage.getByScope(method, scopeKey, scopeValue);
+          fanOut(method, event, subscriptions, biPredicate);
+        },
+        eventType);
+  }
+
+  /**
+   * Removes all the subscriptions of the given endpoint, e.g. when the endpoint is not going to
+   * reconnect.
+   *
+   * @param endpointId id of endpoint which subscriptions should be removed
+   */
+  public void unsubscribe(String endpointId) {
+    remoteSubscriptionStorage.removeSubscriptions(endpointId);
+  }
+
+  /** Removes subscriptions of the endpoints which did not reconnect in time. */
+  @ScheduleDelay(initialDelay = 60, delay = 60)
+  void removeSubscriptionsOfDisconnectedEndpoints() {
+    for (String endpointId : sessionRegistry.pollDisconnected(MESSAGE_TTL_MILLIS)) {
+      unsubscribe(endpointId);
+    }
+  }
+
   private void consumeSubscriptionRequest(String endpointId, EventSubscription eventSubscription) {
     remoteSubscriptionStorage.addSubscription(
         eventSubscription.getMethod(),
@@ -79,12 +159,26 @@ public class RemoteSubscriptionManager {
     remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
   }
 
-  private <T> void transmit(String endpointId, String method, T event) {
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpointId)
-        .methodName(method)
-        .paramsAsDto(event)
-        .sendAndSkipResult();
+  /** Serializes the event once and transmits it to each subscriber accepted by the predicate. */
+  private <T> void fanOut(
+      String method,
+      T event,
+      Set<RemoteSubscriptionContext> subscriptions,
+      BiPredicate<T, Map<String, String>> biPredicate) {
+    long start = System.nanoTime();
+    String message = null;
+    int recipients = 0;
+    for (RemoteSubscriptionContext context : subscriptions) {
+      if (biPredicate.test(event, context.getScope())) {
+        if (message == null) {
+          message = marshaller.marshall(new JsonRpcRequest(null, method, new JsonRpcParams(event)));
+        }
+        transmitter.transmit(context.getEndpointId(), message);
+        recipients++;
+      }
+    }
+    if (fanOutListener != null) {
+      fanOutListener.onFanOut(method, recipients, System.nanoTime() - start);
+    }
   }
 }
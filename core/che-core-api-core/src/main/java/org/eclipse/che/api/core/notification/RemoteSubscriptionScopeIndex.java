@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Collections.emptySet;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of remote subscriptions by the entries of their scopes, used by {@link
+ * RemoteSubscriptionStorage} implementations to find subscriptions of a method with the given scope
+ * value without checking all the subscriptions of the method.
+ */
+public class RemoteSubscriptionScopeIndex {
+
+  /** Method -> scope entry -> subscriptions. */
+  private final Map<String, Map<String, Set<RemoteSubscriptionContext>>> index =
+      new ConcurrentHashMap<>();
+
+  /** Indexes the given subscription to the method by each entry of its scope. */
+  public void add(String method, RemoteSubscriptionContext context) {
+    Map<String, String> scope = context.getScope();
+    if (scope == null || scope.isEmpty()) {
+      return;
+    }
+    Map<String, Set<RemoteSubscriptionContext>> methodIndex =
+        index.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+    for (Map.Entry<String, String> entry : scope.entrySet()) {
+      methodIndex
+          .computeIfAbsent(
+              toEntryKey(entry.getKey(), entry.getValue()), e -> ConcurrentHashMap.newKeySet())
+          .add(context);
+    }
+  }
+
+  /** Removes the given subscription to the method from the index. */
+  public void remove(String method, RemoteSubscriptionContext context) {
+    Map<String, String> scope = context.getScope();
+    Map<String, Set<RemoteSubscriptionContext>> methodIndex = index.get(method);
+    if (scope == null || methodIndex == null) {
+      return;
+    }
+    for (Map.Entry<String, String> entry : scope.entrySet()) {
+      methodIndex.computeIfPresent(
+          toEntryKey(entry.getKey(), entry.getValue()),
+          (e, contexts) -> {
+            contexts.remove(context);
+            return contexts.isEmpty() ? null : contexts;
+          });
+    }
+  }
+
+  /**
+   * Returns a copy of subscriptions to the given method whose scope maps the given key to the given
+   * value.
+   */
+  public Set<RemoteSubscriptionContext> get(String method, String scopeKey, String scopeValue) {
+    Map<String, Set<RemoteSubscriptionContext>> methodIndex = index.get(method);
+    if (methodIndex == null) {
+      return emptySet();
+    }
+    Set<RemoteSubscriptionContext> contexts = methodIndex.get(toEntryKey(scopeKey, scopeValue));
+    return contexts == null ? emptySet() : new HashSet<>(contexts);
+  }
+
+  /** Removes all the subscriptions from the index. */
+  public void clear() {
+    index.clear();
+  }
+
+  private static String toEntryKey(String key, String value) {
+    return key + '\n' + value;
+  }
+}
@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.stream.Collectors.toSet;
+
 import java.util.Set;
 
 /**
@@ -29,6 +31,26 @@ public interface RemoteSubscriptionStorage {
    */
   Set<RemoteSubscriptionContext> getByMethod(String method);
 
+  /**
+   * Returns active subscriptions for the given method whose scope maps the given key to the given
+   * value. Implementations are expected to index subscriptions by scope entries, default
+   * implementation filters all the subscriptions of the method.
+   *
+   * @param method Method name
+   * @param scopeKey key of the scope entry, e.g. workspaceId
+   * @param scopeValue expected value of the scope entry
+   * @return active subscriptions to this method with matching scope
+   */
+  default Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return getByMethod(method)
+        .stream()
+        .filter(
+            context ->
+                context.getScope() != null && scopeValue.equals(context.getScope().get(scopeKey)))
+        .collect(toSet());
+  }
+
   /**
    * Adds new subscription to the given method subscriptions list
    *
@@ -44,4 +66,11 @@ public interface RemoteSubscriptionStorage {
    * @param endpointId id of endpoint to remove
    */
   void removeSubscription(String method, String endpointId);
+
+  /**
+   * Removes all the subscriptions of the given endpoint.
+   *
+   * @param endpointId id of endpoint to remove
+   */
+  void removeSubscriptions(String endpointId);
 }
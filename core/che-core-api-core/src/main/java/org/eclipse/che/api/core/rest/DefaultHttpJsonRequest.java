@@ -25,6 +25,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.HttpHeaders;
@@ -164,6 +165,40 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     return doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue, headers);
   }
 
+  @Override
+  public CompletableFuture<HttpJsonResponse> requestAsync() {
+    if (method == null) {
+      throw new IllegalStateException("Could not perform request, request method wasn't set");
+    }
+    return doRequestAsync(
+        timeout, url, method, body, queryParams, authorizationHeaderValue, headers);
+  }
+
+  /**
+   * Makes this request asynchronously, parameters are the same as of {@link #doRequest(int, String,
+   * String, Object, List, String, List)}.
+   *
+   * <p>This implementation makes the request in the calling thread, so the returned future is
+   * already completed.
+   */
+  protected CompletableFuture<HttpJsonResponse> doRequestAsync(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers) {
+    final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+    try {
+      future.complete(
+          doRequest(timeout, url, method, body, parameters, authorizationHeaderValue, headers));
+    } catch (Exception x) {
+      future.completeExceptionally(x);
+    }
+    return future;
+  }
+
   /**
    * Makes this request using {@link HttpURLConnection}.
    *
@@ -199,19 +234,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       throws IOException, ServerException, ForbiddenException, NotFoundException,
           UnauthorizedException, ConflictException, BadRequestException {
     final String authToken = EnvironmentContext.getCurrent().getSubject().getToken();
-    final boolean hasQueryParams = parameters != null && !parameters.isEmpty();
-    if (hasQueryParams || authToken != null) {
-      final UriBuilder ub = UriBuilder.fromUri(url);
-      // remove sensitive information from url.
-      ub.replaceQueryParam("token", EMPTY_ARRAY);
-
-      if (hasQueryParams) {
-        for (Pair<String, ?> parameter : parameters) {
-          ub.queryParam(parameter.first, parameter.second);
-        }
-      }
-      url = ub.build().toString();
-    }
+    url = buildUrl(url, parameters, authToken);
     final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
     conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
     conn.setReadTimeout(timeout > 0 ? timeout : 60000);
@@ -257,40 +280,12 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         try (Reader reader = new InputStreamReader(in)) {
           str = CharStreams.toString(reader);
         }
-        final String contentType = conn.getContentType();
-        if (contentType != null
-            && (contentType.startsWith(MediaType.APPLICATION_JSON)
-                || contentType.startsWith("application/vnd.api+json"))) {
-          final ServiceError serviceError =
-              DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
-          if (serviceError.getMessage() != null) {
-            if (responseCode == Response.Status.FORBIDDEN.getStatusCode()) {
-              throw new ForbiddenException(serviceError);
-            } else if (responseCode == Response.Status.NOT_FOUND.getStatusCode()) {
-              throw new NotFoundException(serviceError);
-            } else if (responseCode == Response.Status.UNAUTHORIZED.getStatusCode()) {
-              throw new UnauthorizedException(serviceError);
-            } else if (responseCode == Response.Status.CONFLICT.getStatusCode()) {
-              throw new ConflictException(serviceError);
-            } else if (responseCode == Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()) {
-              throw new ServerException(serviceError);
-            } else if (responseCode == Response.Status.BAD_REQUEST.getStatusCode()) {
-              throw new BadRequestException(serviceError);
-            }
-            throw new ServerException(serviceError);
-          }
-        }
-        // Can't parse content as json or content has format other we expect for error.
-        throw new IOException(
-            String.format(
-                "Failed access: %s, method: %s, response code: %d, message: %s",
-                UriBuilder.fromUri(url).replaceQuery("token").build(), method, responseCode, str));
+        throwFailure(responseCode, conn.getContentType(), str, url, method);
       }
       final String contentType = conn.getContentType();
       if (responseCode != HttpURLConnection.HTTP_NO_CONTENT
           && contentType != null
-          && !(contentType.startsWith(MediaType.APPLICATION_JSON)
-              || contentType.startsWith("application/vnd.api+json"))) {
+          && !isJson(contentType)) {
         throw new IOException(conn.getResponseMessage());
       }
 
@@ -303,6 +298,73 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     }
   }
 
+  /**
+   * Builds the url of request, adds query parameters to the given url and removes the "token" query
+   * parameter from it if the current subject has a token.
+   */
+  static String buildUrl(String url, List<Pair<String, ?>> parameters, String authToken) {
+    final boolean hasQueryParams = parameters != null && !parameters.isEmpty();
+    if (hasQueryParams || authToken != null) {
+      final UriBuilder ub = UriBuilder.fromUri(url);
+      // remove sensitive information from url.
+      ub.replaceQueryParam("token", EMPTY_ARRAY);
+
+      if (hasQueryParams) {
+        for (Pair<String, ?> parameter : parameters) {
+          ub.queryParam(parameter.first, parameter.second);
+        }
+      }
+      return ub.build().toString();
+    }
+    return url;
+  }
+
+  /** Returns true if the given content type denotes JSON content. */
+  static boolean isJson(String contentType) {
+    return contentType.startsWith(MediaType.APPLICATION_JSON)
+        || contentType.startsWith("application/vnd.api+json");
+  }
+
+  /**
+   * Throws the exception which corresponds to unsuccessful response.
+   *
+   * @param responseCode response code, it is not 2xx
+   * @param contentType response content type, may be null
+   * @param body response body
+   * @param url request url
+   * @param method request method
+   */
+  static void throwFailure(
+      int responseCode, String contentType, String body, String url, String method)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    if (contentType != null && isJson(contentType)) {
+      final ServiceError serviceError =
+          DtoFactory.getInstance().createDtoFromJson(body, ServiceError.class);
+      if (serviceError.getMessage() != null) {
+        if (responseCode == Response.Status.FORBIDDEN.getStatusCode()) {
+          throw new ForbiddenException(serviceError);
+        } else if (responseCode == Response.Status.NOT_FOUND.getStatusCode()) {
+          throw new NotFoundException(serviceError);
+        } else if (responseCode == Response.Status.UNAUTHORIZED.getStatusCode()) {
+          throw new UnauthorizedException(serviceError);
+        } else if (responseCode == Response.Status.CONFLICT.getStatusCode()) {
+          throw new ConflictException(serviceError);
+        } else if (responseCode == Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()) {
+          throw new ServerException(serviceError);
+        } else if (responseCode == Response.Status.BAD_REQUEST.getStatusCode()) {
+          throw new BadRequestException(serviceError);
+        }
+        throw new ServerException(serviceError);
+      }
+    }
+    // Can't parse content as json or content has format other we expect for error.
+    throw new IOException(
+        String.format(
+            "Failed access: %s, method: %s, response code: %d, message: %s",
+            UriBuilder.fromUri(url).replaceQuery("token").build(), method, responseCode, body));
+  }
+
   @Override
   public String toString() {
     return "DefaultHttpJsonRequest{"
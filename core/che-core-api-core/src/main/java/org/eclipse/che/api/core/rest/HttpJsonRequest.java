@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.HttpMethod;
 import org.eclipse.che.api.core.BadRequestException;
@@ -161,6 +162,26 @@ public interface HttpJsonRequest {
       throws IOException, ServerException, UnauthorizedException, ForbiddenException,
           NotFoundException, ConflictException, BadRequestException;
 
+  /**
+   * Makes the same request as {@link #request()} does, but returns a future of the response. The
+   * future completes exceptionally with the exceptions listed by {@link #request()}.
+   *
+   * <p>The default implementation performs the request in the calling thread and returns already
+   * completed future, implementations which are able to send requests asynchronously should
+   * override it.
+   *
+   * @return future of the response of this request
+   */
+  default CompletableFuture<HttpJsonResponse> requestAsync() {
+    CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+    try {
+      future.complete(request());
+    } catch (Exception x) {
+      future.completeExceptionally(x);
+    }
+    return future;
+  }
+
   /**
    * Uses {@link HttpMethod#GET} as a request method.
    *
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.dto.server.DtoFactory;
+
+/**
+ * Implementation of {@link HttpJsonRequest} which sends requests with the {@link OkHttpClient}
+ * shared by {@link PooledHttpJsonRequestFactory}, so connections to the same host are kept alive
+ * and reused by subsequent requests.
+ *
+ * <p>Requests made with {@link #requestAsync()} don't block the calling thread, their number per
+ * host is limited by the factory configuration.
+ *
+ * @see PooledHttpJsonRequestFactory
+ */
+public class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+
+  private static final okhttp3.MediaType JSON_MEDIA_TYPE =
+      okhttp3.MediaType.parse(MediaType.APPLICATION_JSON);
+  private static final byte[] EMPTY_BODY = new byte[0];
+
+  private final OkHttpClient client;
+
+  protected PooledHttpJsonRequest(OkHttpClient client, String url) {
+    super(url);
+    this.client = client;
+  }
+
+  protected PooledHttpJsonRequest(OkHttpClient client, Link link) {
+    super(link);
+    this.client = client;
+  }
+
+  @Override
+  protected DefaultHttpJsonResponse doRequest(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    final Call call =
+        newCall(timeout, url, method, body, parameters, authorizationHeaderValue, headers);
+    try (Response response = call.execute()) {
+      return toJsonResponse(response);
+    }
+  }
+
+  @Override
+  protected CompletableFuture<HttpJsonResponse> doRequestAsync(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers) {
+    final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+    final Call call =
+        newCall(timeout, url, method, body, parameters, authorizationHeaderValue, headers);
+    call.enqueue(
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException x) {
+            future.completeExceptionally(x);
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) {
+            try (Response closeable = response) {
+              future.complete(toJsonResponse(closeable));
+            } catch (IOException | ApiException x) {
+              future.completeExceptionally(x);
+            }
+          }
+        });
+    future.whenComplete(
+        (response, x) -> {
+          if (future.isCancelled()) {
+            call.cancel();
+          }
+        });
+    return future;
+  }
+
+  /**
+   * Creates the call of this request. Headers are the same as {@link
+   * DefaultHttpJsonRequest#doRequest(int, String, String, Object, List, String, List)} sends,
+   * authorization token is taken from the context of the calling thread.
+   */
+  private Call newCall(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers) {
+    final String authToken = EnvironmentContext.getCurrent().getSubject().getToken();
+    final Request.Builder builder = new Request.Builder().url(buildUrl(url, parameters, authToken));
+    if (headers != null) {
+      for (Pair<String, String> header : headers) {
+        builder.header(header.first, header.second);
+      }
+    }
+    // drop a hint for server side that we want to receive application/json
+    builder.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+    if (!isNullOrEmpty(authorizationHeaderValue)) {
+      builder.header(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
+    } else if (authToken != null) {
+      builder.header(HttpHeaders.AUTHORIZATION, authToken);
+    }
+
+    RequestBody requestBody = null;
+    if (body != null) {
+      requestBody =
+          RequestBody.create(
+              JSON_MEDIA_TYPE, DtoFactory.getInstance().toJson(body).getBytes(UTF_8));
+    } else if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)) {
+      // client requires the body for these methods
+      requestBody = RequestBody.create(null, EMPTY_BODY);
+    }
+    builder.method(method, requestBody);
+
+    OkHttpClient callClient = client;
+    if (timeout > 0) {
+      // shares the connection pool and dispatcher of the origin client
+      callClient =
+          client
+              .newBuilder()
+              .connectTimeout(timeout, TimeUnit.MILLISECONDS)
+              .readTimeout(timeout, TimeUnit.MILLISECONDS)
+              .writeTimeout(timeout, TimeUnit.MILLISECONDS)
+              .build();
+    }
+    return callClient.newCall(builder.build());
+  }
+
+  private static DefaultHttpJsonResponse toJsonResponse(Response response)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    final int responseCode = response.code();
+    final ResponseBody body = response.body();
+    final String contentType = response.header(HttpHeaders.CONTENT_TYPE);
+    if ((responseCode / 100) != 2) {
+      throwFailure(
+          responseCode,
+          contentType,
+          body == null ? "" : body.string(),
+          response.request().url().toString(),
+          response.request().method());
+    }
+    if (responseCode != HttpURLConnection.HTTP_NO_CONTENT
+        && contentType != null
+        && !isJson(contentType)) {
+      throw new IOException(response.message());
+    }
+    if (body == null) {
+      return new PooledHttpJsonResponse(EMPTY_BODY, UTF_8, responseCode, toMap(response.headers()));
+    }
+    final okhttp3.MediaType mediaType = body.contentType();
+    final Charset charset = mediaType == null ? UTF_8 : mediaType.charset(UTF_8);
+    return new PooledHttpJsonResponse(
+        body.bytes(), charset, responseCode, toMap(response.headers()));
+  }
+
+  /** Keeps the case of header names as they are received, like {@code HttpURLConnection} does. */
+  private static Map<String, List<String>> toMap(Headers headers) {
+    final Map<String, List<String>> map = new LinkedHashMap<>();
+    for (String name : headers.names()) {
+      map.put(name, headers.values(name));
+    }
+    return map;
+  }
+}
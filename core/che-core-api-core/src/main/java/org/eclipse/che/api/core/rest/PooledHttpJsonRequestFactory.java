@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+
+/**
+ * Creates {@link PooledHttpJsonRequest} instances.
+ *
+ * <p>All the requests created by this factory share a single {@link OkHttpClient}, so connections
+ * are kept alive and reused instead of being opened for each request as {@link
+ * DefaultHttpJsonRequestFactory} does. The number of asynchronous requests running concurrently to
+ * the same host is limited, the rest of them wait in the queue.
+ *
+ * <p>If {@link EventListener} is bound, it receives events of all the calls, e.g. to collect
+ * latency metrics per destination host.
+ *
+ * <p>The factory is not used by default, to use it bind {@link HttpJsonRequestFactory} to this
+ * class.
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+  private static final long DEFAULT_TIMEOUT_MS = 60_000;
+
+  private final OkHttpClient client;
+
+  private volatile EventListener eventListener = EventListener.NONE;
+
+  @Inject
+  public PooledHttpJsonRequestFactory(
+      @Named("che.core.http.max_requests_per_host") int maxRequestsPerHost,
+      @Named("che.core.http.max_idle_connections") int maxIdleConnections,
+      @Named("che.core.http.keep_alive_sec") long keepAliveSec) {
+    final Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+    this.client =
+        new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSec, TimeUnit.SECONDS))
+            .connectTimeout(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .readTimeout(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .writeTimeout(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .eventListenerFactory(call -> eventListener)
+            .build();
+  }
+
+  @com.google.inject.Inject(optional = true)
+  void setEventListener(EventListener eventListener) {
+    this.eventListener = requireNonNull(eventListener);
+  }
+
+  @Override
+  public HttpJsonRequest fromUrl(@NotNull String url) {
+    return new PooledHttpJsonRequest(client, url);
+  }
+
+  @Override
+  public HttpJsonRequest fromLink(@NotNull Link link) {
+    return new PooledHttpJsonRequest(client, link);
+  }
+
+  /** Cancels the queued requests and closes idle connections. */
+  @PreDestroy
+  void shutdown() {
+    client.dispatcher().cancelAll();
+    client.dispatcher().executorService().shutdown();
+    client.connectionPool().evictAll();
+  }
+}
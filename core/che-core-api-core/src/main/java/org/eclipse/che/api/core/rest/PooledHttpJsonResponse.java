@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.commons.json.JsonHelper;
+import org.eclipse.che.commons.json.JsonParseException;
+import org.eclipse.che.dto.server.DtoFactory;
+
+/**
+ * Response of {@link PooledHttpJsonRequest}.
+ *
+ * <p>The body is read completely when the response is received, so the connection is returned to
+ * the pool right away, and it is kept as bytes. DTOs are deserialized straight from the bytes,
+ * while the string representation of the body is created only when it is requested.
+ */
+public class PooledHttpJsonResponse extends DefaultHttpJsonResponse {
+
+  private final byte[] body;
+  private final Charset charset;
+
+  private String bodyString;
+
+  protected PooledHttpJsonResponse(
+      byte[] body, Charset charset, int responseCode, Map<String, List<String>> headers) {
+    super(null, responseCode, headers);
+    this.body = body;
+    this.charset = charset;
+  }
+
+  @Override
+  public String asString() {
+    if (bodyString == null) {
+      bodyString = new String(body, charset);
+    }
+    return bodyString;
+  }
+
+  @Override
+  public <T> T asDto(Class<T> dtoInterface) {
+    requireNonNull(dtoInterface, "Required non-null dto interface");
+    try (Reader reader = bodyReader()) {
+      return DtoFactory.getInstance().createDtoFromJson(reader, dtoInterface);
+    } catch (IOException x) {
+      throw new UncheckedIOException(x);
+    }
+  }
+
+  @Override
+  public <T> List<T> asList(Class<T> dtoInterface) {
+    requireNonNull(dtoInterface, "Required non-null dto interface");
+    try (Reader reader = bodyReader()) {
+      return DtoFactory.getInstance().createListDtoFromJson(reader, dtoInterface);
+    } catch (IOException x) {
+      throw new UncheckedIOException(x);
+    }
+  }
+
+  @Override
+  public <T> T as(Class<T> clazz, Type genericType) throws IOException {
+    requireNonNull(clazz, "Required non-null class");
+    try {
+      return JsonHelper.fromJson(asString(), clazz, genericType);
+    } catch (JsonParseException jsonEx) {
+      throw new IOException(jsonEx.getLocalizedMessage(), jsonEx);
+    }
+  }
+
+  private Reader bodyReader() {
+    return new InputStreamReader(new ByteArrayInputStream(body), charset);
+  }
+}
@@ -13,10 +13,19 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
@@ -26,28 +35,75 @@ import org.slf4j.Logger;
  * session is not opened adds messages to re-sender to try to send them when session will be opened
  * again.
  *
+ * <p>Messages are put into a bounded outbound queue of the session and sent asynchronously, one at
+ * a time, so a slow client doesn't block delivery of messages to other clients. When the queue of a
+ * session is full the configured {@link SlowConsumerPolicy} is applied.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
   private static final Logger LOG = getLogger(BasicWebSocketMessageTransmitter.class);
 
+  private static final String OUTBOUND_QUEUE_PROPERTY = "che.websocket.outbound_queue";
+
+  /** Defines what happens with messages to a client whose outbound queue is full. */
+  public enum SlowConsumerPolicy {
+    /** The message is dropped, the client stays connected. */
+    DROP,
+    /**
+     * The session is closed and the queued messages are passed to the re-sender, so they are
+     * delivered when the client reconnects in time, see {@link MessagesReSender}.
+     */
+    DISCONNECT
+  }
+
   private final WebSocketSessionRegistry registry;
   private final MessagesReSender reSender;
+  private final int queueCapacity;
+  private final SlowConsumerPolicy slowConsumerPolicy;
+
+  private final LongAdder queued = new LongAdder();
+  private final LongAdder sent = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder disconnected = new LongAdder();
 
   @Inject
   public BasicWebSocketMessageTransmitter(
-      WebSocketSessionRegistry registry, MessagesReSender reSender) {
+      WebSocketSessionRegistry registry,
+      MessagesReSender reSender,
+      @Named("che.core.websocket.outbound_queue_capacity") int queueCapacity,
+      @Named("che.core.websocket.slow_consumer_policy") String slowConsumerPolicy) {
+    this(
+        registry,
+        reSender,
+        queueCapacity,
+        SlowConsumerPolicy.valueOf(slowConsumerPolicy.trim().toUpperCase()));
+  }
+
+  @VisibleForTesting
+  BasicWebSocketMessageTransmitter(
+      WebSocketSessionRegistry registry,
+      MessagesReSender reSender,
+      int queueCapacity,
+      SlowConsumerPolicy slowConsumerPolicy) {
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException(
+          "Outbound queue capacity must be positive, but was " + queueCapacity);
+    }
     this.registry = registry;
     this.reSender = reSender;
+    this.queueCapacity = queueCapacity;
+    this.slowConsumerPolicy = slowConsumerPolicy;
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent()) {
-      sessionOptional = registry.getByPartialMatch(endpointId).stream().findFirst();
+      sessionOptional = registry.getByIdPart(endpointId).stream().findFirst();
     }
 
     if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
@@ -55,12 +111,155 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
       reSender.add(endpointId, message);
     } else {
-      LOG.debug("Session registered and open, sending message");
+      LOG.debug("Session registered and open, queueing message");
+
+      getOutboundQueue(sessionOptional.get(), endpointId).offer(message);
+    }
+  }
+
+  /** Returns the number of messages that are waiting in the outbound queues of all sessions. */
+  public long getQueuedCount() {
+    return queued.sum();
+  }
+
+  /** Returns the number of messages that were sent, or failed to be sent if not successful. */
+  public long getSentCount(boolean successful) {
+    return successful ? sent.sum() : failed.sum();
+  }
+
+  /**
+   * Returns the number of messages dropped because of full outbound queues or dropped by the
+   * re-sender before the client reconnected.
+   */
+  public long getDroppedCount() {
+    return dropped.sum() + reSender.getDroppedCount();
+  }
+
+  /** Returns the number of sessions closed because of full outbound queues. */
+  public long getDisconnectedCount() {
+    return disconnected.sum();
+  }
 
+  private OutboundQueue getOutboundQueue(Session session, String endpointId) {
+    // queue is bound to the session properties, so it is released together with the session
+    return (OutboundQueue)
+        session
+            .getUserProperties()
+            .computeIfAbsent(OUTBOUND_QUEUE_PROPERTY, k -> new OutboundQueue(session, endpointId));
+  }
+
+  /** Bounded queue of messages to a single session that is drained by asynchronous sends. */
+  private class OutboundQueue {
+
+    private final Session session;
+    private final String endpointId;
+    private final Queue<String> messages = new ArrayDeque<>();
+
+    private boolean sending;
+    private boolean disconnected;
+
+    private OutboundQueue(Session session, String endpointId) {
+      this.session = session;
+      this.endpointId = endpointId;
+    }
+
+    void offer(String message) {
+      boolean overflowed = false;
+      synchronized (this) {
+        if (disconnected) {
+          reSender.add(endpointId, message);
+          return;
+        }
+        if (messages.size() < queueCapacity) {
+          messages.add(message);
+          queued.increment();
+          if (sending) {
+            return;
+          }
+          sending = true;
+        } else if (slowConsumerPolicy == SlowConsumerPolicy.DROP) {
+          LOG.debug("Outbound queue of endpoint {} is full, dropping message", endpointId);
+          dropped.increment();
+          return;
+        } else {
+          disconnected = true;
+          overflowed = true;
+          queued.add(-messages.size());
+          for (String queuedMessage : messages) {
+            reSender.add(endpointId, queuedMessage);
+          }
+          messages.clear();
+          reSender.add(endpointId, message);
+        }
+      }
+      if (overflowed) {
+        disconnect();
+      } else {
+        sendNext();
+      }
+    }
+
+    /**
+     * Sends queued messages until the queue is empty or a send doesn't complete synchronously, in
+     * the latter case sending is continued by the completion handler.
+     */
+    private void sendNext() {
+      while (true) {
+        String message;
+        synchronized (this) {
+          message = messages.poll();
+          if (message == null) {
+            sending = false;
+            return;
+          }
+          queued.decrement();
+        }
+        Completion completion = new Completion();
+        try {
+          session.getAsyncRemote().sendText(message, completion);
+        } catch (RuntimeException ex) {
+          completion.onResult(new SendResult(ex));
+        }
+        if (completion.handOver.compareAndSet(false, true)) {
+          // send is still in progress, completion handler continues sending
+          return;
+        }
+      }
+    }
+
+    private void disconnect() {
+      LOG.warn(
+          "Outbound queue of endpoint {} exceeded {} messages, closing the session",
+          endpointId,
+          queueCapacity);
+      BasicWebSocketMessageTransmitter.this.disconnected.increment();
       try {
-        sessionOptional.get().getBasicRemote().sendText(message);
+        session.close(
+            new CloseReason(
+                CloseReason.CloseCodes.TRY_AGAIN_LATER, "Outbound messages queue overflow"));
       } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+        LOG.error("Error while trying to close a slow websocket session", e);
+      }
+    }
+
+    /** Completion of a single send, whichever of the sender and this handler is last continues. */
+    private class Completion implements SendHandler {
+
+      private final AtomicBoolean handOver = new AtomicBoolean();
+
+      @Override
+      public void onResult(SendResult result) {
+        if (result.isOK()) {
+          sent.increment();
+        } else {
+          failed.increment();
+          LOG.error(
+              "Error while trying to send a message to an async websocket remote endpoint",
+              result.getException());
+        }
+        if (!handOver.compareAndSet(false, true)) {
+          sendNext();
+        }
       }
     }
   }
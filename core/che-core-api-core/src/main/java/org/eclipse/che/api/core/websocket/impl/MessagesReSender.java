@@ -11,54 +11,94 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static org.slf4j.LoggerFactory.getLogger;
+
 import com.google.common.collect.EvictingQueue;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
-import javax.websocket.Session;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.slf4j.Logger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period when WEB
- * SOCKET session was closed. If session is closed during re-send process it stops and left messages
- * will be re-sent as WEB SOCKET session becomes open again.
+ * SOCKET session was closed. Messages are re-sent through the {@link WebSocketMessageTransmitter},
+ * so they are put into the outbound queue of the session, if session is closed during re-send
+ * process left messages will be re-sent as WEB SOCKET session becomes open again.
+ *
+ * <p>For each endpoint, as many latest messages as the session outbound queue holds are kept for a
+ * minute. The number of messages that are dropped because of these limits is logged periodically.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
+  private static final Logger LOG = getLogger(MessagesReSender.class);
 
-  private static final int MAX_MESSAGES = 100;
+  /** Time in millis messages of an endpoint are kept for it to reconnect. */
+  public static final long MESSAGE_TTL_MILLIS = 60_000;
 
-  private final WebSocketSessionRegistry registry;
+  private final Provider<WebSocketMessageTransmitter> transmitter;
+  private final int maxMessages;
 
   private final Map<String, Queue<DelayedMessage>> delayedMessageRegistry =
       new ConcurrentHashMap<>();
 
+  private final LongAdder dropped = new LongAdder();
+  private long reportedDropped;
+
   @Inject
-  public MessagesReSender(WebSocketSessionRegistry registry) {
-    this.registry = registry;
+  public MessagesReSender(
+      Provider<WebSocketMessageTransmitter> transmitter,
+      @Named("che.core.websocket.outbound_queue_capacity") int maxMessages) {
+    this.transmitter = transmitter;
+    this.maxMessages = maxMessages;
   }
 
   @ScheduleDelay(initialDelay = 60, delay = 60)
   void cleanStaleMessages() {
     long currentTimeMillis = System.currentTimeMillis();
 
-    delayedMessageRegistry
-        .values()
-        .forEach(it -> it.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000));
+    for (String endpointId : delayedMessageRegistry.keySet()) {
+      delayedMessageRegistry.computeIfPresent(
+          endpointId,
+          (k, messages) -> {
+            int size = messages.size();
+            messages.removeIf(m -> currentTimeMillis - m.timeMillis > MESSAGE_TTL_MILLIS);
+            dropped.add(size - messages.size());
+            return messages.isEmpty() ? null : messages;
+          });
+    }
 
-    delayedMessageRegistry.values().removeIf(Queue::isEmpty);
+    long droppedTotal = dropped.sum();
+    if (droppedTotal > reportedDropped) {
+      LOG.warn(
+          "{} websocket messages were not re-sent because their endpoints did not reconnect in time"
+              + " or too many of them were pending",
+          droppedTotal - reportedDropped);
+      reportedDropped = droppedTotal;
+    }
   }
 
   public void add(String endpointId, String message) {
-
-    delayedMessageRegistry
-        .computeIfAbsent(endpointId, k -> EvictingQueue.create(MAX_MESSAGES))
-        .offer(new DelayedMessage(message));
+    delayedMessageRegistry.compute(
+        endpointId,
+        (k, messages) -> {
+          if (messages == null) {
+            messages = EvictingQueue.create(maxMessages);
+          } else if (messages.size() == maxMessages) {
+            LOG.debug("Too many messages are pending for endpoint {}, dropping oldest", endpointId);
+            dropped.increment();
+          }
+          messages.offer(new DelayedMessage(message));
+          return messages;
+        });
   }
 
   public void resend(String endpointId) {
@@ -68,29 +108,15 @@ public class MessagesReSender {
       return;
     }
 
-    Optional<Session> sessionOptional = registry.get(endpointId);
-
-    if (!sessionOptional.isPresent()) {
-      return;
-    }
-
-    Queue<DelayedMessage> backingQueue = EvictingQueue.create(delayedMessages.size());
-    while (!delayedMessages.isEmpty()) {
-      backingQueue.offer(delayedMessages.poll());
-    }
-
-    Session session = sessionOptional.get();
-    for (DelayedMessage delayedMessage : backingQueue) {
-      if (session.isOpen()) {
-        session.getAsyncRemote().sendText(delayedMessage.message);
-      } else {
-        delayedMessages.add(delayedMessage);
-      }
+    for (DelayedMessage delayedMessage : delayedMessages) {
+      // if session is closed, the message is added back by the transmitter
+      transmitter.get().transmit(endpointId, delayedMessage.message);
     }
+  }
 
-    if (!delayedMessages.isEmpty()) {
-      delayedMessageRegistry.put(endpointId, delayedMessages);
-    }
+  /** Returns the number of messages dropped before they were re-sent. */
+  public long getDroppedCount() {
+    return dropped.sum();
   }
 
   private static class DelayedMessage {
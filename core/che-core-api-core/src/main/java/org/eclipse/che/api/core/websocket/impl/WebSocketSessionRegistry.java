@@ -11,7 +11,9 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toSet;
+import static org.eclipse.che.api.core.websocket.impl.WebsocketIdService.SEPARATOR;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.HashSet;
@@ -26,6 +28,15 @@ import org.slf4j.Logger;
 /**
  * Binds WEB SOCKET session to a specific endpoint form which it was opened.
  *
+ * <p>Besides the endpoint identifier to session mapping the registry keeps a reverse session to
+ * endpoint identifier index and an index of the parts of combined identifiers (see {@link
+ * WebsocketIdService#getCombinedId(String, String)}), so that lookups made while transmitting
+ * messages don't scan all the registered sessions.
+ *
+ * <p>Endpoints whose sessions are closed are remembered until they register a new session, so
+ * the state kept for endpoints which don't reconnect can be released, see {@link
+ * #pollDisconnected(long)}.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
@@ -33,27 +44,57 @@ public class WebSocketSessionRegistry {
   private static final Logger LOG = getLogger(WebSocketSessionRegistry.class);
 
   private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
+  private final Map<Session, String> endpointIds = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> idPartsIndex = new ConcurrentHashMap<>();
+  /** Endpoint id -> time in millis when the session of the endpoint was closed. */
+  private final Map<String, Long> disconnected = new ConcurrentHashMap<>();
 
   public void add(String endpointId, Session session) {
-    LOG.debug("Registering session with endpoint {}", session.getId(), endpointId);
+    LOG.debug("Registering session {} with endpoint {}", session.getId(), endpointId);
 
-    sessionsMap.put(endpointId, session);
+    Session previous = sessionsMap.put(endpointId, session);
+    if (previous != null && previous != session) {
+      endpointIds.remove(previous, endpointId);
+    }
+    endpointIds.put(session, endpointId);
+    disconnected.remove(endpointId);
+    for (String idPart : idParts(endpointId)) {
+      idPartsIndex.computeIfAbsent(idPart, k -> ConcurrentHashMap.newKeySet()).add(endpointId);
+    }
   }
 
   public Optional<Session> remove(String endpointId) {
     LOG.debug("Cancelling registration for session with endpoint {}", endpointId);
 
-    return Optional.ofNullable(sessionsMap.remove(endpointId));
+    Session removed = sessionsMap.remove(endpointId);
+    if (removed != null) {
+      endpointIds.remove(removed, endpointId);
+      disconnected.put(endpointId, System.currentTimeMillis());
+      for (String idPart : idParts(endpointId)) {
+        idPartsIndex.computeIfPresent(
+            idPart,
+            (k, ids) -> {
+              ids.remove(endpointId);
+              return ids.isEmpty() ? null : ids;
+            });
+      }
+    }
+    return Optional.ofNullable(removed);
   }
 
   public Optional<Session> remove(Session session) {
-    return get(session).flatMap(id -> Optional.ofNullable(sessionsMap.remove(id)));
+    return get(session).flatMap(this::remove);
   }
 
   public Optional<Session> get(String endpointId) {
     return Optional.ofNullable(sessionsMap.get(endpointId));
   }
 
+  /**
+   * Returns sessions whose endpoint identifiers contain the given string. Performs a scan of all
+   * the registered sessions, {@link #getByIdPart(String)} should be preferred when the given string
+   * is a client or endpoint part of a combined identifier.
+   */
   public Set<Session> getByPartialMatch(String partialEndpointId) {
     return sessionsMap
         .entrySet()
@@ -63,16 +104,52 @@ public class WebSocketSessionRegistry {
         .collect(toSet());
   }
 
+  /**
+   * Returns sessions whose combined endpoint identifiers have a client or endpoint part equal to
+   * the given one.
+   */
+  public Set<Session> getByIdPart(String idPart) {
+    Set<String> ids = idPartsIndex.get(idPart);
+    if (ids == null) {
+      return emptySet();
+    }
+    Set<Session> sessions = new HashSet<>();
+    for (String id : ids) {
+      Session session = sessionsMap.get(id);
+      if (session != null) {
+        sessions.add(session);
+      }
+    }
+    return sessions;
+  }
+
+  /**
+   * Returns identifiers of endpoints whose sessions were closed at least the given time ago and
+   * which haven't registered a new session since. Each such endpoint is returned only once.
+   *
+   * @param timeoutMillis time in millis an endpoint is given to reconnect
+   */
+  public Set<String> pollDisconnected(long timeoutMillis) {
+    long closedBefore = System.currentTimeMillis() - timeoutMillis;
+    Set<String> expired = new HashSet<>();
+    for (Map.Entry<String, Long> entry : disconnected.entrySet()) {
+      if (entry.getValue() <= closedBefore
+          && disconnected.remove(entry.getKey(), entry.getValue())) {
+        expired.add(entry.getKey());
+      }
+    }
+    return expired;
+  }
+
   public Optional<String> get(Session session) {
-    return sessionsMap
-        .entrySet()
-        .stream()
-        .filter(entry -> entry.getValue().equals(session))
-        .map(Map.Entry::getKey)
-        .findAny();
+    return Optional.ofNullable(endpointIds.get(session));
   }
 
   public Set<Session> getSessions() {
     return new HashSet<>(sessionsMap.values());
   }
+
+  private static String[] idParts(String endpointId) {
+    return endpointId.contains(SEPARATOR) ? endpointId.split(SEPARATOR) : new String[0];
+  }
 }
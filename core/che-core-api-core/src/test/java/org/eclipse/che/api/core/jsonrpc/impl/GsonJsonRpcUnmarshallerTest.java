@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.math.BigDecimal;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerManager;
+import org.eclipse.che.api.core.notification.dto.EventSubscription;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link GsonJsonRpcUnmarshaller}. */
+@Listeners(MockitoTestNGListener.class)
+public class GsonJsonRpcUnmarshallerTest {
+
+  @Mock private RequestHandlerManager requestHandlerManager;
+
+  private GsonJsonRpcUnmarshaller unmarshaller;
+
+  @BeforeMethod
+  public void setUp() {
+    lenient()
+        .doReturn(EventSubscription.class)
+        .when(requestHandlerManager)
+        .getParamsType("subscribe");
+    unmarshaller = new GsonJsonRpcUnmarshaller(new JsonParser(), requestHandlerManager);
+  }
+
+  @Test
+  public void shouldBindParamsToDtoOfRegisteredMethod() {
+    JsonRpcRequest request =
+        unmarshaller.unmarshalRequest(
+            "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"subscribe\","
+                + "\"params\":{\"method\":\"event\",\"scope\":{\"workspaceId\":\"ws1\"}}}");
+
+    assertEquals(request.getId(), "1");
+    assertEquals(request.getMethod(), "subscribe");
+    assertTrue(request.getParams().isSingle());
+    EventSubscription subscription = (EventSubscription) request.getParams().getOne();
+    assertEquals(subscription.getMethod(), "event");
+    assertEquals(subscription.getScope(), singletonMap("workspaceId", "ws1"));
+  }
+
+  @Test
+  public void shouldKeepParamsAsJsonWhenMethodFollowsParams() {
+    JsonRpcRequest request =
+        unmarshaller.unmarshalRequest(
+            "{\"params\":{\"method\":\"event\"},\"method\":\"subscribe\",\"jsonrpc\":\"2.0\"}");
+
+    assertNull(request.getId());
+    assertTrue(request.getParams().getOne() instanceof JsonObject);
+  }
+
+  @Test
+  public void shouldReadSingleQuotedRequest() {
+    JsonRpcRequest request =
+        unmarshaller.unmarshalRequest(
+            "{'jsonrpc':'2.0','id':'1','method':'subscribe',"
+                + "'params':{'method':'event','scope':{'workspaceId':'ws1'}}}");
+
+    assertEquals(request.getId(), "1");
+    EventSubscription subscription = (EventSubscription) request.getParams().getOne();
+    assertEquals(subscription.getMethod(), "event");
+    assertEquals(subscription.getScope(), singletonMap("workspaceId", "ws1"));
+  }
+
+  @Test(expectedExceptions = JsonRpcException.class)
+  public void shouldThrowJsonRpcExceptionWhenRequestIsMalformed() {
+    unmarshaller.unmarshalRequest("{\"jsonrpc\":\"2.0\",\"method\":}");
+  }
+
+  @Test(expectedExceptions = JsonRpcException.class)
+  public void shouldThrowJsonRpcExceptionWhenRequestMethodIsNotSpecified() {
+    unmarshaller.unmarshalRequest("{\"jsonrpc\":\"2.0\",\"id\":\"1\"}");
+  }
+
+  @Test
+  public void shouldReadPrimitiveParamsList() {
+    JsonRpcRequest request =
+        unmarshaller.unmarshalRequest(
+            "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"unknown\",\"params\":[1,\"a\",true,null]}");
+
+    assertEquals(request.getId(), "2");
+    assertFalse(request.getParams().isSingle());
+    assertEquals(request.getParams().getMany(), asList(1L, "a", true, null));
+  }
+
+  @Test
+  public void shouldReadNumericParamsWithoutLosingPrecision() {
+    JsonRpcRequest request =
+        unmarshaller.unmarshalRequest(
+            "{\"jsonrpc\":\"2.0\",\"method\":\"unknown\","
+                + "\"params\":[9007199254740993,0.1,12345678901234567890]}");
+
+    assertEquals(
+        request.getParams().getMany(),
+        asList(9007199254740993L, new BigDecimal("0.1"), new BigDecimal("12345678901234567890")));
+  }
+
+  @Test
+  public void shouldReadNumericParamsAsDoublesWhenMethodExpectsThem() {
+    doReturn(Double.class).when(requestHandlerManager).getParamsType("double");
+
+    JsonRpcRequest request =
+        unmarshaller.unmarshalRequest(
+            "{\"jsonrpc\":\"2.0\",\"method\":\"double\",\"params\":[1,0.5]}");
+    JsonRpcRequest deferred =
+        unmarshaller.unmarshalRequest(
+            "{\"jsonrpc\":\"2.0\",\"params\":[1,0.5],\"method\":\"double\"}");
+
+    assertEquals(request.getParams().getMany(), asList(1.0, 0.5));
+    assertEquals(deferred.getParams().getMany(), asList(1.0, 0.5));
+  }
+
+  @Test
+  public void shouldReturnSingleMessageIfItIsNotBatch() {
+    String message = "{\"jsonrpc\":\"2.0\",\"method\":\"m\"}";
+
+    assertEquals(unmarshaller.unmarshalArray(message), singletonList(message));
+  }
+
+  @Test
+  public void shouldSplitBatchIntoMessages() {
+    String first = "{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"params\":[\"],{\\\"\",{\"a\":[1]}]}";
+    String second = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":null}";
+
+    assertEquals(
+        unmarshaller.unmarshalArray(" [" + first + ",\n " + second + " ] "), asList(first, second));
+  }
+
+  @Test
+  public void shouldSplitBatchWithSingleQuotedStrings() {
+    String first = "{'jsonrpc':'2.0','method':'m','params':['],{\"','it\\'s']}";
+    String second = "{'jsonrpc':'2.0','method':'n'}";
+
+    assertEquals(
+        unmarshaller.unmarshalArray("[" + first + "," + second + "]"), asList(first, second));
+  }
+}
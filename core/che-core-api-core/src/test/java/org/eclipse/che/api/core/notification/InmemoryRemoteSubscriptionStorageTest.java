@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Set;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link InmemoryRemoteSubscriptionStorage}. */
+public class InmemoryRemoteSubscriptionStorageTest {
+
+  private InmemoryRemoteSubscriptionStorage storage;
+
+  @BeforeMethod
+  public void setUp() {
+    storage = new InmemoryRemoteSubscriptionStorage();
+  }
+
+  @Test
+  public void shouldRemoveSubscriptionOfEndpointToMethod() {
+    storage.addSubscription("method1", new RemoteSubscriptionContext("endpoint1", emptyMap()));
+    storage.addSubscription("method1", new RemoteSubscriptionContext("endpoint2", emptyMap()));
+    storage.addSubscription("method2", new RemoteSubscriptionContext("endpoint1", emptyMap()));
+
+    storage.removeSubscription("method1", "endpoint1");
+
+    assertEndpoints(storage.getByMethod("method1"), "endpoint2");
+    assertEndpoints(storage.getByMethod("method2"), "endpoint1");
+  }
+
+  @Test
+  public void shouldRemoveAllSubscriptionsOfEndpoint() {
+    storage.addSubscription("method1", new RemoteSubscriptionContext("endpoint1", emptyMap()));
+    storage.addSubscription("method1", new RemoteSubscriptionContext("endpoint2", emptyMap()));
+    storage.addSubscription("method2", new RemoteSubscriptionContext("endpoint1", emptyMap()));
+
+    storage.removeSubscriptions("endpoint1");
+
+    assertEndpoints(storage.getByMethod("method1"), "endpoint2");
+    assertTrue(storage.getByMethod("method2").isEmpty());
+  }
+
+  @Test
+  public void shouldFindSubscriptionsByScope() {
+    storage.addSubscription(
+        "method1", new RemoteSubscriptionContext("endpoint1", singletonMap("workspaceId", "ws1")));
+    storage.addSubscription(
+        "method1", new RemoteSubscriptionContext("endpoint2", singletonMap("workspaceId", "ws2")));
+    storage.addSubscription(
+        "method2", new RemoteSubscriptionContext("endpoint3", singletonMap("workspaceId", "ws1")));
+
+    assertEndpoints(storage.getByScope("method1", "workspaceId", "ws1"), "endpoint1");
+    assertTrue(storage.getByScope("method1", "userId", "ws1").isEmpty());
+  }
+
+  @Test
+  public void shouldRemoveSubscriptionsFromScopeIndex() {
+    storage.addSubscription(
+        "method1", new RemoteSubscriptionContext("endpoint1", singletonMap("workspaceId", "ws1")));
+    storage.addSubscription(
+        "method1", new RemoteSubscriptionContext("endpoint2", singletonMap("workspaceId", "ws1")));
+
+    storage.removeSubscription("method1", "endpoint1");
+
+    assertEndpoints(storage.getByScope("method1", "workspaceId", "ws1"), "endpoint2");
+  }
+
+  private static void assertEndpoints(Set<RemoteSubscriptionContext> contexts, String endpointId) {
+    assertEquals(contexts.size(), 1);
+    assertEquals(contexts.iterator().next().getEndpointId(), endpointId);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.MESSAGE_TTL_MILLIS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Set;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link RemoteSubscriptionManager}. */
+@Listeners(MockitoTestNGListener.class)
+public class RemoteSubscriptionManagerTest {
+
+  private static final String METHOD = "event/changed";
+
+  @Mock private JsonRpcMarshaller marshaller;
+  @Mock private WebSocketMessageTransmitter transmitter;
+  @Mock private RemoteSubscriptionFanOutListener fanOutListener;
+  @Mock private WebSocketSessionRegistry sessionRegistry;
+
+  private EventService eventService;
+  private InmemoryRemoteSubscriptionStorage storage;
+  private RemoteSubscriptionManager manager;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    storage = new InmemoryRemoteSubscriptionStorage();
+    manager =
+        new RemoteSubscriptionManager(
+            eventService, marshaller, transmitter, storage, sessionRegistry);
+    manager.setFanOutListener(fanOutListener);
+  }
+
+  @Test
+  public void shouldSerializeEventOnceForAllSubscribers() {
+    when(marshaller.marshall(any(JsonRpcRequest.class))).thenReturn("message");
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws1");
+    subscribe("endpoint3", "ws2");
+    manager.register(METHOD, TestEvent.class, (event, scope) -> event.id.equals(scope.get("id")));
+
+    eventService.publish(new TestEvent("ws1"));
+
+    verify(marshaller, times(1)).marshall(any(JsonRpcRequest.class));
+    verify(transmitter).transmit("endpoint1", "message");
+    verify(transmitter).transmit("endpoint2", "message");
+    verify(transmitter, never()).transmit(eq("endpoint3"), anyString());
+    verify(fanOutListener).onFanOut(eq(METHOD), eq(2), anyLong());
+  }
+
+  @Test
+  public void shouldTransmitEventToSubscribersSelectedByScopeValue() {
+    when(marshaller.marshall(any(JsonRpcRequest.class))).thenReturn("message");
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws2");
+    manager.register(METHOD, TestEvent.class, "id", event -> event.id, (event, scope) -> true);
+
+    eventService.publish(new TestEvent("ws2"));
+
+    verify(transmitter).transmit("endpoint2", "message");
+    verify(transmitter, never()).transmit(eq("endpoint1"), anyString());
+    verify(fanOutListener).onFanOut(eq(METHOD), eq(1), anyLong());
+  }
+
+  @Test
+  public void shouldNotSerializeEventWhenThereAreNoRecipients() {
+    subscribe("endpoint1", "ws1");
+    manager.register(METHOD, TestEvent.class, "id", event -> event.id, (event, scope) -> true);
+
+    eventService.publish(new TestEvent("ws2"));
+
+    verify(marshaller, never()).marshall(any(JsonRpcRequest.class));
+    verify(transmitter, never()).transmit(anyString(), anyString());
+    verify(fanOutListener).onFanOut(eq(METHOD), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldRemoveSubscriptionsOfEndpointsWhichDidNotReconnectInTime() {
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws1");
+    storage.addSubscription("method2", new RemoteSubscriptionContext("endpoint1", emptyMap()));
+    when(sessionRegistry.pollDisconnected(MESSAGE_TTL_MILLIS)).thenReturn(singleton("endpoint1"));
+
+    manager.removeSubscriptionsOfDisconnectedEndpoints();
+
+    Set<RemoteSubscriptionContext> subscriptions = storage.getByMethod(METHOD);
+    assertEquals(subscriptions.size(), 1);
+    assertEquals(subscriptions.iterator().next().getEndpointId(), "endpoint2");
+    assertTrue(storage.getByMethod("method2").isEmpty());
+  }
+
+  private void subscribe(String endpointId, String id) {
+    storage.addSubscription(
+        METHOD, new RemoteSubscriptionContext(endpointId, singletonMap("id", id)));
+  }
+
+  private static class TestEvent {
+    private final String id;
+
+    private TestEvent(String id) {
+      this.id = id;
+    }
+  }
+}
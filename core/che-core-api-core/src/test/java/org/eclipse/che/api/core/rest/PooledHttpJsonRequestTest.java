@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.EventListener;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.LinksHelper;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.everrest.assured.EverrestJetty;
+import org.everrest.core.Filter;
+import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.RequestFilter;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests of {@link PooledHttpJsonRequest} created by {@link PooledHttpJsonRequestFactory}. */
+@Listeners({MockitoTestNGListener.class, EverrestJetty.class})
+public class PooledHttpJsonRequestTest {
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final EnvironmentFilter FILTER = new EnvironmentFilter();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final TestService TEST_SERVICE = new TestService();
+
+  private static final Subject TEST_SUBJECT = new SubjectImpl("name", "id", "token", false);
+
+  @Mock private EventListener eventListener;
+
+  private PooledHttpJsonRequestFactory factory;
+
+  @BeforeMethod
+  public void setUp() {
+    factory = new PooledHttpJsonRequestFactory(5, 5, 60);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    factory.shutdown();
+  }
+
+  @Test
+  public void shouldReadJsonObjectBodyAsString(ITestContext ctx) throws Exception {
+    HttpJsonResponse response =
+        factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+    assertEquals(response.getResponseCode(), 200);
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldSendJsonBodyAndReadListOfDtos(ITestContext ctx) throws Exception {
+    Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+
+    List<Link> links =
+        factory
+            .fromUrl(getUrl(ctx) + "/application-json")
+            .usePostMethod()
+            .setBody(singletonList(link))
+            .request()
+            .asList(Link.class);
+
+    assertEquals(links, singletonList(link));
+  }
+
+  @Test
+  public void shouldSendQueryParameters(ITestContext ctx) throws Exception {
+    Map<String, String> map =
+        factory
+            .fromUrl(getUrl(ctx) + "/query-parameters")
+            .usePutMethod()
+            .addQueryParam("param1", "value1")
+            .addQueryParam("param2", "value2")
+            .request()
+            .asProperties();
+
+    assertEquals(map, ImmutableMap.of("param1", "value1", "param2", "value2"));
+  }
+
+  @Test
+  public void shouldUseTokenFromCurrentContextForAuthorization(ITestContext ctx) throws Exception {
+    EnvironmentContext context = new EnvironmentContext();
+    context.setSubject(TEST_SUBJECT);
+    EnvironmentContext.setCurrent(context);
+    try {
+      factory.fromUrl(getUrl(ctx) + "/token").usePostMethod().request();
+    } finally {
+      EnvironmentContext.reset();
+    }
+  }
+
+  @Test
+  public void shouldAcceptNoContentResponse(ITestContext ctx) throws Exception {
+    HttpJsonResponse response =
+        factory.fromUrl(getUrl(ctx) + "/no-content").useDeleteMethod().request();
+
+    assertEquals(response.getResponseCode(), 204);
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionWhenResponseCodeIs404(ITestContext ctx) throws Exception {
+    factory.fromUrl(getUrl(ctx) + "/404/response-code-test").useGetMethod().request();
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldThrowIOExceptionIfServerReturnsTypeDifferentFromApplicationJson(
+      ITestContext ctx) throws Exception {
+    factory.fromUrl(getUrl(ctx) + "/text-plain").useGetMethod().request();
+  }
+
+  @Test
+  public void shouldCompleteAsyncRequestWithResponse(ITestContext ctx) throws Exception {
+    HttpJsonResponse response =
+        factory
+            .fromUrl(getUrl(ctx) + "/application-json")
+            .useGetMethod()
+            .requestAsync()
+            .get(10, TimeUnit.SECONDS);
+
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldCompleteAsyncRequestExceptionallyWithApiException(ITestContext ctx)
+      throws Exception {
+    try {
+      factory
+          .fromUrl(getUrl(ctx) + "/409/response-code-test")
+          .useGetMethod()
+          .requestAsync()
+          .get(10, TimeUnit.SECONDS);
+      fail("Request is expected to fail");
+    } catch (ExecutionException x) {
+      assertTrue(x.getCause() instanceof ConflictException);
+    }
+  }
+
+  @Test
+  public void shouldNotifyBoundEventListener(ITestContext ctx) throws Exception {
+    factory.setEventListener(eventListener);
+
+    factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+    verify(eventListener, atLeastOnce()).callStart(any());
+  }
+
+  @Filter
+  public static class EnvironmentFilter implements RequestFilter {
+
+    public void doFilter(GenericContainerRequest request) {
+      EnvironmentContext.getCurrent().setSubject(TEST_SUBJECT);
+    }
+  }
+
+  private String getUrl(ITestContext ctx) {
+    return "http://localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT) + "/rest/test";
+  }
+}
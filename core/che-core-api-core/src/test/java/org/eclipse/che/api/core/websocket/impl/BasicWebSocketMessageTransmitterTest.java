@@ -12,18 +12,28 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
-import java.io.IOException;
+import java.util.HashMap;
 import java.util.Optional;
+import javax.websocket.CloseReason;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import org.eclipse.che.api.core.websocket.impl.BasicWebSocketMessageTransmitter.SlowConsumerPolicy;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -42,37 +52,118 @@ public class BasicWebSocketMessageTransmitterTest {
 
   @Mock private WebSocketSessionRegistry registry;
   @Mock private MessagesReSender reSender;
-  @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Basic remote;
+  @Mock private RemoteEndpoint.Async remote;
+  @Captor private ArgumentCaptor<SendHandler> handlerCaptor;
+
+  private BasicWebSocketMessageTransmitter transmitter;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    lenient().when(session.getBasicRemote()).thenReturn(remote);
+    lenient().when(session.getAsyncRemote()).thenReturn(remote);
+    lenient().when(session.getUserProperties()).thenReturn(new HashMap<>());
     when(session.isOpen()).thenReturn(true);
 
-    when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
+    lenient().when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
     lenient().when(registry.getSessions()).thenReturn(emptySet());
+
+    transmitter =
+        new BasicWebSocketMessageTransmitter(registry, reSender, 1, SlowConsumerPolicy.DROP);
   }
 
   @Test
-  public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
+  public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() {
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session).getBasicRemote();
-    verify(remote).sendText(MESSAGE);
+    verify(session).getAsyncRemote();
+    verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
     verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
   }
 
   @Test
-  public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() throws IOException {
+  public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() {
     when(session.isOpen()).thenReturn(false);
 
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session, never()).getBasicRemote();
-    verify(remote, never()).sendText(MESSAGE);
+    verify(session, never()).getAsyncRemote();
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
   }
+
+  @Test
+  public void shouldLookUpSessionByIdPartIfEndpointIsNotRegistered() {
+    when(registry.get("client")).thenReturn(Optional.empty());
+    when(registry.getByIdPart("client")).thenReturn(singleton(session));
+
+    transmitter.transmit("client", MESSAGE);
+
+    verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldSendNextMessageOnlyWhenPreviousSendCompletes() {
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+
+    verify(remote).sendText(eq("first"), handlerCaptor.capture());
+    verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(transmitter.getQueuedCount(), 1);
+
+    handlerCaptor.getValue().onResult(new SendResult());
+
+    verify(remote).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(transmitter.getQueuedCount(), 0);
+    assertEquals(transmitter.getSentCount(true), 1);
+  }
+
+  @Test
+  public void shouldDropMessagesWhenQueueIsFullAndPolicyIsDrop() {
+    transmitter.transmit(ENDPOINT_ID, "in-flight");
+    transmitter.transmit(ENDPOINT_ID, "queued");
+
+    transmitter.transmit(ENDPOINT_ID, "dropped");
+
+    assertEquals(transmitter.getDroppedCount(), 1);
+    verify(reSender, never()).add(anyString(), anyString());
+    verify(remote, never()).sendText(eq("dropped"), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldCloseSessionAndPassMessagesToReSenderWhenQueueIsFullAndPolicyIsDisconnect()
+      throws Exception {
+    transmitter =
+        new BasicWebSocketMessageTransmitter(registry, reSender, 1, SlowConsumerPolicy.DISCONNECT);
+    transmitter.transmit(ENDPOINT_ID, "in-flight");
+    transmitter.transmit(ENDPOINT_ID, "queued");
+
+    transmitter.transmit(ENDPOINT_ID, "overflow");
+    transmitter.transmit(ENDPOINT_ID, "after");
+
+    verify(session).close(any(CloseReason.class));
+    verify(reSender).add(ENDPOINT_ID, "queued");
+    verify(reSender).add(ENDPOINT_ID, "overflow");
+    verify(reSender).add(ENDPOINT_ID, "after");
+    verify(remote, times(1)).sendText(anyString(), any(SendHandler.class));
+    assertEquals(transmitter.getDisconnectedCount(), 1);
+    assertEquals(transmitter.getQueuedCount(), 0);
+  }
+
+  @Test
+  public void shouldContinueSendingWhenSendCompletesSynchronously() {
+    doAnswer(
+            inv -> {
+              ((SendHandler) inv.getArgument(1)).onResult(new SendResult());
+              return null;
+            })
+        .when(remote)
+        .sendText(anyString(), any(SendHandler.class));
+
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+
+    verify(remote).sendText(eq("first"), any(SendHandler.class));
+    verify(remote).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(transmitter.getSentCount(true), 2);
+  }
 }
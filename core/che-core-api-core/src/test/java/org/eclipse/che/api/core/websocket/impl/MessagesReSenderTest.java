@@ -12,15 +12,13 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
-import java.util.Optional;
-import javax.websocket.RemoteEndpoint;
-import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -36,64 +34,24 @@ import org.testng.annotations.Test;
 public class MessagesReSenderTest {
   private static final String MESSAGE = "message";
   private static final String ENDPOINT_ID = "id";
+  private static final int MAX_MESSAGES = 2;
 
-  @Mock private WebSocketSessionRegistry sessionRegistry;
-  @InjectMocks private MessagesReSender reSender;
+  @Mock private WebSocketMessageTransmitter transmitter;
 
-  @Mock private Session session;
-  @Mock private RemoteEndpoint.Async endpoint;
-
-  @BeforeMethod
-  public void beforeMethod() {
-    when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-    when(session.getAsyncRemote()).thenReturn(endpoint);
-    when(session.isOpen()).thenReturn(true);
-  }
+  private MessagesReSender reSender;
 
   @BeforeMethod
   public void before() {
-    reSender = new MessagesReSender(sessionRegistry);
+    reSender = new MessagesReSender(() -> transmitter, MAX_MESSAGES);
   }
 
   @Test
-  public void shouldStopIfSessionIsNotRegistered() {
-    when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
-
+  public void shouldResendThroughTransmitter() {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
-  }
-
-  @Test
-  public void shouldKeepMessagesIfSessionIsClosed() {
-    reSender.add(ENDPOINT_ID, MESSAGE);
-
-    when(session.isOpen()).thenReturn(false);
-    reSender.resend(ENDPOINT_ID);
-
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
-
-    when(session.isOpen()).thenReturn(true);
-    reSender.resend(ENDPOINT_ID);
-
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
-  }
-
-  @Test
-  public void shouldProperlyAddForSingleEndpoint() {
-    reSender.add(ENDPOINT_ID, MESSAGE);
-
-    reSender.resend(ENDPOINT_ID);
-
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
   }
 
   @Test
@@ -104,46 +62,41 @@ public class MessagesReSenderTest {
     reSender.resend(ENDPOINT_ID);
     reSender.resend("1");
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    verify(transmitter).transmit("1", MESSAGE);
   }
 
   @Test
-  public void shouldClearOnExtractionForSingleEndpoint() {
+  public void shouldClearOnExtraction() {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
-
     reSender.resend(ENDPOINT_ID);
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
   }
 
   @Test
-  public void shouldClearOnExtractionForSeveralEndpoint() {
+  public void shouldNotResendToOtherEndpoints() {
     reSender.add(ENDPOINT_ID, MESSAGE);
-    reSender.add("1", MESSAGE);
 
-    reSender.resend(ENDPOINT_ID);
     reSender.resend("1");
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter, never()).transmit(anyString(), anyString());
+  }
+
+  @Test
+  public void shouldKeepLatestMessagesAndCountDroppedOnes() {
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.add(ENDPOINT_ID, "second");
+    reSender.add(ENDPOINT_ID, "third");
 
     reSender.resend(ENDPOINT_ID);
-    reSender.resend("1");
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter, never()).transmit(ENDPOINT_ID, "first");
+    InOrder inOrder = inOrder(transmitter);
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "second");
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "third");
+    assertEquals(reSender.getDroppedCount(), 1);
   }
 }
@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Collections.singleton;
+import static org.eclipse.che.api.core.websocket.impl.WebsocketIdService.SEPARATOR;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.*;
 
@@ -83,4 +85,58 @@ public class WebSocketSessionRegistryTest {
     assertFalse(registry.getSessions().isEmpty());
     assertEquals(2, registry.getSessions().size());
   }
+
+  @Test
+  public void shouldGetEndpointIdBySession() {
+    registry.add("0", session);
+
+    assertEquals(registry.get(session), Optional.of("0"));
+  }
+
+  @Test
+  public void shouldGetSessionsByClientOrEndpointIdPart() {
+    registry.add("client" + SEPARATOR + "endpoint", session);
+
+    assertEquals(registry.getByIdPart("client"), singleton(session));
+    assertEquals(registry.getByIdPart("endpoint"), singleton(session));
+    assertTrue(registry.getByIdPart("cli").isEmpty());
+  }
+
+  @Test
+  public void shouldReturnDisconnectedEndpointOnceWhenItDidNotReconnect() {
+    registry.add("0", session);
+    registry.add("1", mock(Session.class));
+    registry.remove("0");
+
+    assertEquals(registry.pollDisconnected(0), singleton("0"));
+    assertTrue(registry.pollDisconnected(0).isEmpty());
+  }
+
+  @Test
+  public void shouldNotReturnDisconnectedEndpointWhichReconnected() {
+    registry.add("0", session);
+    registry.remove("0");
+
+    registry.add("0", mock(Session.class));
+
+    assertTrue(registry.pollDisconnected(0).isEmpty());
+  }
+
+  @Test
+  public void shouldNotReturnDisconnectedEndpointBeforeTimeout() {
+    registry.add("0", session);
+    registry.remove("0");
+
+    assertTrue(registry.pollDisconnected(60_000).isEmpty());
+  }
+
+  @Test
+  public void shouldRemoveSessionFromIndexes() {
+    registry.add("client" + SEPARATOR + "endpoint", session);
+
+    registry.remove(session);
+
+    assertFalse(registry.get(session).isPresent());
+    assertTrue(registry.getByIdPart("client").isEmpty());
+  }
 }
@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
@@ -34,6 +35,8 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 public class DtoImplServerTemplate extends DtoImpl {
   private static final String JSON_ARRAY_IMPL = JsonArrayImpl.class.getCanonicalName();
   private static final String JSON_MAP_IMPL = JsonStringMapImpl.class.getCanonicalName();
+  private static final String DTO_TYPE_ADAPTER = DtoTypeAdapter.class.getCanonicalName();
+  static final String TYPE_ADAPTER_CLASS_NAME = "GeneratedTypeAdapter";
   private static final String SERVER_DTO_MARKER =
       "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
@@ -70,6 +73,9 @@ public class DtoImplServerTemplate extends DtoImpl {
     emitSerializer(methods, builder);
     emitDeserializer(methods, builder);
     emitDeserializerShortcut(builder);
+    if (hasTypeAdapter()) {
+      emitTypeAdapter(getters, superGetterNames, builder);
+    }
     emitCopyConstructor(methods, builder);
     // Delegation DTO methods.
     emitDelegateMethods(builder);
@@ -377,10 +383,234 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append("    }\n\n");
   }
 
+  /**
+   * Tells whether a streaming type adapter is generated for this DTO implementation. The adapter
+   * relies on the adapter of the super DTO implementation, so it isn't generated when the super
+   * implementation comes from a dependency built without one.
+   */
+  boolean hasTypeAdapter() {
+    Class<?> superType = getSuperDtoInterface(getDtoInterface());
+    if (superType == null || superType == JsonSerializable.class) {
+      return true;
+    }
+    Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
+    if (superTypeImpl == null) {
+      for (DtoImpl dto : getEnclosingTemplate().getDtoInterfaces()) {
+        if (dto.getDtoInterface() == superType) {
+          return ((DtoImplServerTemplate) dto).hasTypeAdapter();
+        }
+      }
+      return false;
+    }
+    for (Class<?> nested : superTypeImpl.getDeclaredClasses()) {
+      if (nested.getSimpleName().equals(TYPE_ADAPTER_CLASS_NAME)
+          && DtoTypeAdapter.class.isAssignableFrom(nested)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Emits a streaming type adapter that reads and writes the fields declared by this DTO
+   * implementation and delegates the inherited ones to the adapter of the super implementation.
+   */
+  private void emitTypeAdapter(
+      List<Method> getters, Set<String> superGetterNames, StringBuilder builder) {
+    String implClassName = getImplClassName();
+    String superAdapter = null;
+    Class<?> superType = getSuperDtoInterface(getDtoInterface());
+    if (superType != null && superType != JsonSerializable.class) {
+      Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
+      superAdapter =
+          (superTypeImpl == null
+                  ? superType.getSimpleName() + "Impl"
+                  : superTypeImpl.getCanonicalName())
+              + "."
+              + TYPE_ADAPTER_CLASS_NAME;
+    }
+    List<Method> fields = new ArrayList<>();
+    for (Method getter : getters) {
+      if (!superGetterNames.contains(getter.getName())
+          && getJavaFieldName(getter.getName()) != null) {
+        fields.add(getter);
+      }
+    }
+
+    builder
+        .append("    public static class ")
+        .append(TYPE_ADAPTER_CLASS_NAME)
+        .append(" extends ")
+        .append(DTO_TYPE_ADAPTER)
+        .append("<")
+        .append(implClassName)
+        .append("> {\n");
+    if (superAdapter != null) {
+      builder.append("      private final ").append(superAdapter).append(" superAdapter;\n");
+    }
+    for (Method getter : fields) {
+      builder
+          .append("      private final com.google.gson.TypeAdapter<")
+          .append(getBoxedImplName(getter.getGenericReturnType()))
+          .append("> $")
+          .append(getJavaFieldName(getter.getName()))
+          .append(";\n");
+    }
+    builder.append("\n");
+
+    // constructor, resolves adapters of the fields
+    builder.append("      public ").append(TYPE_ADAPTER_CLASS_NAME).append("(Gson gson) {\n");
+    builder.append("        super(gson);\n");
+    if (superAdapter != null) {
+      builder.append("        this.superAdapter = new ").append(superAdapter).append("(gson);\n");
+    }
+    for (Method getter : fields) {
+      Type type = getter.getGenericReturnType();
+      builder
+          .append("        this.$")
+          .append(getJavaFieldName(getter.getName()))
+          .append(" = gson.getAdapter(");
+      if (type instanceof Class<?>) {
+        builder.append(((Class<?>) type).getCanonicalName()).append(".class");
+      } else {
+        builder
+            .append("new com.google.gson.reflect.TypeToken<")
+            .append(getImplName(type, false))
+            .append(">() {}");
+      }
+      builder.append(");\n");
+    }
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder.append("      protected ").append(implClassName).append(" newInstance() {\n");
+    builder.append("        return new ").append(implClassName).append("();\n");
+    builder.append("      }\n\n");
+
+    // writer
+    builder.append("      @Override\n");
+    builder
+        .append("      public void writeFields(com.google.gson.stream.JsonWriter out, ")
+        .append(implClassName)
+        .append(" dto) throws java.io.IOException {\n");
+    for (Method getter : fields) {
+      emitFieldWrite(getter, builder);
+    }
+    if (superAdapter != null) {
+      builder.append("        superAdapter.writeFields(out, dto);\n");
+    }
+    builder.append("      }\n\n");
+
+    // reader
+    builder.append("      @Override\n");
+    builder
+        .append(
+            "      public boolean readField(String name, com.google.gson.stream.JsonReader in, ")
+        .append(implClassName)
+        .append(" dto) throws java.io.IOException {\n");
+    builder.append("        switch (name) {\n");
+    for (Method getter : fields) {
+      String fieldName = getJavaFieldName(getter.getName());
+      builder.append("        case \"").append(getJsonFieldName(getter)).append("\":\n");
+      if (getter.getReturnType().isPrimitive()) {
+        // null doesn't override the default value of a primitive
+        builder.append("          {\n");
+        builder
+            .append("            ")
+            .append(getBoxedImplName(getter.getGenericReturnType()))
+            .append(" value = $")
+            .append(fieldName)
+            .append(".read(in);\n");
+        builder.append("            if (value != null) {\n");
+        builder.append("              dto.").append(fieldName).append(" = value;\n");
+        builder.append("            }\n");
+        builder.append("            return true;\n");
+        builder.append("          }\n");
+      } else {
+        builder
+            .append("          dto.")
+            .append(fieldName)
+            .append(" = $")
+            .append(fieldName)
+            .append(".read(in);\n");
+        builder.append("          return true;\n");
+      }
+    }
+    builder.append("        default:\n");
+    if (superAdapter != null) {
+      builder.append("          return superAdapter.readField(name, in, dto);\n");
+    } else {
+      builder.append("          return false;\n");
+    }
+    builder.append("        }\n");
+    builder.append("      }\n");
+    builder.append("    }\n\n");
+  }
+
+  /**
+   * Emits writing of a single field. Primitives and strings are written directly, values of other
+   * types go through the runtime type check as Gson's reflective adapter does.
+   */
+  private void emitFieldWrite(Method getter, StringBuilder builder) {
+    String fieldName = getJavaFieldName(getter.getName());
+    Type type = getter.getGenericReturnType();
+    Class<?> rawClass = getRawClass(type);
+    String name = "        out.name(\"" + getJsonFieldName(getter) + "\");\n";
+    if (rawClass == int.class || rawClass == long.class || rawClass == boolean.class) {
+      builder.append(name);
+      builder.append("        out.value(dto.").append(fieldName).append(");\n");
+    } else if (rawClass.isPrimitive()
+        || rawClass == String.class
+        || Primitives.isWrapperType(rawClass)) {
+      builder.append(name);
+      builder
+          .append("        $")
+          .append(fieldName)
+          .append(".write(out, dto.")
+          .append(fieldName)
+          .append(");\n");
+    } else {
+      // Gson skips the fields which refer to the DTO itself
+      builder.append("        if ((Object) dto.").append(fieldName).append(" != dto) {\n");
+      builder.append("  ").append(name);
+      if (type instanceof Class<?>) {
+        builder
+            .append("          writeValue(out, $")
+            .append(fieldName)
+            .append(", ")
+            .append(rawClass.getCanonicalName())
+            .append(".class, dto.")
+            .append(fieldName)
+            .append(");\n");
+      } else {
+        builder
+            .append("          $")
+            .append(fieldName)
+            .append(".write(out, dto.")
+            .append(fieldName)
+            .append(");\n");
+      }
+      builder.append("        }\n");
+    }
+  }
+
+  /** Returns the same as {@link #getImplName(Type, boolean)} but wraps primitive types. */
+  private String getBoxedImplName(Type type) {
+    if (type instanceof Class<?> && ((Class<?>) type).isPrimitive()) {
+      return Primitives.wrap((Class<?>) type).getCanonicalName();
+    }
+    return getImplName(type, false);
+  }
+
   private static StringBuilder appendNaiveCopyJsonExpression(
       String inValue, StringBuilder builder) {
+    // JSON elements are copied without printing and parsing them again
     builder.append("((");
     builder.append(inValue);
+    builder.append(") instanceof JsonElement ? ((JsonElement) (");
+    builder.append(inValue);
+    builder.append(")).deepCopy() : (");
+    builder.append(inValue);
     builder.append(") != null ? new JsonParser().parse((");
     builder.append(inValue);
     builder.append(").toString()) : null)");
@@ -290,6 +290,18 @@ public class DtoTemplate {
             .append(dto.getImplClassName())
             .append("(origin);\n");
         builder.append("        }\n");
+        if (((DtoImplServerTemplate) dto).hasTypeAdapter()) {
+          builder
+              .append("\n        public com.google.gson.TypeAdapter<? extends ")
+              .append(dtoInterface)
+              .append("> createTypeAdapter(Gson gson) {\n")
+              .append("            return new ")
+              .append(dto.getImplClassName())
+              .append(".")
+              .append(DtoImplServerTemplate.TYPE_ADAPTER_CLASS_NAME)
+              .append("(gson);\n");
+          builder.append("        }\n");
+        }
         builder.append("    });\n");
       }
       builder.append("  }\n\n");
@@ -105,7 +105,9 @@ public final class DtoFactory {
   private final Map<Class<?>, DtoProvider<?>> dtoImpl2Providers = new ConcurrentHashMap<>();
   private final Gson dtoGson =
       buildDtoParser(
-          ServiceLoader.load(TypeAdapterFactory.class).iterator(), new DtoInterfaceTAF());
+          new DtoImplTAF(),
+          ServiceLoader.load(TypeAdapterFactory.class).iterator(),
+          new DtoInterfaceTAF());
 
   /**
    * Created deep copy of DTO object.
@@ -446,6 +448,22 @@ public final class DtoFactory {
     }
   }
 
+  /**
+   * Provides the streaming type adapters generated for DTO implementation classes. Implementations
+   * without generated adapter are left to Gson's {@link ReflectiveTypeAdapterFactory}.
+   */
+  private class DtoImplTAF implements TypeAdapterFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      DtoProvider<?> prov = dtoImpl2Providers.get(type.getRawType());
+      if (prov != null) {
+        return (TypeAdapter<T>) prov.createTypeAdapter(gson);
+      }
+      return null;
+    }
+  }
+
   /**
    * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty
    * instead.
@@ -491,9 +509,14 @@ public final class DtoFactory {
   private DtoFactory() {}
 
   private static Gson buildDtoParser(
-      Iterator<TypeAdapterFactory> factoryIterator, TypeAdapterFactory... factories) {
+      TypeAdapterFactory implFactory,
+      Iterator<TypeAdapterFactory> factoryIterator,
+      TypeAdapterFactory... factories) {
     GsonBuilder builder = new GsonBuilder();
 
+    // registered first to give way to the custom factories
+    builder.registerTypeAdapterFactory(implFactory);
+
     for (Iterator<TypeAdapterFactory> it = factoryIterator; it.hasNext(); ) {
       TypeAdapterFactory factory = it.next();
       builder.registerTypeAdapterFactory(factory);
@@ -508,8 +531,8 @@ public final class DtoFactory {
           new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()));
       builder.registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()));
     } else {
-      builder.registerTypeHierarchyAdapter(Collection.class, new NullOrEmptyCollectionAdapter());
-      builder.registerTypeHierarchyAdapter(Map.class, new NullOrEmptyMapAdapter());
+      builder.registerTypeAdapterFactory(new NullOrEmptyCollectionAdapter());
+      builder.registerTypeAdapterFactory(new NullOrEmptyMapAdapter());
     }
 
     builder.registerTypeAdapterFactory(new SerializableInterfaceAdapterFactory());
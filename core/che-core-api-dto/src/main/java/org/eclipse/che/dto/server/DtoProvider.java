@@ -11,7 +11,9 @@
  */
 package org.eclipse.che.dto.server;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
 
 /**
  * Provides implementation of DTO interface.
@@ -28,4 +30,15 @@ public interface DtoProvider<DTO> {
   DTO newInstance();
 
   DTO clone(DTO origin);
+
+  /**
+   * Creates streaming type adapter of the DTO implementation.
+   *
+   * @param gson Gson instance which provides adapters for the fields of the DTO
+   * @return type adapter or {@code null} if the implementation should be handled by Gson's
+   *     reflective adapter
+   */
+  default TypeAdapter<? extends DTO> createTypeAdapter(Gson gson) {
+    return null;
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Base class for the streaming type adapters generated for server DTO implementations.
+ *
+ * <p>Generated adapters read and write the fields of DTO implementations directly, without
+ * reflection, while producing the same JSON as Gson's reflective adapter does: fields of an
+ * implementation are written before the fields of its super implementation, null values are
+ * skipped, and unknown properties are ignored while reading.
+ *
+ * @param <T> type of DTO implementation
+ * @see DtoProvider#createTypeAdapter(Gson)
+ */
+public abstract class DtoTypeAdapter<T> extends TypeAdapter<T> {
+
+  protected final Gson gson;
+
+  protected DtoTypeAdapter(Gson gson) {
+    this.gson = gson;
+  }
+
+  /** Creates a new empty instance of DTO implementation. */
+  protected abstract T newInstance();
+
+  /** Writes the fields of the given DTO, without enclosing object braces. */
+  public abstract void writeFields(JsonWriter out, T dto) throws IOException;
+
+  /**
+   * Reads the value of the field with the given JSON name into the given DTO.
+   *
+   * @return true if the field is known and its value was consumed, false otherwise
+   */
+  public abstract boolean readField(String name, JsonReader in, T dto) throws IOException;
+
+  @Override
+  public void write(JsonWriter out, T dto) throws IOException {
+    if (dto == null) {
+      out.nullValue();
+      return;
+    }
+    out.beginObject();
+    writeFields(out, dto);
+    out.endObject();
+  }
+
+  @Override
+  public T read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    T dto = newInstance();
+    try {
+      in.beginObject();
+      while (in.hasNext()) {
+        if (!readField(in.nextName(), in, dto)) {
+          in.skipValue();
+        }
+      }
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    }
+    in.endObject();
+    return dto;
+  }
+
+  /**
+   * Writes the value of a field declared with the given class. As Gson's reflective adapter does,
+   * uses the adapter of the runtime type of the value when it is more specific than the declared
+   * one, so e.g. a sub-DTO assigned to a field of the super DTO type is written completely.
+   */
+  @SuppressWarnings("unchecked")
+  protected void writeValue(
+      JsonWriter out, TypeAdapter<?> declaredAdapter, Class<?> declaredType, Object value)
+      throws IOException {
+    TypeAdapter<Object> chosen = (TypeAdapter<Object>) declaredAdapter;
+    if (value != null && value.getClass() != declaredType) {
+      TypeAdapter<?> runtimeAdapter = gson.getAdapter(value.getClass());
+      if (!(runtimeAdapter instanceof ReflectiveTypeAdapterFactory.Adapter)
+          || declaredAdapter instanceof ReflectiveTypeAdapterFactory.Adapter) {
+        chosen = (TypeAdapter<Object>) runtimeAdapter;
+      }
+    }
+    chosen.write(out, value);
+  }
+}
@@ -11,32 +11,63 @@
  */
 package org.eclipse.che.dto.server;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
-import java.util.List;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.Collection;
 
 /**
  * This class will prevent serialization of null or empty fields of DTOs with Collection types
  *
  * @author Mykhailo Kuznietsov
  */
-public class NullOrEmptyCollectionAdapter implements JsonSerializer<List<?>> {
+public class NullOrEmptyCollectionAdapter implements TypeAdapterFactory {
   @Override
-  public JsonElement serialize(List<?> src, Type typeOfSrc, JsonSerializationContext context) {
-    if (src == null || src.isEmpty()) {
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (!Collection.class.isAssignableFrom(type.getRawType())) {
       return null;
     }
+    TypeAdapter<Collection<?>> delegate =
+        (TypeAdapter<Collection<?>>) gson.getDelegateAdapter(this, type);
+    return (TypeAdapter<T>) new Adapter(gson, delegate);
+  }
 
-    JsonArray array = new JsonArray();
+  private static class Adapter extends TypeAdapter<Collection<?>> {
+    final Gson gson;
+    final TypeAdapter<Collection<?>> delegate;
 
-    for (Object child : src) {
-      JsonElement element = context.serialize(child);
-      array.add(element);
+    Adapter(Gson gson, TypeAdapter<Collection<?>> delegate) {
+      this.gson = gson;
+      this.delegate = delegate;
     }
 
-    return array;
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(JsonWriter out, Collection<?> src) throws IOException {
+      if (src == null || src.isEmpty()) {
+        out.nullValue();
+        return;
+      }
+
+      out.beginArray();
+      for (Object child : src) {
+        if (child == null) {
+          out.nullValue();
+        } else {
+          gson.getAdapter((Class<Object>) child.getClass()).write(out, child);
+        }
+      }
+      out.endArray();
+    }
+
+    @Override
+    public Collection<?> read(JsonReader in) throws IOException {
+      return delegate.read(in);
+    }
   }
 }
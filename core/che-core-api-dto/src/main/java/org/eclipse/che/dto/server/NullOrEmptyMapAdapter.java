@@ -11,11 +11,13 @@
  */
 package org.eclipse.che.dto.server;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -23,17 +25,50 @@ import java.util.Map;
  *
  * @author Mykhailo Kuznietsov
  */
-public class NullOrEmptyMapAdapter implements JsonSerializer<Map<?, ?>> {
+public class NullOrEmptyMapAdapter implements TypeAdapterFactory {
   @Override
-  public JsonElement serialize(Map<?, ?> src, Type typeOfSrc, JsonSerializationContext context) {
-    if (src == null || src.isEmpty()) {
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (!Map.class.isAssignableFrom(type.getRawType())) {
       return null;
     }
+    TypeAdapter<Map<?, ?>> delegate = (TypeAdapter<Map<?, ?>>) gson.getDelegateAdapter(this, type);
+    return (TypeAdapter<T>) new Adapter(gson, delegate);
+  }
+
+  private static class Adapter extends TypeAdapter<Map<?, ?>> {
+    final Gson gson;
+    final TypeAdapter<Map<?, ?>> delegate;
+
+    Adapter(Gson gson, TypeAdapter<Map<?, ?>> delegate) {
+      this.gson = gson;
+      this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(JsonWriter out, Map<?, ?> src) throws IOException {
+      if (src == null || src.isEmpty()) {
+        out.nullValue();
+        return;
+      }
+
+      out.beginObject();
+      for (Map.Entry<?, ?> entry : src.entrySet()) {
+        out.name(entry.getKey().toString());
+        Object value = entry.getValue();
+        if (value == null) {
+          out.nullValue();
+        } else {
+          gson.getAdapter((Class<Object>) value.getClass()).write(out, value);
+        }
+      }
+      out.endObject();
+    }
 
-    JsonObject object = new JsonObject();
-    for (Map.Entry<?, ?> entry : src.entrySet()) {
-      object.add(entry.getKey().toString(), context.serialize(entry.getValue()));
+    @Override
+    public Map<?, ?> read(JsonReader in) throws IOException {
+      return delegate.read(in);
     }
-    return object;
   }
 }
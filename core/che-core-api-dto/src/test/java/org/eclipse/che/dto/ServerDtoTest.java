@@ -13,6 +13,7 @@ package org.eclipse.che.dto;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import com.google.gson.Gson;
@@ -27,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
+import org.eclipse.che.dto.definitions.DTOHierarchy.ChildDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy.GrandchildDto;
 import org.eclipse.che.dto.definitions.DtoWithAny;
 import org.eclipse.che.dto.definitions.DtoWithDelegate;
@@ -37,6 +39,7 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -468,4 +471,53 @@ public class ServerDtoTest {
     assertEquals(dto.getObjectMap().get("fooString"), fooString);
     assertEquals(dto.getObjectMap().get("fooRoundingDouble"), Math.round(fooRoundingDouble));
   }
+
+  @Test
+  public void shouldUseGeneratedTypeAdapters() {
+    Gson gson = dtoFactory.getGson();
+
+    assertTrue(gson.getAdapter(SimpleDto.class) instanceof DtoTypeAdapter);
+    assertTrue(gson.getAdapter(GrandchildDto.class) instanceof DtoTypeAdapter);
+  }
+
+  @Test
+  public void shouldWriteAndReadInheritedFieldsWithGeneratedTypeAdapter() {
+    ChildDto shadowed = dtoFactory.createDto(GrandchildDto.class).withDtoField("nested");
+    GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+    dto.setParentField("parent");
+    dto.setChildField("child");
+    dto.setShadowedField((GrandchildDto) shadowed);
+
+    JsonObject json = new JsonParser().parse(dtoFactory.toJson(dto)).getAsJsonObject();
+    GrandchildDto parsed = dtoFactory.createDtoFromJson(json.toString(), GrandchildDto.class);
+
+    assertEquals(json.get("parentField").getAsString(), "parent");
+    assertEquals(json.get("childField").getAsString(), "child");
+    assertFalse(json.has("dtoField"));
+    assertEquals(
+        json.get("shadowedField").getAsJsonObject().get("dtoField").getAsString(), "nested");
+    assertEquals(parsed.getParentField(), "parent");
+    assertEquals(parsed.getChildField(), "child");
+  }
+
+  @Test
+  public void shouldIgnoreUnknownFieldsAndNullPrimitivesWithGeneratedTypeAdapter() {
+    SimpleDto dto =
+        dtoFactory.createDtoFromJson(
+            "{\"unknown\":{\"a\":[1,2]},\"id\":null,\"name\":\"foo\"}", SimpleDto.class);
+
+    assertEquals(dto.getId(), 0);
+    assertEquals(dto.getName(), "foo");
+  }
+
+  @Test
+  public void shouldDeepCopyJsonElementsOfAnyFieldsWhenCloning() {
+    JsonObject stuff = new JsonParser().parse("{\"a\":100}").getAsJsonObject();
+    DtoWithAny dto = dtoFactory.createDto(DtoWithAny.class).withStuff(stuff);
+
+    DtoWithAny copy = dtoFactory.clone(dto);
+    stuff.addProperty("a", 200);
+
+    assertEquals(copy.getStuff(), new JsonParser().parse("{\"a\":100}"));
+  }
 }
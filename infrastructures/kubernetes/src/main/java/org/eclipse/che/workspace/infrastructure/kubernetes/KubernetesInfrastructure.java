@@ -14,6 +14,8 @@ package org.eclipse.che.workspace.infrastructure.kubernetes;
 import static java.lang.String.format;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -27,6 +29,7 @@ import org.eclipse.che.api.workspace.server.spi.RuntimeInfrastructure;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalEnvironment;
 import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentProvisioner;
 import org.eclipse.che.api.workspace.shared.Constants;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesRuntimeStateCache;
 import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
@@ -64,6 +67,17 @@ public class KubernetesInfrastructure extends RuntimeInfrastructure {
     return runtimeStatusesCache.getIdentities();
   }
 
+  @Override
+  public Optional<RuntimeIdentity> getIdentity(String workspaceId) throws InfrastructureException {
+    return runtimeStatusesCache.getIdentity(workspaceId);
+  }
+
+  @Override
+  public List<RuntimeIdentity> getIdentities(@Nullable String afterWorkspaceId, int maxItems)
+      throws InfrastructureException {
+    return runtimeStatusesCache.getIdentities(afterWorkspaceId, maxItems);
+  }
+
   @Override
   public String evaluateInfraNamespace(NamespaceResolutionContext resolutionCtx)
       throws InfrastructureException {
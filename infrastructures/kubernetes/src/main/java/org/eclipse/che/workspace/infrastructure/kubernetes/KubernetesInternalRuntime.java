@@ -12,9 +12,22 @@
 package org.eclipse.che.workspace.infrastructure.kubernetes;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.CONFIG_MAPS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.INGRESSES_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.INGRESSES_READY_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.PODS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.SECRETS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.SERVICES_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.getResults;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.CHECK_SERVERS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.CREATE_OBJECTS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.PREPARE_VOLUMES_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.PROVISION_ENVIRONMENT_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.PROVISION_TOOLING_PHASE;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.WAIT_MACHINES_START;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.WAIT_RUNNING_ASYNC;
 
@@ -71,6 +84,7 @@ import org.eclipse.che.api.workspace.server.hc.probe.WorkspaceProbesFactory;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
+import org.eclipse.che.api.workspace.server.spi.RuntimeInfrastructure;
 import org.eclipse.che.api.workspace.server.spi.RuntimeStartInterruptedException;
 import org.eclipse.che.api.workspace.server.spi.StateException;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalMachineConfig;
@@ -95,7 +109,10 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.provision.PreviewUrlC
 import org.eclipse.che.workspace.infrastructure.kubernetes.server.KubernetesServerResolver;
 import org.eclipse.che.workspace.infrastructure.kubernetes.server.external.IngressPathTransformInverter;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.Step;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhasesTracker;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.UnrecoverablePodEventListenerFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins.SidecarToolingProvisioner;
 import org.slf4j.Logger;
@@ -110,8 +127,33 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
 
   private static final Logger LOG = LoggerFactory.getLogger(KubernetesInternalRuntime.class);
 
+  /** Start phase of provisioning of workspace tooling, including plugin brokers execution. */
+  public static final String TOOLING_PROVISIONING_PHASE = "tooling_provisioning";
+
+  /** Start phase of applying of environment provisioners. */
+  public static final String ENVIRONMENT_PROVISIONING_PHASE = "environment_provisioning";
+
+  /** Start phase of preparation of workspace volumes. */
+  public static final String VOLUMES_PREPARATION_PHASE = "volumes_preparation";
+
+  /**
+   * Start phase of creation of workspace Kubernetes objects. Each phase of objects creation
+   * pipeline is additionally reported as a phase which name is prefixed with this one.
+   */
+  public static final String OBJECTS_CREATION_PHASE = "objects_creation";
+
+  /** Start phase of waiting until all the machines are running and their servers are ready. */
+  public static final String MACHINES_START_PHASE = "machines_start";
+
+  /** Start phase of waiting until a machine pod is running, including images pulling. */
+  public static final String MACHINE_RUNNING_PHASE = "machine_running";
+
+  /** Start phase of waiting until servers of a machine are ready. */
+  public static final String SERVERS_CHECK_PHASE = "servers_check";
+
   private final int workspaceStartTimeoutMin;
   private final long ingressStartTimeoutMillis;
+  private final int objectsCreationParallelism;
   private final UnrecoverablePodEventListenerFactory unrecoverableEventListenerFactory;
   private final ServersCheckerFactory serverCheckerFactory;
   private final ProbeScheduler probeScheduler;
@@ -131,10 +173,14 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   private final PreviewUrlCommandProvisioner previewUrlCommandProvisioner;
   protected final Tracer tracer;
 
+  /** Tracker of phases of the start which is in progress, null if runtime is not starting. */
+  private volatile StartPhasesTracker startPhases;
+
   @Inject
   public KubernetesInternalRuntime(
       @Named("che.infra.kubernetes.workspace_start_timeout_min") int workspaceStartTimeoutMin,
       @Named("che.infra.kubernetes.ingress_start_timeout_min") int ingressStartTimeoutMin,
+      @Named("che.infra.kubernetes.objects_creation_parallelism") int objectsCreationParallelism,
       NoOpURLRewriter urlRewriter,
       UnrecoverablePodEventListenerFactory unrecoverableEventListenerFactory,
       ServersCheckerFactory serverCheckerFactory,
@@ -161,6 +207,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     this.volumesStrategy = volumesStrategy;
     this.workspaceStartTimeoutMin = workspaceStartTimeoutMin;
     this.ingressStartTimeoutMillis = TimeUnit.MINUTES.toMillis(ingressStartTimeoutMin);
+    this.objectsCreationParallelism = objectsCreationParallelism;
     this.probeScheduler = probeScheduler;
     this.probesFactory = probesFactory;
     this.namespace = namespace;
@@ -182,17 +229,22 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   protected void internalStart(Map<String, String> startOptions) throws InfrastructureException {
     KubernetesRuntimeContext<E> context = getContext();
     String workspaceId = context.getIdentity().getWorkspaceId();
+    StartPhasesTracker phases = newStartPhasesTracker();
+    startPhases = phases;
     try {
       startSynchronizer.setStartThread();
       startSynchronizer.start();
 
       // Tooling side car provisioner should be applied before other provisioners
       // because new machines may be provisioned there
+      phases.begin(TOOLING_PROVISIONING_PHASE, PROVISION_TOOLING_PHASE);
       toolingProvisioner.provision(
           context.getIdentity(), startSynchronizer, context.getEnvironment(), startOptions);
 
       startSynchronizer.checkFailure();
 
+      phases.begin(ENVIRONMENT_PROVISIONING_PHASE, PROVISION_ENVIRONMENT_PHASE);
+
       // Workspace API provisioners should be reapplied here to bring needed
       // changed into new machines that came during tooling provisioning
       for (InternalEnvironmentProvisioner envProvisioner : internalEnvironmentProvisioners) {
@@ -209,6 +261,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
 
       LOG.debug("Provisioning of workspace '{}' completed.", workspaceId);
 
+      phases.begin(VOLUMES_PREPARATION_PHASE, PREPARE_VOLUMES_PHASE);
       volumesStrategy.prepare(
           context.getEnvironment(),
           context.getIdentity(),
@@ -217,6 +270,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
 
       startSynchronizer.checkFailure();
 
+      phases.begin(OBJECTS_CREATION_PHASE, CREATE_OBJECTS_PHASE);
       startMachines();
       watchLogsIfDebugEnabled(startOptions);
 
@@ -225,6 +279,8 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
 
       startSynchronizer.checkFailure();
 
+      // spans of machines start are reported by machines boot chains
+      phases.begin(MACHINES_START_PHASE, null);
       final Map<String, CompletableFuture<Void>> machinesFutures = new LinkedHashMap<>();
       // futures that must be cancelled explicitly
       final List<CompletableFuture<?>> toCancelFutures = new CopyOnWriteArrayList<>();
@@ -252,12 +308,14 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
         waitRunningAsyncSpan.finish();
       }
 
+      phases.complete();
       startSynchronizer.complete();
     } catch (InfrastructureException | RuntimeException e) {
       Exception startFailureCause = startSynchronizer.getStartFailureNow();
       if (startFailureCause == null) {
         startFailureCause = e;
       }
+      phases.fail(startFailureCause);
 
       startSynchronizer.completeExceptionally(startFailureCause);
       LOG.warn(
@@ -284,10 +342,23 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
       }
       wrapAndRethrow(startFailureCause);
     } finally {
+      startPhases = null;
       namespace.deployments().stopWatch();
     }
   }
 
+  /** Returns new tracker of phases of this runtime start. */
+  private StartPhasesTracker newStartPhasesTracker() {
+    KubernetesRuntimeContext<E> context = getContext();
+    RuntimeInfrastructure infrastructure = context.getInfrastructure();
+    return new StartPhasesTracker(
+        context.getIdentity(),
+        infrastructure != null ? infrastructure.getName() : null,
+        context.getEnvironment().getType(),
+        eventPublisher,
+        tracer);
+  }
+
   /**
    * Schedules runtime state checks that are needed after recovering of runtime.
    *
@@ -398,6 +469,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
 
     // Need to get active span here to allow use in returned function;
     final Span activeSpan = tracer.activeSpan();
+    final StartPhasesTracker phases = startPhases;
 
     return ignored -> {
       // Span must be created within this lambda block, otherwise the span begins as soon as
@@ -409,6 +481,13 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
 
       // This completable future is used to unity the servers checks and start of probes
       final CompletableFuture<Void> serversAndProbesFuture = new CompletableFuture<>();
+      final long checkStartNanos = System.nanoTime();
+      if (phases != null) {
+        serversAndProbesFuture.whenComplete(
+            (ok, ex) ->
+                phases.record(
+                    SERVERS_CHECK_PHASE, System.nanoTime() - checkStartNanos, ex == null));
+      }
       final String machineName = machine.getName();
       final RuntimeIdentity runtimeId = getContext().getIdentity();
       final ServersChecker serverCheck =
@@ -495,6 +574,8 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     Span tracingSpan = tracer.buildSpan(WAIT_RUNNING_ASYNC).start();
     TracingTags.WORKSPACE_ID.set(tracingSpan, machine.getWorkspaceId());
     TracingTags.MACHINE_NAME.set(tracingSpan, machine.getName());
+    StartPhasesTracker phases = startPhases;
+    long waitStartNanos = System.nanoTime();
 
     CompletableFuture<Void> waitFuture =
         namespace.deployments().waitRunningAsync(machine.getPodName());
@@ -505,6 +586,9 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
             TracingTags.setErrorStatus(tracingSpan, ex);
           }
           tracingSpan.finish();
+          if (phases != null) {
+            phases.record(MACHINE_RUNNING_PHASE, System.nanoTime() - waitStartNanos, ex == null);
+          }
         });
 
     toCancelFutures.add(waitFuture);
@@ -593,27 +677,66 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   /**
    * Create all machine related objects and start machines.
    *
+   * <p>Independent objects are created concurrently by {@link ObjectsCreationPipeline}. Pods are
+   * created as soon as secrets and config maps they may refer to are created, so they are started
+   * while ingresses are waiting to become ready.
+   *
    * @throws InfrastructureException when any error occurs while creating Kubernetes objects
    */
   @Traced
   protected void startMachines() throws InfrastructureException {
     KubernetesEnvironment k8sEnv = getContext().getEnvironment();
-    String workspaceId = getContext().getIdentity().getWorkspaceId();
+    TracingTags.WORKSPACE_ID.set(getContext().getIdentity().getWorkspaceId());
 
-    createSecrets(k8sEnv, workspaceId);
-    createConfigMaps(k8sEnv, workspaceId);
-    List<Service> createdServices = createServices(k8sEnv, workspaceId);
+    listenEvents();
 
+    ObjectsCreationPipeline pipeline = newObjectsCreationPipeline();
+    List<Step<?>> podsDependencies = new ArrayList<>();
+    for (Secret secret : k8sEnv.getSecrets().values()) {
+      podsDependencies.add(
+          pipeline.add(
+              SECRETS_PHASE,
+              () -> {
+                namespace.secrets().create(secret);
+                return secret;
+              },
+              emptyList()));
+    }
+    for (ConfigMap configMap : k8sEnv.getConfigMaps().values()) {
+      podsDependencies.add(
+          pipeline.add(
+              CONFIG_MAPS_PHASE,
+              () -> {
+                namespace.configMaps().create(configMap);
+                return configMap;
+              },
+              emptyList()));
+    }
+    List<Step<Service>> createdServices = new ArrayList<>();
+    for (Service service : k8sEnv.getServices().values()) {
+      createdServices.add(
+          pipeline.add(SERVICES_PHASE, () -> namespace.services().create(service), emptyList()));
+    }
     // needed for resolution later on, even though n routes are actually created by ingress
     // /workspace{wsid}/server-{port} => service({wsid}):server-port => pod({wsid}):{port}
-    List<Ingress> readyIngresses = createIngresses(k8sEnv, workspaceId);
-
-    listenEvents();
+    // ingresses are created after the services they route to
+    List<Step<Ingress>> readyIngresses = new ArrayList<>();
+    for (Ingress ingress : k8sEnv.getIngresses().values()) {
+      Step<Ingress> created =
+          pipeline.add(
+              INGRESSES_PHASE, () -> namespace.ingresses().create(ingress), createdServices);
+      readyIngresses.add(
+          pipeline.add(
+              INGRESSES_READY_PHASE, () -> waitReady(created.getResult()), singletonList(created)));
+    }
+    List<Step<Pod>> createdPods = addDeploymentSteps(pipeline, podsDependencies);
 
-    final KubernetesServerResolver serverResolver =
-        new KubernetesServerResolver(ingressPathTransformInverter, createdServices, readyIngresses);
+    executeCreationPipeline(pipeline);
 
-    doStartMachine(serverResolver);
+    storeStartingMachines(
+        createdPods,
+        new KubernetesServerResolver(
+            ingressPathTransformInverter, getResults(createdServices), getResults(readyIngresses)));
   }
 
   @Traced
@@ -662,83 +785,114 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     }
   }
 
+  /**
+   * Creates Kubernetes pods and resolves servers using the specified serverResolver.
+   *
+   * @param serverResolver server resolver that provide servers by container
+   * @throws InfrastructureException when any error occurs while creating Kubernetes pods
+   */
   @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createSecrets(KubernetesEnvironment env, String workspaceId) throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (Secret secret : env.getSecrets().values()) {
-      namespace.secrets().create(secret);
-    }
+  protected void doStartMachine(KubernetesServerResolver serverResolver)
+      throws InfrastructureException {
+    ObjectsCreationPipeline pipeline = newObjectsCreationPipeline();
+    List<Step<Pod>> createdPods = addDeploymentSteps(pipeline, emptyList());
+    executeCreationPipeline(pipeline);
+    storeStartingMachines(createdPods, serverResolver);
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createConfigMaps(KubernetesEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (ConfigMap configMap : env.getConfigMaps().values()) {
-      namespace.configMaps().create(configMap);
-    }
+  /** Returns new pipeline for creation of objects of this runtime. */
+  protected ObjectsCreationPipeline newObjectsCreationPipeline() {
+    return new ObjectsCreationPipeline(executor, objectsCreationParallelism);
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Service> createServices(KubernetesEnvironment env, String workspaceId)
+  /**
+   * Executes the given pipeline and logs the time spent in each phase of objects creation. When the
+   * runtime is starting, durations of objects creation phases are reported as start phases. Each
+   * phase is traced as a child span of the active one.
+   *
+   * @throws InfrastructureException when any error occurs while creating Kubernetes objects
+   */
+  protected void executeCreationPipeline(ObjectsCreationPipeline pipeline)
       throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-
-    Collection<Service> servicesToCreate = env.getServices().values();
-    List<Service> createdServices = new ArrayList<>(servicesToCreate.size());
-    for (Service service : servicesToCreate) {
-      createdServices.add(namespace.services().create(service));
+    String workspaceId = getContext().getIdentity().getWorkspaceId();
+    boolean succeeded = false;
+    try {
+      pipeline.execute();
+      succeeded = true;
+    } finally {
+      LOG.debug(
+          "Objects creation phases durations in workspace '{}': {}ms",
+          workspaceId,
+          pipeline.getPhasesDurations(TimeUnit.MILLISECONDS));
+      StartPhasesTracker phases = startPhases;
+      if (phases != null) {
+        for (Entry<String, Long> phase :
+            pipeline.getPhasesDurations(TimeUnit.NANOSECONDS).entrySet()) {
+          phases.record(OBJECTS_CREATION_PHASE + '.' + phase.getKey(), phase.getValue(), succeeded);
+        }
+      }
+      traceCreationPhases(pipeline, workspaceId);
     }
-
-    return createdServices;
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Ingress> createIngresses(KubernetesEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    return createAndWaitReady(env.getIngresses().values());
+  /**
+   * Reports the phases of the executed pipeline as spans, steps of the phases are executed by
+   * different threads so they can't be traced as methods.
+   */
+  private void traceCreationPhases(ObjectsCreationPipeline pipeline, String workspaceId) {
+    Span parent = tracer.activeSpan();
+    for (Entry<String, ObjectsCreationPipeline.Phase> entry : pipeline.getPhases().entrySet()) {
+      ObjectsCreationPipeline.Phase phase = entry.getValue();
+      Span span =
+          tracer
+              .buildSpan(CREATE_OBJECTS_PHASE + '#' + entry.getKey())
+              .asChildOf(parent)
+              .withStartTimestamp(phase.getStartTime(TimeUnit.MICROSECONDS))
+              .start();
+      TracingTags.WORKSPACE_ID.set(span, workspaceId);
+      if (phase.isFailed()) {
+        TracingTags.ERROR.set(span, true);
+      }
+      span.finish(phase.getEndTime(TimeUnit.MICROSECONDS));
+    }
   }
 
   /**
-   * Creates Kubernetes pods and resolves servers using the specified serverResolver.
+   * Adds the steps of creation of environment pods and deployments to the given pipeline.
+   * Injectable pods are merged into the pods that require them before adding.
    *
-   * @param serverResolver server resolver that provide servers by container
-   * @throws InfrastructureException when any error occurs while creating Kubernetes pods
+   * @param pipeline pipeline to add steps to
+   * @param dependencies steps which must be completed before pods creation
+   * @return added steps, which results are the created pods
+   * @throws InfrastructureException when pods can't be merged with injectable pods
    */
-  @Traced
-  protected void doStartMachine(KubernetesServerResolver serverResolver)
+  protected List<Step<Pod>> addDeploymentSteps(
+      ObjectsCreationPipeline pipeline, List<? extends Step<?>> dependencies)
       throws InfrastructureException {
-
     final KubernetesEnvironment environment = getContext().getEnvironment();
-    final Map<String, InternalMachineConfig> machineConfigs = environment.getMachines();
     final String workspaceId = getContext().getIdentity().getWorkspaceId();
-    LOG.debug("Begin pods creation for workspace '{}'", workspaceId);
     PodMerger podMerger = new PodMerger();
     Map<String, Map<String, Pod>> injectablePods = environment.getInjectablePodsCopy();
+    List<Step<Pod>> createdPods = new ArrayList<>();
     for (Pod toCreate : environment.getPodsCopy().values()) {
-      ObjectMeta toCreateMeta = toCreate.getMetadata();
       List<PodData> injectables = getAllInjectablePods(toCreate, injectablePods);
 
-      Pod createdPod;
+      ObjectsCreationPipeline.Task<Pod> deploy;
       if (injectables.isEmpty()) {
-        createdPod = namespace.deployments().deploy(toCreate);
+        deploy = () -> namespace.deployments().deploy(toCreate);
       } else {
         try {
           injectables.add(new PodData(toCreate));
           Deployment merged = podMerger.merge(injectables);
           merged.getMetadata().setName(toCreate.getMetadata().getName());
-          createdPod = namespace.deployments().deploy(merged);
+          deploy = () -> namespace.deployments().deploy(merged);
         } catch (ValidationException e) {
           throw new InfrastructureException(e);
         }
       }
-      LOG.debug("Creating pod '{}' in workspace '{}'", toCreateMeta.getName(), workspaceId);
-      storeStartingMachine(createdPod, createdPod.getMetadata(), machineConfigs, serverResolver);
+      LOG.debug(
+          "Creating pod '{}' in workspace '{}'", toCreate.getMetadata().getName(), workspaceId);
+      createdPods.add(pipeline.add(PODS_PHASE, deploy, dependencies));
     }
 
     for (Deployment toCreate : environment.getDeploymentsCopy().values()) {
@@ -747,27 +901,46 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
           getAllInjectablePods(
               template.getMetadata(), template.getSpec().getContainers(), injectablePods);
 
-      Pod createdPod;
+      ObjectsCreationPipeline.Task<Pod> deploy;
       if (injectables.isEmpty()) {
-        createdPod = namespace.deployments().deploy(toCreate);
+        deploy = () -> namespace.deployments().deploy(toCreate);
       } else {
         try {
           injectables.add(new PodData(toCreate));
           Deployment deployment = podMerger.merge(injectables);
           deployment.getMetadata().setName(toCreate.getMetadata().getName());
-
-          createdPod = namespace.deployments().deploy(deployment);
+          deploy = () -> namespace.deployments().deploy(deployment);
         } catch (ValidationException e) {
           throw new InfrastructureException(e);
         }
       }
       LOG.debug(
           "Creating deployment '{}' in workspace '{}'",
-          createdPod.getMetadata().getName(),
+          toCreate.getMetadata().getName(),
           workspaceId);
+      createdPods.add(pipeline.add(PODS_PHASE, deploy, dependencies));
+    }
+    return createdPods;
+  }
+
+  /**
+   * Stores machines of the created pods and resolves their servers using the specified
+   * serverResolver.
+   *
+   * @param createdPods completed steps of pods creation
+   * @param serverResolver server resolver that provide servers by container
+   * @throws InfrastructureException when any error occurs while storing machines
+   */
+  protected void storeStartingMachines(
+      List<Step<Pod>> createdPods, KubernetesServerResolver serverResolver)
+      throws InfrastructureException {
+    final Map<String, InternalMachineConfig> machineConfigs =
+        getContext().getEnvironment().getMachines();
+    for (Pod createdPod : getResults(createdPods)) {
       storeStartingMachine(createdPod, createdPod.getMetadata(), machineConfigs, serverResolver);
     }
-    LOG.debug("Pods creation finished in workspace '{}'", workspaceId);
+    LOG.debug(
+        "Pods creation finished in workspace '{}'", getContext().getIdentity().getWorkspaceId());
   }
 
   private List<PodData> getAllInjectablePods(
@@ -872,33 +1045,16 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     runtimeStates.remove(getContext().getIdentity());
   }
 
-  private List<Ingress> createAndWaitReady(Collection<Ingress> ingresses)
-      throws InfrastructureException {
-    List<Ingress> createdIngresses = new ArrayList<>();
-    for (Ingress ingress : ingresses) {
-      createdIngresses.add(namespace.ingresses().create(ingress));
-    }
-    LOG.debug(
-        "Ingresses created for workspace '{}'. Wait them to be ready.",
-        getContext().getIdentity().getWorkspaceId());
-
+  private Ingress waitReady(Ingress ingress) throws InfrastructureException {
     // wait for LB ip
-    List<Ingress> readyIngresses = new ArrayList<>();
-    for (Ingress ingress : createdIngresses) {
-      Ingress actualIngress =
-          namespace
-              .ingresses()
-              .wait(
-                  ingress.getMetadata().getName(),
-                  // Smaller value of ingress and start timeout should be used
-                  Math.min(ingressStartTimeoutMillis, startSynchronizer.getStartTimeoutMillis()),
-                  TimeUnit.MILLISECONDS,
-                  p -> (!p.getStatus().getLoadBalancer().getIngress().isEmpty()));
-      readyIngresses.add(actualIngress);
-    }
-    LOG.debug(
-        "Ingresses creation for workspace '{}' done.", getContext().getIdentity().getWorkspaceId());
-    return readyIngresses;
+    return namespace
+        .ingresses()
+        .wait(
+            ingress.getMetadata().getName(),
+            // Smaller value of ingress and start timeout should be used
+            Math.min(ingressStartTimeoutMillis, startSynchronizer.getStartTimeoutMillis()),
+            TimeUnit.MILLISECONDS,
+            p -> (!p.getStatus().getLoadBalancer().getIngress().isEmpty()));
   }
 
   /**
@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.config.Command;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.workspace.infrastructure.kubernetes.model.KubernetesRuntimeState;
 
 /**
@@ -44,6 +45,26 @@ public interface KubernetesRuntimeStateCache {
    */
   Set<RuntimeIdentity> getIdentities() throws InfrastructureException;
 
+  /**
+   * Returns a page of runtime identities of cached runtimes ordered by workspace id.
+   *
+   * @param afterWorkspaceId when not null, only identities of workspaces which ids are greater than
+   *     the given one are returned
+   * @param maxItems the maximum number of identities to return
+   * @throws InfrastructureException if any exception occurs during identities fetching
+   */
+  List<RuntimeIdentity> getIdentities(@Nullable String afterWorkspaceId, int maxItems)
+      throws InfrastructureException;
+
+  /**
+   * Returns optional with runtime identity of the cached runtime of the workspace with specified
+   * identifier or empty optional if there is no cached state.
+   *
+   * @param workspaceId workspace identifier
+   * @throws InfrastructureException if any exception occurs during identity fetching
+   */
+  Optional<RuntimeIdentity> getIdentity(String workspaceId) throws InfrastructureException;
+
   /**
    * Returns optional with status of the runtime with specified identifier or empty optional if
    * there is not cached state.
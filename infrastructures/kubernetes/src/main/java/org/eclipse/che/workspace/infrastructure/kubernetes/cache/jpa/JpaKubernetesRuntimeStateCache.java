@@ -15,6 +15,7 @@ import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 
 import com.google.inject.persist.Transactional;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -33,6 +34,7 @@ import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.cache.BeforeKubernetesRuntimeStateRemovedEvent;
@@ -75,14 +77,45 @@ public class JpaKubernetesRuntimeStateCache implements KubernetesRuntimeStateCac
   @Transactional(rollbackOn = InfrastructureException.class)
   @Override
   public Set<RuntimeIdentity> getIdentities() throws InfrastructureException {
+    try {
+      return new HashSet<>(
+          managerProvider
+              .get()
+              .createNamedQuery("KubernetesRuntime.getIdentities", RuntimeIdentity.class)
+              .setParameter("afterWorkspaceId", "")
+              .getResultList());
+    } catch (RuntimeException x) {
+      throw new InfrastructureException(x.getMessage(), x);
+    }
+  }
+
+  @Transactional(rollbackOn = InfrastructureException.class)
+  @Override
+  public List<RuntimeIdentity> getIdentities(@Nullable String afterWorkspaceId, int maxItems)
+      throws InfrastructureException {
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery("KubernetesRuntime.getIdentities", RuntimeIdentity.class)
+          .setParameter("afterWorkspaceId", afterWorkspaceId == null ? "" : afterWorkspaceId)
+          .setMaxResults(maxItems)
+          .getResultList();
+    } catch (RuntimeException x) {
+      throw new InfrastructureException(x.getMessage(), x);
+    }
+  }
+
+  @Transactional(rollbackOn = InfrastructureException.class)
+  @Override
+  public Optional<RuntimeIdentity> getIdentity(String workspaceId) throws InfrastructureException {
     try {
       return managerProvider
           .get()
-          .createNamedQuery("KubernetesRuntime.getAll", KubernetesRuntimeState.class)
+          .createNamedQuery("KubernetesRuntime.getIdentity", RuntimeIdentity.class)
+          .setParameter("workspaceId", workspaceId)
           .getResultList()
           .stream()
-          .map(KubernetesRuntimeState::getRuntimeId)
-          .collect(Collectors.toSet());
+          .findAny();
     } catch (RuntimeException x) {
       throw new InfrastructureException(x.getMessage(), x);
     }
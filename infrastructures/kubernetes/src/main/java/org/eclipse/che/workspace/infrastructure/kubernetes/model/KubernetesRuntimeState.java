@@ -35,7 +35,22 @@ import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
 @Entity(name = "KubernetesRuntime")
 @Table(name = "che_k8s_runtime")
 @NamedQueries({
-  @NamedQuery(name = "KubernetesRuntime.getAll", query = "SELECT r FROM KubernetesRuntime r")
+  @NamedQuery(name = "KubernetesRuntime.getAll", query = "SELECT r FROM KubernetesRuntime r"),
+  @NamedQuery(
+      name = "KubernetesRuntime.getIdentities",
+      query =
+          "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl("
+              + "r.workspaceId, r.envName, r.ownerId, r.namespace) "
+              + "FROM KubernetesRuntime r "
+              + "WHERE r.workspaceId > :afterWorkspaceId "
+              + "ORDER BY r.workspaceId"),
+  @NamedQuery(
+      name = "KubernetesRuntime.getIdentity",
+      query =
+          "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl("
+              + "r.workspaceId, r.envName, r.ownerId, r.namespace) "
+              + "FROM KubernetesRuntime r "
+              + "WHERE r.workspaceId = :workspaceId")
 })
 public class KubernetesRuntimeState {
   @Id
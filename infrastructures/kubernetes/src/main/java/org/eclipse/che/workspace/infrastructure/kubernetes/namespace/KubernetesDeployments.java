@@ -117,6 +117,7 @@ public class KubernetesDeployments {
   private final ConcurrentLinkedQueue<PodActionHandler> podActionHandlers;
   private final ConcurrentLinkedQueue<PodEventHandler> containerEventsHandlers;
   private final Executor executor;
+  private final KubernetesSharedWatches sharedWatches;
   private Watch podWatch;
   private Watch containerWatch;
   private Date watcherInitializationDate;
@@ -126,13 +127,15 @@ public class KubernetesDeployments {
       String namespace,
       String workspaceId,
       KubernetesClientFactory clientFactory,
-      Executor executor) {
+      Executor executor,
+      KubernetesSharedWatches sharedWatches) {
     this.namespace = namespace;
     this.workspaceId = workspaceId;
     this.clientFactory = clientFactory;
     this.containerEventsHandlers = new ConcurrentLinkedQueue<>();
     this.podActionHandlers = new ConcurrentLinkedQueue<>();
     this.executor = executor;
+    this.sharedWatches = sharedWatches;
   }
 
   /**
@@ -230,12 +233,17 @@ public class KubernetesDeployments {
   /**
    * Create a terminating pod that is not part of a Deployment.
    *
+   * <p>The pod is labeled with the workspace id unless the deployments are not related to any
+   * workspace.
+   *
    * @param pod the Pod to create
    * @return the created pod
    * @throws InfrastructureException when any error occurs
    */
   public Pod create(Pod pod) throws InfrastructureException {
-    putLabel(pod, CHE_WORKSPACE_ID_LABEL, workspaceId);
+    if (workspaceId != null) {
+      putLabel(pod, CHE_WORKSPACE_ID_LABEL, workspaceId);
+    }
     try {
       return clientFactory.create(workspaceId).pods().inNamespace(namespace).create(pod);
     } catch (KubernetesClientException e) {
@@ -492,13 +500,17 @@ public class KubernetesDeployments {
             public void onClose(KubernetesClientException ignored) {}
           };
       try {
-        podWatch =
-            clientFactory
-                .create(workspaceId)
-                .pods()
-                .inNamespace(namespace)
-                .withLabel(CHE_WORKSPACE_ID_LABEL, workspaceId)
-                .watch(watcher);
+        if (sharedWatches.isEnabled()) {
+          podWatch = sharedWatches.watchPods(namespace, workspaceId, watcher);
+        } else {
+          podWatch =
+              clientFactory
+                  .create(workspaceId)
+                  .pods()
+                  .inNamespace(namespace)
+                  .withLabel(CHE_WORKSPACE_ID_LABEL, workspaceId)
+                  .watch(watcher);
+        }
       } catch (KubernetesClientException ex) {
         throw new KubernetesInfrastructureException(ex);
       }
@@ -584,8 +596,12 @@ public class KubernetesDeployments {
           };
       try {
         watcherInitializationDate = new Date();
-        containerWatch =
-            clientFactory.create(workspaceId).events().inNamespace(namespace).watch(watcher);
+        if (sharedWatches.isEnabled()) {
+          containerWatch = sharedWatches.watchEvents(namespace, workspaceId, watcher);
+        } else {
+          containerWatch =
+              clientFactory.create(workspaceId).events().inNamespace(namespace).watch(watcher);
+        }
       } catch (KubernetesClientException ex) {
         throw new KubernetesInfrastructureException(ex);
       }
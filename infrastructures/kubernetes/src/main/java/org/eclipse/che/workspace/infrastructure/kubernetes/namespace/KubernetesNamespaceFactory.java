@@ -85,6 +85,7 @@ public class KubernetesNamespaceFactory {
   private final KubernetesClientFactory clientFactory;
   private final UserManager userManager;
   protected final KubernetesSharedPool sharedPool;
+  protected final KubernetesSharedWatches sharedWatches;
 
   @Inject
   public KubernetesNamespaceFactory(
@@ -96,7 +97,8 @@ public class KubernetesNamespaceFactory {
           boolean allowUserDefinedNamespaces,
       KubernetesClientFactory clientFactory,
       UserManager userManager,
-      KubernetesSharedPool sharedPool)
+      KubernetesSharedPool sharedPool,
+      KubernetesSharedWatches sharedWatches)
       throws ConfigurationException {
     this.userManager = userManager;
     this.legacyNamespaceName = legacyNamespaceName;
@@ -106,6 +108,7 @@ public class KubernetesNamespaceFactory {
     this.defaultNamespaceName = defaultNamespaceName;
     this.allowUserDefinedNamespaces = allowUserDefinedNamespaces;
     this.sharedPool = sharedPool;
+    this.sharedWatches = sharedWatches;
 
     if (isNullOrEmpty(defaultNamespaceName)) {
       throw new ConfigurationException("che.infra.kubernetes.namespace.default must be configured");
@@ -129,9 +132,23 @@ public class KubernetesNamespaceFactory {
     return doCreateNamespaceAccess(workspaceId, namespace);
   }
 
+  /**
+   * Creates an access to the namespace which is not related to any workspace.
+   *
+   * <p>Pods created through it are not labeled with a workspace id, so they are neither removed nor
+   * watched along with workspaces pods. Only named objects should be managed through it.
+   *
+   * @param namespace name of the namespace
+   * @return namespace access
+   */
+  public KubernetesNamespace accessNamespace(String namespace) {
+    return access(null, namespace);
+  }
+
   @VisibleForTesting
   KubernetesNamespace doCreateNamespaceAccess(String workspaceId, String name) {
-    return new KubernetesNamespace(clientFactory, sharedPool.getExecutor(), name, workspaceId);
+    return new KubernetesNamespace(
+        clientFactory, sharedPool.getExecutor(), sharedWatches, name, workspaceId);
   }
 
   /**
@@ -0,0 +1,582 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_DEPLOYMENT_NAME_LABEL;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multiplexes pods and events watches of workspaces that run in the same namespace.
+ *
+ * <p>Instead of opening a pods watch and a namespace-wide events watch for every workspace, a
+ * single watch per resource kind is opened for each namespace which has at least one subscriber.
+ * Received pods are routed to subscribers by the {@link
+ * org.eclipse.che.workspace.infrastructure.kubernetes.Constants#CHE_WORKSPACE_ID_LABEL} label,
+ * received events are routed by the name of the involved object. Events whose involved object is
+ * not known yet (e.g. the pod was not seen by the pods watch) are delivered to all the subscribers
+ * of the namespace, that is the same behaviour as with dedicated watches.
+ *
+ * <p>A new pods subscriber receives the pods of its workspace which are already known as {@link
+ * Watcher.Action#ADDED}, as it would from a dedicated watch. Each subscriber is notified in the
+ * order the objects are received, but asynchronously to the other subscribers, so a slow watcher
+ * doesn't delay the notifications of other workspaces.
+ *
+ * <p>A shared watch which is closed because of an error is reopened while it has subscribers,
+ * failed attempts are retried with an exponential backoff. Pods which were deleted while the pods
+ * watch was closed are delivered to subscribers as {@link Watcher.Action#DELETED} once it is
+ * reopened.
+ *
+ * <p>Shared watches are opened with the infrastructure level client, so it should be enabled only
+ * when Che Server service account is allowed to watch pods and events in workspaces namespaces.
+ */
+@Singleton
+public class KubernetesSharedWatches {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KubernetesSharedWatches.class);
+
+  static final long REOPEN_INITIAL_DELAY_MS = 1_000;
+  static final long REOPEN_MAX_DELAY_MS = 32_000;
+
+  private final boolean enabled;
+  private final KubernetesClientFactory clientFactory;
+  private final Executor executor;
+  private final ScheduledExecutorService reopenScheduler;
+  private final Map<String, NamespaceWatches> namespaces = new ConcurrentHashMap<>();
+
+  @Inject
+  public KubernetesSharedWatches(
+      @Named("che.infra.kubernetes.shared_watches.enabled") boolean enabled,
+      KubernetesClientFactory clientFactory,
+      KubernetesSharedPool sharedPool) {
+    this(
+        enabled,
+        clientFactory,
+        sharedPool,
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("KubernetesSharedWatchesReopener-%d")
+                .setDaemon(true)
+                .build()));
+  }
+
+  @VisibleForTesting
+  KubernetesSharedWatches(
+      boolean enabled,
+      KubernetesClientFactory clientFactory,
+      KubernetesSharedPool sharedPool,
+      ScheduledExecutorService reopenScheduler) {
+    this.enabled = enabled;
+    this.clientFactory = clientFactory;
+    this.executor = sharedPool.getExecutor();
+    this.reopenScheduler = reopenScheduler;
+  }
+
+  /** Returns true if workspaces watches should be multiplexed, false otherwise. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Subscribes the specified watcher to the pods of the given workspace.
+   *
+   * @param namespace namespace where workspace pods are running
+   * @param workspaceId identifier of workspace which pods should be watched
+   * @param watcher watcher to notify
+   * @return watch that unsubscribes the watcher when closed
+   * @throws InfrastructureException if any error occurs while shared watch starting
+   */
+  public Watch watchPods(String namespace, String workspaceId, Watcher<Pod> watcher)
+      throws InfrastructureException {
+    Subscriber<Pod> subscriber = new Subscriber<>(namespace, watcher);
+    NamespaceWatches namespaceWatches;
+    do {
+      namespaceWatches = namespaces.computeIfAbsent(namespace, NamespaceWatches::new);
+    } while (!namespaceWatches.subscribePods(workspaceId, subscriber));
+    NamespaceWatches subscribed = namespaceWatches;
+    return () -> subscribed.unsubscribePods(workspaceId, subscriber);
+  }
+
+  /**
+   * Subscribes the specified watcher to the events related to the pods of the given workspace.
+   *
+   * @param namespace namespace where workspace pods are running
+   * @param workspaceId identifier of workspace which pods events should be watched
+   * @param watcher watcher to notify
+   * @return watch that unsubscribes the watcher when closed
+   * @throws InfrastructureException if any error occurs while shared watch starting
+   */
+  public Watch watchEvents(String namespace, String workspaceId, Watcher<Event> watcher)
+      throws InfrastructureException {
+    Subscriber<Event> subscriber = new Subscriber<>(namespace, watcher);
+    NamespaceWatches namespaceWatches;
+    do {
+      namespaceWatches = namespaces.computeIfAbsent(namespace, NamespaceWatches::new);
+    } while (!namespaceWatches.subscribeEvents(workspaceId, subscriber));
+    NamespaceWatches subscribed = namespaceWatches;
+    return () -> subscribed.unsubscribeEvents(workspaceId, subscriber);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    reopenScheduler.shutdownNow();
+  }
+
+  /** Returns the delay before the next attempt to reopen a watch after the given failed ones. */
+  private static long reopenDelay(int failedAttempts) {
+    return Math.min(REOPEN_MAX_DELAY_MS, REOPEN_INITIAL_DELAY_MS << Math.min(failedAttempts, 16));
+  }
+
+  /**
+   * Holds the shared watches of a single namespace and routes received objects to subscribers.
+   *
+   * <p>Subscriptions, unsubscriptions and routing are performed under the instance lock, so a
+   * subscriber never misses an object received between the replay of known pods and the
+   * subscription, and released namespace watches are never subscribed after it is released.
+   */
+  private class NamespaceWatches {
+
+    private final String namespace;
+    private final Map<String, Queue<Subscriber<Pod>>> podWatchers = new HashMap<>();
+    private final Map<String, Queue<Subscriber<Event>>> eventWatchers = new HashMap<>();
+    /** Pods received by the pods watch indexed by their names. */
+    private final Map<String, Pod> pods = new HashMap<>();
+    /** Names of pods and deployments indexed by the pods watch to workspace identifiers. */
+    private final Map<String, String> objectsOwners = new HashMap<>();
+
+    private Watch podWatch;
+    private Watch eventWatch;
+    private int podWatchReopenFailures;
+    private int eventWatchReopenFailures;
+    private boolean released;
+
+    private NamespaceWatches(String namespace) {
+      this.namespace = namespace;
+    }
+
+    /** Returns false if the namespace watches are released and a new instance should be used. */
+    synchronized boolean subscribePods(String workspaceId, Subscriber<Pod> subscriber)
+        throws InfrastructureException {
+      if (released) {
+        return false;
+      }
+      if (podWatch == null) {
+        try {
+          startPodWatch();
+        } catch (InfrastructureException e) {
+          releaseIfUnused();
+          throw e;
+        }
+      }
+      podWatchers.computeIfAbsent(workspaceId, k -> new ConcurrentLinkedQueue<>()).add(subscriber);
+      for (Pod pod : pods.values()) {
+        if (workspaceId.equals(pod.getMetadata().getLabels().get(CHE_WORKSPACE_ID_LABEL))) {
+          subscriber.deliver(Watcher.Action.ADDED, pod);
+        }
+      }
+      return true;
+    }
+
+    synchronized void unsubscribePods(String workspaceId, Subscriber<Pod> subscriber) {
+      subscriber.close();
+      Queue<Subscriber<Pod>> watchers = podWatchers.get(workspaceId);
+      if (watchers != null) {
+        watchers.remove(subscriber);
+        if (watchers.isEmpty()) {
+          podWatchers.remove(workspaceId);
+        }
+      }
+      if (podWatchers.isEmpty()) {
+        if (podWatch != null) {
+          close(podWatch);
+          podWatch = null;
+        }
+        pods.clear();
+        objectsOwners.clear();
+      }
+      releaseIfUnused();
+    }
+
+    /** Returns false if the namespace watches are released and a new instance should be used. */
+    synchronized boolean subscribeEvents(String workspaceId, Subscriber<Event> subscriber)
+        throws InfrastructureException {
+      if (released) {
+        return false;
+      }
+      if (eventWatch == null) {
+        try {
+          eventWatch = openEventWatch();
+        } catch (InfrastructureException e) {
+          releaseIfUnused();
+          throw e;
+        }
+      }
+      eventWatchers
+          .computeIfAbsent(workspaceId, k -> new ConcurrentLinkedQueue<>())
+          .add(subscriber);
+      return true;
+    }
+
+    synchronized void unsubscribeEvents(String workspaceId, Subscriber<Event> subscriber) {
+      subscriber.close();
+      Queue<Subscriber<Event>> watchers = eventWatchers.get(workspaceId);
+      if (watchers != null) {
+        watchers.remove(subscriber);
+        if (watchers.isEmpty()) {
+          eventWatchers.remove(workspaceId);
+        }
+      }
+      if (eventWatchers.isEmpty() && eventWatch != null) {
+        close(eventWatch);
+        eventWatch = null;
+      }
+      releaseIfUnused();
+    }
+
+    private void releaseIfUnused() {
+      // watches may be closed while they are being reopened for their subscribers
+      if (podWatchers.isEmpty() && eventWatchers.isEmpty()) {
+        released = true;
+        namespaces.remove(namespace, this);
+      }
+    }
+
+    private Watch openPodWatch() throws InfrastructureException {
+      try {
+        return clientFactory
+            .create()
+            .pods()
+            .inNamespace(namespace)
+            .withLabel(CHE_WORKSPACE_ID_LABEL)
+            .watch(
+                new Watcher<Pod>() {
+                  @Override
+                  public void eventReceived(Action action, Pod pod) {
+                    dispatchPod(action, pod);
+                  }
+
+                  @Override
+                  public void onClose(KubernetesClientException cause) {
+                    if (cause != null) {
+                      onPodWatchClosed(cause);
+                    }
+                  }
+                });
+      } catch (KubernetesClientException ex) {
+        throw new KubernetesInfrastructureException(ex);
+      }
+    }
+
+    private Watch openEventWatch() throws InfrastructureException {
+      try {
+        return clientFactory
+            .create()
+            .events()
+            .inNamespace(namespace)
+            .watch(
+                new Watcher<Event>() {
+                  @Override
+                  public void eventReceived(Action action, Event event) {
+                    dispatchEvent(action, event);
+                  }
+
+                  @Override
+                  public void onClose(KubernetesClientException cause) {
+                    if (cause != null) {
+                      onEventWatchClosed(cause);
+                    }
+                  }
+                });
+      } catch (KubernetesClientException ex) {
+        throw new KubernetesInfrastructureException(ex);
+      }
+    }
+
+    /**
+     * Opens the pods watch. If pods are already known, the ones which do not exist anymore are
+     * delivered as deleted, since the new watch receives only the existing pods.
+     */
+    private void startPodWatch() throws InfrastructureException {
+      Watch watch = openPodWatch();
+      if (!pods.isEmpty()) {
+        try {
+          dispatchDeletedPods();
+        } catch (InfrastructureException e) {
+          close(watch);
+          throw e;
+        }
+      }
+      podWatch = watch;
+      podWatchReopenFailures = 0;
+    }
+
+    private void dispatchDeletedPods() throws InfrastructureException {
+      Set<String> existing = new HashSet<>();
+      try {
+        for (Pod pod :
+            clientFactory
+                .create()
+                .pods()
+                .inNamespace(namespace)
+                .withLabel(CHE_WORKSPACE_ID_LABEL)
+                .list()
+                .getItems()) {
+          existing.add(pod.getMetadata().getName());
+        }
+      } catch (KubernetesClientException ex) {
+        throw new KubernetesInfrastructureException(ex);
+      }
+      for (Pod pod : new ArrayList<>(pods.values())) {
+        if (!existing.contains(pod.getMetadata().getName())) {
+          dispatchPod(Watcher.Action.DELETED, pod);
+        }
+      }
+    }
+
+    private synchronized void onPodWatchClosed(KubernetesClientException cause) {
+      if (podWatchers.isEmpty()) {
+        return;
+      }
+      LOG.warn(
+          "Shared pods watch for namespace '{}' was closed. Cause: '{}'. Reopening",
+          namespace,
+          cause.getMessage());
+      podWatch = null;
+      reopenPodWatch();
+    }
+
+    private synchronized void reopenPodWatch() {
+      if (released || podWatchers.isEmpty() || podWatch != null) {
+        return;
+      }
+      try {
+        startPodWatch();
+      } catch (InfrastructureException e) {
+        long delay = reopenDelay(podWatchReopenFailures++);
+        LOG.error(
+            "Failed to reopen shared pods watch in namespace '{}', retry in {} ms. Cause: '{}'",
+            namespace,
+            delay,
+            e.getMessage());
+        scheduleReopen(this::reopenPodWatch, delay);
+      }
+    }
+
+    private synchronized void onEventWatchClosed(KubernetesClientException cause) {
+      if (eventWatchers.isEmpty()) {
+        return;
+      }
+      LOG.warn(
+          "Shared events watch for namespace '{}' was closed. Cause: '{}'. Reopening",
+          namespace,
+          cause.getMessage());
+      eventWatch = null;
+      reopenEventWatch();
+    }
+
+    private synchronized void reopenEventWatch() {
+      if (released || eventWatchers.isEmpty() || eventWatch != null) {
+        return;
+      }
+      try {
+        eventWatch = openEventWatch();
+        eventWatchReopenFailures = 0;
+      } catch (InfrastructureException e) {
+        long delay = reopenDelay(eventWatchReopenFailures++);
+        LOG.error(
+            "Failed to reopen shared events watch in namespace '{}', retry in {} ms. Cause: '{}'",
+            namespace,
+            delay,
+            e.getMessage());
+        scheduleReopen(this::reopenEventWatch, delay);
+      }
+    }
+
+    private void scheduleReopen(Runnable reopen, long delay) {
+      try {
+        reopenScheduler.schedule(reopen, delay, MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        LOG.warn(
+            "Shared watch for namespace '{}' won't be reopened. Cause: {}",
+            namespace,
+            e.getMessage());
+      }
+    }
+
+    private synchronized void dispatchPod(Watcher.Action action, Pod pod) {
+      ObjectMeta metadata = pod.getMetadata();
+      if (metadata == null || metadata.getLabels() == null) {
+        return;
+      }
+      String workspaceId = metadata.getLabels().get(CHE_WORKSPACE_ID_LABEL);
+      if (workspaceId == null) {
+        return;
+      }
+      String deploymentName = metadata.getLabels().get(CHE_DEPLOYMENT_NAME_LABEL);
+      if (action == Watcher.Action.DELETED) {
+        pods.remove(metadata.getName());
+        objectsOwners.remove(metadata.getName());
+        if (deploymentName != null && !hasPodsOfDeployment(deploymentName)) {
+          objectsOwners.remove(deploymentName);
+        }
+      } else {
+        pods.put(metadata.getName(), pod);
+        objectsOwners.put(metadata.getName(), workspaceId);
+        if (deploymentName != null) {
+          objectsOwners.put(deploymentName, workspaceId);
+        }
+      }
+
+      Queue<Subscriber<Pod>> watchers = podWatchers.get(workspaceId);
+      if (watchers != null) {
+        watchers.forEach(w -> w.deliver(action, pod));
+      }
+    }
+
+    private boolean hasPodsOfDeployment(String deploymentName) {
+      for (Pod pod : pods.values()) {
+        if (deploymentName.equals(pod.getMetadata().getLabels().get(CHE_DEPLOYMENT_NAME_LABEL))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private synchronized void dispatchEvent(Watcher.Action action, Event event) {
+      ObjectReference involvedObject = event.getInvolvedObject();
+      String workspaceId =
+          involvedObject != null && involvedObject.getName() != null
+              ? objectsOwners.get(involvedObject.getName())
+              : null;
+      if (workspaceId != null) {
+        Queue<Subscriber<Event>> watchers = eventWatchers.get(workspaceId);
+        if (watchers != null) {
+          watchers.forEach(w -> w.deliver(action, event));
+        }
+      } else {
+        eventWatchers.values().forEach(ws -> ws.forEach(w -> w.deliver(action, event)));
+      }
+    }
+
+    private void close(Watch watch) {
+      try {
+        watch.close();
+      } catch (KubernetesClientException ex) {
+        LOG.error(
+            "Failed to stop shared watch for namespace '{}' cause '{}'",
+            namespace,
+            ex.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Notifies a single watcher of the objects received by a shared watch. Objects are delivered in
+   * the order they are received on the shared pool, one at a time.
+   */
+  private class Subscriber<T> {
+
+    private final String namespace;
+    private final Watcher<T> watcher;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private Subscriber(String namespace, Watcher<T> watcher) {
+      this.namespace = namespace;
+      this.watcher = watcher;
+    }
+
+    void deliver(Watcher.Action action, T resource) {
+      if (closed) {
+        return;
+      }
+      pending.add(() -> watcher.eventReceived(action, resource));
+      scheduleDelivery();
+    }
+
+    /** Drops undelivered objects, so the watcher isn't notified after it is unsubscribed. */
+    void close() {
+      closed = true;
+      pending.clear();
+    }
+
+    private void scheduleDelivery() {
+      if (scheduled.compareAndSet(false, true)) {
+        try {
+          executor.execute(this::deliverPending);
+        } catch (RejectedExecutionException e) {
+          scheduled.set(false);
+          LOG.warn(
+              "Failed to notify subscriber of shared watch for namespace '{}'. Cause: {}",
+              namespace,
+              e.getMessage());
+        }
+      }
+    }
+
+    private void deliverPending() {
+      try {
+        Runnable notification;
+        while (!closed && (notification = pending.poll()) != null) {
+          try {
+            notification.run();
+          } catch (RuntimeException e) {
+            LOG.error(
+                "Subscriber of shared watch for namespace '{}' failed to handle notification",
+                namespace,
+                e);
+          }
+        }
+      } finally {
+        scheduled.set(false);
+      }
+      // an object may be added after the queue is drained but before the delivery is finished
+      if (!closed && !pending.isEmpty()) {
+        scheduleDelivery();
+      }
+    }
+  }
+}
@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import com.google.common.base.Stopwatch;
 import com.google.common.io.ByteStreams;
 import com.google.gson.JsonObject;
@@ -18,11 +20,13 @@ import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
-import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.concurrent.TimeUnit;
@@ -30,8 +34,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class is responsible for watching logs in a single container instance. Messages are
- * provided, unbuffered, to a provided {@link PodLogHandler}
+ * This class is responsible for watching logs in a single container instance. Messages are provided
+ * to a provided {@link PodLogHandler} in batches: lines that are already received are collected
+ * together and the batch is handed over when no more lines are immediately available or when it
+ * reaches {@link #MAX_BATCH_LINES}.
+ *
+ * <p>Lines are passed through the {@link WorkspaceLogLimiter} shared by all the containers of the
+ * workspace. Lines that exceed the rate limit are dropped, which is reported with the next batch.
+ * Watching is finished once the workspace logs budget is exhausted.
  *
  * <p>Reading logs is a blocking operation.
  */
@@ -39,10 +49,18 @@ class ContainerLogWatch implements Runnable, Closeable {
 
   private static final Logger LOG = LoggerFactory.getLogger(ContainerLogWatch.class);
 
+  static final int MAX_BATCH_LINES = 100;
+  private static final int READ_BUFFER_SIZE = 8192;
+  static final String DROPPED_LINES_MESSAGE_FORMAT =
+      "... %d log lines were dropped because of the workspace logs rate limit";
+  static final String BUDGET_EXCEEDED_MESSAGE =
+      "... the workspace logs size limit is reached, the rest of the logs is dropped";
+
   private final KubernetesClient client;
   private final PodLogHandler logHandler;
   private final LogWatchTimeouts timeouts;
   private final long inputStreamLimit;
+  private final WorkspaceLogLimiter limiter;
 
   private final String namespace;
   private final String podName;
@@ -57,6 +75,9 @@ class ContainerLogWatch implements Runnable, Closeable {
   // flag whether we should still try to get the logs
   private boolean closed = false;
 
+  // number of lines dropped since the last batch was handed over
+  private long droppedLines;
+
   ContainerLogWatch(
       KubernetesClient client,
       String namespace,
@@ -64,7 +85,8 @@ class ContainerLogWatch implements Runnable, Closeable {
       String containerName,
       PodLogHandler logHandler,
       LogWatchTimeouts timeouts,
-      long inputStreamLimit) {
+      long inputStreamLimit,
+      WorkspaceLogLimiter limiter) {
     this.client = client;
     this.namespace = namespace;
     this.podName = podName;
@@ -72,6 +94,7 @@ class ContainerLogWatch implements Runnable, Closeable {
     this.logHandler = logHandler;
     this.timeouts = timeouts;
     this.inputStreamLimit = inputStreamLimit;
+    this.limiter = limiter;
   }
 
   /**
@@ -136,28 +159,51 @@ class ContainerLogWatch implements Runnable, Closeable {
   /**
    * Reads given inputStream. If we receive error message about pod is initializing from k8s (see:
    * {@link ContainerLogWatch#isErrorMessage(String)}, returns false immediately so we can try again
-   * later. Otherwise keeps reading the messages from the stream and gives them to given handler. Be
-   * aware that it is blocking and potentially long operation!
+   * later. Otherwise keeps reading the messages from the stream and gives them to given handler in
+   * batches. Be aware that it is blocking and potentially long operation!
    *
    * @param inputStream to read log messages from
    * @param handler we delegate log messages to this handler.
-   * @return false if error message received from k8s, true at the end of the stream or if
-   *     interrupted
+   * @return false if error message received from k8s, true at the end of the stream, if interrupted
+   *     or if the workspace logs budget is exhausted
    */
   private boolean readAndHandle(InputStream inputStream, PodLogHandler handler) {
-    try (BufferedReader in = new BufferedReader(new InputStreamReader(inputStream))) {
-      String logMessage;
-      while ((logMessage = in.readLine()) != null) {
-        if (!this.isErrorMessage(logMessage)) {
-          handler.handle(logMessage, containerName);
-        } else {
-          LOG.debug("error message [{}]", logMessage);
-          LOG.debug(
-              "failed to get the logs for [{} : {}], should try again if enough time.",
-              podName,
-              containerName);
-          return false;
+    List<String> batch = new ArrayList<>();
+    droppedLines = 0;
+    StringBuilder line = new StringBuilder();
+    char[] buffer = new char[READ_BUFFER_SIZE];
+    boolean skipLineFeed = false;
+    try (Reader in = new InputStreamReader(inputStream, UTF_8)) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        for (int i = 0; i < read; i++) {
+          char c = buffer[i];
+          if (skipLineFeed) {
+            skipLineFeed = false;
+            if (c == '\n') {
+              continue;
+            }
+          }
+          if (c != '\n' && c != '\r') {
+            line.append(c);
+            continue;
+          }
+          skipLineFeed = c == '\r';
+          LineStatus status = handleLine(line.toString(), batch, handler);
+          line.setLength(0);
+          if (status != LineStatus.ACCEPTED) {
+            return status == LineStatus.FINISHED;
+          }
         }
+        // only an incomplete line may be left, so hand over the batch when the next read is going
+        // to block, otherwise it is held until the rest of the line is received
+        if (!in.ready()) {
+          flush(batch, handler);
+        }
+      }
+      // the stream ends with an incomplete line
+      if (line.length() > 0) {
+        return handleLine(line.toString(), batch, handler) != LineStatus.RETRY;
       }
     } catch (IOException e) {
       // TODO: can we somehow recognize if it is failure or intended close()?
@@ -167,10 +213,55 @@ class ContainerLogWatch implements Runnable, Closeable {
           podName,
           containerName);
       LOG.trace("End of watching log of [{} : {} : {}]", namespace, podName, containerName, e);
+    } finally {
+      flush(batch, handler);
     }
     return true;
   }
 
+  /** Adds the given line to the batch unless it should be dropped or watching should be stopped. */
+  private LineStatus handleLine(String logMessage, List<String> batch, PodLogHandler handler) {
+    if (this.isErrorMessage(logMessage)) {
+      LOG.debug("error message [{}]", logMessage);
+      LOG.debug(
+          "failed to get the logs for [{} : {}], should try again if enough time.",
+          podName,
+          containerName);
+      return LineStatus.RETRY;
+    }
+    // dropped lines are not published, so they are not charged to the budget
+    if (!limiter.tryAcquireLine()) {
+      droppedLines++;
+      return LineStatus.ACCEPTED;
+    }
+    // the line is charged with its line feed
+    if (!limiter.consumeBytes(logMessage.getBytes(UTF_8).length + 1)) {
+      LOG.debug(
+          "Workspace logs budget is exhausted, finishing watching the logs of [{} : {} : {}]",
+          namespace,
+          podName,
+          containerName);
+      batch.add(BUDGET_EXCEEDED_MESSAGE);
+      return LineStatus.FINISHED;
+    }
+    batch.add(logMessage);
+    if (batch.size() >= MAX_BATCH_LINES) {
+      flush(batch, handler);
+    }
+    return LineStatus.ACCEPTED;
+  }
+
+  private void flush(List<String> batch, PodLogHandler handler) {
+    if (droppedLines > 0) {
+      batch.add(String.format(DROPPED_LINES_MESSAGE_FORMAT, droppedLines));
+      droppedLines = 0;
+    }
+    if (!batch.isEmpty()) {
+      handler.handle(new ArrayList<>(batch), containerName);
+      batch.clear();
+    }
+  }
+
   /**
    * Tells whether given `message` is error message so we should try to watch again.
    *
@@ -249,4 +340,13 @@ class ContainerLogWatch implements Runnable, Closeable {
         .add("containerName='" + containerName + "'")
         .toString();
   }
+
+  private enum LineStatus {
+    /** The line is handled, reading goes on. */
+    ACCEPTED,
+    /** The container is not ready yet, the logs should be requested again. */
+    RETRY,
+    /** Watching is finished. */
+    FINISHED
+  }
 }
@@ -14,6 +14,8 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log;
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START;
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START_LOG_LIMIT_BYTES;
 
+import com.google.common.base.Ticker;
+import com.google.common.math.LongMath;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.io.Closeable;
 import java.util.Map;
@@ -35,6 +37,8 @@ import org.slf4j.LoggerFactory;
  * separate thread from this thread-pool.
  *
  * <p>Watching logs of individual containers is delegated to instances of {@link ContainerLogWatch}.
+ * Logs of all the containers are limited together by the {@link WorkspaceLogLimiter}, so a
+ * workspace with many noisy containers can't flood the events bus.
  */
 public class LogWatcher implements PodEventHandler, Closeable {
 
@@ -43,6 +47,12 @@ public class LogWatcher implements PodEventHandler, Closeable {
   // 10MB
   public static final Long DEFAULT_LOG_LIMIT_BYTES = 10L * 1024 * 1024;
 
+  /** Maximum number of log lines of all the workspace containers forwarded per second. */
+  static final int MAX_LOG_LINES_PER_SECOND = 500;
+
+  /** Workspace logs budget in terms of the log limit of a single container. */
+  static final int WORKSPACE_LOG_LIMIT_FACTOR = 5;
+
   private static final String STARTED_EVENT_REASON = "Started";
 
   private final KubernetesClient client;
@@ -50,6 +60,7 @@ public class LogWatcher implements PodEventHandler, Closeable {
   private final Executor containerWatchersThreadPool;
   private final LogWatchTimeouts timeouts;
   private final long inputStreamLimit;
+  private final WorkspaceLogLimiter limiter;
 
   private final String namespace;
   private final String workspaceId;
@@ -79,6 +90,11 @@ public class LogWatcher implements PodEventHandler, Closeable {
     this.timeouts = timeouts;
     this.podsOfInterest = podsOfInterest;
     this.inputStreamLimit = inputStreamLimit;
+    this.limiter =
+        new WorkspaceLogLimiter(
+            LongMath.saturatedMultiply(inputStreamLimit, WORKSPACE_LOG_LIMIT_FACTOR),
+            MAX_LOG_LINES_PER_SECOND,
+            Ticker.systemTicker());
   }
 
   public void addLogHandler(PodLogHandler handler) {
@@ -107,7 +123,8 @@ public class LogWatcher implements PodEventHandler, Closeable {
                     containerName,
                     logHandler,
                     timeouts,
-                    inputStreamLimit);
+                    inputStreamLimit,
+                    limiter);
             currentContainerWatchers.put(podContainerKey(podName, containerName), logWatch);
             LOG.trace(
                 "adding [{}] to watching containers now watching [{}]",
@@ -157,7 +174,10 @@ public class LogWatcher implements PodEventHandler, Closeable {
           workspaceId,
           e);
     } finally {
-      LOG.debug("Closing all log watchers for '{}'", workspaceId);
+      LOG.debug(
+          "Closing all log watchers for '{}', '{}' log lines were dropped",
+          workspaceId,
+          limiter.getDroppedLines());
       synchronized (this) {
         closed = true;
         currentContainerWatchers.values().forEach(ContainerLogWatch::close);
@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log;
 
+import java.util.List;
+
 /**
  * Handle log message of the pod's container. Implementors must be also aware of pods that are
  * interest of this handler.
@@ -25,4 +27,17 @@ public interface PodLogHandler {
    * @param containerName source container of this log message
    */
   void handle(String message, String containerName);
+
+  /**
+   * Receives a batch of log messages of the same container. By default each message is handled
+   * separately, implementors may override it to handle the whole batch at once.
+   *
+   * @param messages log messages in the order they were received
+   * @param containerName source container of these log messages
+   */
+  default void handle(List<String> messages, String containerName) {
+    for (String message : messages) {
+      handle(message, containerName);
+    }
+  }
 }
@@ -12,6 +12,8 @@
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log;
 
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.StringJoiner;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
 import org.slf4j.Logger;
@@ -46,4 +48,21 @@ public class PodLogToEventPublisher implements PodLogHandler {
         ZonedDateTime.now().toString(),
         identity);
   }
+
+  /**
+   * Formats received messages and sends them to {@link PodLogToEventPublisher#eventsPublisher} as a
+   * single event, so the events bus is not flooded with an event per log line.
+   *
+   * @param messages to handle
+   * @param containerName source container of the log messages
+   */
+  @Override
+  public void handle(List<String> messages, String containerName) {
+    LOG.trace("forwarding '{}' messages from the container '{}'", messages.size(), containerName);
+    StringJoiner text = new StringJoiner("\n");
+    for (String message : messages) {
+      text.add(String.format(LOG_MESSAGE_FORMAT, containerName, message));
+    }
+    eventsPublisher.sendRuntimeLogEvent(text.toString(), ZonedDateTime.now().toString(), identity);
+  }
 }
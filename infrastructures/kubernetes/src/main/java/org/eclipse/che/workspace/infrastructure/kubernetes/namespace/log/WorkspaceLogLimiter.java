@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log;
+
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the logs of all the containers of a single workspace that are forwarded to the log
+ * handlers.
+ *
+ * <p>Log lines are limited by the number of lines per second and by the total number of bytes that
+ * may be forwarded during the whole log watching session. Lines that do not fit into the rate limit
+ * are dropped and counted, when the bytes budget is exhausted the log watching should be finished.
+ */
+class WorkspaceLogLimiter {
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final AtomicLong remainingBytes;
+  private final int maxLinesPerSecond;
+  private final Ticker ticker;
+  private final LongAdder droppedLines = new LongAdder();
+
+  private long windowStart;
+  private int linesInWindow;
+
+  WorkspaceLogLimiter(long bytesBudget, int maxLinesPerSecond, Ticker ticker) {
+    this.remainingBytes = new AtomicLong(bytesBudget);
+    this.maxLinesPerSecond = maxLinesPerSecond;
+    this.ticker = ticker;
+    this.windowStart = ticker.read();
+  }
+
+  /**
+   * Consumes the given number of bytes from the workspace budget.
+   *
+   * @return true if the budget had enough bytes left, false if it is exhausted
+   */
+  boolean consumeBytes(long bytes) {
+    return remainingBytes.addAndGet(-bytes) >= 0;
+  }
+
+  /**
+   * Tries to acquire a permit for a single log line in the current second. Line which doesn't get
+   * the permit is accounted as dropped.
+   *
+   * @return true if line fits into the rate limit, false otherwise
+   */
+  synchronized boolean tryAcquireLine() {
+    long now = ticker.read();
+    if (now - windowStart >= WINDOW_NANOS) {
+      windowStart = now;
+      linesInWindow = 0;
+    }
+    if (linesInWindow < maxLinesPerSecond) {
+      linesInWindow++;
+      return true;
+    }
+    droppedLines.increment();
+    return false;
+  }
+
+  /** Returns the number of lines that were dropped because of the rate limit. */
+  long getDroppedLines() {
+    return droppedLines.sum();
+  }
+}
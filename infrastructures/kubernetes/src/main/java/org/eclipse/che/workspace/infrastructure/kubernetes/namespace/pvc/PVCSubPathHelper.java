@@ -11,7 +11,9 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
 
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.joining;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolume;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolumeMount;
 
@@ -24,12 +26,23 @@ import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodStatus;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -37,6 +50,7 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
@@ -58,6 +72,13 @@ import org.slf4j.LoggerFactory;
  * command (either {@code mkdir -p <path>} or {@code rm -rf <path>}). Reports back whether the pod
  * succeeded or failed. Supports multiple paths for one command.
  *
+ * <p>When {@code che.infra.kubernetes.pvc.jobs.maintenance_pod.enabled} is set, commands are
+ * executed in a long-lived maintenance Pod which is created for each PVC on demand and removed
+ * after {@link #MAINTENANCE_POD_IDLE_TIMEOUT_MIN} minutes of inactivity. Commands for the same PVC
+ * that are requested while the previous ones are being executed are merged and executed at once.
+ * Note that while the maintenance pod is running, a {@code ReadWriteOnce} PVC stays attached to the
+ * node of that pod.
+ *
  * <p>Note that the commands execution is needed only for {@link CommonPVCStrategy}.
  *
  * @author amisevsk
@@ -71,6 +92,7 @@ public class PVCSubPathHelper {
 
   static final int COUNT_THREADS = 4;
   static final int WAIT_POD_TIMEOUT_MIN = 5;
+  static final int MAINTENANCE_POD_IDLE_TIMEOUT_MIN = 10;
 
   static final String[] RM_COMMAND_BASE = new String[] {"rm", "-rf"};
   static final String[] MKDIR_COMMAND_BASE = new String[] {"mkdir", "-m", "777", "-p"};
@@ -81,11 +103,21 @@ public class PVCSubPathHelper {
   static final String POD_PHASE_FAILED = "Failed";
   static final String JOB_MOUNT_PATH = "/tmp/job_mount";
 
+  static final String MAINTENANCE_POD_NAME_PREFIX = "pvc-maintenance-";
+  static final String[] MAINTENANCE_POD_COMMAND = new String[] {"tail", "-f", "/dev/null"};
+  static final String POD_PHASE_RUNNING = "Running";
+  static final String OPERATION_FAILURE_MARKER = "pvc-operation-failed:";
+
+  private static final Pattern OPERATION_FAILURE_PATTERN =
+      Pattern.compile(Pattern.quote(OPERATION_FAILURE_MARKER) + "(\\d+) (.*)");
+
   private final String jobImage;
   private final String jobMemoryLimit;
   private final KubernetesNamespaceFactory factory;
-  private final ExecutorService executor;
+  private final ScheduledExecutorService executor;
   private final RuntimeEventsPublisher eventsPublisher;
+  private final boolean maintenancePodEnabled;
+  private final Map<String, MaintenancePod> maintenancePods = new ConcurrentHashMap<>();
 
   private final SecurityContextProvisioner securityContextProvisioner;
 
@@ -93,25 +125,29 @@ public class PVCSubPathHelper {
   PVCSubPathHelper(
       @Named("che.infra.kubernetes.pvc.jobs.memorylimit") String jobMemoryLimit,
       @Named("che.infra.kubernetes.pvc.jobs.image") String jobImage,
+      @Named("che.infra.kubernetes.pvc.jobs.maintenance_pod.enabled") boolean maintenancePodEnabled,
       KubernetesNamespaceFactory factory,
       SecurityContextProvisioner securityContextProvisioner,
       ExecutorServiceWrapper executorServiceWrapper,
       RuntimeEventsPublisher eventPublisher) {
     this.jobMemoryLimit = jobMemoryLimit;
     this.jobImage = jobImage;
+    this.maintenancePodEnabled = maintenancePodEnabled;
     this.factory = factory;
     this.securityContextProvisioner = securityContextProvisioner;
     this.eventsPublisher = eventPublisher;
+    ScheduledThreadPoolExecutor scheduledExecutor =
+        new ScheduledThreadPoolExecutor(
+            COUNT_THREADS,
+            new ThreadFactoryBuilder()
+                .setNameFormat("PVCSubPathHelper-ThreadPool-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(false)
+                .build());
+    // idle maintenance pods checks should not delay the shutdown
+    scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     this.executor =
-        executorServiceWrapper.wrap(
-            Executors.newFixedThreadPool(
-                COUNT_THREADS,
-                new ThreadFactoryBuilder()
-                    .setNameFormat("PVCSubPathHelper-ThreadPool-%d")
-                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                    .setDaemon(false)
-                    .build()),
-            PVCSubPathHelper.class.getName());
+        executorServiceWrapper.wrap(scheduledExecutor, PVCSubPathHelper.class.getName());
   }
 
   /**
@@ -131,6 +167,25 @@ public class PVCSubPathHelper {
         pvcName,
         workspaceId,
         Arrays.toString(dirs));
+    if (maintenancePodEnabled) {
+      CompletableFuture<Void> done =
+          submit(
+              identity.getInfrastructureNamespace(),
+              pvcName,
+              new DirsOperation(workspaceId, identity, startOptions, MKDIR_COMMAND_BASE, dirs));
+      try {
+        done.get(WAIT_POD_TIMEOUT_MIN * 2, MINUTES);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException | TimeoutException ex) {
+        LOG.error(
+            "Unable to create directories {} for the workspace '{}' cause: '{}'",
+            Arrays.toString(dirs),
+            workspaceId,
+            ex.getMessage());
+      }
+      return;
+    }
     execute(identity, workspaceId, pvcName, MKDIR_COMMAND_BASE, startOptions, dirs);
   }
 
@@ -148,6 +203,9 @@ public class PVCSubPathHelper {
         pvcName,
         workspaceId,
         Arrays.toString(dirs));
+    if (maintenancePodEnabled) {
+      return submit(namespace, pvcName, new DirsOperation(workspaceId, RM_COMMAND_BASE, dirs));
+    }
     return CompletableFuture.runAsync(
         ThreadLocalPropagateContext.wrap(
             () -> execute(workspaceId, namespace, pvcName, RM_COMMAND_BASE, dirs)),
@@ -269,6 +327,79 @@ public class PVCSubPathHelper {
         .toArray(String[]::new);
   }
 
+  /**
+   * Builds a single shell command which executes the given operations in order. Each operation is
+   * executed as a separate command, so the operations of different workspaces do not share a
+   * failure. The output of a command which exits with a non-zero status is reported to the error
+   * stream prefixed with {@link #OPERATION_FAILURE_MARKER} and the index of the operation, see
+   * {@link #parseFailures(String)}.
+   *
+   * @param operations operations, each of them consists of the base and the paths
+   * @return {@code sh -c} command which executes all the given operations
+   */
+  @VisibleForTesting
+  String[] buildBatchCommand(List<DirsOperation> operations) {
+    List<String> scripts = new ArrayList<>(operations.size());
+    for (int i = 0; i < operations.size(); i++) {
+      DirsOperation operation = operations.get(i);
+      scripts.add(toScript(i, buildCommand(operation.commandBase, operation.dirs)));
+    }
+    return new String[] {"sh", "-c", String.join("; ", scripts)};
+  }
+
+  private static String toScript(int index, String[] command) {
+    return "out=$("
+        + Arrays.stream(command)
+            .map(arg -> "'" + arg.replace("'", "'\\''") + "'")
+            .collect(joining(" "))
+        + " 2>&1) || echo \""
+        + OPERATION_FAILURE_MARKER
+        + index
+        + " '"
+        + command[0]
+        + "' exited with code $?: $out\" >&2";
+  }
+
+  /**
+   * Parses the error output of the command built by {@link #buildBatchCommand(List)}.
+   *
+   * @param error error output of the batch command
+   * @return the error output of the failed operations mapped by their indexes in the batch, empty
+   *     map if the error output does not come from the operations
+   */
+  @VisibleForTesting
+  Map<Integer, String> parseFailures(String error) {
+    Map<Integer, StringBuilder> failures = new HashMap<>();
+    StringBuilder current = null;
+    for (String line : Strings.nullToEmpty(error).split("\n")) {
+      Matcher matcher = OPERATION_FAILURE_PATTERN.matcher(line);
+      if (matcher.matches()) {
+        current = new StringBuilder(matcher.group(2));
+        failures.put(Integer.parseInt(matcher.group(1)), current);
+      } else if (current != null) {
+        current.append('\n').append(line);
+      }
+    }
+    Map<Integer, String> result = new HashMap<>();
+    failures.forEach((index, message) -> result.put(index, message.toString().trim()));
+    return result;
+  }
+
+  private CompletableFuture<Void> submit(
+      String namespace, String pvcName, DirsOperation operation) {
+    final String key = namespace + '/' + pvcName;
+    while (true) {
+      MaintenancePod maintenancePod =
+          maintenancePods.computeIfAbsent(key, k -> new MaintenancePod(key, namespace, pvcName));
+      CompletableFuture<Void> done = maintenancePod.submit(operation);
+      if (done != null) {
+        return done;
+      }
+      // the pod has just been removed, so the operation is submitted to a new one
+      maintenancePods.remove(key, maintenancePod);
+    }
+  }
+
   @PreDestroy
   void shutdown() {
     if (!executor.isShutdown()) {
@@ -285,6 +416,229 @@ public class PVCSubPathHelper {
       }
       LOG.info("PVCSubPathHelper thread pool is terminated");
     }
+    for (MaintenancePod maintenancePod : maintenancePods.values()) {
+      maintenancePod.remove();
+    }
+    maintenancePods.clear();
+  }
+
+  /**
+   * Operation over workspace directories which is executed in a maintenance pod. The output of the
+   * operation is published to the workspace runtime logs if they are watched by the start options.
+   */
+  static class DirsOperation {
+    final String workspaceId;
+    final RuntimeIdentity identity;
+    final Map<String, String> startOptions;
+    final String[] commandBase;
+    final String[] dirs;
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    DirsOperation(String workspaceId, String[] commandBase, String... dirs) {
+      this(workspaceId, null, Collections.emptyMap(), commandBase, dirs);
+    }
+
+    DirsOperation(
+        String workspaceId,
+        @Nullable RuntimeIdentity identity,
+        Map<String, String> startOptions,
+        String[] commandBase,
+        String... dirs) {
+      this.workspaceId = workspaceId;
+      this.identity = identity;
+      this.startOptions = startOptions;
+      this.commandBase = commandBase;
+      this.dirs = dirs;
+    }
+
+    boolean isLogsWatched() {
+      return identity != null && LogWatcher.shouldWatchLogs(startOptions);
+    }
+  }
+
+  /**
+   * Long-lived Pod which mounts a PVC and executes the queued directories operations.
+   *
+   * <p>Operations are executed by a single task at a time, all the operations queued while the
+   * previous batch is executed form the next batch. A failed operation of the batch does not fail
+   * the other ones. The pod is created and removed through the same access to the namespace which
+   * is not related to any workspace, so the pod is neither labeled, watched nor removed along with
+   * workspaces pods. If the pod is removed externally, it is recreated for the next batch. The pod
+   * is forgotten once it is removed because of inactivity.
+   */
+  private class MaintenancePod {
+    private final String key;
+    private final String pvcName;
+    private final String podName;
+    private final Queue<DirsOperation> queue = new ArrayDeque<>();
+    private final KubernetesDeployments deployments;
+
+    private boolean busy;
+    private boolean removed;
+    private long lastUsed;
+
+    MaintenancePod(String key, String namespace, String pvcName) {
+      this.key = key;
+      this.pvcName = pvcName;
+      String name = MAINTENANCE_POD_NAME_PREFIX + pvcName;
+      this.podName = name.length() > 63 ? name.substring(0, 63) : name;
+      this.deployments = factory.accessNamespace(namespace).deployments();
+    }
+
+    /**
+     * Queues the operation.
+     *
+     * @return the future which is completed when the operation is executed, or {@code null} if the
+     *     pod is removed and does not accept operations anymore
+     */
+    @Nullable
+    synchronized CompletableFuture<Void> submit(DirsOperation operation) {
+      if (removed) {
+        return null;
+      }
+      queue.add(operation);
+      if (!busy) {
+        busy = true;
+        executor.execute(ThreadLocalPropagateContext.wrap(this::drain));
+      }
+      return operation.done;
+    }
+
+    private void drain() {
+      while (true) {
+        List<DirsOperation> batch;
+        synchronized (this) {
+          if (queue.isEmpty()) {
+            busy = false;
+            lastUsed = System.currentTimeMillis();
+            executor.schedule(this::removeIfIdle, MAINTENANCE_POD_IDLE_TIMEOUT_MIN, MINUTES);
+            return;
+          }
+          batch = new ArrayList<>(queue);
+          queue.clear();
+        }
+        execute(batch);
+      }
+    }
+
+    private void execute(List<DirsOperation> batch) {
+      final String[] command = buildBatchCommand(batch);
+      try {
+        ensureRunning();
+        deployments.exec(podName, podName, WAIT_POD_TIMEOUT_MIN, command, (stream, text) -> {});
+        batch.forEach(operation -> operation.done.complete(null));
+      } catch (InfrastructureException ex) {
+        Map<Integer, String> failures = parseFailures(ex.getMessage());
+        if (failures.isEmpty()) {
+          failAll(batch, command, ex);
+          return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+          DirsOperation operation = batch.get(i);
+          String failure = failures.get(i);
+          if (failure == null) {
+            operation.done.complete(null);
+          } else {
+            LOG.error(
+                "Unable to perform '{}' command for the workspace '{}' cause: '{}'",
+                Arrays.toString(buildCommand(operation.commandBase, operation.dirs)),
+                operation.workspaceId,
+                failure);
+            publishOutput(operation, failure);
+            operation.done.completeExceptionally(new InfrastructureException(failure));
+          }
+        }
+      } catch (RuntimeException ex) {
+        failAll(batch, command, ex);
+      }
+    }
+
+    private void failAll(List<DirsOperation> batch, String[] command, Exception ex) {
+      LOG.error(
+          "Unable to perform '{}' command in the PVC maintenance pod '{}' cause: '{}'",
+          Arrays.toString(command),
+          podName,
+          ex.getMessage());
+      for (DirsOperation operation : batch) {
+        publishOutput(operation, Strings.nullToEmpty(ex.getMessage()));
+        operation.done.completeExceptionally(ex);
+      }
+    }
+
+    private void publishOutput(DirsOperation operation, String text) {
+      if (operation.isLogsWatched()) {
+        new PodLogToEventPublisher(eventsPublisher, operation.identity).handle(text, podName);
+      }
+    }
+
+    private void ensureRunning() throws InfrastructureException {
+      Optional<Pod> existing = deployments.get(podName);
+      if (existing.isPresent()) {
+        if (isRunning(existing.get())) {
+          return;
+        }
+        deployments.delete(podName);
+      }
+      Pod pod = newPod(podName, pvcName, MAINTENANCE_POD_COMMAND);
+      securityContextProvisioner.provision(pod.getSpec());
+      deployments.create(pod);
+      Pod started =
+          deployments.wait(
+              podName, WAIT_POD_TIMEOUT_MIN, p -> isRunning(p) || POD_PREDICATE.apply(p));
+      if (!isRunning(started)) {
+        throw new InfrastructureException(
+            "PVC maintenance pod '" + podName + "' terminated unexpectedly");
+      }
+    }
+
+    private boolean isRunning(Pod pod) {
+      return pod.getStatus() != null && POD_PHASE_RUNNING.equals(pod.getStatus().getPhase());
+    }
+
+    private void removeIfIdle() {
+      synchronized (this) {
+        if (busy
+            || removed
+            || System.currentTimeMillis() - lastUsed
+                < MINUTES.toMillis(MAINTENANCE_POD_IDLE_TIMEOUT_MIN)) {
+          return;
+        }
+        busy = true;
+      }
+      try {
+        delete();
+      } finally {
+        synchronized (this) {
+          busy = false;
+          if (queue.isEmpty()) {
+            removed = true;
+            maintenancePods.remove(key, this);
+          } else {
+            busy = true;
+            executor.execute(ThreadLocalPropagateContext.wrap(this::drain));
+          }
+        }
+      }
+    }
+
+    /** Removes the pod, it does not accept operations anymore. */
+    void remove() {
+      synchronized (this) {
+        if (removed) {
+          return;
+        }
+        removed = true;
+      }
+      delete();
+    }
+
+    private void delete() {
+      try {
+        deployments.delete(podName);
+      } catch (InfrastructureException ex) {
+        LOG.warn("Unable to remove PVC maintenance pod '{}' cause: '{}'", podName, ex.getMessage());
+      }
+    }
   }
 
   /** Returns new instance of {@link Pod} with given name and command. */
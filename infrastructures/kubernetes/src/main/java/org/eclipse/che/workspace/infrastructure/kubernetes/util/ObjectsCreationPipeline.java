@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.env.EnvironmentContext;
+
+/**
+ * Executes the steps of Kubernetes objects creation during a workspace start.
+ *
+ * <p>Each step creates a single object and may depend on other steps, e.g. a pod should not be
+ * created before the config maps it mounts. Steps whose dependencies are completed are executed
+ * concurrently on the given executor, but no more than {@code parallelism} steps at a time. When
+ * any step fails the steps that are not started yet are skipped, the running ones are interrupted
+ * and the failure is rethrown once all of them are finished, so the caller can safely clean up the
+ * created objects.
+ *
+ * <p>Steps are grouped into phases, e.g. "services" or "pods", and the time spent in every phase is
+ * recorded, see {@link #getPhasesDurations(TimeUnit)} and {@link #getPhases()}.
+ *
+ * <p>Steps are executed in the context of the {@link EnvironmentContext} of the thread that calls
+ * {@link #execute()}. When parallelism is not greater than 1 steps are executed by the calling
+ * thread in the order they were added.
+ */
+public class ObjectsCreationPipeline {
+
+  public static final String SECRETS_PHASE = "secrets";
+  public static final String CONFIG_MAPS_PHASE = "config_maps";
+  public static final String SERVICES_PHASE = "services";
+  public static final String INGRESSES_PHASE = "ingresses";
+  public static final String INGRESSES_READY_PHASE = "ingresses_ready";
+  public static final String PODS_PHASE = "pods";
+
+  /** Creates a single object. */
+  @FunctionalInterface
+  public interface Task<T> {
+    T create() throws InfrastructureException;
+  }
+
+  private final Executor executor;
+  private final int parallelism;
+  private final List<Step<?>> steps = new ArrayList<>();
+  // converts System.nanoTime() values to the wall-clock time
+  private final long epochOffsetNanos =
+      TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - System.nanoTime();
+
+  private final Object lock = new Object();
+  // guarded by lock
+  private final Deque<Step<?>> ready = new ArrayDeque<>();
+  private final List<Step<?>> running = new ArrayList<>();
+  private Exception failure;
+  private boolean cancelled;
+
+  public ObjectsCreationPipeline(Executor executor, int parallelism) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Adds a new step to the pipeline.
+   *
+   * @param phase name of the phase the step belongs to
+   * @param task creation task
+   * @param dependencies steps that must be successfully completed before this step is started, must
+   *     be added to this pipeline before
+   * @return added step that holds the result of the task once the pipeline is executed
+   */
+  public <T> Step<T> add(String phase, Task<T> task, List<? extends Step<?>> dependencies) {
+    Step<T> step = new Step<>(phase, task);
+    for (Step<?> dependency : dependencies) {
+      dependency.dependents.add(step);
+      step.pendingDependencies++;
+    }
+    steps.add(step);
+    return step;
+  }
+
+  /**
+   * Executes all the added steps and waits until they are completed.
+   *
+   * @throws InfrastructureException when any step failed with infrastructure exception
+   * @throws InfrastructureException when the current thread is interrupted, the thread interrupted
+   *     status is preserved in this case
+   */
+  public void execute() throws InfrastructureException {
+    if (parallelism <= 1) {
+      for (Step<?> step : steps) {
+        step.run();
+      }
+      return;
+    }
+
+    final EnvironmentContext context = EnvironmentContext.getCurrent();
+    synchronized (lock) {
+      for (Step<?> step : steps) {
+        if (step.pendingDependencies == 0) {
+          ready.add(step);
+        }
+      }
+      try {
+        while (true) {
+          while (!cancelled && running.size() < parallelism && !ready.isEmpty()) {
+            Step<?> step = ready.poll();
+            running.add(step);
+            try {
+              executor.execute(() -> runConcurrently(step, context));
+            } catch (RuntimeException e) {
+              running.remove(step);
+              if (failure == null) {
+                failure = e;
+              }
+              cancel();
+            }
+          }
+          if (running.isEmpty()) {
+            break;
+          }
+          lock.wait();
+        }
+      } catch (InterruptedException e) {
+        cancel();
+        awaitRunning();
+        Thread.currentThread().interrupt();
+        throw new InfrastructureException(
+            "Interrupted while waiting for Kubernetes objects creation");
+      }
+    }
+    rethrowFailure();
+  }
+
+  /**
+   * Returns wall-clock time spent in each phase, the time between the start of the first step and
+   * the end of the last step of the phase. Phases are returned in order they were added.
+   */
+  public Map<String, Long> getPhasesDurations(TimeUnit timeUnit) {
+    Map<String, Long> durations = new LinkedHashMap<>();
+    getPhases()
+        .forEach(
+            (name, phase) ->
+                durations.put(
+                    name,
+                    timeUnit.convert(phase.endNanos - phase.startNanos, TimeUnit.NANOSECONDS)));
+    return durations;
+  }
+
+  /**
+   * Returns the phases which steps were executed, in order they were added, e.g. to report them as
+   * tracing spans.
+   */
+  public Map<String, Phase> getPhases() {
+    Map<String, Phase> phases = new LinkedHashMap<>();
+    for (Step<?> step : steps) {
+      if (step.startNanos == 0 || step.endNanos == 0) {
+        continue;
+      }
+      Phase phase =
+          phases.computeIfAbsent(step.phase, k -> new Phase(step.startNanos, step.endNanos));
+      phase.startNanos = Math.min(phase.startNanos, step.startNanos);
+      phase.endNanos = Math.max(phase.endNanos, step.endNanos);
+      phase.failed |= step.failed;
+    }
+    return phases;
+  }
+
+  /** Returns the results of the given steps in the same order. */
+  public static <T> List<T> getResults(List<Step<T>> steps) {
+    List<T> results = new ArrayList<>(steps.size());
+    for (Step<T> step : steps) {
+      results.add(step.getResult());
+    }
+    return results;
+  }
+
+  private void runConcurrently(Step<?> step, EnvironmentContext context) {
+    synchronized (lock) {
+      if (cancelled) {
+        running.remove(step);
+        lock.notifyAll();
+        return;
+      }
+      step.thread = Thread.currentThread();
+    }
+    Exception error = null;
+    try {
+      EnvironmentContext.setCurrent(context);
+      step.run();
+    } catch (InfrastructureException | RuntimeException e) {
+      error = e;
+    } finally {
+      EnvironmentContext.reset();
+      synchronized (lock) {
+        step.thread = null;
+        // clears the interruption that might be caused by cancellation of this step
+        Thread.interrupted();
+        running.remove(step);
+        if (error != null) {
+          if (failure == null) {
+            failure = error;
+          }
+          cancel();
+        } else {
+          for (Step<?> dependent : step.dependents) {
+            if (--dependent.pendingDependencies == 0) {
+              ready.add(dependent);
+            }
+          }
+        }
+        lock.notifyAll();
+      }
+    }
+  }
+
+  /** Prevents not started steps from execution and interrupts running ones. */
+  private void cancel() {
+    cancelled = true;
+    for (Step<?> step : running) {
+      if (step.thread != null) {
+        step.thread.interrupt();
+      }
+    }
+  }
+
+  private void awaitRunning() {
+    boolean interrupted = false;
+    while (!running.isEmpty()) {
+      try {
+        lock.wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void rethrowFailure() throws InfrastructureException {
+    if (failure instanceof InfrastructureException) {
+      throw (InfrastructureException) failure;
+    }
+    if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+  }
+
+  /** Bounds of the steps of a single phase. */
+  public final class Phase {
+
+    private long startNanos;
+    private long endNanos;
+    private boolean failed;
+
+    private Phase(long startNanos, long endNanos) {
+      this.startNanos = startNanos;
+      this.endNanos = endNanos;
+    }
+
+    /** Returns the wall-clock time of the start of the first step of the phase. */
+    public long getStartTime(TimeUnit timeUnit) {
+      return timeUnit.convert(epochOffsetNanos + startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Returns the wall-clock time of the end of the last step of the phase. */
+    public long getEndTime(TimeUnit timeUnit) {
+      return timeUnit.convert(epochOffsetNanos + endNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Returns true if any step of the phase failed. */
+    public boolean isFailed() {
+      return failed;
+    }
+  }
+
+  /** Single step of the pipeline. */
+  public static final class Step<T> {
+
+    private final String phase;
+    private final Task<T> task;
+    private final List<Step<?>> dependents = new ArrayList<>();
+
+    private int pendingDependencies;
+    private volatile T result;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile boolean failed;
+    private Thread thread;
+
+    private Step(String phase, Task<T> task) {
+      this.phase = phase;
+      this.task = task;
+    }
+
+    /** Returns the result of the step task or null if it is not completed successfully. */
+    public T getResult() {
+      return result;
+    }
+
+    private void run() throws InfrastructureException {
+      startNanos = System.nanoTime();
+      try {
+        result = task.create();
+      } catch (InfrastructureException | RuntimeException e) {
+        failed = true;
+        throw e;
+      } finally {
+        endNanos = System.nanoTime();
+      }
+    }
+  }
+}
@@ -21,6 +21,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.DtoConverter;
 import org.eclipse.che.api.workspace.server.event.RuntimeAbnormalStoppedEvent;
 import org.eclipse.che.api.workspace.server.event.RuntimeAbnormalStoppingEvent;
+import org.eclipse.che.api.workspace.server.event.RuntimeStartPhaseEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.ServerStatusEvent;
@@ -109,4 +110,16 @@ public class RuntimeEventsPublisher {
   public void sendAbnormalStoppingEvent(RuntimeIdentity runtimeId, String reason) {
     eventService.publish(new RuntimeAbnormalStoppingEvent(runtimeId, reason));
   }
+
+  public void sendStartPhaseEvent(
+      RuntimeIdentity runtimeId,
+      String infrastructure,
+      String recipeType,
+      String phase,
+      long durationNanos,
+      boolean succeeded) {
+    eventService.publish(
+        new RuntimeStartPhaseEvent(
+            runtimeId, infrastructure, recipeType, phase, durationNanos, succeeded));
+  }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.util;
+
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.workspace.server.event.RuntimeStartPhaseEvent;
+import org.eclipse.che.commons.tracing.TracingTags;
+
+/**
+ * Measures the sequential phases of a runtime start and publishes {@link RuntimeStartPhaseEvent}
+ * when each of them is finished.
+ *
+ * <p>A phase may be traced, then its span is activated in the starting thread while the phase is in
+ * progress, so spans of the operations performed within the phase become its children.
+ *
+ * <p>Instances are not thread-safe except {@link #record(String, long, boolean)} which is used for
+ * the phases performed asynchronously, e.g. for each machine.
+ */
+public class StartPhasesTracker {
+
+  private final RuntimeIdentity identity;
+  private final String infrastructure;
+  private final String recipeType;
+  private final RuntimeEventsPublisher eventsPublisher;
+  private final Tracer tracer;
+
+  private String phase;
+  private long phaseStartNanos;
+  private Span phaseSpan;
+  private Scope phaseScope;
+
+  public StartPhasesTracker(
+      RuntimeIdentity identity,
+      String infrastructure,
+      String recipeType,
+      RuntimeEventsPublisher eventsPublisher,
+      Tracer tracer) {
+    this.identity = identity;
+    this.infrastructure = infrastructure;
+    this.recipeType = recipeType;
+    this.eventsPublisher = eventsPublisher;
+    this.tracer = tracer;
+  }
+
+  /**
+   * Successfully finishes the current phase if any and begins the given one.
+   *
+   * @param phase name of the phase that is used in published events
+   * @param spanName name of the span of the phase, or null if the phase should not be traced
+   */
+  public void begin(String phase, String spanName) {
+    finishPhase(null);
+    this.phase = phase;
+    if (spanName != null) {
+      phaseSpan = tracer.buildSpan(spanName).start();
+      TracingTags.WORKSPACE_ID.set(phaseSpan, identity.getWorkspaceId());
+      phaseScope = tracer.scopeManager().activate(phaseSpan);
+    }
+    phaseStartNanos = System.nanoTime();
+  }
+
+  /** Successfully finishes the current phase if any. */
+  public void complete() {
+    finishPhase(null);
+  }
+
+  /**
+   * Finishes the current phase if any as the one where the runtime start failed.
+   *
+   * @param cause the cause of the failure
+   */
+  public void fail(Throwable cause) {
+    finishPhase(cause);
+  }
+
+  /**
+   * Records the phase which is performed outside of the sequence of phases tracked by this
+   * instance.
+   *
+   * @param phase name of the phase
+   * @param durationNanos duration of the phase in nanoseconds
+   * @param succeeded whether the phase is successfully finished
+   */
+  public void record(String phase, long durationNanos, boolean succeeded) {
+    eventsPublisher.sendStartPhaseEvent(
+        identity, infrastructure, recipeType, phase, durationNanos, succeeded);
+  }
+
+  private void finishPhase(Throwable failure) {
+    if (phase == null) {
+      return;
+    }
+    long durationNanos = System.nanoTime() - phaseStartNanos;
+    if (phaseSpan != null) {
+      if (failure != null) {
+        TracingTags.setErrorStatus(phaseSpan, failure);
+      }
+      phaseScope.close();
+      phaseSpan.finish();
+      phaseScope = null;
+      phaseSpan = null;
+    }
+    String finished = phase;
+    phase = null;
+    record(finished, durationNanos, failure == null);
+  }
+}
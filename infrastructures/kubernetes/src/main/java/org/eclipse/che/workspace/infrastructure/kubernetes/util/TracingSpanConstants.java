@@ -35,4 +35,16 @@ public class TracingSpanConstants {
 
   /** Span name for wait for plugin broker's results */
   public static final String WAIT_BROKERS_RESULT_PHASE = "WaitBrokerResult";
+
+  /** Span name for provisioning of workspace tooling, including plugin brokers execution */
+  public static final String PROVISION_TOOLING_PHASE = "ProvisionTooling";
+
+  /** Span name for provisioning of workspace environment */
+  public static final String PROVISION_ENVIRONMENT_PHASE = "ProvisionEnvironment";
+
+  /** Span name for preparation of workspace volumes */
+  public static final String PREPARE_VOLUMES_PHASE = "PrepareVolumes";
+
+  /** Span name for creation of workspace Kubernetes objects */
+  public static final String CREATE_OBJECTS_PHASE = "CreateObjects";
 }
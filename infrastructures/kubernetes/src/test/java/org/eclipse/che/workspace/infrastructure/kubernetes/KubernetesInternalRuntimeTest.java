@@ -25,6 +25,18 @@ import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_STA
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START_LOG_LIMIT_BYTES;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_ORIGINAL_NAME_LABEL;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime.ENVIRONMENT_PROVISIONING_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime.MACHINES_START_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime.MACHINE_RUNNING_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime.OBJECTS_CREATION_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime.SERVERS_CHECK_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime.TOOLING_PROVISIONING_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime.VOLUMES_PREPARATION_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.CONFIG_MAPS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.PODS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.SECRETS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.SERVICES_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.CREATE_OBJECTS_PHASE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -74,6 +86,7 @@ import io.fabric8.kubernetes.api.model.extensions.IngressSpec;
 import io.opentracing.Tracer;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -95,6 +108,7 @@ import org.eclipse.che.api.core.model.workspace.runtime.ServerStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.DtoConverter;
 import org.eclipse.che.api.workspace.server.URLRewriter;
+import org.eclipse.che.api.workspace.server.event.RuntimeStartPhaseEvent;
 import org.eclipse.che.api.workspace.server.hc.ServersChecker;
 import org.eclipse.che.api.workspace.server.hc.ServersCheckerFactory;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
@@ -253,6 +267,7 @@ public class KubernetesInternalRuntimeTest {
         new KubernetesInternalRuntime<KubernetesEnvironment>(
             13,
             5,
+            5,
             new URLRewriter.NoOpURLRewriter(),
             unrecoverablePodEventListenerFactory,
             serverCheckerFactory,
@@ -395,6 +410,32 @@ public class KubernetesInternalRuntimeTest {
     assertFalse(isConsistent);
   }
 
+  @Test
+  public void shouldPublishStartPhasesEvents() throws Exception {
+    internalRuntime.start(emptyMap());
+
+    ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+    verify(eventService, atLeastOnce()).publish(captor.capture());
+    List<String> phases =
+        captor
+            .getAllValues()
+            .stream()
+            .filter(RuntimeStartPhaseEvent.class::isInstance)
+            .map(RuntimeStartPhaseEvent.class::cast)
+            .peek(e -> assertTrue(e.isSucceeded()))
+            .map(RuntimeStartPhaseEvent::getPhase)
+            .collect(toList());
+    assertEquals(
+        phases.subList(0, 3),
+        asList(
+            TOOLING_PROVISIONING_PHASE, ENVIRONMENT_PROVISIONING_PHASE, VOLUMES_PREPARATION_PHASE));
+    assertTrue(phases.contains(OBJECTS_CREATION_PHASE + '.' + SERVICES_PHASE));
+    assertTrue(phases.contains(OBJECTS_CREATION_PHASE));
+    assertEquals(phases.stream().filter(MACHINE_RUNNING_PHASE::equals).count(), 2);
+    assertEquals(phases.stream().filter(SERVERS_CHECK_PHASE::equals).count(), 2);
+    assertEquals(phases.get(phases.size() - 1), MACHINES_START_PHASE);
+  }
+
   @Test
   public void startsKubernetesEnvironment() throws Exception {
     when(k8sEnv.getSecrets()).thenReturn(ImmutableMap.of("secret", new Secret()));
@@ -410,8 +451,11 @@ public class KubernetesInternalRuntimeTest {
     verify(services).create(any());
     verify(secrets).create(any());
     verify(configMaps).create(any());
+    for (String phase : asList(SECRETS_PHASE, CONFIG_MAPS_PHASE, SERVICES_PHASE, PODS_PHASE)) {
+      verify(tracer).buildSpan(CREATE_OBJECTS_PHASE + '#' + phase);
+    }
     verify(namespace.deployments(), times(1)).watchEvents(any());
-    verify(eventService, times(4)).publish(any());
+    verify(eventService, times(4)).publish(any(MachineStatusEvent.class));
     verifyOrderedEventsChains(
         new MachineStatusEvent[] {newEvent(M1_NAME, STARTING), newEvent(M1_NAME, RUNNING)},
         new MachineStatusEvent[] {newEvent(M2_NAME, STARTING), newEvent(M2_NAME, RUNNING)});
@@ -439,7 +483,7 @@ public class KubernetesInternalRuntimeTest {
     verify(secrets).create(any());
     verify(configMaps).create(any());
     verify(namespace.deployments(), times(1)).watchEvents(any());
-    verify(eventService, times(4)).publish(any());
+    verify(eventService, times(4)).publish(any(MachineStatusEvent.class));
     verifyOrderedEventsChains(
         new MachineStatusEvent[] {newEvent(M1_NAME, STARTING), newEvent(M1_NAME, RUNNING)},
         new MachineStatusEvent[] {newEvent(M2_NAME, STARTING), newEvent(M2_NAME, RUNNING)});
@@ -467,7 +511,7 @@ public class KubernetesInternalRuntimeTest {
     verify(secrets).create(any());
     verify(configMaps).create(any());
     verify(namespace.deployments(), times(1)).watchEvents(any());
-    verify(eventService, times(6)).publish(any());
+    verify(eventService, times(6)).publish(any(MachineStatusEvent.class));
     verifyOrderedEventsChains(
         new MachineStatusEvent[] {
           newEvent(M1_NAME, STARTING), newEvent(M1_NAME, STARTING), newEvent(M1_NAME, RUNNING)
@@ -571,7 +615,7 @@ public class KubernetesInternalRuntimeTest {
     verify(ingresses).create(any());
     verify(services).create(any());
     verify(namespace.deployments(), times(2)).watchEvents(any());
-    verify(eventService, times(4)).publish(any());
+    verify(eventService, times(4)).publish(any(MachineStatusEvent.class));
     verifyOrderedEventsChains(
         new MachineStatusEvent[] {newEvent(M1_NAME, STARTING), newEvent(M1_NAME, RUNNING)},
         new MachineStatusEvent[] {newEvent(M2_NAME, STARTING), newEvent(M2_NAME, RUNNING)});
@@ -591,7 +635,7 @@ public class KubernetesInternalRuntimeTest {
     verify(ingresses).create(any());
     verify(services).create(any());
     verify(namespace.deployments(), times(1)).watchEvents(any());
-    verify(eventService, times(4)).publish(any());
+    verify(eventService, times(4)).publish(any(MachineStatusEvent.class));
     verifyOrderedEventsChains(
         new MachineStatusEvent[] {newEvent(M1_NAME, STARTING), newEvent(M1_NAME, RUNNING)},
         new MachineStatusEvent[] {newEvent(M2_NAME, STARTING), newEvent(M2_NAME, RUNNING)});
@@ -1112,7 +1156,13 @@ public class KubernetesInternalRuntimeTest {
 
   private List<MachineStatusEvent> captureEvents() {
     verify(eventService, atLeastOnce()).publish(machineStatusEventCaptor.capture());
-    return machineStatusEventCaptor.getAllValues();
+    // start phases events are published along with machines events
+    List<?> events = machineStatusEventCaptor.getAllValues();
+    return events
+        .stream()
+        .filter(MachineStatusEvent.class::isInstance)
+        .map(MachineStatusEvent.class::cast)
+        .collect(toList());
   }
 
   private static Container mockContainer(String name, int... ports) {
@@ -1281,6 +1331,27 @@ public class KubernetesInternalRuntimeTest {
       return new HashSet<>(runtimesStates.keySet());
     }
 
+    @Override
+    public List<RuntimeIdentity> getIdentities(String afterWorkspaceId, int maxItems) {
+      return runtimesStates
+          .keySet()
+          .stream()
+          .filter(
+              id -> afterWorkspaceId == null || id.getWorkspaceId().compareTo(afterWorkspaceId) > 0)
+          .sorted(Comparator.comparing(RuntimeIdentity::getWorkspaceId))
+          .limit(maxItems)
+          .collect(toList());
+    }
+
+    @Override
+    public Optional<RuntimeIdentity> getIdentity(String workspaceId) {
+      return runtimesStates
+          .keySet()
+          .stream()
+          .filter(id -> id.getWorkspaceId().equals(workspaceId))
+          .findAny();
+    }
+
     @Override
     public boolean putIfAbsent(KubernetesRuntimeState state) {
       return runtimesStates.putIfAbsent(state.getRuntimeId(), state) == null;
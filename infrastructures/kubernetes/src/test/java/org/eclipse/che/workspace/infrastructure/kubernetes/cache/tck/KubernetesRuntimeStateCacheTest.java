@@ -22,9 +22,12 @@ import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.inject.Inject;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
@@ -106,6 +109,47 @@ public class KubernetesRuntimeStateCacheTest {
     assertTrue(identities.contains(runtimesStates[1].getRuntimeId()));
   }
 
+  @Test
+  public void shouldReturnRuntimesIdentitiesPageByPage() throws Exception {
+    // given
+    List<RuntimeIdentity> expected =
+        Stream.of(runtimesStates)
+            .map(KubernetesRuntimeState::getRuntimeId)
+            .sorted(Comparator.comparing(RuntimeIdentity::getWorkspaceId))
+            .collect(Collectors.toList());
+
+    // when
+    List<RuntimeIdentity> firstPage = runtimesStatesCache.getIdentities(null, 1);
+    List<RuntimeIdentity> secondPage =
+        runtimesStatesCache.getIdentities(firstPage.get(0).getWorkspaceId(), 1);
+    List<RuntimeIdentity> thirdPage =
+        runtimesStatesCache.getIdentities(secondPage.get(0).getWorkspaceId(), 1);
+
+    // then
+    assertEquals(firstPage, expected.subList(0, 1));
+    assertEquals(secondPage, expected.subList(1, 2));
+    assertTrue(thirdPage.isEmpty());
+  }
+
+  @Test
+  public void shouldReturnRuntimeIdentityByWorkspaceId() throws Exception {
+    // when
+    Optional<RuntimeIdentity> identity =
+        runtimesStatesCache.getIdentity(runtimesStates[1].getRuntimeId().getWorkspaceId());
+
+    // then
+    assertEquals(identity, Optional.of(runtimesStates[1].getRuntimeId()));
+  }
+
+  @Test
+  public void shouldReturnEmptyOptionalWhenRuntimeIdentityDoesNotExist() throws Exception {
+    // when
+    Optional<RuntimeIdentity> identity = runtimesStatesCache.getIdentity(workspaces[2].getId());
+
+    // then
+    assertFalse(identity.isPresent());
+  }
+
   @Test
   public void shouldReturnCommands() throws Exception {
     // when
@@ -13,6 +13,7 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_STATUS_PHASE_FAILED;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_STATUS_PHASE_RUNNING;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_STATUS_PHASE_SUCCEEDED;
@@ -40,6 +41,7 @@ import io.fabric8.kubernetes.api.model.LabelSelector;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.ObjectReference;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
@@ -56,6 +58,7 @@ import io.fabric8.kubernetes.client.dsl.PodResource;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.ScalableResource;
 import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -83,6 +86,7 @@ public class KubernetesDeploymentsTest {
 
   @Mock private KubernetesClientFactory clientFactory;
   @Mock private Executor executor;
+  @Mock private KubernetesSharedWatches sharedWatches;
   @Mock private KubernetesClient kubernetesClient;
 
   // Deployments Mocks
@@ -163,7 +167,8 @@ public class KubernetesDeploymentsTest {
     when(event.getLastTimestamp()).thenReturn(PodEvents.convertDateToEventTimestamp(futureDate));
 
     kubernetesDeployments =
-        new KubernetesDeployments("namespace", "workspace123", clientFactory, executor);
+        new KubernetesDeployments(
+            "namespace", "workspace123", clientFactory, executor, sharedWatches);
   }
 
   @Test
@@ -193,6 +198,29 @@ public class KubernetesDeploymentsTest {
     assertEquals(fetchedPodOpt.get(), pod);
   }
 
+  @Test
+  public void shouldLabelCreatedPodWithWorkspaceId() throws Exception {
+    Pod toCreate = new PodBuilder().withNewMetadata().withName(POD_NAME).endMetadata().build();
+
+    kubernetesDeployments.create(toCreate);
+
+    verify(podsNamespaceOperation).create(toCreate);
+    assertEquals(toCreate.getMetadata().getLabels().get(CHE_WORKSPACE_ID_LABEL), "workspace123");
+  }
+
+  @Test
+  public void shouldNotLabelCreatedPodWhenDeploymentsAreNotRelatedToWorkspace() throws Exception {
+    when(clientFactory.create((String) null)).thenReturn(kubernetesClient);
+    Pod toCreate = new PodBuilder().withNewMetadata().withName(POD_NAME).endMetadata().build();
+
+    new KubernetesDeployments("namespace", null, clientFactory, executor, sharedWatches)
+        .create(toCreate);
+
+    verify(podsNamespaceOperation).create(toCreate);
+    Map<String, String> labels = toCreate.getMetadata().getLabels();
+    assertTrue(labels == null || !labels.containsKey(CHE_WORKSPACE_ID_LABEL));
+  }
+
   @Test
   public void shouldReturnOptionalWithPodWhenPodWasNotFoundButDeploymentExists() throws Exception {
     // given
@@ -434,7 +462,7 @@ public class KubernetesDeploymentsTest {
     Watch watch = mock(Watch.class);
     doReturn(watch).when(podResource).watch(any());
 
-    new KubernetesDeployments("", "", clientFactory, executor)
+    new KubernetesDeployments("", "", clientFactory, executor, sharedWatches)
         .doDeletePod(POD_NAME)
         .get(5, TimeUnit.SECONDS);
 
@@ -451,7 +479,7 @@ public class KubernetesDeploymentsTest {
     doReturn(watch).when(podResource).watch(any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory, executor)
+      new KubernetesDeployments("", "", clientFactory, executor, sharedWatches)
           .doDeletePod(POD_NAME)
           .get(5, TimeUnit.SECONDS);
     } catch (KubernetesInfrastructureException e) {
@@ -471,7 +499,7 @@ public class KubernetesDeploymentsTest {
     Watch watch = mock(Watch.class);
     doReturn(watch).when(podResource).watch(any());
 
-    new KubernetesDeployments("", "", clientFactory, executor)
+    new KubernetesDeployments("", "", clientFactory, executor, sharedWatches)
         .doDeleteDeployment(DEPLOYMENT_NAME)
         .get(5, TimeUnit.SECONDS);
 
@@ -489,7 +517,7 @@ public class KubernetesDeploymentsTest {
     doReturn(watch).when(podResource).watch(any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory, executor)
+      new KubernetesDeployments("", "", clientFactory, executor, sharedWatches)
           .doDeleteDeployment(DEPLOYMENT_NAME)
           .get(5, TimeUnit.SECONDS);
     } catch (KubernetesInfrastructureException e) {
@@ -510,7 +538,7 @@ public class KubernetesDeploymentsTest {
     doReturn(watch).when(podResource).watch(any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory, executor)
+      new KubernetesDeployments("", "", clientFactory, executor, sharedWatches)
           .doDeletePod(POD_NAME)
           .get(5, TimeUnit.SECONDS);
     } catch (RuntimeException e) {
@@ -529,7 +557,7 @@ public class KubernetesDeploymentsTest {
     doReturn(watch).when(podResource).watch(any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory, executor)
+      new KubernetesDeployments("", "", clientFactory, executor, sharedWatches)
           .doDeleteDeployment(DEPLOYMENT_NAME)
           .get(5, TimeUnit.SECONDS);
     } catch (RuntimeException e) {
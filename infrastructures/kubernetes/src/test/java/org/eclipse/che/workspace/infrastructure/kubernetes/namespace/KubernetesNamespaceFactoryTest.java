@@ -72,6 +72,7 @@ public class KubernetesNamespaceFactoryTest {
   private static final String USER_NAME = "username";
 
   @Mock private KubernetesSharedPool pool;
+  @Mock private KubernetesSharedWatches sharedWatches;
   @Mock private KubernetesClientFactory clientFactory;
 
   @Mock private KubernetesClient k8sClient;
@@ -108,7 +109,7 @@ public class KubernetesNamespaceFactoryTest {
       throws Exception {
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "legacy", "", "", "defaultNs", false, clientFactory, userManager, pool);
+            "legacy", "", "", "defaultNs", false, clientFactory, userManager, pool, sharedWatches);
 
     namespaceFactory.checkIfNamespaceIsAllowed("defaultNs");
   }
@@ -119,7 +120,7 @@ public class KubernetesNamespaceFactoryTest {
           throws Exception {
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "legacy", "", "", "defaultNs", true, clientFactory, userManager, pool);
+            "legacy", "", "", "defaultNs", true, clientFactory, userManager, pool, sharedWatches);
 
     namespaceFactory.checkIfNamespaceIsAllowed("any-namespace");
   }
@@ -133,7 +134,7 @@ public class KubernetesNamespaceFactoryTest {
           throws Exception {
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "legacy", "", "", "defaultNs", false, clientFactory, userManager, pool);
+            "legacy", "", "", "defaultNs", false, clientFactory, userManager, pool, sharedWatches);
 
     namespaceFactory.checkIfNamespaceIsAllowed("any-namespace");
   }
@@ -144,7 +145,7 @@ public class KubernetesNamespaceFactoryTest {
   public void shouldThrowExceptionIfNoDefaultNamespaceIsConfigured() throws Exception {
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "predefined", "", "", null, false, clientFactory, userManager, pool);
+            "predefined", "", "", null, false, clientFactory, userManager, pool, sharedWatches);
   }
 
   @Test
@@ -160,7 +161,15 @@ public class KubernetesNamespaceFactoryTest {
             .build());
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "predefined", "", "", "che-default", false, clientFactory, userManager, pool);
+            "predefined",
+            "",
+            "",
+            "che-default",
+            false,
+            clientFactory,
+            userManager,
+            pool,
+            sharedWatches);
 
     List<KubernetesNamespaceMeta> availableNamespaces = namespaceFactory.list();
     assertEquals(availableNamespaces.size(), 1);
@@ -177,7 +186,15 @@ public class KubernetesNamespaceFactoryTest {
 
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "predefined", "", "", "che-default", false, clientFactory, userManager, pool);
+            "predefined",
+            "",
+            "",
+            "che-default",
+            false,
+            clientFactory,
+            userManager,
+            pool,
+            sharedWatches);
 
     List<KubernetesNamespaceMeta> availableNamespaces = namespaceFactory.list();
     assertEquals(availableNamespaces.size(), 1);
@@ -197,7 +214,7 @@ public class KubernetesNamespaceFactoryTest {
   public void shouldThrowExceptionWhenFailedToGetInfoAboutDefaultNamespace() throws Exception {
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "predefined", "", "", "che", false, clientFactory, userManager, pool);
+            "predefined", "", "", "che", false, clientFactory, userManager, pool, sharedWatches);
     throwOnTryToGetNamespaceByName("che", new KubernetesClientException("connection refused"));
 
     namespaceFactory.list();
@@ -212,7 +229,7 @@ public class KubernetesNamespaceFactoryTest {
 
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "predefined", "", "", "default", true, clientFactory, userManager, pool);
+            "predefined", "", "", "default", true, clientFactory, userManager, pool, sharedWatches);
 
     List<KubernetesNamespaceMeta> availableNamespaces = namespaceFactory.list();
 
@@ -236,7 +253,7 @@ public class KubernetesNamespaceFactoryTest {
 
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "predefined", "", "", "default", true, clientFactory, userManager, pool);
+            "predefined", "", "", "default", true, clientFactory, userManager, pool, sharedWatches);
 
     List<KubernetesNamespaceMeta> availableNamespaces = namespaceFactory.list();
     assertEquals(availableNamespaces.size(), 2);
@@ -261,7 +278,15 @@ public class KubernetesNamespaceFactoryTest {
   public void shouldThrowExceptionWhenFailedToGetNamespaces() throws Exception {
     namespaceFactory =
         new KubernetesNamespaceFactory(
-            "predefined", "", "", "default_ns", true, clientFactory, userManager, pool);
+            "predefined",
+            "",
+            "",
+            "default_ns",
+            true,
+            clientFactory,
+            userManager,
+            pool,
+            sharedWatches);
     throwOnTryToGetNamespacesList(new KubernetesClientException("connection refused"));
 
     namespaceFactory.list();
@@ -273,7 +298,15 @@ public class KubernetesNamespaceFactoryTest {
     namespaceFactory =
         spy(
             new KubernetesNamespaceFactory(
-                "", "", "", "<workspaceid>", false, clientFactory, userManager, pool));
+                "",
+                "",
+                "",
+                "<workspaceid>",
+                false,
+                clientFactory,
+                userManager,
+                pool,
+                sharedWatches));
     KubernetesNamespace toReturnNamespace = mock(KubernetesNamespace.class);
     doReturn(toReturnNamespace).when(namespaceFactory).doCreateNamespaceAccess(any(), any());
 
@@ -301,7 +334,15 @@ public class KubernetesNamespaceFactoryTest {
     namespaceFactory =
         spy(
             new KubernetesNamespaceFactory(
-                "predefined", "", "", "new-default", false, clientFactory, userManager, pool));
+                "predefined",
+                "",
+                "",
+                "new-default",
+                false,
+                clientFactory,
+                userManager,
+                pool,
+                sharedWatches));
     KubernetesNamespace toReturnNamespace = mock(KubernetesNamespace.class);
     doReturn(toReturnNamespace).when(namespaceFactory).doCreateNamespaceAccess(any(), any());
 
@@ -328,7 +369,7 @@ public class KubernetesNamespaceFactoryTest {
     namespaceFactory =
         spy(
             new KubernetesNamespaceFactory(
-                "", "", "", "che", false, clientFactory, userManager, pool));
+                "", "", "", "che", false, clientFactory, userManager, pool, sharedWatches));
     KubernetesNamespace toReturnNamespace = mock(KubernetesNamespace.class);
     doReturn(toReturnNamespace).when(namespaceFactory).doCreateNamespaceAccess(any(), any());
 
@@ -357,7 +398,8 @@ public class KubernetesNamespaceFactoryTest {
                 false,
                 clientFactory,
                 userManager,
-                pool));
+                pool,
+                sharedWatches));
     KubernetesNamespace toReturnNamespace = mock(KubernetesNamespace.class);
     when(toReturnNamespace.getWorkspaceId()).thenReturn("workspace123");
     when(toReturnNamespace.getName()).thenReturn("workspace123");
@@ -390,7 +432,8 @@ public class KubernetesNamespaceFactoryTest {
             false,
             clientFactory,
             userManager,
-            pool);
+            pool,
+            sharedWatches);
 
     when(namespaceResource.get()).thenReturn(null);
 
@@ -416,7 +459,8 @@ public class KubernetesNamespaceFactoryTest {
             false,
             clientFactory,
             userManager,
-            pool);
+            pool,
+            sharedWatches);
 
     WorkspaceImpl workspace = new WorkspaceImplBuilder().build();
 
@@ -440,7 +484,8 @@ public class KubernetesNamespaceFactoryTest {
             false,
             clientFactory,
             userManager,
-            pool);
+            pool,
+            sharedWatches);
 
     WorkspaceImpl workspace =
         new WorkspaceImplBuilder()
@@ -466,7 +511,8 @@ public class KubernetesNamespaceFactoryTest {
             false,
             clientFactory,
             userManager,
-            pool);
+            pool,
+            sharedWatches);
 
     WorkspaceImpl workspace =
         new WorkspaceImplBuilder()
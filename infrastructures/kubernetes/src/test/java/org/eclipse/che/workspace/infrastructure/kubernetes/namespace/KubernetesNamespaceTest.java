@@ -69,6 +69,7 @@ public class KubernetesNamespaceTest {
   @Mock private KubernetesConfigsMaps configMaps;
   @Mock private KubernetesClientFactory clientFactory;
   @Mock private Executor executor;
+  @Mock private KubernetesSharedWatches sharedWatches;
   @Mock private KubernetesClient kubernetesClient;
   @Mock private NonNamespaceOperation namespaceOperation;
   @Mock private Resource<ServiceAccount, DoneableServiceAccount> serviceAccountResource;
@@ -108,7 +109,7 @@ public class KubernetesNamespaceTest {
 
     prepareNamespace(NAMESPACE);
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare(false, true);
@@ -125,7 +126,7 @@ public class KubernetesNamespaceTest {
     Resource resource = prepareNamespaceResource(NAMESPACE);
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare(false, true);
@@ -140,7 +141,7 @@ public class KubernetesNamespaceTest {
     Resource resource = prepareNamespaceResource(NAMESPACE);
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare(false, false);
@@ -162,7 +163,7 @@ public class KubernetesNamespaceTest {
     when(metadata.getLabels()).thenReturn(labels);
 
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare(true, false);
@@ -185,7 +186,7 @@ public class KubernetesNamespaceTest {
     when(metadata.getLabels()).thenReturn(labels);
 
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare(false, false);
@@ -236,7 +237,8 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     doThrow(KubernetesClientException.class).when(kubernetesClient).serviceAccounts();
 
-    new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID).prepare(false, false);
+    new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID)
+        .prepare(false, false);
   }
 
   @Test(expectedExceptions = InfrastructureException.class)
@@ -247,7 +249,8 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     when(serviceAccountResource.get()).thenReturn(null);
 
-    new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID).prepare(false, false);
+    new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID)
+        .prepare(false, false);
   }
 
   @Test(expectedExceptions = InfrastructureException.class)
@@ -266,7 +269,8 @@ public class KubernetesNamespaceTest {
         .when(serviceAccountResource)
         .watch(any());
 
-    new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID).prepare(false, false);
+    new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID)
+        .prepare(false, false);
   }
 
   @Test
@@ -284,7 +288,8 @@ public class KubernetesNamespaceTest {
         .when(serviceAccountResource)
         .watch(any());
 
-    new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID).prepare(false, true);
+    new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID)
+        .prepare(false, true);
 
     verify(serviceAccountResource).get();
     verify(serviceAccountResource).watch(any());
@@ -294,7 +299,7 @@ public class KubernetesNamespaceTest {
   public void testDeletesExistingManagedNamespace() throws Exception {
     // given
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
     Resource resource = prepareManagedNamespaceResource(NAMESPACE);
 
     // when
@@ -308,7 +313,7 @@ public class KubernetesNamespaceTest {
   public void testDoesntDeleteExistingNonManagedNamespace() throws Exception {
     // given
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
     Resource resource = prepareNamespaceResource(NAMESPACE);
 
     // when
@@ -322,7 +327,7 @@ public class KubernetesNamespaceTest {
   public void testDoesntFailIfDeletedNamespaceDoesntExist() throws Exception {
     // given
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
     Resource resource = prepareNamespaceResource(NAMESPACE);
     when(resource.get()).thenThrow(new KubernetesClientException("err", 404, null));
     when(resource.delete()).thenThrow(new KubernetesClientException("err", 404, null));
@@ -339,7 +344,7 @@ public class KubernetesNamespaceTest {
   public void testDoesntFailIfDeletedNamespaceIsBeingDeleted() throws Exception {
     // given
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, executor, NAMESPACE, WORKSPACE_ID);
+        new KubernetesNamespace(clientFactory, executor, sharedWatches, NAMESPACE, WORKSPACE_ID);
     Resource resource = prepareManagedNamespaceResource(NAMESPACE);
     when(resource.delete()).thenThrow(new KubernetesClientException("err", 409, null));
 
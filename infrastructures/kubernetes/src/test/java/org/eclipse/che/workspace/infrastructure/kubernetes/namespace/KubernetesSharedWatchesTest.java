@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_DEPLOYMENT_NAME_LABEL;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.EventBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link KubernetesSharedWatches}. */
+@Listeners(MockitoTestNGListener.class)
+public class KubernetesSharedWatchesTest {
+
+  private static final String NAMESPACE = "che";
+  private static final String WORKSPACE_1 = "workspace1";
+  private static final String WORKSPACE_2 = "workspace2";
+
+  @Mock private KubernetesClientFactory clientFactory;
+  @Mock private KubernetesSharedPool sharedPool;
+  @Mock private KubernetesClient client;
+  @Mock private MixedOperation podsMixedOperation;
+  @Mock private NonNamespaceOperation podsNamespaceOperation;
+  @Mock private FilterWatchListDeletable podsLabeledOperation;
+  @Mock private MixedOperation eventsMixedOperation;
+  @Mock private NonNamespaceOperation eventsNamespaceOperation;
+  @Mock private Watch podWatch;
+  @Mock private Watch eventWatch;
+  @Mock private ScheduledExecutorService reopenScheduler;
+
+  @Mock private Watcher<Pod> podWatcher1;
+  @Mock private Watcher<Pod> podWatcher2;
+  @Mock private Watcher<Event> eventWatcher1;
+  @Mock private Watcher<Event> eventWatcher2;
+
+  @Captor private ArgumentCaptor<Watcher<Pod>> sharedPodWatcherCaptor;
+  @Captor private ArgumentCaptor<Watcher<Event>> sharedEventWatcherCaptor;
+  @Captor private ArgumentCaptor<Runnable> reopenCaptor;
+
+  private KubernetesSharedWatches sharedWatches;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    lenient().when(clientFactory.create()).thenReturn(client);
+
+    // Model DSL: client.pods().inNamespace(...).withLabel(...).watch(...)
+    lenient().doReturn(podsMixedOperation).when(client).pods();
+    lenient().doReturn(podsNamespaceOperation).when(podsMixedOperation).inNamespace(anyString());
+    lenient().doReturn(podsLabeledOperation).when(podsNamespaceOperation).withLabel(anyString());
+    lenient().doReturn(podWatch).when(podsLabeledOperation).watch(any());
+
+    // Model DSL: client.events().inNamespace(...).watch(...)
+    lenient().doReturn(eventsMixedOperation).when(client).events();
+    lenient()
+        .doReturn(eventsNamespaceOperation)
+        .when(eventsMixedOperation)
+        .inNamespace(anyString());
+    lenient().doReturn(eventWatch).when(eventsNamespaceOperation).watch(any());
+
+    lenient().when(sharedPool.getExecutor()).thenReturn(newDirectExecutorService());
+    sharedWatches = new KubernetesSharedWatches(true, clientFactory, sharedPool, reopenScheduler);
+  }
+
+  @Test
+  public void shouldOpenSinglePodsWatchForWorkspacesInTheSameNamespace() throws Exception {
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_2, podWatcher2);
+
+    verify(podsNamespaceOperation).withLabel(CHE_WORKSPACE_ID_LABEL);
+    verify(podsLabeledOperation, times(1)).watch(any());
+  }
+
+  @Test
+  public void shouldRoutePodsByWorkspaceIdLabel() throws Exception {
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_2, podWatcher2);
+    verify(podsLabeledOperation).watch(sharedPodWatcherCaptor.capture());
+    Pod pod = newPod("pod1", WORKSPACE_1);
+
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.MODIFIED, pod);
+
+    verify(podWatcher1).eventReceived(Action.MODIFIED, pod);
+    verify(podWatcher2, never()).eventReceived(any(), any());
+  }
+
+  @Test
+  public void shouldRouteEventsOfKnownPodsToTheirWorkspaceOnly() throws Exception {
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+    sharedWatches.watchEvents(NAMESPACE, WORKSPACE_1, eventWatcher1);
+    sharedWatches.watchEvents(NAMESPACE, WORKSPACE_2, eventWatcher2);
+    verify(podsLabeledOperation).watch(sharedPodWatcherCaptor.capture());
+    verify(eventsNamespaceOperation).watch(sharedEventWatcherCaptor.capture());
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, newPod("pod1", WORKSPACE_1));
+    Event event = newEvent("pod1");
+
+    sharedEventWatcherCaptor.getValue().eventReceived(Action.ADDED, event);
+
+    verify(eventWatcher1).eventReceived(Action.ADDED, event);
+    verify(eventWatcher2, never()).eventReceived(any(), any());
+  }
+
+  @Test
+  public void shouldBroadcastEventsOfUnknownObjectsToAllNamespaceSubscribers() throws Exception {
+    sharedWatches.watchEvents(NAMESPACE, WORKSPACE_1, eventWatcher1);
+    sharedWatches.watchEvents(NAMESPACE, WORKSPACE_2, eventWatcher2);
+    verify(eventsNamespaceOperation).watch(sharedEventWatcherCaptor.capture());
+    Event event = newEvent("unknown");
+
+    sharedEventWatcherCaptor.getValue().eventReceived(Action.ADDED, event);
+
+    verify(eventWatcher1).eventReceived(Action.ADDED, event);
+    verify(eventWatcher2).eventReceived(Action.ADDED, event);
+  }
+
+  @Test
+  public void shouldCloseSharedWatchWhenLastSubscriberUnsubscribes() throws Exception {
+    Watch watch1 = sharedWatches.watchEvents(NAMESPACE, WORKSPACE_1, eventWatcher1);
+    Watch watch2 = sharedWatches.watchEvents(NAMESPACE, WORKSPACE_2, eventWatcher2);
+
+    watch1.close();
+    verify(eventWatch, never()).close();
+
+    watch2.close();
+    verify(eventWatch).close();
+  }
+
+  @Test
+  public void shouldReopenSharedWatchAfterItWasReleased() throws Exception {
+    sharedWatches.watchEvents(NAMESPACE, WORKSPACE_1, eventWatcher1).close();
+
+    sharedWatches.watchEvents(NAMESPACE, WORKSPACE_2, eventWatcher2);
+
+    verify(eventsNamespaceOperation, times(2)).watch(any());
+    verify(eventWatch).close();
+    verifyNoMoreInteractions(eventWatch);
+  }
+
+  @Test
+  public void shouldReplayKnownPodsOfWorkspaceToNewSubscriber() throws Exception {
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+    verify(podsLabeledOperation).watch(sharedPodWatcherCaptor.capture());
+    Pod pod1 = newPod("pod1", WORKSPACE_1);
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, pod1);
+    Pod pod2 = newPod("pod2", WORKSPACE_2);
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, pod2);
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.MODIFIED, pod1);
+    Pod deleted = newPod("pod3", WORKSPACE_1);
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, deleted);
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.DELETED, deleted);
+
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher2);
+
+    verify(podWatcher2).eventReceived(Action.ADDED, pod1);
+    verifyNoMoreInteractions(podWatcher2);
+  }
+
+  @Test
+  public void shouldForgetDeploymentOwnerWhenItsLastPodIsDeleted() throws Exception {
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+    sharedWatches.watchEvents(NAMESPACE, WORKSPACE_1, eventWatcher1);
+    sharedWatches.watchEvents(NAMESPACE, WORKSPACE_2, eventWatcher2);
+    verify(podsLabeledOperation).watch(sharedPodWatcherCaptor.capture());
+    verify(eventsNamespaceOperation).watch(sharedEventWatcherCaptor.capture());
+    Pod pod = newPod("pod1", WORKSPACE_1, "deployment1");
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, pod);
+    Event beforeDeletion = newEvent("deployment1");
+    sharedEventWatcherCaptor.getValue().eventReceived(Action.ADDED, beforeDeletion);
+    verify(eventWatcher2, never()).eventReceived(any(), any());
+
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.DELETED, pod);
+    Event afterDeletion = newEvent("deployment1");
+    sharedEventWatcherCaptor.getValue().eventReceived(Action.ADDED, afterDeletion);
+
+    verify(eventWatcher1).eventReceived(Action.ADDED, beforeDeletion);
+    verify(eventWatcher1).eventReceived(Action.ADDED, afterDeletion);
+    verify(eventWatcher2).eventReceived(Action.ADDED, afterDeletion);
+  }
+
+  @Test
+  public void shouldRetryToReopenPodsWatchWithBackoff() throws Exception {
+    doReturn(podWatch)
+        .doThrow(new KubernetesClientException("unavailable"))
+        .doThrow(new KubernetesClientException("unavailable"))
+        .doReturn(podWatch)
+        .when(podsLabeledOperation)
+        .watch(any());
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+    verify(podsLabeledOperation).watch(sharedPodWatcherCaptor.capture());
+
+    sharedPodWatcherCaptor.getValue().onClose(new KubernetesClientException("closed"));
+    verify(reopenScheduler).schedule(reopenCaptor.capture(), eq(1_000L), eq(MILLISECONDS));
+    reopenCaptor.getValue().run();
+    verify(reopenScheduler).schedule(reopenCaptor.capture(), eq(2_000L), eq(MILLISECONDS));
+    reopenCaptor.getValue().run();
+
+    verify(podsLabeledOperation, times(4)).watch(any());
+    verifyNoMoreInteractions(reopenScheduler);
+  }
+
+  @Test
+  public void shouldStopReopeningPodsWatchWhenSubscribersUnsubscribed() throws Exception {
+    doReturn(podWatch)
+        .doThrow(new KubernetesClientException("unavailable"))
+        .when(podsLabeledOperation)
+        .watch(any());
+    Watch watch = sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+    verify(podsLabeledOperation).watch(sharedPodWatcherCaptor.capture());
+    sharedPodWatcherCaptor.getValue().onClose(new KubernetesClientException("closed"));
+    verify(reopenScheduler).schedule(reopenCaptor.capture(), eq(1_000L), eq(MILLISECONDS));
+
+    watch.close();
+    reopenCaptor.getValue().run();
+
+    verify(podsLabeledOperation, times(2)).watch(any());
+  }
+
+  @Test
+  public void shouldDeliverPodsDeletedWhileWatchWasClosedOnReopen() throws Exception {
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+    verify(podsLabeledOperation).watch(sharedPodWatcherCaptor.capture());
+    Pod deleted = newPod("pod1", WORKSPACE_1);
+    Pod existing = newPod("pod2", WORKSPACE_1);
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, deleted);
+    sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, existing);
+    doReturn(new PodListBuilder().withItems(asList(existing)).build())
+        .when(podsLabeledOperation)
+        .list();
+
+    sharedPodWatcherCaptor.getValue().onClose(new KubernetesClientException("closed"));
+    sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher2);
+
+    verify(podsLabeledOperation, times(2)).watch(any());
+    verify(podWatcher1).eventReceived(Action.DELETED, deleted);
+    verify(podWatcher1, never()).eventReceived(Action.DELETED, existing);
+    verify(podWatcher2).eventReceived(Action.ADDED, existing);
+    verifyNoMoreInteractions(podWatcher2);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldNotDelayOtherSubscribersWhenSubscriberIsSlow() throws Exception {
+    ExecutorService executor = Executors.newCachedThreadPool();
+    when(sharedPool.getExecutor()).thenReturn(executor);
+    sharedWatches = new KubernetesSharedWatches(true, clientFactory, sharedPool, reopenScheduler);
+    CountDownLatch slowWatcherReleased = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              slowWatcherReleased.await();
+              return null;
+            })
+        .when(podWatcher1)
+        .eventReceived(any(), any());
+    try {
+      sharedWatches.watchPods(NAMESPACE, WORKSPACE_1, podWatcher1);
+      sharedWatches.watchPods(NAMESPACE, WORKSPACE_2, podWatcher2);
+      verify(podsLabeledOperation).watch(sharedPodWatcherCaptor.capture());
+      Pod pod1 = newPod("pod1", WORKSPACE_1);
+      Pod pod2 = newPod("pod2", WORKSPACE_2);
+
+      sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, pod1);
+      sharedPodWatcherCaptor.getValue().eventReceived(Action.ADDED, pod2);
+
+      verify(podWatcher2, timeout(5_000)).eventReceived(Action.ADDED, pod2);
+      slowWatcherReleased.countDown();
+      verify(podWatcher1, timeout(5_000)).eventReceived(Action.ADDED, pod1);
+    } finally {
+      slowWatcherReleased.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private static Pod newPod(String name, String workspaceId) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .addToLabels(CHE_WORKSPACE_ID_LABEL, workspaceId)
+        .endMetadata()
+        .build();
+  }
+
+  private static Pod newPod(String name, String workspaceId, String deploymentName) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .addToLabels(CHE_WORKSPACE_ID_LABEL, workspaceId)
+        .addToLabels(CHE_DEPLOYMENT_NAME_LABEL, deploymentName)
+        .endMetadata()
+        .build();
+  }
+
+  private static Event newEvent(String involvedObjectName) {
+    return new EventBuilder()
+        .withNewInvolvedObject()
+        .withKind("Pod")
+        .withName(involvedObjectName)
+        .endInvolvedObject()
+        .build();
+  }
+}
@@ -11,6 +11,9 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -18,6 +21,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.base.Ticker;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
 import io.fabric8.kubernetes.client.dsl.internal.PodOperationsImpl;
@@ -25,6 +29,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.mockito.ArgumentCaptor;
@@ -49,6 +54,8 @@ public class ContainerLogWatchTest {
 
   @Mock PodOperationsImpl pods;
 
+  @Mock Ticker ticker;
+
   LogWatchMock logWatch;
 
   @BeforeMethod
@@ -73,12 +80,19 @@ public class ContainerLogWatchTest {
 
     ContainerLogWatch clw =
         new ContainerLogWatch(
-            client, namespace, podname, container, podLogHandler, TIMEOUTS, LOG_LIMIT_BYTES);
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            unlimited());
     clw.run();
 
-    verify(podLogHandler).handle("first", container);
-    verify(podLogHandler).handle("second", container);
-    verify(podLogHandler).handle("third", container);
+    // the incomplete last line is not waited for when the complete ones are handed over
+    verify(podLogHandler).handle(asList("first", "second"), container);
+    verify(podLogHandler).handle(singletonList("third"), container);
     assertTrue(logWatch.isClosed);
   }
 
@@ -91,13 +105,14 @@ public class ContainerLogWatchTest {
     logWatch.setInputStream(inputStream);
 
     ContainerLogWatch clw =
-        new ContainerLogWatch(client, namespace, podname, container, podLogHandler, TIMEOUTS, 4);
+        new ContainerLogWatch(
+            client, namespace, podname, container, podLogHandler, TIMEOUTS, 4, unlimited());
     clw.run();
 
-    ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<List<String>> messageCaptor = ArgumentCaptor.forClass(List.class);
     ArgumentCaptor<String> containerCaptor = ArgumentCaptor.forClass(String.class);
     verify(podLogHandler, times(1)).handle(messageCaptor.capture(), containerCaptor.capture());
-    assertEquals(messageCaptor.getValue(), "This");
+    assertEquals(messageCaptor.getValue(), singletonList("This"));
     assertEquals(containerCaptor.getValue(), container);
     assertTrue(logWatch.isClosed);
   }
@@ -116,11 +131,18 @@ public class ContainerLogWatchTest {
               return null;
             })
         .when(podLogHandler)
-        .handle("message", container);
+        .handle(singletonList("message"), container);
 
     ContainerLogWatch clw =
         new ContainerLogWatch(
-            client, namespace, podname, container, podLogHandler, TIMEOUTS, LOG_LIMIT_BYTES);
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            unlimited());
     new Thread(clw).start();
 
     latch.await(1, TimeUnit.SECONDS);
@@ -143,11 +165,18 @@ public class ContainerLogWatchTest {
               return null;
             })
         .when(podLogHandler)
-        .handle("message", container);
+        .handle(singletonList("message"), container);
 
     ContainerLogWatch clw =
         new ContainerLogWatch(
-            client, namespace, podname, container, podLogHandler, TIMEOUTS, LOG_LIMIT_BYTES);
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            unlimited());
     new Thread(clw).start();
 
     messageHandleLatch.await(1, TimeUnit.SECONDS);
@@ -187,7 +216,8 @@ public class ContainerLogWatchTest {
     outputStream.write("message\n".getBytes());
     outputStream.close();
     logWatchRegularMessage.setInputStream(inputStream);
-    CountDownLatch messageHandleLatch = new CountDownLatch(1);
+    // counted down both when the message is handled and when the log watch is closed
+    CountDownLatch messageHandleLatch = new CountDownLatch(2);
     logWatchRegularMessage.setLatch(messageHandleLatch);
     doAnswer(
             (a) -> {
@@ -195,14 +225,21 @@ public class ContainerLogWatchTest {
               return null;
             })
         .when(podLogHandler)
-        .handle("message", container);
+        .handle(singletonList("message"), container);
 
     // return error message logwatch first and regular message logwatch on second call
     when(pods.watchLog()).thenReturn(logWatch).thenReturn(logWatchRegularMessage);
 
     ContainerLogWatch clw =
         new ContainerLogWatch(
-            client, namespace, podname, container, podLogHandler, TIMEOUTS, LOG_LIMIT_BYTES);
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            unlimited());
     new Thread(clw).start();
 
     // wait for logwatch close, it means that error message was processed
@@ -215,7 +252,7 @@ public class ContainerLogWatchTest {
     messageHandleLatch.await(1, TimeUnit.SECONDS);
 
     // message was processed
-    verify(podLogHandler).handle("message", container);
+    verify(podLogHandler).handle(singletonList("message"), container);
     assertTrue(logWatchRegularMessage.isClosed);
   }
 
@@ -230,7 +267,8 @@ public class ContainerLogWatchTest {
     outputStream.write("message\n".getBytes());
     outputStream.close();
     logWatchRegularMessage.setInputStream(inputStream);
-    CountDownLatch messageHandleLatch = new CountDownLatch(1);
+    // counted down both when the message is handled and when the log watch is closed
+    CountDownLatch messageHandleLatch = new CountDownLatch(2);
     logWatchRegularMessage.setLatch(messageHandleLatch);
     doAnswer(
             (a) -> {
@@ -238,14 +276,21 @@ public class ContainerLogWatchTest {
               return null;
             })
         .when(podLogHandler)
-        .handle("message", container);
+        .handle(singletonList("message"), container);
 
     // return null stream first and regular message stream on second call
     when(pods.watchLog()).thenReturn(logWatch).thenReturn(logWatchRegularMessage);
 
     ContainerLogWatch clw =
         new ContainerLogWatch(
-            client, namespace, podname, container, podLogHandler, TIMEOUTS, LOG_LIMIT_BYTES);
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            unlimited());
     new Thread(clw).start();
 
     // wait for logwatch close, it means that error message was processed
@@ -258,10 +303,161 @@ public class ContainerLogWatchTest {
     messageHandleLatch.await(1, TimeUnit.SECONDS);
 
     // message was processed
-    verify(podLogHandler).handle("message", container);
+    verify(podLogHandler).handle(singletonList("message"), container);
     assertTrue(logWatchRegularMessage.isClosed);
   }
 
+  @Test
+  public void shouldHandOverBatchWhenOnlyIncompleteLineIsAvailable()
+      throws IOException, InterruptedException {
+    PipedInputStream inputStream = new PipedInputStream();
+    PipedOutputStream outputStream = new PipedOutputStream(inputStream);
+    outputStream.write("first\r\nsecond\npartial".getBytes());
+    logWatch.setInputStream(inputStream);
+
+    CountDownLatch batchHandleLatch = new CountDownLatch(1);
+    doAnswer(
+            (a) -> {
+              batchHandleLatch.countDown();
+              return null;
+            })
+        .when(podLogHandler)
+        .handle(asList("first", "second"), container);
+
+    ContainerLogWatch clw =
+        new ContainerLogWatch(
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            unlimited());
+    Thread watchThread = new Thread(clw);
+    watchThread.start();
+
+    // the batch is handed over while the rest of the line is not received yet
+    assertTrue(batchHandleLatch.await(1, TimeUnit.SECONDS));
+    outputStream.write(" line".getBytes());
+    outputStream.close();
+    watchThread.join(1000);
+
+    verify(podLogHandler).handle(singletonList("partial line"), container);
+  }
+
+  @Test
+  public void shouldDropLinesExceedingRateLimit() throws IOException {
+    PipedInputStream inputStream = new PipedInputStream();
+    PipedOutputStream outputStream = new PipedOutputStream(inputStream);
+    outputStream.write("first\nsecond\nthird\n".getBytes());
+    outputStream.close();
+    logWatch.setInputStream(inputStream);
+    WorkspaceLogLimiter limiter = new WorkspaceLogLimiter(Long.MAX_VALUE, 1, ticker);
+
+    ContainerLogWatch clw =
+        new ContainerLogWatch(
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            limiter);
+    clw.run();
+
+    verify(podLogHandler)
+        .handle(
+            asList("first", String.format(ContainerLogWatch.DROPPED_LINES_MESSAGE_FORMAT, 2)),
+            container);
+    assertEquals(limiter.getDroppedLines(), 2);
+  }
+
+  @Test
+  public void shouldFinishWatchingWhenWorkspaceLogsBudgetIsExhausted() throws IOException {
+    PipedInputStream inputStream = new PipedInputStream();
+    PipedOutputStream outputStream = new PipedOutputStream(inputStream);
+    outputStream.write("first\nsecond\nthird\n".getBytes());
+    logWatch.setInputStream(inputStream);
+    WorkspaceLogLimiter limiter = new WorkspaceLogLimiter(10, Integer.MAX_VALUE, ticker);
+
+    ContainerLogWatch clw =
+        new ContainerLogWatch(
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            limiter);
+    clw.run();
+
+    verify(podLogHandler)
+        .handle(asList("first", ContainerLogWatch.BUDGET_EXCEEDED_MESSAGE), container);
+    assertTrue(logWatch.isClosed);
+  }
+
+  @Test
+  public void shouldChargeWorkspaceLogsBudgetWithUtf8BytesOfLines() throws IOException {
+    PipedInputStream inputStream = new PipedInputStream();
+    PipedOutputStream outputStream = new PipedOutputStream(inputStream);
+    // 3 characters taking 9 bytes in UTF-8
+    String multiByteLine = "\u65e5\u672c\u8a9e";
+    outputStream.write((multiByteLine + "\nfirst\n").getBytes(UTF_8));
+    logWatch.setInputStream(inputStream);
+    WorkspaceLogLimiter limiter = new WorkspaceLogLimiter(10, Integer.MAX_VALUE, ticker);
+
+    ContainerLogWatch clw =
+        new ContainerLogWatch(
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            limiter);
+    clw.run();
+
+    verify(podLogHandler)
+        .handle(asList(multiByteLine, ContainerLogWatch.BUDGET_EXCEEDED_MESSAGE), container);
+    assertTrue(logWatch.isClosed);
+  }
+
+  @Test
+  public void shouldNotChargeWorkspaceLogsBudgetWithDroppedLines() throws IOException {
+    PipedInputStream inputStream = new PipedInputStream();
+    PipedOutputStream outputStream = new PipedOutputStream(inputStream);
+    outputStream.write("first\nsecond\nthird\n".getBytes(UTF_8));
+    outputStream.close();
+    logWatch.setInputStream(inputStream);
+    WorkspaceLogLimiter limiter = new WorkspaceLogLimiter(10, 1, ticker);
+
+    ContainerLogWatch clw =
+        new ContainerLogWatch(
+            client,
+            namespace,
+            podname,
+            container,
+            podLogHandler,
+            TIMEOUTS,
+            LOG_LIMIT_BYTES,
+            limiter);
+    clw.run();
+
+    verify(podLogHandler)
+        .handle(
+            asList("first", String.format(ContainerLogWatch.DROPPED_LINES_MESSAGE_FORMAT, 2)),
+            container);
+    assertTrue(limiter.consumeBytes(4));
+  }
+
+  private WorkspaceLogLimiter unlimited() {
+    return new WorkspaceLogLimiter(Long.MAX_VALUE, Integer.MAX_VALUE, ticker);
+  }
+
   private class LogWatchMock implements LogWatch {
 
     private InputStream inputStream;
@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log;
 
+import static java.util.Arrays.asList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.*;
@@ -44,4 +45,17 @@ public class PodLogToEventPublisherTest {
     assertTrue(capturedMessage.contains("message"));
     assertTrue(capturedMessage.contains("containerName"));
   }
+
+  @Test
+  public void sendBatchOfMessagesToPublisherAsSingleEvent() {
+    PodLogHandler handler = new PodLogToEventPublisher(eventsPublisher, identity);
+
+    handler.handle(asList("first", "second"), "containerName");
+
+    ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+    verify(eventsPublisher)
+        .sendRuntimeLogEvent(
+            messageCaptor.capture(), any(String.class), any(RuntimeIdentity.class));
+    assertEquals(messageCaptor.getValue(), "[containerName] -> first\n[containerName] -> second");
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log;
+
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link WorkspaceLogLimiter}. */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceLogLimiterTest {
+
+  @Mock private Ticker ticker;
+
+  @Test
+  public void shouldDropLinesExceedingRateLimitWithinSecond() {
+    when(ticker.read()).thenReturn(0L);
+    WorkspaceLogLimiter limiter = new WorkspaceLogLimiter(Long.MAX_VALUE, 2, ticker);
+
+    assertTrue(limiter.tryAcquireLine());
+    assertTrue(limiter.tryAcquireLine());
+    assertFalse(limiter.tryAcquireLine());
+    assertFalse(limiter.tryAcquireLine());
+
+    assertEquals(limiter.getDroppedLines(), 2);
+  }
+
+  @Test
+  public void shouldAcquireLinesAgainInNextSecond() {
+    when(ticker.read()).thenReturn(0L, 0L, TimeUnit.SECONDS.toNanos(1));
+    WorkspaceLogLimiter limiter = new WorkspaceLogLimiter(Long.MAX_VALUE, 1, ticker);
+
+    assertTrue(limiter.tryAcquireLine());
+    assertTrue(limiter.tryAcquireLine());
+
+    assertEquals(limiter.getDroppedLines(), 0);
+  }
+
+  @Test
+  public void shouldReportExhaustedBytesBudget() {
+    when(ticker.read()).thenReturn(0L);
+    WorkspaceLogLimiter limiter = new WorkspaceLogLimiter(10, 1, ticker);
+
+    assertTrue(limiter.consumeBytes(6));
+    assertTrue(limiter.consumeBytes(4));
+    assertFalse(limiter.consumeBytes(1));
+  }
+}
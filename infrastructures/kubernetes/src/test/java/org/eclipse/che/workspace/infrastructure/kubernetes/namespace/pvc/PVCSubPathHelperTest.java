@@ -13,25 +13,36 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
 
 import static com.google.common.collect.ImmutableMap.of;
 import static java.lang.Boolean.TRUE;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START;
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START_LOG_LIMIT_BYTES;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.JOB_MOUNT_PATH;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.MAINTENANCE_POD_COMMAND;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.MAINTENANCE_POD_NAME_PREFIX;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.MKDIR_COMMAND_BASE;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_FAILED;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_RUNNING;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_SUCCEEDED;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.RM_COMMAND_BASE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import com.google.common.collect.ImmutableMap;
 import io.fabric8.kubernetes.api.model.Pod;
@@ -41,6 +52,12 @@ import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
@@ -48,6 +65,7 @@ import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesDeployments;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.DirsOperation;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.SecurityContextProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
 import org.mockito.ArgumentCaptor;
@@ -93,12 +111,14 @@ public class PVCSubPathHelperTest {
         new PVCSubPathHelper(
             jobMemoryLimit,
             jobImage,
+            false,
             k8sNamespaceFactory,
             securityContextProvisioner,
             new NoopExecutorServiceWrapper(),
             eventsPublisher);
     lenient().when(identity.getInfrastructureNamespace()).thenReturn(NAMESPACE);
     lenient().when(k8sNamespaceFactory.access(WORKSPACE_ID, NAMESPACE)).thenReturn(k8sNamespace);
+    lenient().when(k8sNamespaceFactory.accessNamespace(NAMESPACE)).thenReturn(k8sNamespace);
     lenient().when(k8sNamespace.deployments()).thenReturn(osDeployments);
     lenient().when(pod.getStatus()).thenReturn(podStatus);
     lenient().when(osDeployments.deploy(nullable(Pod.class))).thenReturn(pod);
@@ -106,6 +126,17 @@ public class PVCSubPathHelperTest {
     lenient().doNothing().when(osDeployments).delete(anyString());
   }
 
+  private PVCSubPathHelper newHelperWithMaintenancePod() {
+    return new PVCSubPathHelper(
+        jobMemoryLimit,
+        jobImage,
+        true,
+        k8sNamespaceFactory,
+        securityContextProvisioner,
+        new NoopExecutorServiceWrapper(),
+        eventsPublisher);
+  }
+
   @Test
   public void testBuildsCommandByGivenBaseAndPaths() throws Exception {
     final String[] paths = {WORKSPACE_ID + PROJECTS_PATH, WORKSPACE_ID + M2_PATH};
@@ -119,6 +150,216 @@ public class PVCSubPathHelperTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  public void testBuildsBatchCommandWithSeparateCommandForEachOperation() throws Exception {
+    final String[] actual =
+        pvcSubPathHelper.buildBatchCommand(
+            asList(
+                new DirsOperation("ws1", RM_COMMAND_BASE, "ws1"),
+                new DirsOperation("ws2", MKDIR_COMMAND_BASE, "ws2/projects", "it's")));
+
+    assertEquals(
+        actual,
+        new String[] {
+          "sh",
+          "-c",
+          "out=$('rm' '-rf' '/tmp/job_mount/ws1' 2>&1)"
+              + " || echo \"pvc-operation-failed:0 'rm' exited with code $?: $out\" >&2; "
+              + "out=$('mkdir' '-m' '777' '-p' '/tmp/job_mount/ws2/projects'"
+              + " '/tmp/job_mount/it'\\''s' 2>&1)"
+              + " || echo \"pvc-operation-failed:1 'mkdir' exited with code $?: $out\" >&2"
+        });
+  }
+
+  @Test
+  public void testParsesFailuresOfBatchOperations() throws Exception {
+    final Map<Integer, String> failures =
+        pvcSubPathHelper.parseFailures(
+            "pvc-operation-failed:1 'rm' exited with code 1: rm: first line\n"
+                + "second line\n"
+                + "pvc-operation-failed:3 'mkdir' exited with code 1: mkdir: failed\n");
+
+    assertEquals(
+        failures,
+        ImmutableMap.of(
+            1,
+            "'rm' exited with code 1: rm: first line\nsecond line",
+            3,
+            "'mkdir' exited with code 1: mkdir: failed"));
+    assertTrue(pvcSubPathHelper.parseFailures("Permission denied").isEmpty());
+  }
+
+  @Test
+  public void testCreatesWorkspaceDirsInMaintenancePod() throws Exception {
+    pvcSubPathHelper = newHelperWithMaintenancePod();
+    when(osDeployments.get(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME)).thenReturn(Optional.empty());
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_RUNNING);
+
+    pvcSubPathHelper.createDirs(
+        identity, WORKSPACE_ID, PVC_NAME, emptyMap(), WORKSPACE_ID + PROJECTS_PATH);
+
+    verify(osDeployments).create(podCaptor.capture());
+    assertEquals(
+        podCaptor.getValue().getSpec().getContainers().get(0).getCommand(),
+        asList(MAINTENANCE_POD_COMMAND));
+    verify(securityContextProvisioner).provision(any());
+    verify(osDeployments)
+        .exec(
+            eq(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME),
+            eq(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME),
+            anyInt(),
+            eq(
+                new String[] {
+                  "sh",
+                  "-c",
+                  "out=$('mkdir' '-m' '777' '-p' '"
+                      + JOB_MOUNT_PATH
+                      + '/'
+                      + WORKSPACE_ID
+                      + PROJECTS_PATH
+                      + "' 2>&1) || echo \"pvc-operation-failed:0 'mkdir' exited with code $?:"
+                      + " $out\" >&2"
+                }),
+            any());
+    verify(osDeployments, never()).delete(anyString());
+    verify(k8sNamespaceFactory).accessNamespace(NAMESPACE);
+    verify(k8sNamespaceFactory, never()).access(anyString(), anyString());
+  }
+
+  @Test
+  public void testFailsOnlyOperationsWhoseCommandsFailedInMaintenancePod() throws Exception {
+    pvcSubPathHelper = newHelperWithMaintenancePod();
+    when(osDeployments.get(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME)).thenReturn(Optional.of(pod));
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_RUNNING);
+    CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    CountDownLatch nextOperationsSubmitted = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              firstBatchStarted.countDown();
+              nextOperationsSubmitted.await();
+              return null;
+            })
+        .doThrow(
+            new InfrastructureException(
+                "pvc-operation-failed:1 'rm' exited with code 1: rm: Permission denied"))
+        .when(osDeployments)
+        .exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+
+    CompletableFuture<Void> first =
+        pvcSubPathHelper.removeDirsAsync("ws1", NAMESPACE, PVC_NAME, "ws1");
+    firstBatchStarted.await();
+    CompletableFuture<Void> succeeded =
+        pvcSubPathHelper.removeDirsAsync("ws2", NAMESPACE, PVC_NAME, "ws2");
+    CompletableFuture<Void> failed =
+        pvcSubPathHelper.removeDirsAsync("ws3", NAMESPACE, PVC_NAME, "ws3");
+    nextOperationsSubmitted.countDown();
+
+    first.get();
+    succeeded.get();
+    try {
+      failed.get();
+      fail("Operation is expected to fail");
+    } catch (ExecutionException ex) {
+      assertEquals(ex.getCause().getMessage(), "'rm' exited with code 1: rm: Permission denied");
+    }
+    verify(osDeployments, times(2))
+        .exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+  }
+
+  @Test
+  public void testRemovesMaintenancePodsOnShutdown() throws Exception {
+    pvcSubPathHelper = newHelperWithMaintenancePod();
+    when(osDeployments.get(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME)).thenReturn(Optional.of(pod));
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_RUNNING);
+    pvcSubPathHelper.removeDirsAsync(WORKSPACE_ID, NAMESPACE, PVC_NAME, WORKSPACE_ID).get();
+
+    pvcSubPathHelper.shutdown();
+
+    verify(osDeployments).delete(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME);
+    // the pod is created and removed through the same access which is not related to workspaces
+    verify(k8sNamespaceFactory).accessNamespace(NAMESPACE);
+    verify(k8sNamespaceFactory, never()).access(anyString(), anyString());
+  }
+
+  @Test
+  public void testFailsOperationWhenMaintenancePodCommandFailed() throws Exception {
+    pvcSubPathHelper = newHelperWithMaintenancePod();
+    when(osDeployments.get(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME)).thenReturn(Optional.of(pod));
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_RUNNING);
+    InfrastructureException error = new InfrastructureException("'rm' exited with code 1");
+    doThrow(error)
+        .when(osDeployments)
+        .exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+
+    CompletableFuture<Void> result =
+        pvcSubPathHelper.removeDirsAsync(WORKSPACE_ID, NAMESPACE, PVC_NAME, WORKSPACE_ID);
+
+    try {
+      result.get();
+      fail("Operation is expected to fail");
+    } catch (ExecutionException ex) {
+      assertEquals(ex.getCause(), error);
+    }
+  }
+
+  @Test
+  public void testPublishesMaintenancePodOutputWhenLogsAreWatched() throws Exception {
+    pvcSubPathHelper = newHelperWithMaintenancePod();
+    when(osDeployments.get(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME)).thenReturn(Optional.of(pod));
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_RUNNING);
+    doAnswer(
+            invocation -> {
+              BiConsumer<String, String> outputConsumer = invocation.getArgument(4);
+              outputConsumer.accept("STDERR", "Permission denied");
+              throw new InfrastructureException("Permission denied");
+            })
+        .when(osDeployments)
+        .exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+
+    pvcSubPathHelper.createDirs(
+        identity,
+        WORKSPACE_ID,
+        PVC_NAME,
+        ImmutableMap.of(DEBUG_WORKSPACE_START, TRUE.toString()),
+        WORKSPACE_ID + PROJECTS_PATH);
+
+    verify(eventsPublisher)
+        .sendRuntimeLogEvent(contains("Permission denied"), anyString(), eq(identity));
+  }
+
+  @Test
+  public void testReusesRunningMaintenancePod() throws Exception {
+    pvcSubPathHelper = newHelperWithMaintenancePod();
+    when(osDeployments.get(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME)).thenReturn(Optional.of(pod));
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_RUNNING);
+
+    pvcSubPathHelper.createDirs(
+        identity, WORKSPACE_ID, PVC_NAME, emptyMap(), WORKSPACE_ID + PROJECTS_PATH);
+    pvcSubPathHelper.removeDirsAsync(WORKSPACE_ID, NAMESPACE, PVC_NAME, WORKSPACE_ID).get();
+
+    verify(osDeployments, never()).create(any());
+    verify(osDeployments, times(2))
+        .exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+  }
+
+  @Test
+  public void testRecreatesNotRunningMaintenancePod() throws Exception {
+    pvcSubPathHelper = newHelperWithMaintenancePod();
+    Pod terminated = mock(Pod.class);
+    PodStatus terminatedStatus = mock(PodStatus.class);
+    when(terminated.getStatus()).thenReturn(terminatedStatus);
+    when(terminatedStatus.getPhase()).thenReturn(POD_PHASE_FAILED);
+    when(osDeployments.get(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME))
+        .thenReturn(Optional.of(terminated));
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_RUNNING);
+
+    pvcSubPathHelper.removeDirsAsync(WORKSPACE_ID, NAMESPACE, PVC_NAME, WORKSPACE_ID).get();
+
+    verify(osDeployments).delete(MAINTENANCE_POD_NAME_PREFIX + PVC_NAME);
+    verify(osDeployments).create(any());
+    verify(osDeployments).exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+  }
+
   @Test
   public void testSuccessfullyCreatesWorkspaceDirs() throws Exception {
     when(podStatus.getPhase()).thenReturn(POD_PHASE_SUCCEEDED);
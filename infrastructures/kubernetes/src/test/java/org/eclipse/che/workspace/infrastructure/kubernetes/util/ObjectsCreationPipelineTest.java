@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.util;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.Phase;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.Step;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ObjectsCreationPipeline}. */
+public class ObjectsCreationPipelineTest {
+
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+    EnvironmentContext.reset();
+  }
+
+  @Test
+  public void shouldExecuteStepsAfterTheirDependencies() throws Exception {
+    ObjectsCreationPipeline pipeline = new ObjectsCreationPipeline(executor, 4);
+    List<String> executed = new CopyOnWriteArrayList<>();
+    Step<String> secret = pipeline.add("secrets", record(executed, "secret"), emptyList());
+    Step<String> configMap = pipeline.add("configs", record(executed, "config"), emptyList());
+    Step<String> pod = pipeline.add("pods", record(executed, "pod"), asList(secret, configMap));
+
+    pipeline.execute();
+
+    assertEquals(executed.size(), 3);
+    assertEquals(executed.get(2), "pod");
+    assertEquals(pod.getResult(), "pod");
+    assertEquals(ObjectsCreationPipeline.getResults(asList(secret, configMap)).size(), 2);
+  }
+
+  @Test
+  public void shouldExecuteIndependentStepsConcurrentlyWithinParallelism() throws Exception {
+    ObjectsCreationPipeline pipeline = new ObjectsCreationPipeline(executor, 2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    for (int i = 0; i < 4; i++) {
+      pipeline.add(
+          "services",
+          () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            bothStarted.countDown();
+            awaitUninterruptibly(bothStarted, 5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return null;
+          },
+          emptyList());
+    }
+
+    pipeline.execute();
+
+    assertEquals(maxRunning.get(), 2);
+  }
+
+  @Test
+  public void shouldSkipDependentStepsAndInterruptRunningOnesWhenStepFails() throws Exception {
+    ObjectsCreationPipeline pipeline = new ObjectsCreationPipeline(executor, 4);
+    InfrastructureException error = new InfrastructureException("creation failed");
+    CountDownLatch waitingStarted = new CountDownLatch(1);
+    AtomicBoolean interrupted = new AtomicBoolean();
+    AtomicBoolean dependentExecuted = new AtomicBoolean();
+    pipeline.add(
+        "ingresses",
+        () -> {
+          waitingStarted.countDown();
+          try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+          } catch (InterruptedException e) {
+            interrupted.set(true);
+          }
+          return null;
+        },
+        emptyList());
+    Step<Object> failing =
+        pipeline.add(
+            "secrets",
+            () -> {
+              awaitUninterruptibly(waitingStarted, 5, TimeUnit.SECONDS);
+              throw error;
+            },
+            emptyList());
+    pipeline.add(
+        "pods",
+        () -> {
+          dependentExecuted.set(true);
+          return null;
+        },
+        singletonList(failing));
+
+    try {
+      pipeline.execute();
+      fail("Exception expected");
+    } catch (InfrastructureException e) {
+      assertSame(e, error);
+    }
+
+    assertTrue(interrupted.get());
+    assertFalse(dependentExecuted.get());
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+
+  @Test
+  public void shouldExecuteStepsInCallingThreadWhenParallelismIsOne() throws Exception {
+    ObjectsCreationPipeline pipeline = new ObjectsCreationPipeline(null, 1);
+    Thread caller = Thread.currentThread();
+    Step<Thread> first = pipeline.add("secrets", Thread::currentThread, emptyList());
+    Step<Thread> second = pipeline.add("pods", Thread::currentThread, emptyList());
+
+    pipeline.execute();
+
+    assertSame(first.getResult(), caller);
+    assertSame(second.getResult(), caller);
+  }
+
+  @Test
+  public void shouldPropagateEnvironmentContextToSteps() throws Exception {
+    EnvironmentContext context = new EnvironmentContext();
+    EnvironmentContext.setCurrent(context);
+    ObjectsCreationPipeline pipeline = new ObjectsCreationPipeline(executor, 2);
+    Step<EnvironmentContext> step =
+        pipeline.add("services", EnvironmentContext::getCurrent, emptyList());
+
+    pipeline.execute();
+
+    assertSame(step.getResult(), context);
+  }
+
+  @Test
+  public void shouldRecordPhasesDurations() throws Exception {
+    ObjectsCreationPipeline pipeline = new ObjectsCreationPipeline(executor, 2);
+    Step<Object> secret = pipeline.add("secrets", () -> null, emptyList());
+    pipeline.add(
+        "pods",
+        () -> {
+          sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
+          return null;
+        },
+        singletonList(secret));
+    pipeline.add("configs", () -> null, emptyList());
+
+    pipeline.execute();
+
+    Map<String, Long> durations = pipeline.getPhasesDurations(TimeUnit.MILLISECONDS);
+    assertEquals(durations.keySet(), ImmutableSet.of("secrets", "pods", "configs"));
+    assertTrue(durations.get("pods") >= 20);
+    assertNull(durations.get("unknown"));
+  }
+
+  @Test
+  public void shouldReportPhasesBoundsAndFailures() throws Exception {
+    long before = System.currentTimeMillis();
+    ObjectsCreationPipeline pipeline = new ObjectsCreationPipeline(executor, 2);
+    pipeline.add("secrets", () -> null, emptyList());
+    pipeline.add(
+        "pods",
+        () -> {
+          throw new InfrastructureException("failed");
+        },
+        emptyList());
+
+    try {
+      pipeline.execute();
+      fail("Pipeline is expected to fail");
+    } catch (InfrastructureException expected) {
+    }
+    long after = System.currentTimeMillis();
+
+    Map<String, Phase> phases = pipeline.getPhases();
+    assertEquals(phases.keySet(), ImmutableSet.of("secrets", "pods"));
+    assertFalse(phases.get("secrets").isFailed());
+    assertTrue(phases.get("pods").isFailed());
+    Phase secrets = phases.get("secrets");
+    // allow a millisecond of clocks rounding
+    assertTrue(secrets.getStartTime(TimeUnit.MILLISECONDS) >= before - 1);
+    assertTrue(secrets.getEndTime(TimeUnit.MILLISECONDS) <= after + 1);
+    assertTrue(
+        secrets.getStartTime(TimeUnit.MICROSECONDS) <= secrets.getEndTime(TimeUnit.MICROSECONDS));
+  }
+
+  private static ObjectsCreationPipeline.Task<String> record(List<String> executed, String name) {
+    return () -> {
+      executed.add(name);
+      return name;
+    };
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.util;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.opentracing.Scope;
+import io.opentracing.ScopeManager;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import io.opentracing.Tracer.SpanBuilder;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link StartPhasesTracker}. */
+@Listeners(MockitoTestNGListener.class)
+public class StartPhasesTrackerTest {
+
+  private static final RuntimeIdentity IDENTITY =
+      new RuntimeIdentityImpl("workspace123", "env", "owner", "ns");
+
+  @Mock private RuntimeEventsPublisher eventsPublisher;
+  @Mock private Tracer tracer;
+  @Mock private SpanBuilder spanBuilder;
+  @Mock private Span span;
+  @Mock private ScopeManager scopeManager;
+  @Mock private Scope scope;
+
+  private StartPhasesTracker tracker;
+
+  @BeforeMethod
+  public void setUp() {
+    tracker = new StartPhasesTracker(IDENTITY, "kubernetes", "kubernetes", eventsPublisher, tracer);
+  }
+
+  @Test
+  public void shouldPublishFinishedPhasesInOrder() {
+    tracker.begin("first", null);
+    tracker.begin("second", null);
+    tracker.complete();
+
+    InOrder inOrder = inOrder(eventsPublisher);
+    inOrder
+        .verify(eventsPublisher)
+        .sendStartPhaseEvent(
+            eq(IDENTITY), eq("kubernetes"), eq("kubernetes"), eq("first"), anyLong(), eq(true));
+    inOrder
+        .verify(eventsPublisher)
+        .sendStartPhaseEvent(
+            eq(IDENTITY), eq("kubernetes"), eq("kubernetes"), eq("second"), anyLong(), eq(true));
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldPublishFailedPhaseOnlyOnce() {
+    tracker.begin("phase", null);
+
+    tracker.fail(new RuntimeException("error"));
+    tracker.complete();
+
+    verify(eventsPublisher)
+        .sendStartPhaseEvent(any(), any(), any(), eq("phase"), anyLong(), eq(false));
+    verify(eventsPublisher, never())
+        .sendStartPhaseEvent(any(), any(), any(), anyString(), anyLong(), eq(true));
+  }
+
+  @Test
+  public void shouldActivateAndFinishSpanOfTracedPhase() {
+    when(tracer.buildSpan("Phase")).thenReturn(spanBuilder);
+    when(spanBuilder.start()).thenReturn(span);
+    when(tracer.scopeManager()).thenReturn(scopeManager);
+    when(scopeManager.activate(span)).thenReturn(scope);
+
+    tracker.begin("phase", "Phase");
+    tracker.begin("next", null);
+
+    InOrder inOrder = inOrder(scope, span, eventsPublisher);
+    inOrder.verify(scope).close();
+    inOrder.verify(span).finish();
+    inOrder
+        .verify(eventsPublisher)
+        .sendStartPhaseEvent(any(), any(), any(), eq("phase"), anyLong(), anyBoolean());
+  }
+
+  @Test
+  public void shouldPublishRecordedPhase() {
+    tracker.record("machine_running", 42L, false);
+
+    verify(eventsPublisher)
+        .sendStartPhaseEvent(IDENTITY, "kubernetes", "kubernetes", "machine_running", 42L, false);
+  }
+}
@@ -11,14 +11,20 @@
  */
 package org.eclipse.che.workspace.infrastructure.openshift;
 
+import static java.util.Collections.emptyList;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.CONFIG_MAPS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.SECRETS_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.SERVICES_PHASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.getResults;
+
 import com.google.inject.assistedinject.Assisted;
 import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.openshift.api.model.Route;
 import io.opentracing.Tracer;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import javax.inject.Inject;
@@ -38,6 +44,8 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesMachi
 import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesRuntimeStateCache;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.WorkspaceVolumesStrategy;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.ObjectsCreationPipeline.Step;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.UnrecoverablePodEventListenerFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins.SidecarToolingProvisioner;
@@ -52,12 +60,15 @@ import org.eclipse.che.workspace.infrastructure.openshift.server.OpenShiftServer
  */
 public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShiftEnvironment> {
 
+  private static final String ROUTES_PHASE = "routes";
+
   private final OpenShiftProject project;
 
   @Inject
   public OpenShiftInternalRuntime(
       @Named("che.infra.kubernetes.workspace_start_timeout_min") int workspaceStartTimeout,
       @Named("che.infra.kubernetes.ingress_start_timeout_min") int ingressStartTimeout,
+      @Named("che.infra.kubernetes.objects_creation_parallelism") int objectsCreationParallelism,
       NoOpURLRewriter urlRewriter,
       UnrecoverablePodEventListenerFactory unrecoverablePodEventListenerFactory,
       ServersCheckerFactory serverCheckerFactory,
@@ -80,6 +91,7 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
     super(
         workspaceStartTimeout,
         ingressStartTimeout,
+        objectsCreationParallelism,
         urlRewriter,
         unrecoverablePodEventListenerFactory,
         serverCheckerFactory,
@@ -107,62 +119,48 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
   @Traced
   protected void startMachines() throws InfrastructureException {
     OpenShiftEnvironment osEnv = getContext().getEnvironment();
-    String workspaceId = getContext().getIdentity().getWorkspaceId();
-
-    createSecrets(osEnv, workspaceId);
-    createConfigMaps(osEnv, workspaceId);
-    List<Service> createdServices = createServices(osEnv, workspaceId);
-    List<Route> createdRoutes = createRoutes(osEnv, workspaceId);
+    TracingTags.WORKSPACE_ID.set(getContext().getIdentity().getWorkspaceId());
 
     listenEvents();
 
-    doStartMachine(new OpenShiftServerResolver(createdServices, createdRoutes));
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createSecrets(OpenShiftEnvironment env, String workspaceId) throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (Secret secret : env.getSecrets().values()) {
-      project.secrets().create(secret);
+    ObjectsCreationPipeline pipeline = newObjectsCreationPipeline();
+    List<Step<?>> podsDependencies = new ArrayList<>();
+    for (Secret secret : osEnv.getSecrets().values()) {
+      podsDependencies.add(
+          pipeline.add(
+              SECRETS_PHASE,
+              () -> {
+                project.secrets().create(secret);
+                return secret;
+              },
+              emptyList()));
     }
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createConfigMaps(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (ConfigMap configMap : env.getConfigMaps().values()) {
-      project.configMaps().create(configMap);
+    for (ConfigMap configMap : osEnv.getConfigMaps().values()) {
+      podsDependencies.add(
+          pipeline.add(
+              CONFIG_MAPS_PHASE,
+              () -> {
+                project.configMaps().create(configMap);
+                return configMap;
+              },
+              emptyList()));
     }
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Service> createServices(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    Collection<Service> servicesToCreate = env.getServices().values();
-    List<Service> createdServices = new ArrayList<>(servicesToCreate.size());
-    for (Service service : servicesToCreate) {
-      createdServices.add(project.services().create(service));
+    List<Step<Service>> createdServices = new ArrayList<>();
+    for (Service service : osEnv.getServices().values()) {
+      createdServices.add(
+          pipeline.add(SERVICES_PHASE, () -> project.services().create(service), emptyList()));
     }
-
-    return createdServices;
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Route> createRoutes(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    Collection<Route> routesToCreate = env.getRoutes().values();
-    List<Route> createdRoutes = new ArrayList<>(routesToCreate.size());
-    for (Route route : routesToCreate) {
-      createdRoutes.add(project.routes().create(route));
+    List<Step<Route>> createdRoutes = new ArrayList<>();
+    for (Route route : osEnv.getRoutes().values()) {
+      createdRoutes.add(
+          pipeline.add(ROUTES_PHASE, () -> project.routes().create(route), createdServices));
     }
+    List<Step<Pod>> createdPods = addDeploymentSteps(pipeline, podsDependencies);
+
+    executeCreationPipeline(pipeline);
 
-    return createdRoutes;
+    storeStartingMachines(
+        createdPods,
+        new OpenShiftServerResolver(getResults(createdServices), getResults(createdRoutes)));
   }
 }
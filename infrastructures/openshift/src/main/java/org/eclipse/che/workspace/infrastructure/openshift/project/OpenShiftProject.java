@@ -33,6 +33,7 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesO
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPersistentVolumeClaims;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesSecrets;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesServices;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesSharedWatches;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,8 +77,12 @@ public class OpenShiftProject extends KubernetesNamespace {
   }
 
   public OpenShiftProject(
-      OpenShiftClientFactory clientFactory, Executor executor, String name, String workspaceId) {
-    super(clientFactory, executor, name, workspaceId);
+      OpenShiftClientFactory clientFactory,
+      Executor executor,
+      KubernetesSharedWatches sharedWatches,
+      String name,
+      String workspaceId) {
+    super(clientFactory, executor, sharedWatches, name, workspaceId);
     this.clientFactory = clientFactory;
     this.routes = new OpenShiftRoutes(name, workspaceId, clientFactory);
   }
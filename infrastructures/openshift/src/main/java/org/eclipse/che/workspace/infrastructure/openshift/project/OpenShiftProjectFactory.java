@@ -35,6 +35,7 @@ import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.workspace.infrastructure.kubernetes.api.server.impls.KubernetesNamespaceMetaImpl;
 import org.eclipse.che.workspace.infrastructure.kubernetes.api.shared.KubernetesNamespaceMeta;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesSharedWatches;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
 import org.eclipse.che.workspace.infrastructure.openshift.Constants;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientConfigFactory;
@@ -64,7 +65,8 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
       OpenShiftClientFactory clientFactory,
       OpenShiftClientConfigFactory clientConfigFactory,
       UserManager userManager,
-      KubernetesSharedPool sharedPool) {
+      KubernetesSharedPool sharedPool,
+      KubernetesSharedWatches sharedWatches) {
     super(
         projectName,
         serviceAccountName,
@@ -73,7 +75,8 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
         allowUserDefinedNamespaces,
         clientFactory,
         userManager,
-        sharedPool);
+        sharedPool,
+        sharedWatches);
     if (allowUserDefinedNamespaces && !clientConfigFactory.isPersonalized()) {
       LOG.warn(
           "Users are allowed to list projects but Che server is configured with a service account. "
@@ -131,7 +134,8 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
 
   @VisibleForTesting
   OpenShiftProject doCreateProjectAccess(String workspaceId, String name) {
-    return new OpenShiftProject(clientFactory, sharedPool.getExecutor(), name, workspaceId);
+    return new OpenShiftProject(
+        clientFactory, sharedPool.getExecutor(), sharedWatches, name, workspaceId);
   }
 
   @VisibleForTesting
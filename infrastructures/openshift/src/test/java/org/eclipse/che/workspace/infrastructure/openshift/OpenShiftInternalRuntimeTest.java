@@ -162,6 +162,7 @@ public class OpenShiftInternalRuntimeTest {
         new OpenShiftInternalRuntime(
             13,
             5,
+            1,
             new URLRewriter.NoOpURLRewriter(),
             unrecoverablePodEventListenerFactory,
             serverCheckerFactory,
@@ -55,6 +55,7 @@ import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.inject.ConfigurationException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.api.shared.KubernetesNamespaceMeta;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesSharedWatches;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientConfigFactory;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientFactory;
@@ -80,6 +81,7 @@ public class OpenShiftProjectFactoryTest {
   @Mock private WorkspaceManager workspaceManager;
   @Mock private UserManager userManager;
   @Mock private KubernetesSharedPool pool;
+  @Mock private KubernetesSharedWatches sharedWatches;
 
   @Mock
   private NonNamespaceOperation<
@@ -114,7 +116,16 @@ public class OpenShiftProjectFactoryTest {
       throws Exception {
     projectFactory =
         new OpenShiftProjectFactory(
-            "legacy", "", "", "defaultNs", false, clientFactory, configFactory, userManager, pool);
+            "legacy",
+            "",
+            "",
+            "defaultNs",
+            false,
+            clientFactory,
+            configFactory,
+            userManager,
+            pool,
+            sharedWatches);
 
     projectFactory.checkIfNamespaceIsAllowed("defaultNs");
   }
@@ -125,7 +136,16 @@ public class OpenShiftProjectFactoryTest {
           throws Exception {
     projectFactory =
         new OpenShiftProjectFactory(
-            "legacy", "", "", "defaultNs", true, clientFactory, configFactory, userManager, pool);
+            "legacy",
+            "",
+            "",
+            "defaultNs",
+            true,
+            clientFactory,
+            configFactory,
+            userManager,
+            pool,
+            sharedWatches);
 
     projectFactory.checkIfNamespaceIsAllowed("any-namespace");
   }
@@ -139,7 +159,16 @@ public class OpenShiftProjectFactoryTest {
           throws Exception {
     projectFactory =
         new OpenShiftProjectFactory(
-            "legacy", "", "", "defaultNs", false, clientFactory, configFactory, userManager, pool);
+            "legacy",
+            "",
+            "",
+            "defaultNs",
+            false,
+            clientFactory,
+            configFactory,
+            userManager,
+            pool,
+            sharedWatches);
 
     projectFactory.checkIfNamespaceIsAllowed("any-namespace");
   }
@@ -152,7 +181,16 @@ public class OpenShiftProjectFactoryTest {
           throws Exception {
     projectFactory =
         new OpenShiftProjectFactory(
-            "projectName", "", "", null, false, clientFactory, configFactory, userManager, pool);
+            "projectName",
+            "",
+            "",
+            null,
+            false,
+            clientFactory,
+            configFactory,
+            userManager,
+            pool,
+            sharedWatches);
   }
 
   @Test
@@ -182,7 +220,8 @@ public class OpenShiftProjectFactoryTest {
             clientFactory,
             configFactory,
             userManager,
-            pool);
+            pool,
+            sharedWatches);
 
     List<KubernetesNamespaceMeta> availableNamespaces = projectFactory.list();
     assertEquals(availableNamespaces.size(), 1);
@@ -213,7 +252,8 @@ public class OpenShiftProjectFactoryTest {
             clientFactory,
             configFactory,
             userManager,
-            pool);
+            pool,
+            sharedWatches);
 
     List<KubernetesNamespaceMeta> availableNamespaces = projectFactory.list();
     assertEquals(availableNamespaces.size(), 1);
@@ -244,7 +284,8 @@ public class OpenShiftProjectFactoryTest {
             clientFactory,
             configFactory,
             userManager,
-            pool);
+            pool,
+            sharedWatches);
 
     projectFactory.list();
   }
@@ -259,7 +300,16 @@ public class OpenShiftProjectFactoryTest {
 
     projectFactory =
         new OpenShiftProjectFactory(
-            "predefined", "", "", "default", true, clientFactory, configFactory, userManager, pool);
+            "predefined",
+            "",
+            "",
+            "default",
+            true,
+            clientFactory,
+            configFactory,
+            userManager,
+            pool,
+            sharedWatches);
 
     List<KubernetesNamespaceMeta> availableNamespaces = projectFactory.list();
 
@@ -290,7 +340,16 @@ public class OpenShiftProjectFactoryTest {
 
     projectFactory =
         new OpenShiftProjectFactory(
-            "predefined", "", "", "default", true, clientFactory, configFactory, userManager, pool);
+            "predefined",
+            "",
+            "",
+            "default",
+            true,
+            clientFactory,
+            configFactory,
+            userManager,
+            pool,
+            sharedWatches);
 
     List<KubernetesNamespaceMeta> availableNamespaces = projectFactory.list();
     assertEquals(availableNamespaces.size(), 2);
@@ -324,7 +383,8 @@ public class OpenShiftProjectFactoryTest {
             clientFactory,
             configFactory,
             userManager,
-            pool);
+            pool,
+            sharedWatches);
 
     projectFactory.list();
   }
@@ -343,7 +403,8 @@ public class OpenShiftProjectFactoryTest {
                 clientFactory,
                 configFactory,
                 userManager,
-                pool));
+                pool,
+                sharedWatches));
     OpenShiftProject toReturnProject = mock(OpenShiftProject.class);
     doReturn(toReturnProject).when(projectFactory).doCreateProjectAccess(any(), any());
 
@@ -379,7 +440,8 @@ public class OpenShiftProjectFactoryTest {
                 clientFactory,
                 configFactory,
                 userManager,
-                pool));
+                pool,
+                sharedWatches));
     OpenShiftProject toReturnProject = mock(OpenShiftProject.class);
     doReturn(toReturnProject).when(projectFactory).doCreateProjectAccess(any(), any());
 
@@ -406,7 +468,16 @@ public class OpenShiftProjectFactoryTest {
     projectFactory =
         spy(
             new OpenShiftProjectFactory(
-                "", "", "", "che", false, clientFactory, configFactory, userManager, pool));
+                "",
+                "",
+                "",
+                "che",
+                false,
+                clientFactory,
+                configFactory,
+                userManager,
+                pool,
+                sharedWatches));
     OpenShiftProject toReturnProject = mock(OpenShiftProject.class);
     doReturn(toReturnProject).when(projectFactory).doCreateProjectAccess(any(), any());
 
@@ -436,7 +507,8 @@ public class OpenShiftProjectFactoryTest {
                 clientFactory,
                 configFactory,
                 userManager,
-                pool));
+                pool,
+                sharedWatches));
     OpenShiftProject toReturnProject = mock(OpenShiftProject.class);
     when(toReturnProject.getWorkspaceId()).thenReturn("workspace123");
     when(toReturnProject.getName()).thenReturn("workspace123");
@@ -45,6 +45,7 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesI
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPersistentVolumeClaims;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesSecrets;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesServices;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesSharedWatches;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientFactory;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -72,6 +73,7 @@ public class OpenShiftProjectTest {
   @Mock private KubernetesConfigsMaps configsMaps;
   @Mock private OpenShiftClientFactory clientFactory;
   @Mock private Executor executor;
+  @Mock private KubernetesSharedWatches sharedWatches;
   @Mock private OpenShiftClient openShiftClient;
   @Mock private KubernetesClient kubernetesClient;
   @Mock private Resource<ServiceAccount, DoneableServiceAccount> serviceAccountResource;
@@ -113,7 +115,7 @@ public class OpenShiftProjectTest {
 
     prepareProject(PROJECT_NAME);
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
 
     // when
     project.prepare(false, true);
@@ -130,7 +132,7 @@ public class OpenShiftProjectTest {
     Resource resource = prepareProjectResource(PROJECT_NAME);
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
 
     // when
     openShiftProject.prepare(false, true);
@@ -145,7 +147,7 @@ public class OpenShiftProjectTest {
     Resource resource = prepareProjectResource(PROJECT_NAME);
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
 
     // when
     project.prepare(false, false);
@@ -167,7 +169,7 @@ public class OpenShiftProjectTest {
     when(metadata.getLabels()).thenReturn(labels);
 
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
 
     // when
     project.prepare(true, false);
@@ -190,7 +192,7 @@ public class OpenShiftProjectTest {
     when(metadata.getLabels()).thenReturn(labels);
 
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
 
     // when
     project.prepare(false, false);
@@ -237,7 +239,7 @@ public class OpenShiftProjectTest {
   public void testDeletesExistingManagedProject() throws Exception {
     // given
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
     Resource resource = prepareManagedProjectResource(PROJECT_NAME);
 
     // when
@@ -251,7 +253,7 @@ public class OpenShiftProjectTest {
   public void testDoesntDeleteExistingNonManagedNamespace() throws Exception {
     // given
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
     Resource resource = prepareProjectResource(PROJECT_NAME);
 
     // when
@@ -265,7 +267,7 @@ public class OpenShiftProjectTest {
   public void testDoesntFailIfDeletedProjectDoesntExist() throws Exception {
     // given
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
     Resource resource = prepareManagedProjectResource(PROJECT_NAME);
     when(resource.get()).thenThrow(new KubernetesClientException("err", 404, null));
     when(resource.delete()).thenThrow(new KubernetesClientException("err", 404, null));
@@ -282,7 +284,7 @@ public class OpenShiftProjectTest {
   public void testDoesntFailIfDeletedProjectIsBeingDeleted() throws Exception {
     // given
     OpenShiftProject project =
-        new OpenShiftProject(clientFactory, executor, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, executor, sharedWatches, PROJECT_NAME, WORKSPACE_ID);
     Resource resource = prepareManagedProjectResource(PROJECT_NAME);
     when(resource.delete()).thenThrow(new KubernetesClientException("err", 409, null));
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.authentication.commons;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.commons.subject.Subject;
+
+/**
+ * Thread safe cache of subjects of authentication tokens which were already verified.
+ *
+ * <p>Allows authentication filters to skip signature verification and fetching of the user from the
+ * database for the tokens that were seen recently. Subjects are stored under the SHA-256 digest of
+ * the token and are kept until the token expiration time but not longer than the configured period,
+ * so changes of the users (e.g. renames) are eventually taken into account.
+ */
+public class VerifiedTokenCache {
+
+  private final Cache<String, Entry> subjects;
+
+  /**
+   * Creates the cache.
+   *
+   * @param maxSize maximum number of cached subjects, caching is disabled when it is 0
+   * @param expireAfterWriteSec maximum period a subject stays cached in seconds
+   */
+  public VerifiedTokenCache(long maxSize, long expireAfterWriteSec) {
+    this.subjects =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(expireAfterWriteSec, TimeUnit.SECONDS)
+            .build();
+  }
+
+  /** Returns the cache which never stores anything. */
+  public static VerifiedTokenCache disabled() {
+    return new VerifiedTokenCache(0, 0);
+  }
+
+  /**
+   * Returns the subject of the given token if the token was verified and did not expire yet, {@code
+   * null} otherwise.
+   */
+  public Subject get(String token) {
+    String digest = digest(token);
+    Entry entry = subjects.getIfPresent(digest);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAt <= System.currentTimeMillis()) {
+      subjects.invalidate(digest);
+      return null;
+    }
+    return entry.subject;
+  }
+
+  /**
+   * Caches the subject of the verified token.
+   *
+   * @param token verified authentication token
+   * @param subject subject the token belongs to
+   * @param expiration expiration time of the token, token is not cached when it is {@code null} or
+   *     already passed
+   */
+  public void put(String token, Subject subject, Date expiration) {
+    if (expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+      return;
+    }
+    subjects.put(digest(token), new Entry(subject, expiration.getTime()));
+  }
+
+  @VisibleForTesting
+  long size() {
+    return subjects.size();
+  }
+
+  private static String digest(String token) {
+    return Hashing.sha256().hashString(token, UTF_8).toString();
+  }
+
+  private static class Entry {
+    private final Subject subject;
+    private final long expiresAt;
+
+    private Entry(Subject subject, long expiresAt) {
+      this.subject = subject;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
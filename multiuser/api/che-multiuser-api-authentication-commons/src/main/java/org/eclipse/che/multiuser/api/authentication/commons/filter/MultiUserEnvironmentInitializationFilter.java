@@ -14,6 +14,7 @@ package org.eclipse.che.multiuser.api.authentication.commons.filter;
 import static org.eclipse.che.multiuser.api.authentication.commons.Constants.CHE_SUBJECT_ATTRIBUTE;
 
 import java.io.IOException;
+import java.util.Date;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -27,6 +28,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.multiuser.api.authentication.commons.SessionStore;
 import org.eclipse.che.multiuser.api.authentication.commons.SubjectHttpRequestWrapper;
+import org.eclipse.che.multiuser.api.authentication.commons.VerifiedTokenCache;
 import org.eclipse.che.multiuser.api.authentication.commons.token.RequestTokenExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +38,8 @@ import org.slf4j.LoggerFactory;
  *
  * <ul>
  *   <li>Extracts token from request
+ *   <li>Gets {@link Subject} of the token from {@link VerifiedTokenCache} if it was verified
+ *       recently
  *   <li>Checks token for validity and fetch user Id (implementation specific)
  *   <li>Fetch cached {@link HttpSession} or requests to create new one
  *   <li>Gets {@link Subject} stored in session or construct new (implementation specific))
@@ -51,11 +55,20 @@ public abstract class MultiUserEnvironmentInitializationFilter implements Filter
 
   private final SessionStore sessionStore;
   private final RequestTokenExtractor tokenExtractor;
+  private final VerifiedTokenCache tokenCache;
 
   public MultiUserEnvironmentInitializationFilter(
       SessionStore sessionStore, RequestTokenExtractor tokenExtractor) {
+    this(sessionStore, tokenExtractor, VerifiedTokenCache.disabled());
+  }
+
+  public MultiUserEnvironmentInitializationFilter(
+      SessionStore sessionStore,
+      RequestTokenExtractor tokenExtractor,
+      VerifiedTokenCache tokenCache) {
     this.sessionStore = sessionStore;
     this.tokenExtractor = tokenExtractor;
+    this.tokenCache = tokenCache;
   }
 
   /**
@@ -114,14 +127,16 @@ public abstract class MultiUserEnvironmentInitializationFilter implements Filter
       handleMissingToken(request, response, chain);
       return;
     }
-    String userId = getUserId(token); // make sure token still valid before continue
+    // subject of recently verified token is reused, otherwise make sure token still valid
+    Subject cachedSubject = tokenCache.get(token);
+    String userId = cachedSubject != null ? cachedSubject.getUserId() : getUserId(token);
     // retrieve cached session if any or create new
     httpRequest = new SessionCachedHttpRequest(request, userId);
     HttpSession session = httpRequest.getSession(true);
     // retrieve and check / create new subject
     sessionSubject = (Subject) session.getAttribute(CHE_SUBJECT_ATTRIBUTE);
     if (sessionSubject == null) {
-      sessionSubject = extractSubject(token);
+      sessionSubject = getSubject(token, cachedSubject);
       session.setAttribute(CHE_SUBJECT_ATTRIBUTE, sessionSubject);
     } else if (!sessionSubject.getUserId().equals(userId)) {
       LOG.debug(
@@ -130,10 +145,10 @@ public abstract class MultiUserEnvironmentInitializationFilter implements Filter
           userId);
       session.invalidate();
       HttpSession new_session = httpRequest.getSession(true);
-      sessionSubject = extractSubject(token);
+      sessionSubject = getSubject(token, cachedSubject);
       new_session.setAttribute(CHE_SUBJECT_ATTRIBUTE, sessionSubject);
     } else if (!sessionSubject.getToken().equals(token)) {
-      sessionSubject = extractSubject(token);
+      sessionSubject = getSubject(token, cachedSubject);
       session.setAttribute(CHE_SUBJECT_ATTRIBUTE, sessionSubject);
     }
     // set current subject
@@ -145,6 +160,22 @@ public abstract class MultiUserEnvironmentInitializationFilter implements Filter
     }
   }
 
+  private Subject getSubject(String token, Subject cachedSubject) throws ServletException {
+    return cachedSubject != null ? cachedSubject : extractSubject(token);
+  }
+
+  /**
+   * Caches the subject of the verified token, so subsequent requests with the same token are
+   * authenticated without {@link #getUserId(String)} and {@link #extractSubject(String)} calls.
+   *
+   * @param token verified authentication token
+   * @param subject subject constructed from the token
+   * @param expiration expiration time of the token, token is not cached if it is {@code null}
+   */
+  protected void cacheSubject(String token, Subject subject, Date expiration) {
+    tokenCache.put(token, subject, expiration);
+  }
+
   /**
    * Calculates id of the user from given authentication token. This <b>may</b> also imply
    * verification of token signature or encryption for encrypted/signed tokens (like JWT etc)
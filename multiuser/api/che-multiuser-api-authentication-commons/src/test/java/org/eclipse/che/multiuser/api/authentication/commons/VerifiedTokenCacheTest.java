@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.authentication.commons;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link VerifiedTokenCache}. */
+public class VerifiedTokenCacheTest {
+
+  private static final String TOKEN = "token-abc123";
+
+  private final Subject subject = new SubjectImpl("user", "user123", TOKEN, false);
+
+  private VerifiedTokenCache cache;
+
+  @BeforeMethod
+  public void setUp() {
+    cache = new VerifiedTokenCache(10, 60);
+  }
+
+  @Test
+  public void shouldReturnSubjectOfCachedToken() {
+    cache.put(TOKEN, subject, inFuture());
+
+    assertEquals(cache.get(TOKEN), subject);
+  }
+
+  @Test
+  public void shouldNotReturnSubjectOfAnotherToken() {
+    cache.put(TOKEN, subject, inFuture());
+
+    assertNull(cache.get("token-def456"));
+  }
+
+  @Test
+  public void shouldNotCacheTokenWithoutExpiration() {
+    cache.put(TOKEN, subject, null);
+
+    assertNull(cache.get(TOKEN));
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldNotCacheExpiredToken() {
+    cache.put(TOKEN, subject, new Date(System.currentTimeMillis() - 1000));
+
+    assertNull(cache.get(TOKEN));
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldEvictSubjectWhenTokenExpires() throws Exception {
+    cache.put(TOKEN, subject, new Date(System.currentTimeMillis() + 50));
+
+    Thread.sleep(100);
+
+    assertNull(cache.get(TOKEN));
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldNotCacheAnythingWhenDisabled() {
+    cache = VerifiedTokenCache.disabled();
+
+    cache.put(TOKEN, subject, inFuture());
+
+    assertNull(cache.get(TOKEN));
+  }
+
+  private static Date inFuture() {
+    return new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+  }
+}
@@ -22,6 +22,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
 import javax.servlet.ServletRequest;
@@ -33,6 +35,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.multiuser.api.authentication.commons.SessionStore;
+import org.eclipse.che.multiuser.api.authentication.commons.VerifiedTokenCache;
 import org.eclipse.che.multiuser.api.authentication.commons.token.RequestTokenExtractor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -54,11 +57,16 @@ public class MultiUserEnvironmentInitializationFilterTest {
   private final String token = "token-abc123";
   private final Subject subject = new SubjectImpl("user", userId, token, false);
 
+  private VerifiedTokenCache tokenCache;
   private MultiUserEnvironmentInitializationFilter filter;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    filter = spy(new MockMultiUserEnvironmentInitializationFilter(sessionStore, tokenExtractor));
+    tokenCache = new VerifiedTokenCache(10, 60);
+    filter =
+        spy(
+            new MockMultiUserEnvironmentInitializationFilter(
+                sessionStore, tokenExtractor, tokenCache));
     lenient().when(filter.getUserId(anyString())).thenReturn(userId);
     lenient().when(filter.extractSubject(anyString())).thenReturn(subject);
   }
@@ -139,12 +147,29 @@ public class MultiUserEnvironmentInitializationFilterTest {
     verify(context).setSubject(eq(subject));
   }
 
+  @Test
+  public void shouldUseCachedSubjectWithoutVerifyingTokenAgain() throws Exception {
+    tokenCache.put(
+        token, subject, new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn(token);
+    when(sessionStore.getSession(eq(userId), any())).thenReturn(session);
+    when(session.getAttribute(eq(CHE_SUBJECT_ATTRIBUTE))).thenReturn(null);
+    // when
+    filter.doFilter(request, response, chain);
+    // then
+    verify(filter, never()).getUserId(anyString());
+    verify(filter, never()).extractSubject(anyString());
+    verify(session).setAttribute(CHE_SUBJECT_ATTRIBUTE, subject);
+  }
+
   private static class MockMultiUserEnvironmentInitializationFilter
       extends MultiUserEnvironmentInitializationFilter {
 
     MockMultiUserEnvironmentInitializationFilter(
-        SessionStore sessionStore, RequestTokenExtractor tokenExtractor) {
-      super(sessionStore, tokenExtractor);
+        SessionStore sessionStore,
+        RequestTokenExtractor tokenExtractor,
+        VerifiedTokenCache tokenCache) {
+      super(sessionStore, tokenExtractor, tokenCache);
     }
 
     @Override
@@ -11,28 +11,186 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
 
 /**
  * Implementation of {@link PermissionChecker} that use {@link PermissionsManager} for checking.
  *
+ * <p>Actions which are granted to a user on a domain instance, either directly or by the public
+ * ('*') permissions, are cached, so checks of different actions of the same instance don't hit the
+ * storage. Cached actions are invalidated by {@link PermissionsEvent}s published by {@link
+ * PermissionsManager}. Permissions removed by cascade removal of users or instances don't produce
+ * such events, so cached actions also expire after the configured period.
+ *
  * @author Sergii Leschenko
  */
+@Singleton
 public class PermissionCheckerImpl implements PermissionChecker {
+
+  private static final String PUBLIC_USER = "*";
+
   private final PermissionsManager permissionsManager;
+  private final EventService eventService;
+  private final EventSubscriber<PermissionsEvent> invalidator;
+  private final Cache<Key, Set<String>> actionsCache;
+  private final AtomicLong version = new AtomicLong();
 
   @Inject
-  public PermissionCheckerImpl(PermissionsManager permissionsManager) {
+  public PermissionCheckerImpl(
+      PermissionsManager permissionsManager,
+      EventService eventService,
+      @Named("che.permissions.cache.max_size") long cacheMaxSize,
+      @Named("che.permissions.cache.expire_after_write_sec") long cacheExpireAfterWriteSec) {
     this.permissionsManager = permissionsManager;
+    this.eventService = eventService;
+    this.invalidator = this::invalidate;
+    this.actionsCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfterWrite(cacheExpireAfterWriteSec, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(invalidator, PermissionsEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(invalidator, PermissionsEvent.class);
   }
 
   @Override
   public boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException, NotFoundException, ConflictException {
-    return permissionsManager.exists(user, domain, instance, action)
-        || permissionsManager.exists("*", domain, instance, action);
+    Key key = new Key(user, domain, instance);
+    Set<String> actions = actionsCache.getIfPresent(key);
+    if (actions == null) {
+      long loadVersion = version.get();
+      actions = loadActions(key);
+      actionsCache.put(key, actions);
+      if (version.get() != loadVersion) {
+        // permissions might be changed while actions were loading
+        actionsCache.invalidate(key);
+      }
+    }
+    return actions.contains(action);
+  }
+
+  /**
+   * Invalidates cached actions of the given user on the given domain instance. If the user is the
+   * public ('*') one then actions of all the users on the given domain instance are invalidated.
+   *
+   * @param user user identifier, the public ('*') or {@code null} one
+   * @param domain domain identifier
+   * @param instance instance identifier
+   */
+  public void invalidate(@Nullable String user, String domain, @Nullable String instance) {
+    version.incrementAndGet();
+    if (user == null || PUBLIC_USER.equals(user)) {
+      actionsCache
+          .asMap()
+          .keySet()
+          .removeIf(key -> key.domain.equals(domain) && Objects.equals(key.instance, instance));
+    } else {
+      actionsCache.invalidate(new Key(user, domain, instance));
+    }
+  }
+
+  /** Invalidates all the cached actions. */
+  public void invalidateAll() {
+    version.incrementAndGet();
+    actionsCache.invalidateAll();
+  }
+
+  /** Returns the cache of granted actions, e.g. for monitoring its statistics. */
+  Cache<?, ?> getActionsCache() {
+    return actionsCache;
+  }
+
+  @VisibleForTesting
+  void invalidate(PermissionsEvent event) {
+    Permissions permissions = event.getPermissions();
+    invalidate(permissions.getUserId(), permissions.getDomainId(), permissions.getInstanceId());
+  }
+
+  private Set<String> loadActions(Key key)
+      throws ServerException, NotFoundException, ConflictException {
+    // fails when the domain is not supported
+    Set<String> allowedActions =
+        new HashSet<>(permissionsManager.getDomain(key.domain).getAllowedActions());
+    Set<String> actions = new HashSet<>();
+    actions.addAll(getActions(key.user, key.domain, key.instance));
+    actions.addAll(getActions(PUBLIC_USER, key.domain, key.instance));
+    actions.retainAll(allowedActions);
+    return ImmutableSet.copyOf(actions);
+  }
+
+  private Set<String> getActions(String user, String domain, String instance)
+      throws ServerException, NotFoundException, ConflictException {
+    try {
+      return new HashSet<>(permissionsManager.get(user, domain, instance).getActions());
+    } catch (NotFoundException e) {
+      // user doesn't have permissions
+      return ImmutableSet.of();
+    }
+  }
+
+  private static final class Key {
+    private final String user;
+    private final String domain;
+    private final String instance;
+
+    private Key(String user, String domain, String instance) {
+      this.user = user;
+      this.domain = domain;
+      this.instance = instance;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return Objects.equals(user, other.user)
+          && Objects.equals(domain, other.domain)
+          && Objects.equals(instance, other.instance);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 7;
+      hash = hash * 31 + Objects.hashCode(user);
+      hash = hash * 31 + Objects.hashCode(domain);
+      hash = hash * 31 + Objects.hashCode(instance);
+      return hash;
+    }
   }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.permission.server;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.Collections;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * {@link MeterBinder} that is providing statistics of the actions cache of {@link
+ * PermissionCheckerImpl}, such as the number of hits and misses and the number of evictions.
+ */
+@Singleton
+public class PermissionCheckerMeterBinder implements MeterBinder {
+
+  private final PermissionCheckerImpl permissionChecker;
+
+  @Inject
+  public PermissionCheckerMeterBinder(PermissionCheckerImpl permissionChecker) {
+    this.permissionChecker = permissionChecker;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    new GuavaCacheMetrics(
+            permissionChecker.getActionsCache(), "che.permissions", Collections.emptyList())
+        .bindTo(registry);
+  }
+}
@@ -11,50 +11,165 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
-import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
-import org.mockito.InjectMocks;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 @Listeners(MockitoTestNGListener.class)
 public class PermissionCheckerImplTest {
   @Mock private PermissionsManager permissionsManager;
+  @Mock private EventService eventService;
+  @Mock private AbstractPermissionsDomain<AbstractPermissions> domain;
 
-  @InjectMocks private PermissionCheckerImpl permissionChecker;
+  private PermissionCheckerImpl permissionChecker;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    lenient().doReturn(domain).when(permissionsManager).getDomain("domain123");
+    lenient().doReturn(asList("read", "test", "delete")).when(domain).getAllowedActions();
+    lenient()
+        .doThrow(new NotFoundException("not found"))
+        .when(permissionsManager)
+        .get(anyString(), anyString(), anyString());
+
+    permissionChecker = new PermissionCheckerImpl(permissionsManager, eventService, 100, 60);
+  }
 
   @Test
   public void shouldCheckExistingDirectUsersPermissions() throws Exception {
-    when(permissionsManager.exists(anyString(), anyString(), anyString(), anyString()))
-        .thenReturn(true);
+    mockPermissions("user123", "test");
 
     boolean hasPermission =
         permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
 
-    assertEquals(hasPermission, true);
-    verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
+    assertTrue(hasPermission);
+    verify(permissionsManager).get("user123", "domain123", "instance123");
   }
 
   @Test
   public void shouldCheckExistingPublicPermissionsIfThereIsNoDirectUsersPermissions()
       throws Exception {
-    doReturn(false)
-        .when(permissionsManager)
-        .exists(eq("user123"), anyString(), anyString(), anyString());
-    doReturn(true).when(permissionsManager).exists(eq("*"), anyString(), anyString(), anyString());
+    mockPermissions("*", "test");
 
     boolean hasPermission =
         permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
 
-    assertEquals(hasPermission, true);
-    verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
-    verify(permissionsManager).exists("*", "domain123", "instance123", "test");
+    assertTrue(hasPermission);
+    verify(permissionsManager).get("user123", "domain123", "instance123");
+    verify(permissionsManager).get("*", "domain123", "instance123");
+  }
+
+  @Test
+  public void shouldNotGrantActionWhichIsNotAllowedByDomain() throws Exception {
+    mockPermissions("user123", "unsupported");
+
+    assertFalse(
+        permissionChecker.hasPermission("user123", "domain123", "instance123", "unsupported"));
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionWhenDomainIsNotSupported() throws Exception {
+    doThrow(new NotFoundException("unsupported")).when(permissionsManager).getDomain("unknown");
+
+    permissionChecker.hasPermission("user123", "unknown", "instance123", "test");
+  }
+
+  @Test
+  public void shouldCheckDifferentActionsOfTheSameInstanceWithSingleLookup() throws Exception {
+    mockPermissions("user123", "read", "test");
+
+    assertTrue(permissionChecker.hasPermission("user123", "domain123", "instance123", "read"));
+    assertTrue(permissionChecker.hasPermission("user123", "domain123", "instance123", "test"));
+    assertFalse(permissionChecker.hasPermission("user123", "domain123", "instance123", "delete"));
+
+    verify(permissionsManager).get("user123", "domain123", "instance123");
+    verify(permissionsManager).get("*", "domain123", "instance123");
+  }
+
+  @Test
+  public void shouldReloadActionsWhenUsersPermissionsAreChanged() throws Exception {
+    mockPermissions("user123", "read");
+    assertFalse(permissionChecker.hasPermission("user123", "domain123", "instance123", "test"));
+
+    mockPermissions("user123", "read", "test");
+    permissionChecker.invalidate(event("user123", "domain123", "instance123"));
+
+    assertTrue(permissionChecker.hasPermission("user123", "domain123", "instance123", "test"));
+    verify(permissionsManager, times(2)).get("user123", "domain123", "instance123");
+  }
+
+  @Test
+  public void shouldNotInvalidateActionsOfOtherUsersWhenUsersPermissionsAreChanged()
+      throws Exception {
+    mockPermissions("user123", "read");
+    mockPermissions("user234", "read");
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "read");
+    permissionChecker.hasPermission("user234", "domain123", "instance123", "read");
+
+    permissionChecker.invalidate(event("user123", "domain123", "instance123"));
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "read");
+    permissionChecker.hasPermission("user234", "domain123", "instance123", "read");
+
+    verify(permissionsManager, times(2)).get("user123", "domain123", "instance123");
+    verify(permissionsManager).get("user234", "domain123", "instance123");
+  }
+
+  @Test
+  public void shouldInvalidateActionsOfAllUsersWhenPublicPermissionsAreChanged() throws Exception {
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "read");
+    permissionChecker.hasPermission("user234", "domain123", "instance123", "read");
+    permissionChecker.hasPermission("user123", "domain123", "instance234", "read");
+
+    permissionChecker.invalidate(event("*", "domain123", "instance123"));
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "read");
+    permissionChecker.hasPermission("user234", "domain123", "instance123", "read");
+    permissionChecker.hasPermission("user123", "domain123", "instance234", "read");
+
+    verify(permissionsManager, times(2)).get("user123", "domain123", "instance123");
+    verify(permissionsManager, times(2)).get("user234", "domain123", "instance123");
+    verify(permissionsManager).get("user123", "domain123", "instance234");
+  }
+
+  @Test
+  public void shouldSubscribeToPermissionsEvents() {
+    permissionChecker.subscribe();
+
+    verify(eventService).subscribe(any(), eq(PermissionsEvent.class));
+  }
+
+  private void mockPermissions(String user, String... actions) throws Exception {
+    AbstractPermissions permissions = mock(AbstractPermissions.class);
+    lenient().doReturn(asList(actions)).when(permissions).getActions();
+    doReturn(permissions).when(permissionsManager).get(user, "domain123", "instance123");
+  }
+
+  private static PermissionsEvent event(String user, String domain, String instance) {
+    Permissions permissions = mock(Permissions.class);
+    lenient().doReturn(user).when(permissions).getUserId();
+    lenient().doReturn(domain).when(permissions).getDomainId();
+    lenient().doReturn(instance).when(permissions).getInstanceId();
+    PermissionsEvent event = mock(PermissionsEvent.class);
+    doReturn(permissions).when(event).getPermissions();
+    return event;
   }
 }
@@ -19,6 +19,9 @@ import org.eclipse.che.api.system.server.ServiceTermination;
 import org.eclipse.che.api.workspace.server.WorkspaceServiceTermination;
 import org.eclipse.che.multiuser.api.distributed.cache.JGroupsWorkspaceStatusCache;
 import org.eclipse.che.multiuser.api.distributed.lock.JGroupsWorkspaceLockService;
+import org.eclipse.che.multiuser.api.distributed.permission.JGroupsPermissionsCacheInvalidator;
+import org.eclipse.che.multiuser.api.distributed.runtime.JGroupsRuntimeSnapshotInvalidator;
+import org.eclipse.che.multiuser.api.distributed.signature.JGroupsSignatureKeysCacheInvalidator;
 import org.eclipse.che.multiuser.api.distributed.subscription.DistributedRemoteSubscriptionStorage;
 
 /**
@@ -32,15 +35,24 @@ public class JGroupsServiceTermination implements ServiceTermination {
   private final JGroupsWorkspaceLockService workspaceLockService;
   private final JGroupsWorkspaceStatusCache workspaceStatusCache;
   private final DistributedRemoteSubscriptionStorage remoteSubscriptionStorage;
+  private final JGroupsPermissionsCacheInvalidator permissionsCacheInvalidator;
+  private final JGroupsRuntimeSnapshotInvalidator runtimeSnapshotInvalidator;
+  private final JGroupsSignatureKeysCacheInvalidator signatureKeysCacheInvalidator;
 
   @Inject
   public JGroupsServiceTermination(
       JGroupsWorkspaceLockService workspaceLockService,
       JGroupsWorkspaceStatusCache workspaceStatusCache,
-      DistributedRemoteSubscriptionStorage remoteSubscriptionStorage) {
+      DistributedRemoteSubscriptionStorage remoteSubscriptionStorage,
+      JGroupsPermissionsCacheInvalidator permissionsCacheInvalidator,
+      JGroupsRuntimeSnapshotInvalidator runtimeSnapshotInvalidator,
+      JGroupsSignatureKeysCacheInvalidator signatureKeysCacheInvalidator) {
     this.workspaceLockService = workspaceLockService;
     this.workspaceStatusCache = workspaceStatusCache;
     this.remoteSubscriptionStorage = remoteSubscriptionStorage;
+    this.permissionsCacheInvalidator = permissionsCacheInvalidator;
+    this.runtimeSnapshotInvalidator = runtimeSnapshotInvalidator;
+    this.signatureKeysCacheInvalidator = signatureKeysCacheInvalidator;
   }
 
   @Override
@@ -53,6 +65,9 @@ public class JGroupsServiceTermination implements ServiceTermination {
     workspaceLockService.shutdown();
     workspaceStatusCache.shutdown();
     remoteSubscriptionStorage.shutdown();
+    permissionsCacheInvalidator.shutdown();
+    runtimeSnapshotInvalidator.shutdown();
+    signatureKeysCacheInvalidator.shutdown();
   }
 
   @Override
@@ -14,11 +14,13 @@ package org.eclipse.che.multiuser.api.distributed.cache;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+import org.eclipse.che.api.workspace.server.WorkspaceStatusIndex;
 import org.jgroups.JChannel;
 import org.jgroups.blocks.ReplicatedHashMap;
 import org.slf4j.Logger;
@@ -27,15 +29,22 @@ import org.slf4j.LoggerFactory;
 /**
  * JGroups based implementation of {@link WorkspaceStatusCache}.
  *
+ * <p>Workspaces statuses and owners are kept in separate replicated maps. Both of them are indexed
+ * locally by {@link WorkspaceStatusIndex} which is updated on the replicated changes, so queries by
+ * status or owner don't walk the replicated map.
+ *
  * @author Anton Korneta
  */
 @Singleton
 public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
 
   private static final String CHANNEL_NAME = "WorkspaceStateCache";
+  private static final String OWNERS_CHANNEL_NAME = "WorkspaceOwnersCache";
   private static final Logger LOG = LoggerFactory.getLogger(JGroupsWorkspaceStatusCache.class);
 
   private final ReplicatedHashMap<String, WorkspaceStatus> delegate;
+  private final ReplicatedHashMap<String, String> owners;
+  private final WorkspaceStatusIndex index = new WorkspaceStatusIndex();
 
   @Inject
   public JGroupsWorkspaceStatusCache(@Named("jgroups.config.file") String confFile) {
@@ -43,7 +52,16 @@ public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
       JChannel channel = new JChannel(confFile).connect(CHANNEL_NAME);
       delegate = new ReplicatedHashMap<>(channel);
       delegate.setBlockingUpdates(true);
+      delegate.addNotifier(new StatusIndexUpdater());
       delegate.start(5000);
+      delegate.forEach(index::statusSet);
+
+      JChannel ownersChannel = new JChannel(confFile).connect(OWNERS_CHANNEL_NAME);
+      owners = new ReplicatedHashMap<>(ownersChannel);
+      owners.setBlockingUpdates(true);
+      owners.addNotifier(new OwnerIndexUpdater());
+      owners.start(5000);
+      owners.forEach(this::indexOwner);
     } catch (Exception ex) {
       throw new RuntimeException("Jgroups cache creation failed. Cause :" + ex.getMessage());
     }
@@ -67,7 +85,13 @@ public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
 
   @Override
   public WorkspaceStatus remove(String workspaceId) {
-    return delegate.remove(workspaceId);
+    WorkspaceStatus removed = delegate.remove(workspaceId);
+    String owner = owners.get(workspaceId);
+    // conditional removal keeps the owner set concurrently by the instance starting it again
+    if (owner != null) {
+      owners.remove(workspaceId, owner);
+    }
+    return removed;
   }
 
   @Override
@@ -80,6 +104,40 @@ public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
     return new HashMap<>(delegate);
   }
 
+  @Override
+  public Set<String> getByStatus(WorkspaceStatus status) {
+    return index.getByStatus(status);
+  }
+
+  @Override
+  public int count(WorkspaceStatus status) {
+    return index.count(status);
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public void setOwner(String workspaceId, String ownerId) {
+    if (delegate.containsKey(workspaceId)) {
+      owners.put(workspaceId, ownerId);
+    }
+  }
+
+  @Override
+  public Set<String> getOwnedBy(String ownerId) {
+    return index.getByOwner(ownerId);
+  }
+
+  /** Owners of workspaces which statuses are already removed are not indexed. */
+  private void indexOwner(String workspaceId, String ownerId) {
+    if (delegate.containsKey(workspaceId)) {
+      index.ownerSet(workspaceId, ownerId);
+    }
+  }
+
   /**
    * Subscribes status changes listener.
    *
@@ -104,8 +162,52 @@ public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
   public void shutdown() {
     try {
       delegate.close();
+      owners.close();
     } catch (IOException | RuntimeException ex) {
       LOG.error("Failed to stop workspace status cache. Cause: " + ex.getMessage());
     }
   }
+
+  /** Applies replicated statuses changes to the local index. */
+  private class StatusIndexUpdater extends ReplicatedMapNotificationAdapter {
+    @Override
+    public void entrySet(Object workspaceId, Object workspaceStatus) {
+      index.statusSet((String) workspaceId, (WorkspaceStatus) workspaceStatus);
+    }
+
+    @Override
+    public void entryRemoved(Object workspaceId) {
+      index.statusRemoved((String) workspaceId);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void contentsSet(Map newEntries) {
+      ((Map<String, WorkspaceStatus>) newEntries).forEach(index::statusSet);
+    }
+
+    @Override
+    public void contentsCleared() {
+      index.clear();
+    }
+  }
+
+  /** Applies replicated owners changes to the local index. */
+  private class OwnerIndexUpdater extends ReplicatedMapNotificationAdapter {
+    @Override
+    public void entrySet(Object workspaceId, Object ownerId) {
+      indexOwner((String) workspaceId, (String) ownerId);
+    }
+
+    @Override
+    public void entryRemoved(Object workspaceId) {
+      index.ownerRemoved((String) workspaceId);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void contentsSet(Map newEntries) {
+      ((Map<String, String>) newEntries).forEach(JGroupsWorkspaceStatusCache.this::indexOwner);
+    }
+  }
 }
@@ -11,11 +11,15 @@
  */
 package org.eclipse.che.multiuser.api.distributed.lock;
 
+import com.google.common.collect.MapMaker;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.inject.Named;
 import org.eclipse.che.api.workspace.server.WorkspaceLockService;
+import org.eclipse.che.api.workspace.server.WorkspaceLockStatistics;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.jgroups.JChannel;
 import org.jgroups.blocks.locking.LockService;
@@ -25,6 +29,12 @@ import org.slf4j.LoggerFactory;
 /**
  * JGroups based implementation of {@link WorkspaceLockService}.
  *
+ * <p>Before requesting a cluster lock, a thread acquires a local lock of the same key, so threads
+ * of this Che Server instance which contend for the same workspace wait each other locally, and
+ * only one request per key is sent to the cluster at a time. Local locks are weakly referenced by
+ * their keys, so there is exactly one lock per key while it is in use, and threads that work with
+ * different workspaces never wait each other.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -35,9 +45,14 @@ public class JGroupsWorkspaceLockService implements WorkspaceLockService {
 
   private final LockService lockService;
   private final JChannel channel;
+  private final ConcurrentMap<String, Lock> localLocks;
+  private final WorkspaceLockStatistics statistics;
 
   @Inject
-  public JGroupsWorkspaceLockService(@Named("jgroups.config.file") String confFile) {
+  public JGroupsWorkspaceLockService(
+      @Named("jgroups.config.file") String confFile, WorkspaceLockStatistics statistics) {
+    this.statistics = statistics;
+    this.localLocks = new MapMaker().weakValues().makeMap();
     try {
       this.channel = new JChannel(confFile);
       this.lockService = new LockService(channel);
@@ -56,21 +71,41 @@ public class JGroupsWorkspaceLockService implements WorkspaceLockService {
 
   @Override
   public Unlocker writeLock(String key) {
-    final Lock lock = lockService.getLock(key);
-    lock.lock();
-    return new UnlockerImpl(lock);
+    final long startNanos = System.nanoTime();
+    // the lock is strongly referenced by this method and the unlocker until it is released
+    final Lock localLock = localLocks.computeIfAbsent(key, k -> new ReentrantLock());
+    final boolean contended = !localLock.tryLock();
+    if (contended) {
+      localLock.lock();
+    }
+    final Lock lock;
+    try {
+      lock = lockService.getLock(key);
+      lock.lock();
+    } catch (RuntimeException ex) {
+      localLock.unlock();
+      throw ex;
+    }
+    statistics.recordAcquisition(key, true, contended, System.nanoTime() - startNanos);
+    return new UnlockerImpl(lock, localLock);
   }
 
   private class UnlockerImpl implements Unlocker {
     private final Lock lock;
+    private final Lock localLock;
 
-    public UnlockerImpl(Lock lock) {
+    public UnlockerImpl(Lock lock, Lock localLock) {
       this.lock = lock;
+      this.localLock = localLock;
     }
 
     @Override
     public void unlock() {
-      lock.unlock();
+      try {
+        lock.unlock();
+      } finally {
+        localLock.unlock();
+      }
     }
   }
 
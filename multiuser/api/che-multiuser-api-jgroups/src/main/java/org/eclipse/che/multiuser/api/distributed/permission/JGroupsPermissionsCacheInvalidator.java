@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.permission;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.api.permission.server.PermissionCheckerImpl;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
+import org.jgroups.JChannel;
+import org.jgroups.MergeView;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Propagates permissions changes to the permission checkers of other Che Server instances.
+ *
+ * <p>Permissions events are published only on the instance where permissions are changed, so the
+ * affected user, domain and instance are broadcast to other instances which invalidate the actions
+ * cached by their {@link PermissionCheckerImpl}. Messages which may be lost while the cluster is
+ * split are compensated by invalidating all the cached actions when partitions are merged.
+ */
+@Singleton
+public class JGroupsPermissionsCacheInvalidator extends ReceiverAdapter
+    implements EventSubscriber<PermissionsEvent> {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(JGroupsPermissionsCacheInvalidator.class);
+
+  private static final String CHANNEL_NAME = "PermissionsCacheInvalidation";
+
+  private final PermissionCheckerImpl permissionChecker;
+  private final EventService eventService;
+  private final JChannel channel;
+
+  @Inject
+  public JGroupsPermissionsCacheInvalidator(
+      @Named("jgroups.config.file") String confFile,
+      PermissionCheckerImpl permissionChecker,
+      EventService eventService) {
+    this.permissionChecker = permissionChecker;
+    this.eventService = eventService;
+    try {
+      this.channel = new JChannel(confFile);
+      channel.setDiscardOwnMessages(true);
+      channel.setReceiver(this);
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(this, PermissionsEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(this, PermissionsEvent.class);
+  }
+
+  @Override
+  public void onEvent(PermissionsEvent event) {
+    Permissions permissions = event.getPermissions();
+    try {
+      channel.send(
+          new Message(
+              null,
+              new String[] {
+                permissions.getUserId(), permissions.getDomainId(), permissions.getInstanceId()
+              }));
+    } catch (Exception ex) {
+      LOG.error(
+          "Failed to propagate change of permissions of user '{}' on '{}:{}'. Cause: {}",
+          permissions.getUserId(),
+          permissions.getDomainId(),
+          permissions.getInstanceId(),
+          ex.getMessage());
+    }
+  }
+
+  @Override
+  public void receive(Message msg) {
+    String[] changed = msg.getObject();
+    permissionChecker.invalidate(changed[0], changed[1], changed[2]);
+  }
+
+  @Override
+  public void viewAccepted(View view) {
+    if (view instanceof MergeView) {
+      permissionChecker.invalidateAll();
+    }
+  }
+
+  /** Stops propagation of permissions changes. */
+  public void shutdown() {
+    unsubscribe();
+    try {
+      channel.close();
+    } catch (RuntimeException ex) {
+      LOG.error("Failed to stop permissions cache invalidation. Cause: " + ex.getMessage());
+    }
+  }
+}
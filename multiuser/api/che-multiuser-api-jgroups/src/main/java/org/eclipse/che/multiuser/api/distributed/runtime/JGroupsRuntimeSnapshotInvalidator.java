@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.runtime;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.RuntimeSnapshotCache;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.ServerStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.jgroups.JChannel;
+import org.jgroups.MergeView;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Propagates runtimes changes to the runtime snapshot caches of other Che Server instances.
+ *
+ * <p>Machine, server and workspace status events are published only on the instance that manages
+ * the runtime, so the identifiers of the changed workspaces are broadcast to other instances which
+ * invalidate the snapshots cached by their {@link RuntimeSnapshotCache}. Messages which may be lost
+ * while the cluster is split are compensated by invalidating all the snapshots when partitions are
+ * merged.
+ */
+@Singleton
+public class JGroupsRuntimeSnapshotInvalidator extends ReceiverAdapter {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(JGroupsRuntimeSnapshotInvalidator.class);
+
+  private static final String CHANNEL_NAME = "RuntimeSnapshotInvalidation";
+
+  private final RuntimeSnapshotCache runtimeSnapshots;
+  private final EventService eventService;
+  private final EventSubscriber<MachineStatusEvent> machineStatusSubscriber;
+  private final EventSubscriber<ServerStatusEvent> serverStatusSubscriber;
+  private final EventSubscriber<WorkspaceStatusEvent> workspaceStatusSubscriber;
+  private final JChannel channel;
+
+  @Inject
+  public JGroupsRuntimeSnapshotInvalidator(
+      @Named("jgroups.config.file") String confFile,
+      RuntimeSnapshotCache runtimeSnapshots,
+      EventService eventService) {
+    this.runtimeSnapshots = runtimeSnapshots;
+    this.eventService = eventService;
+    this.machineStatusSubscriber = event -> propagate(event.getIdentity().getWorkspaceId());
+    this.serverStatusSubscriber = event -> propagate(event.getIdentity().getWorkspaceId());
+    this.workspaceStatusSubscriber = event -> propagate(event.getWorkspaceId());
+    try {
+      this.channel = new JChannel(confFile);
+      channel.setDiscardOwnMessages(true);
+      channel.setReceiver(this);
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(machineStatusSubscriber, MachineStatusEvent.class);
+    eventService.subscribe(serverStatusSubscriber, ServerStatusEvent.class);
+    eventService.subscribe(workspaceStatusSubscriber, WorkspaceStatusEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(machineStatusSubscriber, MachineStatusEvent.class);
+    eventService.unsubscribe(serverStatusSubscriber, ServerStatusEvent.class);
+    eventService.unsubscribe(workspaceStatusSubscriber, WorkspaceStatusEvent.class);
+  }
+
+  private void propagate(String workspaceId) {
+    try {
+      channel.send(new Message(null, workspaceId));
+    } catch (Exception ex) {
+      LOG.error(
+          "Failed to propagate change of runtime of workspace '{}'. Cause: {}",
+          workspaceId,
+          ex.getMessage());
+    }
+  }
+
+  @Override
+  public void receive(Message msg) {
+    runtimeSnapshots.invalidate(msg.getObject());
+  }
+
+  @Override
+  public void viewAccepted(View view) {
+    if (view instanceof MergeView) {
+      runtimeSnapshots.invalidateAll();
+    }
+  }
+
+  /** Stops propagation of runtimes changes. */
+  public void shutdown() {
+    unsubscribe();
+    try {
+      channel.close();
+    } catch (RuntimeException ex) {
+      LOG.error("Failed to stop runtime snapshots invalidation. Cause: " + ex.getMessage());
+    }
+  }
+}
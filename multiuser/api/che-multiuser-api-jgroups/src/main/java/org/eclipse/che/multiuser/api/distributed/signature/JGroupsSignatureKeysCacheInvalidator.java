@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.signature;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
+import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyPairRemovedEvent;
+import org.jgroups.JChannel;
+import org.jgroups.MergeView;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Propagates removals of signature key pairs to the key pair caches of other Che Server instances.
+ *
+ * <p>Key pairs are removed by the instance which manages the workspace runtime, so the identifiers
+ * of the workspaces which key pairs are removed are broadcast to other instances which evict the
+ * key pairs cached by their {@link SignatureKeyManager}. Messages which may be lost while the
+ * cluster is split are compensated by evicting all the cached key pairs when partitions are
+ * merged.
+ */
+@Singleton
+public class JGroupsSignatureKeysCacheInvalidator extends ReceiverAdapter
+    implements EventSubscriber<SignatureKeyPairRemovedEvent> {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(JGroupsSignatureKeysCacheInvalidator.class);
+
+  private static final String CHANNEL_NAME = "SignatureKeysCacheInvalidation";
+
+  private final SignatureKeyManager signatureKeyManager;
+  private final EventService eventService;
+  private final JChannel channel;
+
+  @Inject
+  public JGroupsSignatureKeysCacheInvalidator(
+      @Named("jgroups.config.file") String confFile,
+      SignatureKeyManager signatureKeyManager,
+      EventService eventService) {
+    this.signatureKeyManager = signatureKeyManager;
+    this.eventService = eventService;
+    try {
+      this.channel = new JChannel(confFile);
+      channel.setDiscardOwnMessages(true);
+      channel.setReceiver(this);
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(this, SignatureKeyPairRemovedEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(this, SignatureKeyPairRemovedEvent.class);
+  }
+
+  @Override
+  public void onEvent(SignatureKeyPairRemovedEvent event) {
+    try {
+      channel.send(new Message(null, event.getWorkspaceId()));
+    } catch (Exception ex) {
+      LOG.error(
+          "Failed to propagate removal of signature key pair of workspace '{}'. Cause: {}",
+          event.getWorkspaceId(),
+          ex.getMessage());
+    }
+  }
+
+  @Override
+  public void receive(Message msg) {
+    signatureKeyManager.invalidate(msg.getObject());
+  }
+
+  @Override
+  public void viewAccepted(View view) {
+    if (view instanceof MergeView) {
+      signatureKeyManager.invalidateAll();
+    }
+  }
+
+  /** Stops propagation of signature key pairs removals. */
+  public void shutdown() {
+    unsubscribe();
+    try {
+      channel.close();
+    } catch (RuntimeException ex) {
+      LOG.error("Failed to stop signature keys cache invalidation. Cause: " + ex.getMessage());
+    }
+  }
+}
@@ -13,24 +13,31 @@ package org.eclipse.che.multiuser.api.distributed.subscription;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Singleton;
 import java.util.Collections;
-import java.util.Objects;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionScopeIndex;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.eclipse.che.multiuser.api.distributed.cache.ReplicatedMapNotificationAdapter;
 import org.jgroups.JChannel;
 import org.jgroups.blocks.ReplicatedHashMap;
-import org.jgroups.blocks.locking.LockService;
 import org.slf4j.Logger;
 
 /**
  * Replicated map-based implementation of {@link RemoteSubscriptionStorage}
  *
+ * <p>Each subscription is stored as a separate entry keyed by the method and the endpoint id, so
+ * subscribing or unsubscribing replicates only the changed subscription and doesn't need a cluster
+ * lock. Subscriptions are indexed locally by method, by endpoint and by scope entries when the
+ * replicated map notifies about changes.
+ *
  * @author Max Shaposhnik (mshaposh@redhat.com)
  */
 @Singleton
@@ -40,19 +47,29 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
 
   private static final String CHANNEL_NAME = "RemoteSubscriptionChannel";
 
-  private final ReplicatedHashMap<String, Set<RemoteSubscriptionContext>> subscriptions;
-  private final LockService lockService;
+  /** Separates method and endpoint id in the keys of replicated map, can't be a part of method. */
+  private static final char KEY_SEPARATOR = '\n';
+
+  private final ReplicatedHashMap<String, RemoteSubscriptionContext> subscriptions;
   private final JChannel channel;
 
+  /** Method -> endpoint id -> subscription. */
+  private final Map<String, Map<String, RemoteSubscriptionContext>> methodIndex =
+      new ConcurrentHashMap<>();
+  /** Endpoint id -> subscribed methods. */
+  private final Map<String, Set<String>> endpointIndex = new ConcurrentHashMap<>();
+
+  private final RemoteSubscriptionScopeIndex scopeIndex = new RemoteSubscriptionScopeIndex();
+
   @Inject
   public DistributedRemoteSubscriptionStorage(@Named("jgroups.config.file") String confFile)
       throws Exception {
     try {
       channel = new JChannel(confFile);
-      this.lockService = new LockService(channel);
       channel.connect(CHANNEL_NAME);
       subscriptions = new ReplicatedHashMap<>(channel);
       subscriptions.setBlockingUpdates(true);
+      subscriptions.addNotifier(new IndexUpdater());
       subscriptions.start(5000);
     } catch (Exception e) {
       LOG.error("Unable to create distributed event subscriptions map.", e);
@@ -62,42 +79,41 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
 
   @Override
   public Set<RemoteSubscriptionContext> getByMethod(String method) {
-    return subscriptions.getOrDefault(method, Collections.emptySet());
+    Map<String, RemoteSubscriptionContext> methodSubscriptions = methodIndex.get(method);
+    if (methodSubscriptions == null) {
+      return Collections.emptySet();
+    }
+    return new HashSet<>(methodSubscriptions.values());
+  }
+
+  @Override
+  public Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return scopeIndex.get(method, scopeKey, scopeValue);
   }
 
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
-    Lock lock = lockService.getLock(method);
-    lock.lock();
-    try {
-      Set<RemoteSubscriptionContext> existing =
-          subscriptions.getOrDefault(method, ConcurrentHashMap.newKeySet(1));
-      existing.add(remoteSubscriptionContext);
-      subscriptions.put(method, existing);
-    } finally {
-      lock.unlock();
-    }
+    subscriptions.put(
+        toKey(method, remoteSubscriptionContext.getEndpointId()), remoteSubscriptionContext);
   }
 
   @Override
   public void removeSubscription(String method, String endpointId) {
-    Lock lock = lockService.getLock(method);
-    lock.lock();
-    try {
-      Set<RemoteSubscriptionContext> existing = subscriptions.get(method);
-      if (existing == null) {
-        return;
-      }
-      existing.removeIf(
-          remoteSubscriptionContext ->
-              Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId));
-      if (existing.isEmpty()) {
-        subscriptions.remove(method);
-      } else {
-        subscriptions.put(method, existing);
-      }
-    } finally {
-      lock.unlock();
+    Map<String, RemoteSubscriptionContext> methodSubscriptions = methodIndex.get(method);
+    if (methodSubscriptions != null && methodSubscriptions.containsKey(endpointId)) {
+      subscriptions.remove(toKey(method, endpointId));
+    }
+  }
+
+  @Override
+  public void removeSubscriptions(String endpointId) {
+    Set<String> methods = endpointIndex.get(endpointId);
+    if (methods == null) {
+      return;
+    }
+    for (String method : new HashSet<>(methods)) {
+      subscriptions.remove(toKey(method, endpointId));
     }
   }
 
@@ -109,4 +125,80 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
       LOG.error("Failed to stop remote subscription storage. Cause: " + ex.getMessage());
     }
   }
+
+  @VisibleForTesting
+  static String toKey(String method, String endpointId) {
+    return method + KEY_SEPARATOR + endpointId;
+  }
+
+  @VisibleForTesting
+  static String methodOf(String key) {
+    return key.substring(0, key.indexOf(KEY_SEPARATOR));
+  }
+
+  @VisibleForTesting
+  static String endpointIdOf(String key) {
+    return key.substring(key.indexOf(KEY_SEPARATOR) + 1);
+  }
+
+  private void index(String key, RemoteSubscriptionContext context) {
+    String method = methodOf(key);
+    String endpointId = endpointIdOf(key);
+    RemoteSubscriptionContext previous =
+        methodIndex
+            .computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+            .put(endpointId, context);
+    if (previous != null) {
+      scopeIndex.remove(method, previous);
+    }
+    scopeIndex.add(method, context);
+    endpointIndex.computeIfAbsent(endpointId, e -> ConcurrentHashMap.newKeySet()).add(method);
+  }
+
+  private void unindex(String key) {
+    String method = methodOf(key);
+    String endpointId = endpointIdOf(key);
+    methodIndex.computeIfPresent(
+        method,
+        (m, methodSubscriptions) -> {
+          RemoteSubscriptionContext removed = methodSubscriptions.remove(endpointId);
+          if (removed != null) {
+            scopeIndex.remove(method, removed);
+          }
+          return methodSubscriptions.isEmpty() ? null : methodSubscriptions;
+        });
+    endpointIndex.computeIfPresent(
+        endpointId,
+        (e, methods) -> {
+          methods.remove(method);
+          return methods.isEmpty() ? null : methods;
+        });
+  }
+
+  /** Keeps local indexes in sync with the replicated map. */
+  private class IndexUpdater extends ReplicatedMapNotificationAdapter {
+
+    @Override
+    public void entrySet(Object key, Object value) {
+      index((String) key, (RemoteSubscriptionContext) value);
+    }
+
+    @Override
+    public void entryRemoved(Object key) {
+      unindex((String) key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void contentsSet(Map entries) {
+      ((Map<String, RemoteSubscriptionContext>) entries).forEach(this::entrySet);
+    }
+
+    @Override
+    public void contentsCleared() {
+      methodIndex.clear();
+      endpointIndex.clear();
+      scopeIndex.clear();
+    }
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.subscription;
+
+import static java.util.Collections.singletonMap;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of subscribing to an event which already has the given number of
+ * subscribed endpoints, as it happens when many IDEs subscribe to {@code workspace/statusChanged}
+ * at once. The storage runs as a single member of an in-JVM cluster, so each subscription goes
+ * through the whole replication protocol stack.
+ *
+ * <p>Run it with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DistributedRemoteSubscriptionStorageBenchmark {
+
+  private static final String METHOD = "workspace/statusChanged";
+  private static final int WORKSPACES = 100;
+
+  @Param({"5000"})
+  private int endpoints;
+
+  private final AtomicLong nextEndpoint = new AtomicLong();
+
+  private DistributedRemoteSubscriptionStorage storage;
+  private Constructor<RemoteSubscriptionContext> contextConstructor;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    // contexts are created by the subscription manager only, so the constructor is not public
+    contextConstructor =
+        RemoteSubscriptionContext.class.getDeclaredConstructor(String.class, Map.class);
+    contextConstructor.setAccessible(true);
+    storage = new DistributedRemoteSubscriptionStorage("jgroups/benchmark-loopback.xml");
+    for (int i = 0; i < endpoints; i++) {
+      storage.addSubscription(METHOD, newContext("endpoint-" + i, i));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    storage.shutdown();
+  }
+
+  @Benchmark
+  public void subscribeAndUnsubscribe() throws Exception {
+    long i = nextEndpoint.getAndIncrement();
+    String endpointId = "benchmark-endpoint-" + i;
+    storage.addSubscription(METHOD, newContext(endpointId, i));
+    storage.removeSubscription(METHOD, endpointId);
+  }
+
+  @Benchmark
+  public Set<RemoteSubscriptionContext> getByScope() {
+    return storage.getByScope(METHOD, "workspaceId", "workspace-" + WORKSPACES / 2);
+  }
+
+  private RemoteSubscriptionContext newContext(String endpointId, long i) throws Exception {
+    return contextConstructor.newInstance(
+        endpointId, singletonMap("workspaceId", "workspace-" + i % WORKSPACES));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(DistributedRemoteSubscriptionStorageBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
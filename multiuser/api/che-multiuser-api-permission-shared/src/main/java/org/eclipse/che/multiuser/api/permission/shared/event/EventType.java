@@ -19,5 +19,7 @@ package org.eclipse.che.multiuser.api.permission.shared.event;
 public enum EventType {
   PERMISSIONS_ADDED,
 
-  PERMISSIONS_REMOVED
+  PERMISSIONS_REMOVED,
+
+  PERMISSIONS_UPDATED
 }
@@ -38,6 +38,8 @@ import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsCreatedEvent;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsUpdatedEvent;
 import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
 import org.eclipse.che.multiuser.api.permission.server.spi.PermissionsDao;
 import org.eclipse.che.multiuser.api.permission.shared.dto.PermissionsDto;
@@ -102,6 +104,30 @@ public class PermissionsManagerTest {
                     permissions.getUserId(), permissions.getDomainId(), permissions.getActions()));
   }
 
+  @Test
+  public void shouldPublishPermissionsCreatedEventWhenNewPermissionsAreStored() throws Exception {
+    when(permissionsDao.store(any(TestPermissionsImpl.class))).thenReturn(Optional.empty());
+
+    permissionsManager.storePermission(
+        new TestPermissionsImpl("user", "test", "test123", singletonList("read")));
+
+    verify(eventService).publish(any(PermissionsCreatedEvent.class));
+  }
+
+  @Test
+  public void shouldPublishPermissionsUpdatedEventWhenExistingPermissionsAreStored()
+      throws Exception {
+    when(permissionsDao.store(any(TestPermissionsImpl.class)))
+        .thenReturn(
+            Optional.of(new TestPermissionsImpl("user", "test", "test123", singletonList("read"))));
+
+    permissionsManager.storePermission(
+        new TestPermissionsImpl("user", "test", "test123", singletonList("delete")));
+
+    verify(eventService).publish(any(PermissionsUpdatedEvent.class));
+    verify(eventService, never()).publish(any(PermissionsCreatedEvent.class));
+  }
+
   @Test(
       expectedExceptions = ConflictException.class,
       expectedExceptionsMessageRegExp =
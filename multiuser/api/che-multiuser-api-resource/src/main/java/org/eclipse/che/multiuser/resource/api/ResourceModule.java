@@ -25,6 +25,7 @@ import org.eclipse.che.multiuser.resource.api.type.RuntimeResourceType;
 import org.eclipse.che.multiuser.resource.api.type.TimeoutResourceType;
 import org.eclipse.che.multiuser.resource.api.type.WorkspaceResourceType;
 import org.eclipse.che.multiuser.resource.api.usage.ResourceService;
+import org.eclipse.che.multiuser.resource.api.usage.tracker.ActiveWorkspacesUsageLedger;
 import org.eclipse.che.multiuser.resource.api.usage.tracker.RamResourceUsageTracker;
 import org.eclipse.che.multiuser.resource.api.usage.tracker.RuntimeResourceUsageTracker;
 import org.eclipse.che.multiuser.resource.api.usage.tracker.WorkspaceResourceUsageTracker;
@@ -62,6 +63,7 @@ public class ResourceModule extends AbstractModule {
     resourcesTypesBinder.addBinding().to(RuntimeResourceType.class);
     resourcesTypesBinder.addBinding().to(TimeoutResourceType.class);
 
+    bind(ActiveWorkspacesUsageLedger.class).asEagerSingleton();
     Multibinder<ResourceUsageTracker> usageTrackersBinder =
         Multibinder.newSetBinder(binder(), ResourceUsageTracker.class);
     usageTrackersBinder.addBinding().to(RamResourceUsageTracker.class);
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static java.util.Collections.emptySet;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the number of runtimes and the amount of RAM used by active workspaces of each account.
+ *
+ * <p>The ledger is updated incrementally on {@link WorkspaceStatusEvent}, so only the workspace
+ * whose status is changed is evaluated, and used resources of an account are read without going
+ * through all the workspaces of the account. Since {@link WorkspaceRuntimes} publishes the {@code
+ * STARTING} event before the start method returns, a starting workspace is taken into account as
+ * soon as the start is accepted.
+ *
+ * <p>The ledger is rebuilt from the active workspaces on the first read and is periodically
+ * reconciled with them, which fixes the usage changed by workspaces which events were not received
+ * by this server, e.g. runtimes that are recovered after restart. Status events are published only
+ * on the server which manages the workspace, so before the limits of an account are checked the
+ * workspaces of the account are {@link #synchronize(String) synchronized} with the workspace
+ * statuses shared by all the servers.
+ */
+@Singleton
+public class ActiveWorkspacesUsageLedger implements EventSubscriber<WorkspaceStatusEvent> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ActiveWorkspacesUsageLedger.class);
+
+  private final Provider<WorkspaceManager> workspaceManagerProvider;
+  private final WorkspaceRuntimes workspaceRuntimes;
+  private final EnvironmentRamCalculator environmentRamCalculator;
+  private final EventService eventService;
+
+  private final Map<String, AccountUsage> accounts = new ConcurrentHashMap<>();
+  // guarded by this
+  private final Map<String, WorkspaceUsage> workspaces = new HashMap<>();
+  // identifiers of recorded workspaces of each account, guarded by this
+  private final Map<String, Set<String>> accountWorkspaces = new HashMap<>();
+  // identifiers of workspaces updated by events or synchronization since the reconciliation
+  // started, guarded by this
+  private final Set<String> updatedWorkspaces = new HashSet<>();
+
+  private final AtomicBoolean reconciling = new AtomicBoolean();
+  private final CountDownLatch reconciled = new CountDownLatch(1);
+
+  @Inject
+  public ActiveWorkspacesUsageLedger(
+      Provider<WorkspaceManager> workspaceManagerProvider,
+      WorkspaceRuntimes workspaceRuntimes,
+      EnvironmentRamCalculator environmentRamCalculator,
+      EventService eventService) {
+    this.workspaceManagerProvider = workspaceManagerProvider;
+    this.workspaceRuntimes = workspaceRuntimes;
+    this.environmentRamCalculator = environmentRamCalculator;
+    this.eventService = eventService;
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(this, WorkspaceStatusEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(this, WorkspaceStatusEvent.class);
+  }
+
+  /** Returns the number of active workspaces of the given account. */
+  public long getUsedRuntimes(String accountId) {
+    ensureReconciled();
+    AccountUsage usage = accounts.get(accountId);
+    return usage == null ? 0 : usage.runtimes;
+  }
+
+  /** Returns the amount of RAM in megabytes used by active workspaces of the given account. */
+  public long getUsedRam(String accountId) {
+    ensureReconciled();
+    AccountUsage usage = accounts.get(accountId);
+    return usage == null ? 0 : usage.ramMB;
+  }
+
+  @Override
+  public void onEvent(WorkspaceStatusEvent event) {
+    String workspaceId = event.getWorkspaceId();
+    if (event.getStatus() == STOPPED) {
+      update(workspaceId, null, true);
+    } else if (event.getStatus() != STOPPING) {
+      try {
+        update(
+            workspaceId, evaluate(workspaceManagerProvider.get().getWorkspace(workspaceId)), true);
+      } catch (NotFoundException | ServerException e) {
+        LOG.warn(
+            "Failed to evaluate resources used by workspace '{}'. Cause: {}",
+            workspaceId,
+            e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Rebuilds the ledger from the workspaces that are active at the moment. Workspaces which status
+   * is changed while the reconciliation is in progress keep the usage recorded on the event or
+   * synchronization. The call returns immediately when another reconciliation is in progress.
+   */
+  @ScheduleDelay(
+      initialDelayParameterName = "che.limits.workspace.usage.reconciliation_period_min",
+      delayParameterName = "che.limits.workspace.usage.reconciliation_period_min",
+      unit = TimeUnit.MINUTES)
+  public void reconcile() {
+    if (!reconciling.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      synchronized (this) {
+        updatedWorkspaces.clear();
+      }
+      Map<String, WorkspaceUsage> actual = new HashMap<>();
+      Set<String> failed = new HashSet<>();
+      for (String workspaceId : workspaceRuntimes.getActive()) {
+        try {
+          WorkspaceUsage usage = evaluate(workspaceManagerProvider.get().getWorkspace(workspaceId));
+          if (usage != null) {
+            actual.put(workspaceId, usage);
+          }
+        } catch (NotFoundException ignored) {
+          // the workspace is removed, so it doesn't use any resources
+        } catch (ServerException e) {
+          failed.add(workspaceId);
+          LOG.warn(
+              "Failed to evaluate resources used by workspace '{}'. Cause: {}",
+              workspaceId,
+              e.getMessage());
+        }
+      }
+      synchronized (this) {
+        Set<String> toUpdate = new HashSet<>(workspaces.keySet());
+        toUpdate.addAll(actual.keySet());
+        toUpdate.removeAll(updatedWorkspaces);
+        toUpdate.removeAll(failed);
+        for (String workspaceId : toUpdate) {
+          update(workspaceId, actual.get(workspaceId), false);
+        }
+        updatedWorkspaces.clear();
+      }
+      reconciled.countDown();
+    } finally {
+      reconciling.set(false);
+    }
+  }
+
+  /**
+   * Brings the usage of the given account in line with the workspace statuses shared by all the Che
+   * Server instances, so the workspaces of the account started or stopped by other instances are
+   * taken into account. Only the recorded workspaces of the account which status differs from the
+   * recorded one and active workspaces which are not recorded yet are evaluated.
+   *
+   * @param accountId identifier of the account which usage is synchronized
+   */
+  public void synchronize(String accountId) {
+    ensureReconciled();
+    Map<String, WorkspaceUsage> recorded = new HashMap<>();
+    Set<String> notRecorded = new HashSet<>();
+    Set<String> active = workspaceRuntimes.getActive();
+    synchronized (this) {
+      for (String workspaceId : accountWorkspaces.getOrDefault(accountId, emptySet())) {
+        recorded.put(workspaceId, workspaces.get(workspaceId));
+      }
+      for (String workspaceId : active) {
+        if (!workspaces.containsKey(workspaceId)) {
+          notRecorded.add(workspaceId);
+        }
+      }
+    }
+    for (Map.Entry<String, WorkspaceUsage> entry : recorded.entrySet()) {
+      WorkspaceStatus status = workspaceRuntimes.getStatus(entry.getKey());
+      if (status == STOPPED) {
+        replace(entry.getKey(), entry.getValue(), null);
+      } else if (status != STOPPING && status != entry.getValue().status) {
+        // usage of a stopping workspace is kept until it is stopped
+        reevaluate(entry.getKey(), entry.getValue());
+      }
+    }
+    // the account of a workspace started by another server is not known until it is fetched
+    for (String workspaceId : notRecorded) {
+      if (workspaceRuntimes.getStatus(workspaceId) != STOPPING) {
+        reevaluate(workspaceId, null);
+      }
+    }
+  }
+
+  private void reevaluate(String workspaceId, @Nullable WorkspaceUsage recorded) {
+    try {
+      replace(
+          workspaceId, recorded, evaluate(workspaceManagerProvider.get().getWorkspace(workspaceId)));
+    } catch (NotFoundException ignored) {
+      // the workspace is removed, so it doesn't use any resources
+    } catch (ServerException e) {
+      LOG.warn(
+          "Failed to evaluate resources used by workspace '{}'. Cause: {}",
+          workspaceId,
+          e.getMessage());
+    }
+  }
+
+  /** Waits for the first reconciliation, performs it if it isn't started yet. */
+  private void ensureReconciled() {
+    while (reconciled.getCount() != 0) {
+      reconcile();
+      try {
+        // another reconciliation may be in progress, it is performed here again if it fails
+        reconciled.await(1, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while usage of workspaces is reconciled", e);
+      }
+    }
+  }
+
+  /**
+   * Updates the usage of the workspace unless it was changed meanwhile. The update is kept by the
+   * reconciliation which is in progress, since it is based on the newer workspace status.
+   */
+  private synchronized void replace(
+      String workspaceId, @Nullable WorkspaceUsage expected, @Nullable WorkspaceUsage usage) {
+    if (workspaces.get(workspaceId) == expected) {
+      update(workspaceId, usage, true);
+    }
+  }
+
+  private synchronized void update(
+      String workspaceId, @Nullable WorkspaceUsage usage, boolean keepOnReconciliation) {
+    if (keepOnReconciliation) {
+      updatedWorkspaces.add(workspaceId);
+    }
+    WorkspaceUsage previous =
+        usage == null ? workspaces.remove(workspaceId) : workspaces.put(workspaceId, usage);
+    if (previous != null) {
+      Set<String> ids = accountWorkspaces.get(previous.accountId);
+      ids.remove(workspaceId);
+      if (ids.isEmpty()) {
+        accountWorkspaces.remove(previous.accountId);
+      }
+      AccountUsage accountUsage = accounts.get(previous.accountId).minus(previous);
+      if (accountUsage.runtimes == 0) {
+        accounts.remove(previous.accountId);
+      } else {
+        accounts.put(previous.accountId, accountUsage);
+      }
+    }
+    if (usage != null) {
+      accountWorkspaces.computeIfAbsent(usage.accountId, id -> new HashSet<>()).add(workspaceId);
+      accounts.put(
+          usage.accountId, accounts.getOrDefault(usage.accountId, AccountUsage.EMPTY).plus(usage));
+    }
+  }
+
+  /** Returns resources used by the given workspace or null if the workspace is not active. */
+  @Nullable
+  private WorkspaceUsage evaluate(WorkspaceImpl workspace) throws ServerException {
+    if (workspace.getStatus() == null || workspace.getStatus() == STOPPED) {
+      return null;
+    }
+    long ramMB = 0;
+    if (workspace.getStatus() == STARTING) {
+      // starting workspace may not have all machine in runtime
+      // it is need to calculate ram from environment config
+      WorkspaceConfigImpl config = workspace.getConfig();
+      if (config != null && workspace.getRuntime() != null) {
+        EnvironmentImpl startingEnvironment =
+            config.getEnvironments().get(workspace.getRuntime().getActiveEnv());
+        if (startingEnvironment != null) {
+          ramMB = environmentRamCalculator.calculate(startingEnvironment);
+        }
+      }
+      // Estimation of memory for starting workspace with Devfile is not implemented yet
+      // just ignore such
+    } else if (workspace.getRuntime() != null) {
+      ramMB = environmentRamCalculator.calculate(workspace.getRuntime());
+    }
+    return new WorkspaceUsage(workspace.getAccount().getId(), workspace.getStatus(), ramMB);
+  }
+
+  private static class WorkspaceUsage {
+    private final String accountId;
+    private final WorkspaceStatus status;
+    private final long ramMB;
+
+    private WorkspaceUsage(String accountId, WorkspaceStatus status, long ramMB) {
+      this.accountId = accountId;
+      this.status = status;
+      this.ramMB = ramMB;
+    }
+  }
+
+  private static class AccountUsage {
+    private static final AccountUsage EMPTY = new AccountUsage(0, 0);
+
+    private final long runtimes;
+    private final long ramMB;
+
+    private AccountUsage(long runtimes, long ramMB) {
+      this.runtimes = runtimes;
+      this.ramMB = ramMB;
+    }
+
+    private AccountUsage plus(WorkspaceUsage usage) {
+      return new AccountUsage(runtimes + 1, ramMB + usage.ramMB);
+    }
+
+    private AccountUsage minus(WorkspaceUsage usage) {
+      return new AccountUsage(runtimes - 1, ramMB - usage.ramMB);
+    }
+  }
+}
@@ -49,6 +49,7 @@ import org.eclipse.che.multiuser.resource.api.type.RuntimeResourceType;
 import org.eclipse.che.multiuser.resource.api.type.WorkspaceResourceType;
 import org.eclipse.che.multiuser.resource.api.usage.ResourceManager;
 import org.eclipse.che.multiuser.resource.api.usage.ResourcesLocks;
+import org.eclipse.che.multiuser.resource.api.usage.tracker.ActiveWorkspacesUsageLedger;
 import org.eclipse.che.multiuser.resource.api.usage.tracker.EnvironmentRamCalculator;
 import org.eclipse.che.multiuser.resource.model.Resource;
 import org.eclipse.che.multiuser.resource.spi.impl.ResourceImpl;
@@ -69,6 +70,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
   private final ResourceManager resourceManager;
   private final ResourcesLocks resourcesLocks;
   private final AccountManager accountManager;
+  private final ActiveWorkspacesUsageLedger usageLedger;
 
   private final long maxRamPerEnvMB;
 
@@ -84,6 +86,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
       EnvironmentRamCalculator environmentRamCalculator,
       ResourceManager resourceManager,
       ResourcesLocks resourcesLocks,
+      ActiveWorkspacesUsageLedger usageLedger,
       DevfileIntegrityValidator devfileIntegrityValidator) {
     super(
         workspaceDao,
@@ -97,6 +100,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
     this.resourceManager = resourceManager;
     this.resourcesLocks = resourcesLocks;
     this.accountManager = accountManager;
+    this.usageLedger = usageLedger;
   }
 
   @Override
@@ -124,6 +128,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
 
     try (@SuppressWarnings("unused")
         Unlocker u = resourcesLocks.lock(accountId)) {
+      usageLedger.synchronize(accountId);
       checkRuntimeResourceAvailability(accountId);
       if (config != null) {
         checkRamResourcesAvailability(accountId, workspace.getNamespace(), config, envName);
@@ -143,6 +148,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
     try (@SuppressWarnings("unused")
         Unlocker u = resourcesLocks.lock(accountId)) {
       checkWorkspaceResourceAvailability(accountId);
+      usageLedger.synchronize(accountId);
       checkRuntimeResourceAvailability(accountId);
       if (config != null) {
         checkRamResourcesAvailability(accountId, namespace, config, null);
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static java.util.Collections.emptySet;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.inject.Provider;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.model.workspace.Runtime;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.config.Environment;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ActiveWorkspacesUsageLedger}. */
+@Listeners(MockitoTestNGListener.class)
+public class ActiveWorkspacesUsageLedgerTest {
+
+  private static final String ACCOUNT_ID = "account123";
+  private static final String ACTIVE_ENV_NAME = "default";
+
+  @Mock private Provider<WorkspaceManager> workspaceManagerProvider;
+  @Mock private WorkspaceManager workspaceManager;
+  @Mock private WorkspaceRuntimes workspaceRuntimes;
+  @Mock private EnvironmentRamCalculator environmentRamCalculator;
+  @Mock private EventService eventService;
+
+  private ActiveWorkspacesUsageLedger ledger;
+
+  @BeforeMethod
+  public void setUp() {
+    lenient().when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
+    lenient().when(workspaceRuntimes.getActive()).thenReturn(emptySet());
+    ledger =
+        new ActiveWorkspacesUsageLedger(
+            workspaceManagerProvider, workspaceRuntimes, environmentRamCalculator, eventService);
+  }
+
+  @Test
+  public void shouldSubscribeOnWorkspaceStatusEvents() {
+    ledger.subscribe();
+
+    verify(eventService).subscribe(ledger, WorkspaceStatusEvent.class);
+  }
+
+  @Test
+  public void shouldBuildUsageFromActiveWorkspacesOnFirstRead() throws Exception {
+    mockWorkspace("ws1", RUNNING);
+    mockWorkspace("ws2", STARTING);
+    mockWorkspace("ws3", STOPPED);
+    when(workspaceRuntimes.getActive()).thenReturn(ImmutableSet.of("ws1", "ws2", "ws3"));
+    doReturn(2000L).when(environmentRamCalculator).calculate(any(Runtime.class));
+    doReturn(1000L).when(environmentRamCalculator).calculate(any(Environment.class));
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 2);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 3000);
+  }
+
+  @Test
+  public void shouldNotGoThroughWorkspacesOnFurtherReads() throws Exception {
+    mockWorkspace("ws1", RUNNING);
+    when(workspaceRuntimes.getActive()).thenReturn(ImmutableSet.of("ws1"));
+    doReturn(2000L).when(environmentRamCalculator).calculate(any(Runtime.class));
+
+    ledger.getUsedRuntimes(ACCOUNT_ID);
+    ledger.getUsedRam(ACCOUNT_ID);
+    ledger.getUsedRam("otherAccount");
+
+    verify(workspaceRuntimes).getActive();
+    verify(workspaceManager).getWorkspace("ws1");
+  }
+
+  @Test
+  public void shouldAddUsageOfStartingWorkspaceOnEvent() throws Exception {
+    ledger.reconcile();
+    mockWorkspace("ws1", STARTING);
+    doReturn(1000L).when(environmentRamCalculator).calculate(any(Environment.class));
+
+    ledger.onEvent(newEvent("ws1", STARTING));
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 1);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 1000);
+  }
+
+  @Test
+  public void shouldUpdateRamOfWorkspaceWhenItIsRunning() throws Exception {
+    ledger.reconcile();
+    mockWorkspace("ws1", STARTING);
+    doReturn(1000L).when(environmentRamCalculator).calculate(any(Environment.class));
+    ledger.onEvent(newEvent("ws1", STARTING));
+    mockWorkspace("ws1", RUNNING);
+    doReturn(1500L).when(environmentRamCalculator).calculate(any(Runtime.class));
+
+    ledger.onEvent(newEvent("ws1", RUNNING));
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 1);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 1500);
+  }
+
+  @Test
+  public void shouldReleaseUsageOfStoppedWorkspace() throws Exception {
+    ledger.reconcile();
+    mockWorkspace("ws1", STARTING);
+    mockWorkspace("ws2", STARTING);
+    doReturn(1000L).when(environmentRamCalculator).calculate(any(Environment.class));
+    ledger.onEvent(newEvent("ws1", STARTING));
+    ledger.onEvent(newEvent("ws2", STARTING));
+
+    ledger.onEvent(newEvent("ws1", STOPPED));
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 1);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 1000);
+    verify(workspaceManager, times(2)).getWorkspace(anyString());
+  }
+
+  @Test
+  public void shouldFixUsageOnReconciliation() throws Exception {
+    mockWorkspace("ws1", RUNNING);
+    doReturn(2000L).when(environmentRamCalculator).calculate(any(Runtime.class));
+    ledger.reconcile();
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 0);
+
+    when(workspaceRuntimes.getActive()).thenReturn(ImmutableSet.of("ws1"));
+    ledger.reconcile();
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 1);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 2000);
+
+    when(workspaceRuntimes.getActive()).thenReturn(emptySet());
+    ledger.reconcile();
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 0);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0);
+  }
+
+  @Test
+  public void shouldKeepUsageRecordedOnEventWhileReconciliationIsInProgress() throws Exception {
+    when(workspaceRuntimes.getActive()).thenReturn(ImmutableSet.of("ws1"));
+    WorkspaceImpl running = createWorkspace("ws1", RUNNING);
+    when(workspaceManager.getWorkspace("ws1"))
+        .thenAnswer(
+            invocation -> {
+              // the workspace is stopped after it is fetched by the reconciliation
+              ledger.onEvent(newEvent("ws1", STOPPED));
+              return running;
+            });
+    doReturn(2000L).when(environmentRamCalculator).calculate(any(Runtime.class));
+
+    ledger.reconcile();
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 0);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0);
+  }
+
+  @Test
+  public void shouldAddUsageOfWorkspaceStartedByOtherServerOnSynchronization() throws Exception {
+    ledger.reconcile();
+    mockWorkspace("ws1", RUNNING);
+    doReturn(2000L).when(environmentRamCalculator).calculate(any(Runtime.class));
+    when(workspaceRuntimes.getActive()).thenReturn(ImmutableSet.of("ws1"));
+    when(workspaceRuntimes.getStatus("ws1")).thenReturn(RUNNING);
+
+    ledger.synchronize(ACCOUNT_ID);
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 1);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 2000);
+  }
+
+  @Test
+  public void shouldReleaseUsageOfWorkspaceStoppedByOtherServerOnSynchronization()
+      throws Exception {
+    ledger.reconcile();
+    mockWorkspace("ws1", STARTING);
+    doReturn(1000L).when(environmentRamCalculator).calculate(any(Environment.class));
+    ledger.onEvent(newEvent("ws1", STARTING));
+    when(workspaceRuntimes.getStatus("ws1")).thenReturn(STOPPED);
+
+    ledger.synchronize(ACCOUNT_ID);
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 0);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0);
+  }
+
+  @Test
+  public void shouldEvaluateOnlyWorkspacesWhichStatusIsChangedOnSynchronization() throws Exception {
+    mockWorkspace("ws1", RUNNING);
+    mockWorkspace("ws2", STARTING);
+    doReturn(2000L).when(environmentRamCalculator).calculate(any(Runtime.class));
+    doReturn(1000L).when(environmentRamCalculator).calculate(any(Environment.class));
+    when(workspaceRuntimes.getActive()).thenReturn(ImmutableSet.of("ws1", "ws2"));
+    ledger.reconcile();
+    when(workspaceRuntimes.getStatus("ws1")).thenReturn(RUNNING);
+    doReturn(RUNNING).when(workspaceRuntimes).getStatus("ws2");
+    mockWorkspace("ws2", RUNNING);
+
+    ledger.synchronize(ACCOUNT_ID);
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 2);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 4000);
+    verify(workspaceManager).getWorkspace("ws1");
+    verify(workspaceManager, times(2)).getWorkspace("ws2");
+  }
+
+  @Test
+  public void shouldNotEvaluateWorkspacesOfOtherAccountsOnSynchronization() throws Exception {
+    mockWorkspace("ws1", RUNNING);
+    doReturn(createWorkspace("ws2", "otherAccount", STARTING))
+        .when(workspaceManager)
+        .getWorkspace("ws2");
+    doReturn(2000L).when(environmentRamCalculator).calculate(any(Runtime.class));
+    when(workspaceRuntimes.getActive()).thenReturn(ImmutableSet.of("ws1", "ws2"));
+    ledger.reconcile();
+    when(workspaceRuntimes.getStatus("ws1")).thenReturn(RUNNING);
+
+    ledger.synchronize(ACCOUNT_ID);
+
+    assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 1);
+    verify(workspaceRuntimes, never()).getStatus("ws2");
+    verify(workspaceManager).getWorkspace("ws2");
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldNotWaitForReconciliationInProgressOnSynchronization() throws Exception {
+    ledger.reconcile();
+    WorkspaceImpl running = createWorkspace("ws1", ACCOUNT_ID, RUNNING);
+    CountDownLatch fetchedByReconciliation = new CountDownLatch(1);
+    CountDownLatch reconciliationReleased = new CountDownLatch(1);
+    when(workspaceManager.getWorkspace("ws1"))
+        .thenAnswer(
+            invocation -> {
+              fetchedByReconciliation.countDown();
+              reconciliationReleased.await();
+              return running;
+            })
+        .thenReturn(running);
+    doReturn(2000L).when(environmentRamCalculator).calculate(any(Runtime.class));
+    when(workspaceRuntimes.getActive()).thenReturn(ImmutableSet.of("ws1"));
+    when(workspaceRuntimes.getStatus("ws1")).thenReturn(RUNNING);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> reconciliation = executor.submit(ledger::reconcile);
+      fetchedByReconciliation.await();
+
+      ledger.synchronize(ACCOUNT_ID);
+
+      assertEquals(ledger.getUsedRuntimes(ACCOUNT_ID), 1);
+      assertEquals(ledger.getUsedRam(ACCOUNT_ID), 2000);
+      reconciliationReleased.countDown();
+      reconciliation.get();
+    } finally {
+      reconciliationReleased.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private void mockWorkspace(String id, WorkspaceStatus status) throws Exception {
+    doReturn(createWorkspace(id, status)).when(workspaceManager).getWorkspace(id);
+  }
+
+  private static WorkspaceImpl createWorkspace(String id, WorkspaceStatus status) {
+    return createWorkspace(id, ACCOUNT_ID, status);
+  }
+
+  private static WorkspaceImpl createWorkspace(
+      String id, String accountId, WorkspaceStatus status) {
+    return WorkspaceImpl.builder()
+        .setId(id)
+        .setAccount(new AccountImpl(accountId, "testAccount", "test"))
+        .setConfig(
+            WorkspaceConfigImpl.builder()
+                .setEnvironments(
+                    ImmutableMap.of(ACTIVE_ENV_NAME, new EnvironmentImpl(null, new HashMap<>())))
+                .build())
+        .setRuntime(
+            status == STOPPED ? null : new RuntimeImpl(ACTIVE_ENV_NAME, new HashMap<>(), null))
+        .setStatus(status)
+        .build();
+  }
+
+  private static WorkspaceStatusEvent newEvent(String workspaceId, WorkspaceStatus status) {
+    return DtoFactory.newDto(WorkspaceStatusEvent.class)
+        .withWorkspaceId(workspaceId)
+        .withStatus(status);
+  }
+}
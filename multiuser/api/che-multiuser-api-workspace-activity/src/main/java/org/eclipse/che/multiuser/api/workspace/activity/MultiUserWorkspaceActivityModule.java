@@ -12,11 +12,14 @@
 package org.eclipse.che.multiuser.api.workspace.activity;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.Multibinder;
 import org.eclipse.che.api.workspace.activity.JpaWorkspaceActivityDao;
 import org.eclipse.che.api.workspace.activity.WorkspaceActivityChecker;
 import org.eclipse.che.api.workspace.activity.WorkspaceActivityDao;
 import org.eclipse.che.api.workspace.activity.WorkspaceActivityManager;
+import org.eclipse.che.api.workspace.activity.WorkspaceActivityRecoveryPrioritizer;
 import org.eclipse.che.api.workspace.activity.WorkspaceActivityService;
+import org.eclipse.che.api.workspace.server.RuntimeRecoveryPrioritizer;
 
 /**
  * Implementation of
@@ -31,5 +34,9 @@ public class MultiUserWorkspaceActivityModule extends AbstractModule {
     bind(WorkspaceActivityChecker.class);
     bind(WorkspaceActivityDao.class).to(JpaWorkspaceActivityDao.class);
     bind(WorkspaceActivityManager.class).to(MultiUserWorkspaceActivityManager.class);
+
+    Multibinder.newSetBinder(binder(), RuntimeRecoveryPrioritizer.class)
+        .addBinding()
+        .to(WorkspaceActivityRecoveryPrioritizer.class);
   }
 }
@@ -58,7 +58,8 @@ public class MultiUserWorkspaceActivityManagerTest {
             eventService,
             accountManager,
             resourceManager,
-            DEFAULT_TIMEOUT);
+            DEFAULT_TIMEOUT,
+            -1);
 
     when(account.getId()).thenReturn("account123");
     when(accountManager.getByName(anyString())).thenReturn(account);
@@ -99,4 +100,16 @@ public class MultiUserWorkspaceActivityManagerTest {
         .setExpirationTime(eq(wsId), eq(activityTime + DEFAULT_TIMEOUT));
     verify(resourceManager).getAvailableResources(eq("account123"));
   }
+
+  @Test
+  public void shouldResolveIdleTimeoutOnceForActivitiesOfWorkspace() throws Exception {
+    final String wsId = "testWsId";
+
+    activityManager.update(wsId, 1000L);
+    activityManager.update(wsId, 2000L);
+
+    verify(workspaceActivityDao).setExpirationTime(eq(wsId), eq(2000L + DEFAULT_TIMEOUT));
+    verify(workspaceManager, times(1)).getWorkspace(wsId);
+    verify(resourceManager, times(1)).getAvailableResources(eq("account123"));
+  }
 }
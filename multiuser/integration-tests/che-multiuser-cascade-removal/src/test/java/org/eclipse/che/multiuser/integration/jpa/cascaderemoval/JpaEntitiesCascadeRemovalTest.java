@@ -70,6 +70,7 @@ import org.eclipse.che.api.user.server.spi.ProfileDao;
 import org.eclipse.che.api.user.server.spi.UserDao;
 import org.eclipse.che.api.workspace.server.DefaultWorkspaceLockService;
 import org.eclipse.che.api.workspace.server.DefaultWorkspaceStatusCache;
+import org.eclipse.che.api.workspace.server.RuntimeRecoveryPrioritizer;
 import org.eclipse.che.api.workspace.server.WorkspaceAttributeValidator;
 import org.eclipse.che.api.workspace.server.WorkspaceLockService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -234,6 +235,10 @@ public class JpaEntitiesCascadeRemovalTest {
                 MapBinder.newMapBinder(binder(), String.class, InternalEnvironmentFactory.class);
                 bind(PermissionsManager.class);
                 bind(PermissionChecker.class).to(PermissionCheckerImpl.class);
+                bindConstant().annotatedWith(Names.named("che.permissions.cache.max_size")).to(0L);
+                bindConstant()
+                    .annotatedWith(Names.named("che.permissions.cache.expire_after_write_sec"))
+                    .to(0L);
                 bind(AccountManager.class);
                 bind(Boolean.class)
                     .annotatedWith(Names.named("che.workspace.auto_snapshot"))
@@ -277,6 +282,17 @@ public class JpaEntitiesCascadeRemovalTest {
                                             RamResourceType.ID, 1024, RamResourceType.UNIT)))));
 
                 bindConstant().annotatedWith(Names.named("che.workspace.probe_pool_size")).to(1);
+                bindConstant().annotatedWith(Names.named("che.workspace.lock.stripes")).to(16);
+                bindConstant()
+                    .annotatedWith(Names.named("che.workspace.recovery.parallelism"))
+                    .to(1);
+                Multibinder.newSetBinder(binder(), RuntimeRecoveryPrioritizer.class);
+                bindConstant()
+                    .annotatedWith(Names.named("che.auth.signature_key_pregeneration_pool_size"))
+                    .to(0);
+                bindConstant()
+                    .annotatedWith(Names.named("che.auth.signature_key_cache.max_size"))
+                    .to(100L);
 
                 // setup bindings for the devfile that would otherwise be read from the config
                 bindConstant()
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -35,6 +36,7 @@ import org.eclipse.che.api.core.model.user.User;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.multiuser.api.authentication.commons.SessionStore;
+import org.eclipse.che.multiuser.api.authentication.commons.VerifiedTokenCache;
 import org.eclipse.che.multiuser.api.authentication.commons.filter.MultiUserEnvironmentInitializationFilter;
 import org.eclipse.che.multiuser.api.authentication.commons.token.RequestTokenExtractor;
 import org.eclipse.che.multiuser.api.permission.server.AuthorizedSubject;
@@ -69,8 +71,13 @@ public class KeycloakEnvironmentInitializationFilter
       KeycloakProfileRetriever keycloakProfileRetriever,
       RequestTokenExtractor tokenExtractor,
       PermissionChecker permissionChecker,
-      KeycloakSettings settings) {
-    super(sessionStore, tokenExtractor);
+      KeycloakSettings settings,
+      @Named("che.auth.token_cache.max_size") long tokenCacheMaxSize,
+      @Named("che.auth.token_cache.expire_after_write_sec") long tokenCacheExpireAfterWriteSec) {
+    super(
+        sessionStore,
+        tokenExtractor,
+        new VerifiedTokenCache(tokenCacheMaxSize, tokenCacheExpireAfterWriteSec));
     this.jwtParser = jwtParser;
     this.userManager = userManager;
     this.keycloakProfileRetriever = keycloakProfileRetriever;
@@ -125,8 +132,11 @@ public class KeycloakEnvironmentInitializationFilter
                       new JwtException(
                           "Unable to authenticate user because email address is not set in keycloak profile"));
       User user = userManager.getOrCreateUser(id, email, username);
-      return new AuthorizedSubject(
-          new SubjectImpl(user.getName(), user.getId(), token, false), permissionChecker);
+      Subject subject =
+          new AuthorizedSubject(
+              new SubjectImpl(user.getName(), user.getId(), token, false), permissionChecker);
+      cacheSubject(token, subject, claims.getExpiration());
+      return subject;
     } catch (ServerException | ConflictException e) {
       throw new ServletException(
           "Unable to identify user " + claims.getSubject() + " in Che database", e);
@@ -11,8 +11,6 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
-import com.auth0.jwk.GuavaCachedJwkProvider;
-import com.auth0.jwk.JwkProvider;
 import com.auth0.jwk.UrlJwkProvider;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -21,10 +19,13 @@ import javax.inject.Provider;
 import org.eclipse.che.inject.ConfigurationException;
 import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
 
-/** Constructs {@link UrlJwkProvider} based on Jwk endpoint from keycloak settings */
-public class KeycloakJwkProvider implements Provider<JwkProvider> {
+/**
+ * Constructs {@link UrlJwkProvider} based on Jwk endpoint from keycloak settings. Fetched keys are
+ * cached by {@link KeycloakSigningKeyResolver}, which also limits the retrieval of unknown keys.
+ */
+public class KeycloakJwkProvider implements Provider<UrlJwkProvider> {
 
-  private final JwkProvider jwkProvider;
+  private final UrlJwkProvider jwkProvider;
 
   @Inject
   public KeycloakJwkProvider(KeycloakSettings keycloakSettings) throws MalformedURLException {
@@ -32,11 +33,11 @@ public class KeycloakJwkProvider implements Provider<JwkProvider> {
     if (jwksUrl == null) {
       throw new ConfigurationException("Jwks endpoint url not found in keycloak settings");
     }
-    this.jwkProvider = new GuavaCachedJwkProvider(new UrlJwkProvider(new URL(jwksUrl)));
+    this.jwkProvider = new UrlJwkProvider(new URL(jwksUrl));
   }
 
   @Override
-  public JwkProvider get() {
+  public UrlJwkProvider get() {
     return jwkProvider;
   }
 }
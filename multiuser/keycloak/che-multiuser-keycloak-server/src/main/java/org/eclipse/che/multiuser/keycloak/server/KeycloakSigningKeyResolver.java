@@ -13,30 +13,81 @@ package org.eclipse.che.multiuser.keycloak.server;
 
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
 
+import com.auth0.jwk.Jwk;
 import com.auth0.jwk.JwkException;
-import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.UrlJwkProvider;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.SigningKeyResolverAdapter;
 import java.security.Key;
 import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Resolves signing key based on id from JWT header */
+/**
+ * Resolves signing key based on id from JWT header.
+ *
+ * <p>Keys are kept in memory, so tokens are verified without contention on the JWKS endpoint
+ * client. The whole JWKS is periodically re-fetched in background and replaces the known keys, so
+ * rotated keys are picked up and keys which are not published by the OIDC provider anymore are
+ * dropped. A token with an unknown key id causes the JWKS to be re-fetched at most once per {@link
+ * #MISSING_KEY_FETCH_INTERVAL_SEC} seconds since the last successful fetch, so tokens with bogus key
+ * ids neither cause a request to the JWKS endpoint each nor prevent retrieval of new keys.
+ */
 @Singleton
 public class KeycloakSigningKeyResolver extends SigningKeyResolverAdapter {
 
-  private final JwkProvider jwkProvider;
-
   private static final Logger LOG = LoggerFactory.getLogger(KeycloakSigningKeyResolver.class);
 
+  static final long MISSING_KEY_FETCH_INTERVAL_SEC = 10;
+
+  private final UrlJwkProvider jwkProvider;
+  private final ScheduledExecutorService refreshExecutor;
+  private final long missingKeyFetchIntervalNanos;
+
+  /** Keys of the last successfully fetched JWKS, replaced as a whole. */
+  private volatile Map<String, PublicKey> keys = ImmutableMap.of();
+  /** Time in nanos before which the JWKS is not fetched because of unknown keys. */
+  private volatile long missingKeyFetchAllowedAt;
+
   @Inject
-  KeycloakSigningKeyResolver(JwkProvider jwkProvider) {
+  KeycloakSigningKeyResolver(
+      UrlJwkProvider jwkProvider,
+      @Named("che.keycloak.jwks_refresh_interval_sec") long refreshIntervalSec) {
+    this(jwkProvider, refreshIntervalSec, MISSING_KEY_FETCH_INTERVAL_SEC);
+  }
+
+  @VisibleForTesting
+  KeycloakSigningKeyResolver(
+      UrlJwkProvider jwkProvider, long refreshIntervalSec, long missingKeyFetchIntervalSec) {
     this.jwkProvider = jwkProvider;
+    this.missingKeyFetchIntervalNanos = TimeUnit.SECONDS.toNanos(missingKeyFetchIntervalSec);
+    this.missingKeyFetchAllowedAt = System.nanoTime();
+    if (refreshIntervalSec > 0) {
+      this.refreshExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder()
+                  .setNameFormat("KeycloakJwksRefresher-%d")
+                  .setDaemon(true)
+                  .build());
+      refreshExecutor.scheduleWithFixedDelay(
+          this::refreshKeys, refreshIntervalSec, refreshIntervalSec, TimeUnit.SECONDS);
+    } else {
+      this.refreshExecutor = null;
+    }
   }
 
   @Override
@@ -55,18 +106,74 @@ public class KeycloakSigningKeyResolver extends SigningKeyResolverAdapter {
     return getJwtPublicKey(header);
   }
 
-  private synchronized PublicKey getJwtPublicKey(JwsHeader<?> header) {
+  private PublicKey getJwtPublicKey(JwsHeader<?> header) {
     String kid = header.getKeyId();
     if (header.getKeyId() == null) {
       LOG.warn(
           "'kid' is missing in the JWT token header. This is not possible to validate the token with OIDC provider keys");
       throw new JwtException("'kid' is missing in the JWT token header.");
     }
+    PublicKey key = keys.get(kid);
+    if (key != null) {
+      return key;
+    }
+    synchronized (this) {
+      // the JWKS may have been fetched while waiting for the lock
+      key = keys.get(kid);
+      if (key != null) {
+        return key;
+      }
+      if (System.nanoTime() - missingKeyFetchAllowedAt < 0) {
+        throw new JwtException(
+            "Public key '" + kid + "' is not known and the JWKS was fetched recently");
+      }
+      try {
+        key = fetchKeys().get(kid);
+      } catch (JwkException e) {
+        throw new JwtException(
+            "Error during the retrieval of the public key during JWT token validation", e);
+      }
+    }
+    if (key == null) {
+      throw new JwtException("Public key '" + kid + "' is not published by the OIDC provider");
+    }
+    return key;
+  }
+
+  /** Re-fetches the JWKS, known keys are kept if it can't be fetched. */
+  @VisibleForTesting
+  void refreshKeys() {
     try {
-      return jwkProvider.get(kid).getPublicKey();
-    } catch (JwkException e) {
-      throw new JwtException(
-          "Error during the retrieval of the public key during JWT token validation", e);
+      synchronized (this) {
+        fetchKeys();
+      }
+    } catch (JwkException | RuntimeException e) {
+      LOG.warn("Failed to refresh JWT signing keys. Cause: {}", e.getMessage());
+    }
+  }
+
+  /** Fetches the whole JWKS and replaces the known keys with its keys. */
+  private Map<String, PublicKey> fetchKeys() throws JwkException {
+    Map<String, PublicKey> fetched = new HashMap<>();
+    for (Jwk jwk : jwkProvider.getAll()) {
+      if (jwk.getId() == null) {
+        continue;
+      }
+      try {
+        fetched.put(jwk.getId(), jwk.getPublicKey());
+      } catch (JwkException e) {
+        LOG.warn("Skipping invalid JWT signing key '{}'. Cause: {}", jwk.getId(), e.getMessage());
+      }
+    }
+    keys = ImmutableMap.copyOf(fetched);
+    missingKeyFetchAllowedAt = System.nanoTime() + missingKeyFetchIntervalNanos;
+    return keys;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
     }
   }
 }
@@ -11,7 +11,7 @@
  */
 package org.eclipse.che.multiuser.keycloak.server.deploy;
 
-import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.UrlJwkProvider;
 import com.google.inject.AbstractModule;
 import io.jsonwebtoken.JwtParser;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
@@ -36,7 +36,7 @@ public class KeycloakModule extends AbstractModule {
     bind(KeycloakConfigurationService.class);
 
     bind(ProfileDao.class).to(KeycloakProfileDao.class);
-    bind(JwkProvider.class).toProvider(KeycloakJwkProvider.class);
+    bind(UrlJwkProvider.class).toProvider(KeycloakJwkProvider.class);
     bind(JwtParser.class).toProvider(KeycloakJwtParserProvider.class);
     bind(PersonalAccountUserManager.class).to(KeycloakUserManager.class);
 
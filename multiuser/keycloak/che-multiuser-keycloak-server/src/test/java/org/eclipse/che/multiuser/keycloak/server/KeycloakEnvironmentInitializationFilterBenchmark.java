@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static io.jsonwebtoken.SignatureAlgorithm.RS256;
+import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.multiuser.api.authentication.commons.SessionStore;
+import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
+import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of {@link KeycloakEnvironmentInitializationFilter} authenticating
+ * requests with the same RS256 signed token with and without the verified token cache.
+ *
+ * <p>Requests come without HTTP session, as requests of API clients do, so the filter without the
+ * cache verifies the token signature and gets the user on each request. The user manager is a stub,
+ * so the benchmark shows the lower bound of the gain, the database round-trip is not included.
+ *
+ * <p>Run it with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class KeycloakEnvironmentInitializationFilterBenchmark {
+
+  private static final String USER_ID = "user123";
+
+  private KeycloakEnvironmentInitializationFilter cachingFilter;
+  private KeycloakEnvironmentInitializationFilter nonCachingFilter;
+  private HttpServletRequest request;
+  private HttpServletResponse response;
+  private FilterChain chain;
+
+  @Setup
+  public void setUp() throws Exception {
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    KeyPair keyPair = keyPairGenerator.generateKeyPair();
+    String token =
+        Jwts.builder()
+            .setSubject(USER_ID)
+            .claim("email", "user@example.com")
+            .claim("preferred_username", "user")
+            .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+            .signWith(RS256, keyPair.getPrivate())
+            .compact();
+    JwtParser jwtParser = Jwts.parser().setSigningKey(keyPair.getPublic());
+
+    // stub only mocks do not record invocations, so they don't grow during the benchmark
+    KeycloakUserManager userManager = stub(KeycloakUserManager.class);
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString()))
+        .thenReturn(new UserImpl(USER_ID, "user@example.com", "user"));
+    KeycloakSettings settings = stub(KeycloakSettings.class);
+    when(settings.get())
+        .thenReturn(singletonMap(KeycloakConstants.USERNAME_CLAIM_SETTING, "preferred_username"));
+    HttpSession session = stub(HttpSession.class);
+    request = stub(HttpServletRequest.class);
+    when(request.getSession(anyBoolean())).thenReturn(session);
+    response = stub(HttpServletResponse.class);
+    chain = (req, res) -> {};
+
+    cachingFilter = createFilter(jwtParser, userManager, settings, token, 1000);
+    nonCachingFilter = createFilter(jwtParser, userManager, settings, token, 0);
+  }
+
+  @Benchmark
+  public void withCache() throws Exception {
+    cachingFilter.doFilter(request, response, chain);
+  }
+
+  @Benchmark
+  public void withoutCache() throws Exception {
+    nonCachingFilter.doFilter(request, response, chain);
+  }
+
+  private static KeycloakEnvironmentInitializationFilter createFilter(
+      JwtParser jwtParser,
+      KeycloakUserManager userManager,
+      KeycloakSettings settings,
+      String token,
+      long tokenCacheMaxSize) {
+    return new KeycloakEnvironmentInitializationFilter(
+        stub(SessionStore.class),
+        jwtParser,
+        userManager,
+        stub(KeycloakProfileRetriever.class),
+        req -> token,
+        stub(PermissionChecker.class),
+        settings,
+        tokenCacheMaxSize,
+        600);
+  }
+
+  private static <T> T stub(Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(KeycloakEnvironmentInitializationFilterBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
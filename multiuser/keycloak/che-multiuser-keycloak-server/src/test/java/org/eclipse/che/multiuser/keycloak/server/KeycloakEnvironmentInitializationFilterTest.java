@@ -19,6 +19,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -32,8 +33,10 @@ import io.jsonwebtoken.impl.DefaultJwsHeader;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -95,7 +98,9 @@ public class KeycloakEnvironmentInitializationFilterTest {
             keycloakProfileRetriever,
             tokenExtractor,
             permissionChecker,
-            keycloakSettings);
+            keycloakSettings,
+            10,
+            60);
     final KeyPair kp = new KeyPair(mock(PublicKey.class), mock(PrivateKey.class));
     lenient().when(keyManager.getOrCreateKeyPair(anyString())).thenReturn(kp);
     keycloakAttributes.clear();
@@ -197,6 +202,26 @@ public class KeycloakEnvironmentInitializationFilterTest {
     assertEquals(expectedSubject.getUserName(), captor.getAllValues().get(1).getUserName());
   }
 
+  @Test
+  public void shouldNotVerifyTokenAndFetchUserWhenSubjectOfTokenIsCached() throws Exception {
+    UserImpl user = new UserImpl("id2", "test2@test.com", "username2");
+    DefaultJws<Claims> jws = createJws();
+    jws.getBody().setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+    keycloakSettingsMap.put(KeycloakConstants.USERNAME_CLAIM_SETTING, "preferred_username");
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token2");
+    when(jwtParser.parseClaimsJws(anyString())).thenReturn(jws);
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString())).thenReturn(user);
+
+    // when
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(jwtParser, times(2)).parseClaimsJws("token2");
+    verify(userManager).getOrCreateUser("id2", "test@test.com", "username");
+    verify(chain, times(2)).doFilter(any(), eq(response));
+  }
+
   private DefaultJws<Claims> createJws() {
     Map<String, Object> claimParams = new HashMap<>();
     claimParams.put("email", "test@test.com");
@@ -12,34 +12,46 @@
 package org.eclipse.che.multiuser.keycloak.server;
 
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
-import static org.mockito.ArgumentMatchers.eq;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
 
 import com.auth0.jwk.Jwk;
-import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwk.UrlJwkProvider;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.impl.DefaultClaims;
 import io.jsonwebtoken.impl.DefaultJwsHeader;
+import java.net.SocketTimeoutException;
 import java.security.Key;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.security.PublicKey;
 import java.util.HashMap;
 import java.util.Map;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 @Listeners(MockitoTestNGListener.class)
 public class KeycloakSigningKeyResolverTest {
 
-  @Mock private JwkProvider jwkProvider;
+  @Mock private UrlJwkProvider jwkProvider;
 
-  @InjectMocks private KeycloakSigningKeyResolver signingKeyResolver;
+  private KeycloakSigningKeyResolver signingKeyResolver;
+
+  @BeforeMethod
+  public void setUp() {
+    signingKeyResolver = new KeycloakSigningKeyResolver(jwkProvider, 0);
+  }
 
   @Test(expectedExceptions = MachineTokenJwtException.class)
   public void shouldThrowMachineTokenExceptionOnMachineTokensWithPlainText() {
@@ -71,17 +83,146 @@ public class KeycloakSigningKeyResolverTest {
   @Test
   public void shouldReturnPublicKey() throws Exception {
     final String kid = "123";
-    final Jwk jwk = mock(Jwk.class);
     final Map<String, Object> param = new HashMap<>();
     param.put("kid", kid);
     final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
     kpg.initialize(1024);
     final KeyPair keyPair = kpg.generateKeyPair();
-
-    when(jwk.getPublicKey()).thenReturn(keyPair.getPublic());
-    when(jwkProvider.get(eq(kid))).thenReturn(jwk);
+    final Jwk jwk = jwk(kid, keyPair.getPublic());
+    when(jwkProvider.getAll()).thenReturn(singletonList(jwk));
 
     Key actual = signingKeyResolver.resolveSigningKey(new DefaultJwsHeader(param), "plaintext");
     assertEquals(actual, keyPair.getPublic());
   }
+
+  @Test
+  public void shouldFetchJwksOnlyOnceForKnownKeys() throws Exception {
+    final PublicKey publicKey = mock(PublicKey.class);
+    final Jwk jwk = jwk("123", publicKey);
+    when(jwkProvider.getAll()).thenReturn(singletonList(jwk));
+
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+    Key actual = signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+
+    assertEquals(actual, publicKey);
+    verify(jwkProvider).getAll();
+  }
+
+  @Test
+  public void shouldRefreshPublicKeys() throws Exception {
+    final PublicKey rotated = mock(PublicKey.class);
+    final Jwk jwk = jwk("123", mock(PublicKey.class));
+    final Jwk rotatedJwk = jwk("123", rotated);
+    when(jwkProvider.getAll())
+        .thenReturn(singletonList(jwk))
+        .thenReturn(singletonList(rotatedJwk));
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+
+    signingKeyResolver.refreshKeys();
+
+    assertEquals(signingKeyResolver.resolveSigningKey(header("123"), "plaintext"), rotated);
+    verify(jwkProvider, times(2)).getAll();
+  }
+
+  @Test
+  public void shouldPickUpNewPublicKeysOnRefresh() throws Exception {
+    final PublicKey newKey = mock(PublicKey.class);
+    final Jwk jwk = jwk("123", mock(PublicKey.class));
+    final Jwk newJwk = jwk("456", newKey);
+    when(jwkProvider.getAll()).thenReturn(singletonList(jwk)).thenReturn(asList(jwk, newJwk));
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+
+    signingKeyResolver.refreshKeys();
+
+    assertEquals(signingKeyResolver.resolveSigningKey(header("456"), "plaintext"), newKey);
+    verify(jwkProvider, times(2)).getAll();
+  }
+
+  @Test
+  public void shouldKeepPublicKeysWhenJwksCannotBeFetched() throws Exception {
+    final PublicKey publicKey = mock(PublicKey.class);
+    final Jwk jwk = jwk("123", publicKey);
+    when(jwkProvider.getAll())
+        .thenReturn(singletonList(jwk))
+        .thenThrow(
+            new SigningKeyNotFoundException("Cannot obtain jwks", new SocketTimeoutException()));
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+
+    signingKeyResolver.refreshKeys();
+
+    assertEquals(signingKeyResolver.resolveSigningKey(header("123"), "plaintext"), publicKey);
+  }
+
+  @Test
+  public void shouldDropPublicKeyWhichIsNotPublishedAnymore() throws Exception {
+    final Jwk jwk = jwk("123", mock(PublicKey.class));
+    final Jwk otherJwk = jwk("456", mock(PublicKey.class));
+    when(jwkProvider.getAll())
+        .thenReturn(singletonList(jwk))
+        .thenReturn(singletonList(otherJwk));
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+
+    signingKeyResolver.refreshKeys();
+
+    resolveUnknownKey("123");
+    verify(jwkProvider, times(2)).getAll();
+  }
+
+  @Test
+  public void shouldNotFetchJwksForAWhileAfterItWasFetched() throws Exception {
+    final Jwk jwk = jwk("123", mock(PublicKey.class));
+    when(jwkProvider.getAll()).thenReturn(singletonList(jwk));
+
+    resolveUnknownKey("unknown1");
+    resolveUnknownKey("unknown2");
+    resolveUnknownKey("unknown1");
+
+    verify(jwkProvider).getAll();
+  }
+
+  @Test
+  public void shouldNotPauseRetrievalOfKeysWhenJwksCannotBeFetched() throws Exception {
+    final PublicKey publicKey = mock(PublicKey.class);
+    final Jwk jwk = jwk("123", publicKey);
+    when(jwkProvider.getAll())
+        .thenThrow(
+            new SigningKeyNotFoundException("Cannot obtain jwks", new SocketTimeoutException()))
+        .thenReturn(singletonList(jwk));
+    resolveUnknownKey("123");
+
+    assertEquals(signingKeyResolver.resolveSigningKey(header("123"), "plaintext"), publicKey);
+  }
+
+  @Test
+  public void shouldFetchJwksAgainForUnknownKeysWhenIntervalPassed() throws Exception {
+    signingKeyResolver = new KeycloakSigningKeyResolver(jwkProvider, 0, 0);
+    final PublicKey publicKey = mock(PublicKey.class);
+    final Jwk jwk = jwk("456", mock(PublicKey.class));
+    final Jwk newJwk = jwk("123", publicKey);
+    when(jwkProvider.getAll()).thenReturn(singletonList(jwk)).thenReturn(asList(jwk, newJwk));
+    resolveUnknownKey("bogus");
+
+    assertEquals(signingKeyResolver.resolveSigningKey(header("123"), "plaintext"), publicKey);
+  }
+
+  private void resolveUnknownKey(String kid) {
+    try {
+      signingKeyResolver.resolveSigningKey(header(kid), "plaintext");
+      fail("JwtException expected");
+    } catch (JwtException expected) {
+    }
+  }
+
+  private static Jwk jwk(String kid, PublicKey publicKey) throws Exception {
+    final Jwk jwk = mock(Jwk.class);
+    when(jwk.getId()).thenReturn(kid);
+    when(jwk.getPublicKey()).thenReturn(publicKey);
+    return jwk;
+  }
+
+  private static DefaultJwsHeader header(String kid) {
+    final Map<String, Object> param = new HashMap<>();
+    param.put("kid", kid);
+    return new DefaultJwsHeader(param);
+  }
 }
@@ -58,6 +58,8 @@ public class MachineLoginFilter extends MultiUserEnvironmentInitializationFilter
       UserManager userManager,
       MachineSigningKeyResolver machineKeyResolver,
       PermissionChecker permissionChecker) {
+    // machine tokens are not cached as they become invalid when the workspace is stopped on any
+    // Che Server instance, while the cache could be invalidated only by local events
     super(sessionStore, tokenExtractor);
     this.userManager = userManager;
     this.jwtParser = Jwts.parser().setSigningKeyResolver(machineKeyResolver);
@@ -16,8 +16,6 @@ import static java.lang.String.format;
 import static java.time.temporal.ChronoUnit.DAYS;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
 
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import java.security.PrivateKey;
@@ -25,8 +23,7 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
@@ -34,31 +31,33 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.user.User;
 import org.eclipse.che.api.user.server.UserManager;
 import org.eclipse.che.api.workspace.server.token.MachineTokenException;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManagerException;
 import org.eclipse.che.multiuser.machine.authentication.shared.Constants;
 
 /**
- * Table-based storage of machine security tokens. Table rows is workspace id's, columns - user
- * id's. Table is synchronized externally as required by its javadoc.
+ * Storage of machine security tokens. Tokens are stored per workspace id and then per user id.
+ * Existing tokens are returned without locking, tokens creation is synchronized per workspace, so
+ * tokens of different workspaces are created concurrently.
  *
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
- * @see HashBasedTable
  */
 @Singleton
 public class MachineTokenRegistry {
 
   private final SignatureKeyManager signatureKeyManager;
   private final UserManager userManager;
-  private final Table<String, String, String> tokens;
-  private final ReadWriteLock lock;
+  private final Map<String, Map<String, String>> tokens;
+  private final StripedLocks locks;
 
   @Inject
   public MachineTokenRegistry(SignatureKeyManager signatureKeyManager, UserManager userManager) {
     this.signatureKeyManager = signatureKeyManager;
     this.userManager = userManager;
-    this.tokens = HashBasedTable.create();
-    this.lock = new ReentrantReadWriteLock();
+    this.tokens = new ConcurrentHashMap<>();
+    this.locks = new StripedLocks(16);
   }
 
   /**
@@ -71,19 +70,25 @@ public class MachineTokenRegistry {
    * @throws MachineTokenException when user with given id not found or any errors occurs
    */
   public String getOrCreateToken(String userId, String workspaceId) throws MachineTokenException {
-    lock.writeLock().lock();
-    try {
-      final Map<String, String> wsRow = tokens.row(workspaceId);
-      String token = wsRow.get(userId);
+    String token = findToken(userId, workspaceId);
+    if (token != null) {
+      return token;
+    }
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock(workspaceId)) {
+      token = findToken(userId, workspaceId);
       if (token == null) {
         token = createToken(userId, workspaceId);
       }
       return token;
-    } finally {
-      lock.writeLock().unlock();
     }
   }
 
+  private String findToken(String userId, String workspaceId) {
+    final Map<String, String> wsTokens = tokens.get(workspaceId);
+    return wsTokens != null ? wsTokens.get(userId) : null;
+  }
+
   /** Creates new token with given data. */
   private String createToken(String userId, String workspaceId) throws MachineTokenException {
     try {
@@ -107,7 +112,7 @@ public class MachineTokenRegistry {
       claims.put(Claims.ISSUED_AT, Instant.now().getEpochSecond());
       final String token =
           Jwts.builder().setClaims(claims).setHeader(header).signWith(RS256, privateKey).compact();
-      tokens.put(workspaceId, userId, token);
+      tokens.computeIfAbsent(workspaceId, k -> new ConcurrentHashMap<>()).put(userId, token);
       return token;
     } catch (SignatureKeyManagerException | NotFoundException | ServerException ex) {
       throw new MachineTokenException(
@@ -125,13 +130,10 @@ public class MachineTokenRegistry {
    * @return the copy of the tokens row, where row is a map where key is user id and value is token
    */
   public Map<String, String> removeTokens(String workspaceId) {
-    lock.writeLock().lock();
-    try {
-      final Map<String, String> rowCopy = new HashMap<>(tokens.row(workspaceId));
-      tokens.row(workspaceId).clear();
-      return rowCopy;
-    } finally {
-      lock.writeLock().unlock();
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock(workspaceId)) {
+      final Map<String, String> wsTokens = tokens.remove(workspaceId);
+      return wsTokens != null ? new HashMap<>(wsTokens) : new HashMap<>();
     }
   }
 }
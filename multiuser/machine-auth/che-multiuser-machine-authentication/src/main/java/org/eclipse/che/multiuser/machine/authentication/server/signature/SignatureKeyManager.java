@@ -11,10 +11,14 @@
  */
 package org.eclipse.che.multiuser.machine.authentication.server.signature;
 
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 
 import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.security.KeyFactory;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
@@ -25,7 +29,12 @@ import java.security.spec.EncodedKeySpec;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -35,6 +44,8 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.core.db.DBInitializer;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.model.impl.SignatureKeyPairImpl;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.spi.SignatureKeyDao;
@@ -44,6 +55,14 @@ import org.slf4j.LoggerFactory;
 /**
  * Manages signature keys.
  *
+ * <p>Decoded key pairs are cached in memory, so the key pairs of running workspaces are neither
+ * loaded nor decoded on each token verification. A key pair is evicted when it is removed by this
+ * instance, which publishes {@link SignatureKeyPairRemovedEvent} then. Components which learn
+ * about removals in another way (e.g. from other Che Server instances) evict key pairs with {@link
+ * #invalidate(String)}. A key pair loaded while it was being evicted is not cached. Key pairs of
+ * different workspaces are loaded and generated concurrently. Optionally, key pairs are generated
+ * in background when workspace is starting.
+ *
  * @author Anton Korneta
  */
 @Beta
@@ -61,6 +80,10 @@ public class SignatureKeyManager {
   private final SignatureKeyDao signatureKeyDao;
   private final EventService eventService;
   private final EventSubscriber<?> workspaceEventsSubscriber;
+  private final Cache<String, CachedKeyPair> keyPairs;
+  private final Set<String> pendingPregenerations;
+  private final StripedLocks keyPairsLocks;
+  private final ExecutorService pregenerationExecutor;
 
   @Inject
   @SuppressWarnings("unused")
@@ -70,18 +93,38 @@ public class SignatureKeyManager {
   public SignatureKeyManager(
       @Named("che.auth.signature_key_size") int keySize,
       @Named("che.auth.signature_key_algorithm") String algorithm,
+      @Named("che.auth.signature_key_pregeneration_pool_size") int pregenerationPoolSize,
+      @Named("che.auth.signature_key_cache.max_size") long keyPairsCacheMaxSize,
       EventService eventService,
       SignatureKeyDao signatureKeyDao) {
     this.keySize = keySize;
     this.algorithm = algorithm;
     this.eventService = eventService;
     this.signatureKeyDao = signatureKeyDao;
+    this.keyPairs = CacheBuilder.newBuilder().maximumSize(keyPairsCacheMaxSize).build();
+    this.pendingPregenerations = ConcurrentHashMap.newKeySet();
+    this.keyPairsLocks = new StripedLocks(16);
+    if (pregenerationPoolSize > 0) {
+      this.pregenerationExecutor =
+          Executors.newFixedThreadPool(
+              pregenerationPoolSize,
+              new ThreadFactoryBuilder()
+                  .setNameFormat("SignatureKeysPregenerator-%d")
+                  .setDaemon(true)
+                  .build());
+    } else {
+      this.pregenerationExecutor = null;
+    }
     this.workspaceEventsSubscriber =
         new EventSubscriber<WorkspaceStatusEvent>() {
           @Override
           public void onEvent(WorkspaceStatusEvent event) {
             if (event.getStatus() == STOPPED) {
               removeKeyPair(event.getWorkspaceId());
+            } else if (event.getStatus() == STARTING
+                && pregenerationExecutor != null
+                && pendingPregenerations.add(event.getWorkspaceId())) {
+              pregenerationExecutor.execute(() -> pregenerateKeyPair(event.getWorkspaceId()));
             }
           }
         };
@@ -94,27 +137,71 @@ public class SignatureKeyManager {
    *     or keyspec) or other error
    */
   public KeyPair getOrCreateKeyPair(String workspaceId) throws SignatureKeyManagerException {
-    SignatureKeyPair keyPair;
+    final CachedKeyPair cached =
+        keyPairs.asMap().computeIfAbsent(workspaceId, id -> new CachedKeyPair());
+    KeyPair javaKeyPair = cached.keyPair;
+    if (javaKeyPair != null) {
+      return javaKeyPair;
+    }
+    try {
+      javaKeyPair = toJavaKeyPair(loadKeyPair(workspaceId));
+    } catch (SignatureKeyManagerException | RuntimeException ex) {
+      keyPairs.asMap().remove(workspaceId, cached);
+      throw ex;
+    }
+    // if the key pair was evicted meanwhile the entry is already detached from the cache
+    cached.keyPair = javaKeyPair;
+    return javaKeyPair;
+  }
+
+  /** Evicts the cached key pair of the given workspace. */
+  public void invalidate(String workspaceId) {
+    keyPairs.invalidate(workspaceId);
+  }
+
+  /** Evicts the cached key pairs of all the workspaces. */
+  public void invalidateAll() {
+    keyPairs.invalidateAll();
+  }
+
+  private SignatureKeyPair loadKeyPair(String workspaceId) throws SignatureKeyManagerException {
     try {
       try {
-        keyPair = signatureKeyDao.get(workspaceId);
+        return signatureKeyDao.get(workspaceId);
       } catch (NotFoundException e) {
-        keyPair = generateKeyPair(workspaceId);
+        return getOrGenerateKeyPair(workspaceId);
       }
     } catch (NoSuchAlgorithmException | ServerException | ConflictException ex) {
       LOG.error(
           "Failed to load signature keys for ws  {}. Cause: {}", workspaceId, ex.getMessage());
       throw new SignatureKeyManagerException(ex.getMessage(), ex);
     }
-    return toJavaKeyPair(keyPair);
   }
 
-  /** Removes key pair from cache and DB. */
+  /** Generates key pair unless it was generated concurrently. */
+  private SignatureKeyPair getOrGenerateKeyPair(String workspaceId)
+      throws NoSuchAlgorithmException, ServerException, ConflictException {
+    try (@SuppressWarnings("unused")
+        Unlocker u = keyPairsLocks.writeLock(workspaceId)) {
+      try {
+        return signatureKeyDao.get(workspaceId);
+      } catch (NotFoundException e) {
+        return generateKeyPair(workspaceId);
+      }
+    }
+  }
+
+  /** Removes key pair from DB and cache. */
   @VisibleForTesting
   void removeKeyPair(String workspaceId) {
-    try {
+    try (@SuppressWarnings("unused")
+        Unlocker u = keyPairsLocks.writeLock(workspaceId)) {
+      pendingPregenerations.remove(workspaceId);
       signatureKeyDao.remove(workspaceId);
+      // evicted after removal, so a key pair loaded concurrently is not cached
+      keyPairs.invalidate(workspaceId);
       LOG.debug("Removed signature key pair for ws id {}.", workspaceId);
+      eventService.publish(new SignatureKeyPairRemovedEvent(workspaceId));
     } catch (ServerException e) {
       LOG.error(
           "Unable to cleanup machine token signature keypairs for ws {}. Cause: {}",
@@ -123,6 +210,21 @@ public class SignatureKeyManager {
     }
   }
 
+  private void pregenerateKeyPair(String workspaceId) {
+    try (@SuppressWarnings("unused")
+        Unlocker u = keyPairsLocks.writeLock(workspaceId)) {
+      // workspace is already stopped, its key pair must not be recreated
+      if (pendingPregenerations.remove(workspaceId)) {
+        getOrCreateKeyPair(workspaceId);
+      }
+    } catch (SignatureKeyManagerException | RuntimeException e) {
+      LOG.warn(
+          "Unable to pregenerate signature key pair for ws {}. Cause: {}",
+          workspaceId,
+          e.getMessage());
+    }
+  }
+
   @VisibleForTesting
   SignatureKeyPair generateKeyPair(String workspaceId)
       throws NoSuchAlgorithmException, ServerException, ConflictException {
@@ -179,4 +281,16 @@ public class SignatureKeyManager {
   void subscribe() {
     eventService.subscribe(workspaceEventsSubscriber);
   }
+
+  @PreDestroy
+  void shutdown() {
+    if (pregenerationExecutor != null) {
+      pregenerationExecutor.shutdownNow();
+    }
+  }
+
+  /** Decoded key pair of a workspace, lives until the key pair of the workspace is evicted. */
+  private static class CachedKeyPair {
+    private volatile KeyPair keyPair;
+  }
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.machine.authentication.server.signature;
+
+/**
+ * Published by {@link SignatureKeyManager} after the signature key pair of a workspace is removed
+ * from the storage.
+ */
+public class SignatureKeyPairRemovedEvent {
+
+  private final String workspaceId;
+
+  public SignatureKeyPairRemovedEvent(String workspaceId) {
+    this.workspaceId = workspaceId;
+  }
+
+  /** Returns ID of the workspace which key pair is removed. */
+  public String getWorkspaceId() {
+    return workspaceId;
+  }
+}
@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -29,8 +30,10 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.impl.DefaultClaims;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.servlet.FilterChain;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -88,6 +91,7 @@ public class MachineLoginFilterTest {
   @Mock private HttpSession sessionMock;
   @Mock private HttpServletResponse responseMock;
 
+  private KeyPair keyPair;
   private MachineLoginFilter machineLoginFilter;
 
   @BeforeMethod
@@ -95,7 +99,7 @@ public class MachineLoginFilterTest {
     final User userMock = mock(User.class);
     final KeyPairGenerator kpg = KeyPairGenerator.getInstance(SIGNATURE_ALGORITHM);
     kpg.initialize(KEY_SIZE);
-    final KeyPair keyPair = kpg.generateKeyPair();
+    keyPair = kpg.generateKeyPair();
     final String token =
         Jwts.builder()
             .setClaims(CLAIMS)
@@ -208,6 +212,28 @@ public class MachineLoginFilterTest {
         .sendError(eq(401), argThat(s -> s.startsWith("Machine token authentication failed:")));
   }
 
+  @Test
+  public void testVerifyMachineTokenOnEachRequest() throws Exception {
+    final String token = createTokenWithExpiration();
+    when(tokenExtractorMock.getToken(any(HttpServletRequest.class))).thenReturn(token);
+
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    verify(keyManagerMock, times(4)).getOrCreateKeyPair(eq(WORKSPACE_ID));
+    verify(userManagerMock, times(2)).getById(anyString());
+  }
+
+  private String createTokenWithExpiration() {
+    final Claims claims = new DefaultClaims(new HashMap<>(CLAIMS));
+    claims.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+    return Jwts.builder()
+        .setClaims(claims)
+        .setHeader(HEADER)
+        .signWith(RS512, keyPair.getPrivate())
+        .compact();
+  }
+
   private HttpServletRequest getRequestMock() {
     final HttpServletRequest request = mock(HttpServletRequest.class);
     lenient().when(request.getSession(true)).thenReturn(sessionMock);
@@ -15,6 +15,8 @@ import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.USER_NAME_CLAIM;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.WORKSPACE_ID_CLAIM;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -22,6 +24,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -29,6 +32,9 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.user.User;
 import org.eclipse.che.api.user.server.UserManager;
@@ -126,6 +132,37 @@ public class MachineTokenRegistryTest {
     assertNotEquals(tokenRegistry.getOrCreateToken(user2, workspace1), removedTokens.get(user2));
   }
 
+  @Test
+  public void shouldCreateTokenWhileTokenOfAnotherWorkspaceIsBeingCreated() throws Exception {
+    final CountDownLatch keyPairRequested = new CountDownLatch(1);
+    final CountDownLatch releaseKeyPair = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              keyPairRequested.countDown();
+              releaseKeyPair.await();
+              return keyPair;
+            })
+        .when(signatureKeyManager)
+        .getOrCreateKeyPair(eq("slowWorkspace"));
+    final CompletableFuture<String> slowToken =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return tokenRegistry.getOrCreateToken(USER_ID, "slowWorkspace");
+              } catch (MachineTokenException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    assertTrue(keyPairRequested.await(5, TimeUnit.SECONDS));
+
+    try {
+      assertNotNull(tokenRegistry.getOrCreateToken(USER_ID, WORKSPACE_ID));
+    } finally {
+      releaseKeyPair.countDown();
+    }
+    assertNotNull(slowToken.get(5, TimeUnit.SECONDS));
+  }
+
   private void mockUser(String userId, String userName) throws Exception {
     final User userMock = mock(User.class);
     lenient().when(userMock.getId()).thenReturn(userId);
@@ -11,18 +11,25 @@
  */
 package org.eclipse.che.multiuser.machine.authentication.server.signature;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import java.security.Key;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
@@ -54,6 +61,7 @@ public class SignatureKeyManagerTest {
   @Mock EventService eventService;
 
   @Captor private ArgumentCaptor<EventSubscriber<WorkspaceStatusEvent>> captor;
+  @Captor private ArgumentCaptor<SignatureKeyPairRemovedEvent> eventCaptor;
 
   private KeyPairGenerator kpg;
   private SignatureKeyManager signatureKeyManager;
@@ -63,7 +71,7 @@ public class SignatureKeyManagerTest {
     kpg = KeyPairGenerator.getInstance(ALGORITHM);
     kpg.initialize(KEY_SIZE);
     signatureKeyManager =
-        new SignatureKeyManager(KEY_SIZE, ALGORITHM, eventService, signatureKeyDao);
+        new SignatureKeyManager(KEY_SIZE, ALGORITHM, 0, 100, eventService, signatureKeyDao);
   }
 
   @Test
@@ -106,6 +114,139 @@ public class SignatureKeyManagerTest {
     assertKeys(cachedPair.getPrivate(), kp.getPrivateKey());
   }
 
+  @Test
+  public void shouldReturnCachedKeyPairWithoutLoadingIt() throws Exception {
+    String wsId = "WS_id_1";
+    when(signatureKeyDao.get(wsId)).thenReturn(newKeyPair(wsId));
+
+    final KeyPair keyPair = signatureKeyManager.getOrCreateKeyPair(wsId);
+
+    assertSame(signatureKeyManager.getOrCreateKeyPair(wsId), keyPair);
+    verify(signatureKeyDao, times(1)).get(wsId);
+  }
+
+  @Test
+  public void shouldLoadKeyPairAgainWhenCachedKeyPairIsInvalidated() throws Exception {
+    String wsId = "WS_id_1";
+    final SignatureKeyPairImpl replacement = newKeyPair(wsId);
+    when(signatureKeyDao.get(wsId)).thenReturn(newKeyPair(wsId), replacement);
+    final KeyPair keyPair = signatureKeyManager.getOrCreateKeyPair(wsId);
+
+    signatureKeyManager.invalidate(wsId);
+    final KeyPair replacementPair = signatureKeyManager.getOrCreateKeyPair(wsId);
+
+    assertNotSame(replacementPair, keyPair);
+    assertKeys(replacementPair.getPublic(), replacement.getPublicKey());
+  }
+
+  @Test
+  public void shouldNotCacheKeyPairLoadedWhileItWasInvalidated() throws Exception {
+    String wsId = "WS_id_1";
+    final SignatureKeyPairImpl kp = newKeyPair(wsId);
+    when(signatureKeyDao.get(wsId))
+        .thenAnswer(
+            invocation -> {
+              signatureKeyManager.invalidate(wsId);
+              return kp;
+            })
+        .thenReturn(kp);
+
+    signatureKeyManager.getOrCreateKeyPair(wsId);
+    signatureKeyManager.getOrCreateKeyPair(wsId);
+    signatureKeyManager.getOrCreateKeyPair(wsId);
+
+    verify(signatureKeyDao, times(2)).get(wsId);
+  }
+
+  @Test
+  public void shouldPublishEventWhenKeyPairIsRemoved() throws Exception {
+    final String wsId = "ws123";
+
+    signatureKeyManager.removeKeyPair(wsId);
+
+    verify(eventService).publish(eventCaptor.capture());
+    assertEquals(eventCaptor.getValue().getWorkspaceId(), wsId);
+  }
+
+  @Test
+  public void shouldEvictCachedKeyPairOnWorkspaceStop() throws Exception {
+    final String wsId = "ws123";
+    when(signatureKeyDao.get(wsId)).thenReturn(newKeyPair(wsId));
+    signatureKeyManager.subscribe();
+    verify(eventService).subscribe(captor.capture());
+    final KeyPair keyPair = signatureKeyManager.getOrCreateKeyPair(wsId);
+
+    captor
+        .getValue()
+        .onEvent(
+            DtoFactory.newDto(WorkspaceStatusEvent.class)
+                .withStatus(WorkspaceStatus.STOPPED)
+                .withWorkspaceId(wsId));
+
+    assertNotSame(signatureKeyManager.getOrCreateKeyPair(wsId), keyPair);
+    verify(signatureKeyDao, times(2)).get(wsId);
+  }
+
+  @Test
+  public void shouldPregenerateKeyPairWhenWorkspaceIsStarting() throws Exception {
+    final String wsId = "ws123";
+    signatureKeyManager =
+        new SignatureKeyManager(KEY_SIZE, ALGORITHM, 1, 100, eventService, signatureKeyDao);
+    when(signatureKeyDao.get(wsId)).thenThrow(new NotFoundException("not found"));
+    when(signatureKeyDao.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    signatureKeyManager.subscribe();
+    verify(eventService).subscribe(captor.capture());
+
+    try {
+      captor
+          .getValue()
+          .onEvent(
+              DtoFactory.newDto(WorkspaceStatusEvent.class)
+                  .withStatus(WorkspaceStatus.STARTING)
+                  .withWorkspaceId(wsId));
+
+      verify(signatureKeyDao, timeout(5000)).create(any());
+    } finally {
+      signatureKeyManager.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldNotPregenerateKeyPairWhenWorkspaceIsStoppedBeforeGeneration() throws Exception {
+    final String wsId = "ws123";
+    signatureKeyManager =
+        new SignatureKeyManager(KEY_SIZE, ALGORITHM, 1, 100, eventService, signatureKeyDao);
+    final CountDownLatch busy = new CountDownLatch(1);
+    when(signatureKeyDao.get("busy"))
+        .thenAnswer(
+            invocation -> {
+              busy.await();
+              return newKeyPair("busy");
+            });
+    doReturn(newKeyPair("last")).when(signatureKeyDao).get("last");
+    signatureKeyManager.subscribe();
+    verify(eventService).subscribe(captor.capture());
+    final EventSubscriber<WorkspaceStatusEvent> subscriber = captor.getValue();
+
+    try {
+      subscriber.onEvent(statusEvent("busy", WorkspaceStatus.STARTING));
+      subscriber.onEvent(statusEvent(wsId, WorkspaceStatus.STARTING));
+      subscriber.onEvent(statusEvent(wsId, WorkspaceStatus.STOPPED));
+      subscriber.onEvent(statusEvent("last", WorkspaceStatus.STARTING));
+      busy.countDown();
+
+      verify(signatureKeyDao, timeout(5000)).get("last");
+      verify(signatureKeyDao, never()).get(wsId);
+      verify(signatureKeyDao, never()).create(any());
+    } finally {
+      signatureKeyManager.shutdown();
+    }
+  }
+
+  private static WorkspaceStatusEvent statusEvent(String wsId, WorkspaceStatus status) {
+    return DtoFactory.newDto(WorkspaceStatusEvent.class).withStatus(status).withWorkspaceId(wsId);
+  }
+
   private SignatureKeyPairImpl newKeyPair(String id) {
     final KeyPair pair = kpg.generateKeyPair();
     return new SignatureKeyPairImpl(id, pair.getPublic(), pair.getPrivate());
@@ -16,9 +16,14 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.Pages.iterate;
+import static org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl.SUMMARY_ATTRIBUTES;
 
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
@@ -28,6 +33,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -38,8 +44,10 @@ import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -59,6 +67,25 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
           + "          LEFT JOIN worker.workspace ws "
           + "          WHERE worker.userId = :userId "
           + "          AND 'read' MEMBER OF worker.actions";
+  private static final String findSummariesByWorkerQuery =
+      "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl("
+          + "          ws.id, ws.name, ws.account.name, ws.isTemporary) "
+          + "          FROM Worker worker  "
+          + "          LEFT JOIN worker.workspace ws "
+          + "          WHERE worker.userId = :userId "
+          + "          AND 'read' MEMBER OF worker.actions "
+          + "          AND ws.id > :afterId "
+          + "          ORDER BY ws.id";
+  private static final String findSummariesByWorkerAndIdsQuery =
+      "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl("
+          + "          ws.id, ws.name, ws.account.name, ws.isTemporary) "
+          + "          FROM Worker worker  "
+          + "          LEFT JOIN worker.workspace ws "
+          + "          WHERE worker.userId = :userId "
+          + "          AND 'read' MEMBER OF worker.actions "
+          + "          AND ws.id > :afterId "
+          + "          AND ws.id IN :ids "
+          + "          ORDER BY ws.id";
   private static final String findByWorkerCountQuery =
       "SELECT COUNT(ws) FROM Worker worker  "
           + "          LEFT JOIN worker.workspace ws "
@@ -235,6 +262,42 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceSummaryImpl> getWorkspaceSummaries(
+      String userId, @Nullable Collection<String> ids, @Nullable String afterId, int maxItems)
+      throws ServerException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    if (ids != null && ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    try {
+      final EntityManager manager = managerProvider.get();
+      final TypedQuery<WorkspaceSummaryImpl> query;
+      if (ids == null) {
+        query =
+            manager
+                .createQuery(findSummariesByWorkerQuery, WorkspaceSummaryImpl.class)
+                .setParameter("userId", userId);
+      } else {
+        query =
+            manager
+                .createQuery(findSummariesByWorkerAndIdsQuery, WorkspaceSummaryImpl.class)
+                .setParameter("userId", userId)
+                .setParameter("ids", ids);
+      }
+      final List<WorkspaceSummaryImpl> summaries =
+          query
+              .setParameter("afterId", afterId == null ? "" : afterId)
+              .setMaxResults(maxItems)
+              .getResultList();
+      fetchSummaryAttributes(manager, summaries);
+      return summaries;
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -274,6 +337,28 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     return merged;
   }
 
+  /** Fetches {@link WorkspaceSummaryImpl#SUMMARY_ATTRIBUTES} of all the given summaries at once. */
+  private void fetchSummaryAttributes(EntityManager manager, List<WorkspaceSummaryImpl> summaries) {
+    if (summaries.isEmpty()) {
+      return;
+    }
+    final Map<String, WorkspaceSummaryImpl> byId = new HashMap<>();
+    for (WorkspaceSummaryImpl summary : summaries) {
+      byId.put(summary.getId(), summary);
+    }
+    final List<Object[]> attributes =
+        manager
+            .createNamedQuery("Workspace.getSummaryAttributes", Object[].class)
+            .setParameter("ids", byId.keySet())
+            .setParameter("names", SUMMARY_ATTRIBUTES)
+            .getResultList();
+    for (Object[] attribute : attributes) {
+      byId.get((String) attribute[0])
+          .getAttributes()
+          .put((String) attribute[1], (String) attribute[2]);
+    }
+  }
+
   @Singleton
   public static class RemoveWorkspaceBeforeAccountRemovedEventSubscriber
       extends CascadeEventSubscriber<BeforeAccountRemovedEvent> {
@@ -258,6 +258,23 @@ public class WorkspacePermissionsFilterTest {
     verifyZeroInteractions(subject);
   }
 
+  @Test
+  public void shouldNotCheckPermissionsPermissionsOnWorkspaceSummariesGetting() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .when()
+            .get(SECURE_PATH + "/workspace/summary");
+
+    assertEquals(response.getStatusCode(), 204);
+    verify(workspaceService)
+        .getWorkspaceSummaries(nullable(String.class), anyInt(), nullable(String.class));
+    verify(permissionsFilter, never()).checkAccountPermissions(anyString(), any());
+    verifyZeroInteractions(subject);
+  }
+
   @Test
   public void shouldCheckUserPermissionsOnWorkspaceStopping() throws Exception {
     when(superPrivilegesChecker.hasSuperPrivileges()).thenReturn(false);
@@ -17,12 +17,14 @@ import static org.testng.Assert.assertTrue;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
 import org.eclipse.che.multiuser.permission.workspace.server.model.impl.WorkerImpl;
 import org.eclipse.che.multiuser.permission.workspace.server.spi.jpa.MultiuserJpaWorkspaceDao;
@@ -138,4 +140,38 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldFindWorkspaceSummariesByPermissions() throws Exception {
+    List<WorkspaceSummaryImpl> results =
+        dao.getWorkspaceSummaries(users[0].getId(), null, null, 30);
+
+    assertEquals(
+        results,
+        Arrays.asList(
+            new WorkspaceSummaryImpl("ws1", "wrksp1", account.getName(), false),
+            new WorkspaceSummaryImpl("ws2", "wrksp2", account.getName(), false)));
+  }
+
+  @Test
+  public void shouldFindWorkspaceSummariesByPermissionsAndIds() throws Exception {
+    List<WorkspaceSummaryImpl> results =
+        dao.getWorkspaceSummaries(users[0].getId(), Arrays.asList("ws2", "ws3"), null, 30);
+
+    assertEquals(
+        results,
+        Collections.singletonList(
+            new WorkspaceSummaryImpl("ws2", "wrksp2", account.getName(), false)));
+  }
+
+  @Test
+  public void shouldFindWorkspaceSummariesAfterGivenId() throws Exception {
+    List<WorkspaceSummaryImpl> results =
+        dao.getWorkspaceSummaries(users[0].getId(), null, "ws1", 30);
+
+    assertEquals(
+        results,
+        Collections.singletonList(
+            new WorkspaceSummaryImpl("ws2", "wrksp2", account.getName(), false)));
+  }
 }
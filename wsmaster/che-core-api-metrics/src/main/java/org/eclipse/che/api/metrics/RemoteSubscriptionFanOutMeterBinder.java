@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionFanOutListener;
+
+/**
+ * {@link MeterBinder} that is providing metrics about the time and the number of recipients of
+ * events delivery to the remote subscribers of JSON-RPC methods.
+ */
+@Singleton
+public class RemoteSubscriptionFanOutMeterBinder
+    implements MeterBinder, RemoteSubscriptionFanOutListener {
+
+  private final Map<String, FanOutMeters> methodsMeters = new ConcurrentHashMap<>();
+
+  private volatile MeterRegistry registry;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void onFanOut(String method, int recipients, long durationNanos) {
+    MeterRegistry registry = this.registry;
+    if (registry == null) {
+      return;
+    }
+    // meters are registered lazily since methods are registered by other components
+    FanOutMeters meters = methodsMeters.computeIfAbsent(method, m -> new FanOutMeters(registry, m));
+    meters.time.record(durationNanos, TimeUnit.NANOSECONDS);
+    meters.recipients.record(recipients);
+  }
+
+  private static class FanOutMeters {
+
+    private final Timer time;
+    private final DistributionSummary recipients;
+
+    private FanOutMeters(MeterRegistry registry, String method) {
+      time =
+          Timer.builder("che.jsonrpc.fanout.time")
+              .description("The time of delivering an event to the subscribers of a method")
+              .tags(withStandardTags("method", method))
+              .publishPercentileHistogram()
+              .register(registry);
+      recipients =
+          DistributionSummary.builder("che.jsonrpc.fanout.recipients")
+              .description("The number of subscribers an event was delivered to")
+              .tags(withStandardTags("method", method))
+              .register(registry);
+    }
+  }
+}
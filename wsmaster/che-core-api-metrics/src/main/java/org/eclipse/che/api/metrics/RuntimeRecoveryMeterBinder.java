@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import com.google.inject.Inject;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.RuntimeRecoveryQueue;
+
+/**
+ * {@link MeterBinder} that is providing metrics about the progress of workspace runtimes recovery
+ * after Che Server restart.
+ */
+@Singleton
+public class RuntimeRecoveryMeterBinder implements MeterBinder {
+
+  private final RuntimeRecoveryQueue recoveryQueue;
+
+  @Inject
+  public RuntimeRecoveryMeterBinder(RuntimeRecoveryQueue recoveryQueue) {
+    this.recoveryQueue = recoveryQueue;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(
+            workspaceMetric("recovery.queued"), recoveryQueue, RuntimeRecoveryQueue::getQueuedCount)
+        .description("The number of workspace runtimes waiting to be recovered")
+        .tags(withStandardTags())
+        .register(registry);
+
+    FunctionCounter.builder(
+            workspaceMetric("recovery.runtimes"),
+            recoveryQueue,
+            RuntimeRecoveryQueue::getRecoveredCount)
+        .description("The number of processed workspace runtimes recoveries")
+        .tags(withStandardTags("result", "recovered"))
+        .register(registry);
+
+    FunctionCounter.builder(
+            workspaceMetric("recovery.runtimes"),
+            recoveryQueue,
+            RuntimeRecoveryQueue::getFailedCount)
+        .description("The number of processed workspace runtimes recoveries")
+        .tags(withStandardTags("result", "failed"))
+        .register(registry);
+
+    TimeGauge.builder(
+            workspaceMetric("recovery.remaining.time"),
+            recoveryQueue,
+            SECONDS,
+            q -> q.getEstimatedRemainingTime(SECONDS))
+        .description("The estimated time remaining until all the queued runtimes are recovered")
+        .tags(withStandardTags())
+        .register(registry);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import com.google.inject.Inject;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.hc.ServerCheckerScheduler;
+
+/**
+ * {@link MeterBinder} that is providing metrics about the number and duration of workspace servers
+ * readiness checks.
+ */
+@Singleton
+public class ServerCheckerMeterBinder implements MeterBinder {
+
+  private final ServerCheckerScheduler scheduler;
+
+  @Inject
+  public ServerCheckerMeterBinder(ServerCheckerScheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    bindChecksTimer(registry, true, "available");
+    bindChecksTimer(registry, false, "unavailable");
+  }
+
+  private void bindChecksTimer(MeterRegistry registry, boolean available, String result) {
+    FunctionTimer.builder(
+            workspaceMetric("server.check.time"),
+            scheduler,
+            s -> s.getChecksCount(available),
+            s -> s.getChecksTotalTime(available, MILLISECONDS),
+            MILLISECONDS)
+        .description("The time of workspace server readiness check")
+        .tags(withStandardTags("result", result))
+        .register(registry);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+
+import com.google.inject.Inject;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.ToDoubleFunction;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.websocket.impl.BasicWebSocketMessageTransmitter;
+
+/**
+ * {@link MeterBinder} that is providing metrics about messages sent to websocket clients and about
+ * the clients that don't keep up with them.
+ */
+@Singleton
+public class WebSocketTransmitterMeterBinder implements MeterBinder {
+
+  private final BasicWebSocketMessageTransmitter transmitter;
+
+  @Inject
+  public WebSocketTransmitterMeterBinder(BasicWebSocketMessageTransmitter transmitter) {
+    this.transmitter = transmitter;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(
+            "che.websocket.outbound.queued",
+            transmitter,
+            BasicWebSocketMessageTransmitter::getQueuedCount)
+        .description("The number of messages waiting in websocket sessions outbound queues")
+        .tags(withStandardTags())
+        .register(registry);
+
+    bindMessagesCounter(registry, "sent", t -> t.getSentCount(true));
+    bindMessagesCounter(registry, "failed", t -> t.getSentCount(false));
+    bindMessagesCounter(registry, "dropped", BasicWebSocketMessageTransmitter::getDroppedCount);
+
+    FunctionCounter.builder(
+            "che.websocket.outbound.disconnects",
+            transmitter,
+            BasicWebSocketMessageTransmitter::getDisconnectedCount)
+        .description("The number of websocket sessions closed because of full outbound queues")
+        .tags(withStandardTags())
+        .register(registry);
+  }
+
+  private void bindMessagesCounter(
+      MeterRegistry registry,
+      String result,
+      ToDoubleFunction<BasicWebSocketMessageTransmitter> count) {
+    FunctionCounter.builder("che.websocket.outbound.messages", transmitter, count)
+        .description("The number of outbound websocket messages")
+        .tags(withStandardTags("result", result))
+        .register(registry);
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import com.google.inject.Inject;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.WorkspaceLockStatistics;
+
+/**
+ * {@link MeterBinder} that is providing metrics about acquisitions of workspace locks and their
+ * contention.
+ */
+@Singleton
+public class WorkspaceLockMeterBinder implements MeterBinder {
+
+  private final WorkspaceLockStatistics statistics;
+
+  @Inject
+  public WorkspaceLockMeterBinder(WorkspaceLockStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    bindLockMeters(registry, false, "read");
+    bindLockMeters(registry, true, "write");
+  }
+
+  private void bindLockMeters(MeterRegistry registry, boolean write, String mode) {
+    FunctionTimer.builder(
+            workspaceMetric("lock.acquisition.time"),
+            statistics,
+            s -> s.getAcquisitionsCount(write),
+            s -> s.getWaitTime(write, MILLISECONDS),
+            MILLISECONDS)
+        .description("The time of workspace lock acquisition")
+        .tags(withStandardTags("mode", mode))
+        .register(registry);
+
+    FunctionCounter.builder(
+            workspaceMetric("lock.contended"), statistics, s -> s.getContendedCount(write))
+        .description("The number of workspace lock acquisitions that waited for another owner")
+        .tags(withStandardTags("mode", mode))
+        .register(registry);
+  }
+}
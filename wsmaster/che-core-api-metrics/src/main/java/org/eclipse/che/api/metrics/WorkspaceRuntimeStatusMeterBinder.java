@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import com.google.inject.Inject;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+
+/**
+ * {@link MeterBinder} that is providing the number of workspace runtimes in each status. The values
+ * are taken from the status indexes of {@link WorkspaceStatusCache}, so they are cheap to collect.
+ */
+@Singleton
+public class WorkspaceRuntimeStatusMeterBinder implements MeterBinder {
+
+  private final WorkspaceStatusCache statuses;
+
+  @Inject
+  public WorkspaceRuntimeStatusMeterBinder(WorkspaceStatusCache statuses) {
+    this.statuses = statuses;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (WorkspaceStatus status : WorkspaceStatus.values()) {
+      if (status == WorkspaceStatus.STOPPED) {
+        // stopped workspaces don't have runtimes
+        continue;
+      }
+      Gauge.builder(workspaceMetric("runtime.status"), statuses, s -> s.count(status))
+          .tags(withStandardTags("status", status.name()))
+          .description("The number of workspace runtimes in a given status")
+          .register(registry);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import com.google.inject.Inject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.RuntimeStartPhaseEvent;
+
+/**
+ * {@link MeterBinder} that is providing metrics about the time of workspace start phases, tagged by
+ * the phase, infrastructure, recipe type and the result of the phase.
+ */
+@Singleton
+public class WorkspaceStartPhasesMeterBinder implements MeterBinder {
+
+  private static final String UNKNOWN_TAG_VALUE = "unknown";
+
+  private final EventService eventService;
+
+  private MeterRegistry registry;
+
+  @Inject
+  public WorkspaceStartPhasesMeterBinder(EventService eventService) {
+    this.eventService = eventService;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+    eventService.subscribe(this::handleStartPhase, RuntimeStartPhaseEvent.class);
+  }
+
+  private void handleStartPhase(RuntimeStartPhaseEvent event) {
+    // timers are registered lazily since the set of phases is defined by infrastructures,
+    // already registered timer is returned by the registry for the same name and tags
+    Timer.builder(workspaceMetric("start.phase.time"))
+        .description("The time of workspace start phase")
+        .tags(
+            withStandardTags(
+                "phase",
+                event.getPhase(),
+                "infrastructure",
+                tagValue(event.getInfrastructure()),
+                "recipe_type",
+                tagValue(event.getRecipeType()),
+                "result",
+                event.isSucceeded() ? "success" : "fail"))
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(10))
+        .maximumExpectedValue(Duration.ofMinutes(15))
+        .register(registry)
+        .record(event.getDurationNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private static String tagValue(String value) {
+    return value != null ? value : UNKNOWN_TAG_VALUE;
+  }
+}
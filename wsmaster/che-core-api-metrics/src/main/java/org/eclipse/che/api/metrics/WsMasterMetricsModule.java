@@ -14,6 +14,7 @@ package org.eclipse.che.api.metrics;
 import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.Multibinder;
 import io.micrometer.core.instrument.binder.MeterBinder;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionFanOutListener;
 
 /**
  * A Guice module to bind all our metric binders to a single multi-binder. The set of all metric
@@ -29,10 +30,19 @@ public class WsMasterMetricsModule extends AbstractModule {
     meterMultibinder.addBinding().to(WorkspaceActivityMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceFailureMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceStartTrackerMeterBinder.class);
+    meterMultibinder.addBinding().to(WorkspaceStartPhasesMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceStopTrackerMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceSuccessfulStartAttemptsMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceSuccessfulStopAttemptsMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceStartAttemptsMeterBinder.class);
     meterMultibinder.addBinding().to(UserMeterBinder.class);
+    meterMultibinder.addBinding().to(ServerCheckerMeterBinder.class);
+    meterMultibinder.addBinding().to(WorkspaceLockMeterBinder.class);
+    meterMultibinder.addBinding().to(WebSocketTransmitterMeterBinder.class);
+    meterMultibinder.addBinding().to(RemoteSubscriptionFanOutMeterBinder.class);
+    meterMultibinder.addBinding().to(RuntimeRecoveryMeterBinder.class);
+    meterMultibinder.addBinding().to(WorkspaceRuntimeStatusMeterBinder.class);
+
+    bind(RemoteSubscriptionFanOutListener.class).to(RemoteSubscriptionFanOutMeterBinder.class);
   }
 }
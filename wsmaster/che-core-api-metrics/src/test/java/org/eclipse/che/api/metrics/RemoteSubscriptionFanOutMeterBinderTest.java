@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RemoteSubscriptionFanOutMeterBinderTest {
+
+  private RemoteSubscriptionFanOutMeterBinder binder;
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    binder = new RemoteSubscriptionFanOutMeterBinder();
+  }
+
+  @Test
+  public void shouldRecordFanOutsByMethod() {
+    binder.bindTo(registry);
+
+    binder.onFanOut("method1", 3, MILLISECONDS.toNanos(10));
+    binder.onFanOut("method1", 5, MILLISECONDS.toNanos(20));
+    binder.onFanOut("method2", 1, MILLISECONDS.toNanos(1));
+
+    Timer time =
+        registry
+            .find("che.jsonrpc.fanout.time")
+            .tags(withStandardTags("method", "method1"))
+            .timer();
+    DistributionSummary recipients =
+        registry
+            .find("che.jsonrpc.fanout.recipients")
+            .tags(withStandardTags("method", "method1"))
+            .summary();
+    assertEquals(time.count(), 2);
+    assertEquals(time.totalTime(MILLISECONDS), 30.0);
+    assertEquals(recipients.totalAmount(), 8.0);
+    assertEquals(
+        registry.find("che.jsonrpc.fanout.time").tag("method", "method2").timer().count(), 1);
+  }
+
+  @Test
+  public void shouldIgnoreFanOutsBeforeBinding() {
+    binder.onFanOut("method1", 3, MILLISECONDS.toNanos(10));
+
+    binder.bindTo(registry);
+
+    assertTrue(registry.getMeters().isEmpty());
+  }
+}
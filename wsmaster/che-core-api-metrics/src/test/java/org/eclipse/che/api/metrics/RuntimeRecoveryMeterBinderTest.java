@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.doReturn;
+import static org.testng.Assert.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.workspace.server.RuntimeRecoveryQueue;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class RuntimeRecoveryMeterBinderTest {
+
+  @Mock private RuntimeRecoveryQueue recoveryQueue;
+
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    new RuntimeRecoveryMeterBinder(recoveryQueue).bindTo(registry);
+  }
+
+  @Test
+  public void shouldExposeRecoveryProgress() {
+    doReturn(40).when(recoveryQueue).getQueuedCount();
+    doReturn(55L).when(recoveryQueue).getRecoveredCount();
+    doReturn(5L).when(recoveryQueue).getFailedCount();
+    doReturn(120.0).when(recoveryQueue).getEstimatedRemainingTime(SECONDS);
+
+    assertEquals(registry.find("che.workspace.recovery.queued").gauge().value(), 40.0);
+    assertEquals(runtimes("recovered"), 55.0);
+    assertEquals(runtimes("failed"), 5.0);
+    assertEquals(
+        registry.find("che.workspace.recovery.remaining.time").timeGauge().value(SECONDS), 120.0);
+  }
+
+  private double runtimes(String result) {
+    return registry
+        .find("che.workspace.recovery.runtimes")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
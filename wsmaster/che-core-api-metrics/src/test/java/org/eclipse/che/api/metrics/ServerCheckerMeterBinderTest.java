@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.Mockito.doReturn;
+import static org.testng.Assert.assertEquals;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.workspace.server.hc.ServerCheckerScheduler;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class ServerCheckerMeterBinderTest {
+
+  @Mock private ServerCheckerScheduler scheduler;
+
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    new ServerCheckerMeterBinder(scheduler).bindTo(registry);
+  }
+
+  @Test
+  public void shouldExposeChecksStatisticsByResult() {
+    doReturn(2L).when(scheduler).getChecksCount(true);
+    doReturn(30.0).when(scheduler).getChecksTotalTime(true, MILLISECONDS);
+    doReturn(5L).when(scheduler).getChecksCount(false);
+    doReturn(1000.0).when(scheduler).getChecksTotalTime(false, MILLISECONDS);
+
+    FunctionTimer available =
+        registry.find("che.workspace.server.check.time").tag("result", "available").functionTimer();
+    FunctionTimer unavailable =
+        registry
+            .find("che.workspace.server.check.time")
+            .tag("result", "unavailable")
+            .functionTimer();
+
+    assertEquals(available.count(), 2.0);
+    assertEquals(available.totalTime(MILLISECONDS), 30.0);
+    assertEquals(unavailable.count(), 5.0);
+    assertEquals(unavailable.totalTime(MILLISECONDS), 1000.0);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.mockito.Mockito.doReturn;
+import static org.testng.Assert.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.core.websocket.impl.BasicWebSocketMessageTransmitter;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketTransmitterMeterBinderTest {
+
+  @Mock private BasicWebSocketMessageTransmitter transmitter;
+
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    new WebSocketTransmitterMeterBinder(transmitter).bindTo(registry);
+  }
+
+  @Test
+  public void shouldExposeOutboundMessagesStatistics() {
+    doReturn(7L).when(transmitter).getQueuedCount();
+    doReturn(100L).when(transmitter).getSentCount(true);
+    doReturn(2L).when(transmitter).getSentCount(false);
+    doReturn(5L).when(transmitter).getDroppedCount();
+    doReturn(1L).when(transmitter).getDisconnectedCount();
+
+    assertEquals(
+        registry.find("che.websocket.outbound.queued").tags(withStandardTags()).gauge().value(),
+        7.0);
+    assertEquals(messages("sent"), 100.0);
+    assertEquals(messages("failed"), 2.0);
+    assertEquals(messages("dropped"), 5.0);
+    assertEquals(
+        registry
+            .find("che.websocket.outbound.disconnects")
+            .tags(withStandardTags())
+            .functionCounter()
+            .count(),
+        1.0);
+  }
+
+  private double messages(String result) {
+    return registry
+        .find("che.websocket.outbound.messages")
+        .tags(withStandardTags("result", result))
+        .functionCounter()
+        .count();
+  }
+}
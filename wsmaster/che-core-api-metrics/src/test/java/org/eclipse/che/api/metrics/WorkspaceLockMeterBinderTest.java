@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.Mockito.doReturn;
+import static org.testng.Assert.assertEquals;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.workspace.server.WorkspaceLockStatistics;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceLockMeterBinderTest {
+
+  @Mock private WorkspaceLockStatistics statistics;
+
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    new WorkspaceLockMeterBinder(statistics).bindTo(registry);
+  }
+
+  @Test
+  public void shouldExposeLocksStatisticsByMode() {
+    doReturn(10L).when(statistics).getAcquisitionsCount(false);
+    doReturn(5.0).when(statistics).getWaitTime(false, MILLISECONDS);
+    doReturn(1L).when(statistics).getContendedCount(false);
+    doReturn(4L).when(statistics).getAcquisitionsCount(true);
+    doReturn(300.0).when(statistics).getWaitTime(true, MILLISECONDS);
+    doReturn(3L).when(statistics).getContendedCount(true);
+
+    FunctionTimer readTimer =
+        registry.find("che.workspace.lock.acquisition.time").tag("mode", "read").functionTimer();
+    FunctionTimer writeTimer =
+        registry.find("che.workspace.lock.acquisition.time").tag("mode", "write").functionTimer();
+    FunctionCounter readContended =
+        registry.find("che.workspace.lock.contended").tag("mode", "read").functionCounter();
+    FunctionCounter writeContended =
+        registry.find("che.workspace.lock.contended").tag("mode", "write").functionCounter();
+
+    assertEquals(readTimer.count(), 10.0);
+    assertEquals(readTimer.totalTime(MILLISECONDS), 5.0);
+    assertEquals(writeTimer.count(), 4.0);
+    assertEquals(writeTimer.totalTime(MILLISECONDS), 300.0);
+    assertEquals(readContended.count(), 1.0);
+    assertEquals(writeContended.count(), 3.0);
+  }
+}
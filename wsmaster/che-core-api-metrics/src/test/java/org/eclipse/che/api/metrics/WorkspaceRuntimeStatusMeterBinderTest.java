@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.mockito.Mockito.doReturn;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceRuntimeStatusMeterBinderTest {
+
+  @Mock private WorkspaceStatusCache statuses;
+
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    new WorkspaceRuntimeStatusMeterBinder(statuses).bindTo(registry);
+  }
+
+  @Test
+  public void shouldExposeNumberOfRuntimesInEachStatus() {
+    doReturn(3).when(statuses).count(WorkspaceStatus.STARTING);
+    doReturn(10).when(statuses).count(WorkspaceStatus.RUNNING);
+    doReturn(1).when(statuses).count(WorkspaceStatus.STOPPING);
+
+    assertEquals(status(WorkspaceStatus.STARTING), 3.0);
+    assertEquals(status(WorkspaceStatus.RUNNING), 10.0);
+    assertEquals(status(WorkspaceStatus.STOPPING), 1.0);
+    assertNull(
+        registry
+            .find("che.workspace.runtime.status")
+            .tag("status", WorkspaceStatus.STOPPED.name())
+            .gauge());
+  }
+
+  private double status(WorkspaceStatus status) {
+    return registry
+        .find("che.workspace.runtime.status")
+        .tag("status", status.name())
+        .gauge()
+        .value();
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.RuntimeStartPhaseEvent;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class WorkspaceStartPhasesMeterBinderTest {
+
+  private static final RuntimeIdentityImpl IDENTITY =
+      new RuntimeIdentityImpl("ws1", "env", "owner", "ns");
+
+  private EventService eventService;
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    registry = new SimpleMeterRegistry();
+    new WorkspaceStartPhasesMeterBinder(eventService).bindTo(registry);
+  }
+
+  @Test
+  public void shouldRecordPhaseTimeByPhaseAndResult() {
+    // when
+    eventService.publish(phaseEvent("volumes_preparation", 2, true));
+    eventService.publish(phaseEvent("volumes_preparation", 4, true));
+    eventService.publish(phaseEvent("machines_start", 60, false));
+
+    // then
+    Timer volumes =
+        registry
+            .find("che.workspace.start.phase.time")
+            .tags("phase", "volumes_preparation", "result", "success")
+            .tags("infrastructure", "kubernetes", "recipe_type", "kubernetes")
+            .timer();
+    assertNotNull(volumes);
+    assertEquals(volumes.count(), 2);
+    assertEquals(volumes.totalTime(TimeUnit.SECONDS), 6.0);
+
+    Timer machines =
+        registry
+            .find("che.workspace.start.phase.time")
+            .tags("phase", "machines_start", "result", "fail")
+            .timer();
+    assertNotNull(machines);
+    assertEquals(machines.count(), 1);
+    assertNull(
+        registry
+            .find("che.workspace.start.phase.time")
+            .tags("phase", "machines_start", "result", "success")
+            .timer());
+  }
+
+  @Test
+  public void shouldTagUnknownInfrastructureAndRecipeType() {
+    // when
+    eventService.publish(
+        new RuntimeStartPhaseEvent(
+            IDENTITY, null, null, "queued", TimeUnit.SECONDS.toNanos(1), true));
+
+    // then
+    Timer timer =
+        registry
+            .find("che.workspace.start.phase.time")
+            .tags("phase", "queued", "infrastructure", "unknown", "recipe_type", "unknown")
+            .timer();
+    assertNotNull(timer);
+    assertEquals(timer.count(), 1);
+  }
+
+  private static RuntimeStartPhaseEvent phaseEvent(
+      String phase, long durationSeconds, boolean succeeded) {
+    return new RuntimeStartPhaseEvent(
+        IDENTITY,
+        "kubernetes",
+        "kubernetes",
+        phase,
+        TimeUnit.SECONDS.toNanos(durationSeconds),
+        succeeded);
+  }
+}
@@ -14,7 +14,10 @@ package org.eclipse.che.api.workspace.activity;
 import static java.util.Objects.requireNonNull;
 
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -36,6 +39,8 @@ import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
 @Singleton
 public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
 
+  private static final int MAX_IDS_PER_QUERY = 1000;
+
   @Inject private Provider<EntityManager> managerProvider;
 
   @Override
@@ -44,6 +49,43 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     doUpdate(workspaceId, a -> a.setExpiration(expirationTime));
   }
 
+  @Override
+  public void setExpirationTimes(Map<String, Long> expirationTimes) throws ServerException {
+    requireNonNull(expirationTimes, "Required non-null expiration times");
+    List<String> missing;
+    try {
+      missing = doUpdateExpirations(expirationTimes);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getMessage(), x);
+    }
+    // activity records are created by the usual update
+    for (String workspaceId : missing) {
+      setExpirationTime(workspaceId, expirationTimes.get(workspaceId));
+    }
+  }
+
+  /**
+   * Updates expiration times within a single transaction.
+   *
+   * @return ids of workspaces which don't have activity records
+   */
+  @Transactional
+  List<String> doUpdateExpirations(Map<String, Long> expirationTimes) {
+    EntityManager em = managerProvider.get();
+    List<String> missing = new ArrayList<>();
+    for (Map.Entry<String, Long> entry : expirationTimes.entrySet()) {
+      int updated =
+          em.createNamedQuery("WorkspaceActivity.updateExpiration")
+              .setParameter("expiration", entry.getValue())
+              .setParameter("workspaceId", entry.getKey())
+              .executeUpdate();
+      if (updated == 0) {
+        missing.add(entry.getKey());
+      }
+    }
+    return missing;
+  }
+
   @Override
   public void removeExpiration(String workspaceId) throws ServerException {
     requireNonNull(workspaceId, "Required non-null workspace id");
@@ -205,6 +247,30 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     }
   }
 
+  @Override
+  @Transactional(rollbackOn = ServerException.class)
+  public List<WorkspaceActivity> findActivities(Collection<String> workspaceIds)
+      throws ServerException {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    List<String> ids = new ArrayList<>(workspaceIds);
+    List<WorkspaceActivity> activities = new ArrayList<>(ids.size());
+    try {
+      EntityManager em = managerProvider.get();
+      // the ids are split into chunks to keep the size of the IN clause reasonable
+      for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+        activities.addAll(
+            em.createNamedQuery("WorkspaceActivity.getByIds", WorkspaceActivity.class)
+                .setParameter(
+                    "workspaceIds",
+                    ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY)))
+                .getResultList());
+      }
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+    return activities;
+  }
+
   @Override
   @Transactional(rollbackOn = ServerException.class)
   public Page<WorkspaceActivity> getAll(int maxItems, long skipCount) throws ServerException {
@@ -28,6 +28,11 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
   @NamedQuery(
       name = "WorkspaceActivity.getExpired",
       query = "SELECT a FROM WorkspaceActivity a WHERE a.expiration < :expiration"),
+  @NamedQuery(
+      name = "WorkspaceActivity.updateExpiration",
+      query =
+          "UPDATE WorkspaceActivity a SET a.expiration = :expiration"
+              + " WHERE a.workspaceId = :workspaceId"),
   @NamedQuery(
       name = "WorkspaceActivity.getStoppedSince",
       query =
@@ -76,6 +81,9 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
           "SELECT COUNT(a) FROM WorkspaceActivity a"
               + " WHERE a.status = org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING"
               + " AND a.lastStarting <= :time"),
+  @NamedQuery(
+      name = "WorkspaceActivity.getByIds",
+      query = "SELECT a FROM WorkspaceActivity a WHERE a.workspaceId IN :workspaceIds"),
   @NamedQuery(name = "WorkspaceActivity.getAll", query = "SELECT a FROM WorkspaceActivity a"),
   @NamedQuery(
       name = "WorkspaceActivity.getAllCount",
@@ -19,6 +19,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Pages;
@@ -38,6 +40,10 @@ import org.slf4j.LoggerFactory;
  * {@link #cleanup()} which will try to clean up and reconcile the possibly invalid activity
  * records.
  *
+ * <p>Once the activity records are visited by {@link #cleanup()}, the expired workspaces are found
+ * using the in-memory expiry index of the {@link WorkspaceActivityManager}, and the storage is only
+ * swept by the low-frequency cleanup which also reloads the index.
+ *
  * @author Lukas Krejci
  */
 @Singleton
@@ -101,7 +107,7 @@ public class WorkspaceActivityChecker {
 
   private void stopAllExpired() {
     try {
-      activityDao.findExpired(clock.millis()).forEach(this::stopExpiredQuietly);
+      workspaceActivityManager.findExpired(clock.millis()).forEach(this::stopExpiredQuietly);
     } catch (ServerException e) {
       LOG.error("Failed to list all expired to perform stop. Cause: {}", e.getMessage(), e);
     }
@@ -173,11 +179,17 @@ public class WorkspaceActivityChecker {
 
   /**
    * Makes sure that any activity records are rectified if they do not reflect the true state of the
-   * workspace anymore.
+   * workspace anymore. Also reloads the expiry index of the activity manager from the visited
+   * records.
    */
   private void reconcileActivityStatuses() {
+    Map<String, Long> expirations = new HashMap<>();
+    workspaceActivityManager.startExpiryIndexReload();
     try {
       for (WorkspaceActivity a : Pages.iterateLazily(activityDao::getAll, 200)) {
+        if (a.getExpiration() != null) {
+          expirations.put(a.getWorkspaceId(), a.getExpiration());
+        }
         try {
           reconcileOne(a);
         } catch (Exception e) {
@@ -190,7 +202,10 @@ public class WorkspaceActivityChecker {
       }
     } catch (RuntimeException e) {
       LOG.error("Failed to load all activites to reconcile them. Cause: {}", e.getMessage(), e);
+      workspaceActivityManager.cancelExpiryIndexReload();
+      return;
     }
+    workspaceActivityManager.completeExpiryIndexReload(expirations);
   }
 
   private void reconcileOne(WorkspaceActivity a) throws ServerException {
@@ -11,7 +11,10 @@
  */
 package org.eclipse.che.api.workspace.activity;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
@@ -34,6 +37,19 @@ public interface WorkspaceActivityDao {
    */
   void setExpirationTime(String workspaceId, long expirationTime) throws ServerException;
 
+  /**
+   * Sets expiration times of several workspaces at once.
+   *
+   * @param expirationTimes the new expiration times indexed by the workspaces ids
+   * @throws ServerException when operation failed
+   * @see #setExpirationTime(String, long)
+   */
+  default void setExpirationTimes(Map<String, Long> expirationTimes) throws ServerException {
+    for (Map.Entry<String, Long> entry : expirationTimes.entrySet()) {
+      setExpirationTime(entry.getKey(), entry.getValue());
+    }
+  }
+
   /**
    * Removes workspace expiration time (basically used on ws stop).
    *
@@ -107,6 +123,27 @@ public interface WorkspaceActivityDao {
    */
   WorkspaceActivity findActivity(String workspaceId) throws ServerException;
 
+  /**
+   * Returns the workspace activity records of the provided workspaces, workspaces which don't have
+   * a record are skipped.
+   *
+   * @param workspaceIds the ids of the workspaces
+   * @return the workspace activity instances
+   * @throws ServerException on error
+   * @see #findActivity(String)
+   */
+  default List<WorkspaceActivity> findActivities(Collection<String> workspaceIds)
+      throws ServerException {
+    List<WorkspaceActivity> activities = new ArrayList<>(workspaceIds.size());
+    for (String workspaceId : workspaceIds) {
+      WorkspaceActivity activity = findActivity(workspaceId);
+      if (activity != null) {
+        activities.add(activity);
+      }
+    }
+    return activities;
+  }
+
   /**
    * Creates a new activity record. Fails if activity record already exists.
    *
@@ -14,9 +14,18 @@ package org.eclipse.che.api.workspace.activity;
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_BY;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -31,6 +40,7 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +54,21 @@ import org.slf4j.LoggerFactory;
  * one minute rate. If workspace idle timeout is negative, then workspace would not be stopped
  * automatically.
  *
+ * <p>Activity updates are coalesced in memory, so only the latest expiration time of a workspace is
+ * persisted, and flushed to the storage in batches every {@code
+ * che.workspace.activity_flush_period_s} seconds, before the expired workspaces lookup and on the
+ * server shutdown. If the flush period is not positive, updates are written to the storage
+ * immediately.
+ *
+ * <p>Expiration times are also tracked by the in-memory {@link WorkspaceExpiryIndex}, so expired
+ * workspaces are found without querying the storage once the index is loaded by the {@link
+ * WorkspaceActivityChecker}.
+ *
+ * <p>Idle timeouts are resolved once per workspace, when it becomes running or when its first
+ * activity is handled by this server, and dropped when the workspace is stopped or removed.
+ * Timeouts of workspaces stopped by other servers of the cluster are dropped after {@link
+ * #IDLE_TIMEOUT_CACHE_EXPIRY_MINUTES} minutes.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -51,9 +76,12 @@ public class WorkspaceActivityManager {
 
   public static final long MINIMAL_TIMEOUT = 300_000L;
 
+  static final long IDLE_TIMEOUT_CACHE_EXPIRY_MINUTES = 10;
+
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceActivityManager.class);
 
   private final long defaultTimeout;
+  private final long flushPeriodSeconds;
   private final WorkspaceActivityDao activityDao;
   private final EventService eventService;
   private final EventSubscriber<WorkspaceStatusEvent> updateStatusChangedTimestampSubscriber;
@@ -64,14 +92,34 @@ public class WorkspaceActivityManager {
 
   private final Clock clock;
 
+  /** Not yet persisted expiration times of workspaces. */
+  private final Map<String, Long> pendingExpirations = new ConcurrentHashMap<>();
+  /** Guards the storage against writing of pending expirations which are already discarded. */
+  private final Object flushLock = new Object();
+
+  private final WorkspaceExpiryIndex expiryIndex = new WorkspaceExpiryIndex();
+
+  /** Idle timeouts of active workspaces, so they are not resolved on each activity update. */
+  private final Cache<String, Long> idleTimeouts =
+      CacheBuilder.newBuilder()
+          .expireAfterWrite(IDLE_TIMEOUT_CACHE_EXPIRY_MINUTES, TimeUnit.MINUTES)
+          .build();
+
   @Inject
   public WorkspaceActivityManager(
       WorkspaceManager workspaceManager,
       WorkspaceActivityDao activityDao,
       EventService eventService,
-      @Named("che.limits.workspace.idle.timeout") long timeout) {
+      @Named("che.limits.workspace.idle.timeout") long timeout,
+      @Named("che.workspace.activity_flush_period_s") long flushPeriodSeconds) {
 
-    this(workspaceManager, activityDao, eventService, timeout, Clock.systemDefaultZone());
+    this(
+        workspaceManager,
+        activityDao,
+        eventService,
+        timeout,
+        flushPeriodSeconds,
+        Clock.systemDefaultZone());
   }
 
   @VisibleForTesting
@@ -80,11 +128,13 @@ public class WorkspaceActivityManager {
       WorkspaceActivityDao activityDao,
       EventService eventService,
       long timeout,
+      long flushPeriodSeconds,
       Clock clock) {
     this.workspaceManager = workspaceManager;
     this.eventService = eventService;
     this.activityDao = activityDao;
     this.defaultTimeout = timeout;
+    this.flushPeriodSeconds = flushPeriodSeconds;
     this.clock = clock;
     if (timeout > 0 && timeout < MINIMAL_TIMEOUT) {
       LOG.warn(
@@ -113,6 +163,8 @@ public class WorkspaceActivityManager {
         new CascadeEventSubscriber<BeforeWorkspaceRemovedEvent>() {
           @Override
           public void onCascadeEvent(BeforeWorkspaceRemovedEvent event) throws Exception {
+            idleTimeouts.invalidate(event.getWorkspace().getId());
+            discardExpiration(event.getWorkspace().getId());
             activityDao.removeActivity(event.getWorkspace().getId());
           }
         };
@@ -129,19 +181,52 @@ public class WorkspaceActivityManager {
   }
 
   /**
-   * Update the expiry period the workspace if it exists, otherwise add new one
+   * Update the expiry period the workspace if it exists, otherwise add new one. The new expiry
+   * period may be persisted with a delay which doesn't exceed the configured flush period.
    *
    * @param wsId active workspace identifier
    * @param activityTime moment in which the activity occurred
    */
   public void update(String wsId, long activityTime) {
-    try {
-      long timeout = getIdleTimeout(wsId);
-      if (timeout > 0) {
-        activityDao.setExpirationTime(wsId, activityTime + timeout);
+    long timeout = idleTimeouts.asMap().computeIfAbsent(wsId, this::getIdleTimeout);
+    if (timeout <= 0) {
+      return;
+    }
+    if (flushPeriodSeconds > 0) {
+      expiryIndex.set(wsId, pendingExpirations.merge(wsId, activityTime + timeout, Math::max));
+    } else {
+      setExpirationTime(wsId, activityTime + timeout);
+    }
+  }
+
+  /** Persists all the pending workspaces expiration times. */
+  @ScheduleDelay(
+      initialDelayParameterName = "che.workspace.activity_flush_period_s",
+      delayParameterName = "che.workspace.activity_flush_period_s")
+  @PreDestroy
+  public void flush() {
+    synchronized (flushLock) {
+      if (pendingExpirations.isEmpty()) {
+        return;
+      }
+      Map<String, Long> batch = new HashMap<>();
+      for (Iterator<Map.Entry<String, Long>> it = pendingExpirations.entrySet().iterator();
+          it.hasNext(); ) {
+        Map.Entry<String, Long> entry = it.next();
+        batch.put(entry.getKey(), entry.getValue());
+        it.remove();
+      }
+      try {
+        activityDao.setExpirationTimes(batch);
+      } catch (ServerException e) {
+        LOG.error(
+            "Failed to persist expiration times of {} workspaces. Cause: {}",
+            batch.size(),
+            e.getMessage(),
+            e);
+        // keep newer expiration times if they were recorded while flushing
+        batch.forEach((wsId, expiration) -> pendingExpirations.merge(wsId, expiration, Math::max));
       }
-    } catch (ServerException e) {
-      LOG.error(e.getLocalizedMessage(), e);
     }
   }
 
@@ -170,6 +255,94 @@ public class WorkspaceActivityManager {
     return defaultTimeout;
   }
 
+  /**
+   * Finds workspaces which expired before the given time. Uses the expiry index when it is loaded,
+   * otherwise queries the storage.
+   *
+   * <p>The index is fed only by the activity handled by this server, while the activity of a
+   * workspace may be recorded by other servers of the cluster. So the workspaces found in the index
+   * are checked against the persisted expiration times, and those whose expiration time was
+   * prolonged are put back to the index.
+   *
+   * @param timestamp expiration time
+   * @return ids of workspaces whose expiration time is older than given timestamp
+   * @throws ServerException when the storage query failed
+   */
+  List<String> findExpired(long timestamp) throws ServerException {
+    if (!expiryIndex.isLoaded()) {
+      // make sure the latest activity is taken into account
+      flush();
+      return activityDao.findExpired(timestamp);
+    }
+    List<String> expired = new ArrayList<>();
+    for (String wsId : expiryIndex.pollExpired(timestamp)) {
+      WorkspaceActivity activity;
+      try {
+        activity = activityDao.findActivity(wsId);
+      } catch (ServerException e) {
+        LOG.warn(
+            "Failed to check expiration time of workspace '{}'. Cause: {}", wsId, e.getMessage());
+        // check it again next time
+        expiryIndex.set(wsId, timestamp);
+        continue;
+      }
+      Long expiration = activity == null ? null : activity.getExpiration();
+      if (expiration == null) {
+        // the workspace is stopped or removed
+        continue;
+      }
+      if (expiration < timestamp) {
+        expired.add(wsId);
+      } else {
+        expiryIndex.set(wsId, expiration);
+      }
+    }
+    return expired;
+  }
+
+  /**
+   * Prepares the expiry index to be reloaded from the storage. Changes made after this call are
+   * preserved by {@link #completeExpiryIndexReload(Map)}.
+   */
+  void startExpiryIndexReload() {
+    flush();
+    expiryIndex.startReload();
+  }
+
+  /**
+   * Replaces the content of the expiry index with the persisted expiration times.
+   *
+   * @param persisted expiration times read from the storage indexed by workspaces ids
+   */
+  void completeExpiryIndexReload(Map<String, Long> persisted) {
+    expiryIndex.completeReload(persisted);
+  }
+
+  /** Aborts the reload started by {@link #startExpiryIndexReload()}. */
+  void cancelExpiryIndexReload() {
+    expiryIndex.cancelReload();
+  }
+
+  private void setExpirationTime(String wsId, long expirationTime) {
+    expiryIndex.set(wsId, expirationTime);
+    try {
+      activityDao.setExpirationTime(wsId, expirationTime);
+    } catch (ServerException e) {
+      LOG.error(e.getLocalizedMessage(), e);
+    }
+  }
+
+  /**
+   * Discards the pending and indexed expiration time of the given workspace. Waits for the flush in
+   * progress, so the discarded expiration time is not persisted after the method returns.
+   */
+  private void discardExpiration(String wsId) {
+    expiryIndex.remove(wsId);
+    synchronized (flushLock) {
+      pendingExpirations.remove(wsId);
+    }
+  }
+
   private class UpdateStatusChangedTimestampSubscriber
       implements EventSubscriber<WorkspaceStatusEvent> {
     @Override
@@ -201,10 +374,16 @@ public class WorkspaceActivityManager {
             LOG.warn(
                 "Failed to remove stopped information attribute for workspace {}", workspaceId);
           }
-          WorkspaceActivityManager.this.update(workspaceId, now);
+          long timeout = getIdleTimeout(workspaceId);
+          idleTimeouts.put(workspaceId, timeout);
+          if (timeout > 0) {
+            setExpirationTime(workspaceId, now + timeout);
+          }
           break;
         case STOPPED:
+          idleTimeouts.invalidate(workspaceId);
           try {
+            discardExpiration(workspaceId);
             activityDao.removeExpiration(workspaceId);
           } catch (ServerException e) {
             LOG.error(e.getLocalizedMessage(), e);
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.activity;
+
+import static java.util.Collections.emptyMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.workspace.server.RuntimeRecoveryPrioritizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the last activity time of a workspace from the stored {@link WorkspaceActivity}, so the
+ * runtimes of recently used workspaces are recovered first.
+ *
+ * <p>The activity time is derived from the expiration time of the workspace and the default idle
+ * timeout, if the workspace doesn't expire the time of the last workspace start is used.
+ */
+@Singleton
+public class WorkspaceActivityRecoveryPrioritizer implements RuntimeRecoveryPrioritizer {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(WorkspaceActivityRecoveryPrioritizer.class);
+
+  private final WorkspaceActivityDao activityDao;
+  private final long idleTimeout;
+
+  @Inject
+  public WorkspaceActivityRecoveryPrioritizer(
+      WorkspaceActivityDao activityDao,
+      @Named("che.limits.workspace.idle.timeout") long idleTimeout) {
+    this.activityDao = activityDao;
+    this.idleTimeout = idleTimeout;
+  }
+
+  @Override
+  public long getLastActivityTime(String workspaceId) {
+    WorkspaceActivity activity;
+    try {
+      activity = activityDao.findActivity(workspaceId);
+    } catch (ServerException x) {
+      LOG.warn(
+          "Failed to get activity of workspace '{}'. Reason: '{}'", workspaceId, x.getMessage());
+      return 0;
+    }
+    return activity == null ? 0 : toLastActivityTime(activity);
+  }
+
+  @Override
+  public Map<String, Long> getLastActivityTimes(Collection<String> workspaceIds) {
+    Map<String, Long> activityTimes = new HashMap<>();
+    try {
+      for (WorkspaceActivity activity : activityDao.findActivities(workspaceIds)) {
+        activityTimes.put(activity.getWorkspaceId(), toLastActivityTime(activity));
+      }
+    } catch (ServerException x) {
+      LOG.warn("Failed to get activity of workspaces. Reason: '{}'", x.getMessage());
+      return emptyMap();
+    }
+    return activityTimes;
+  }
+
+  private long toLastActivityTime(WorkspaceActivity activity) {
+    if (activity.getExpiration() != null && idleTimeout > 0) {
+      return activity.getExpiration() - idleTimeout;
+    }
+    Long lastRunning = activity.getLastRunning();
+    Long lastStarting = activity.getLastStarting();
+    return Math.max(lastRunning != null ? lastRunning : 0, lastStarting != null ? lastStarting : 0);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.activity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Time ordered in-memory index of workspaces expiration times, so expired workspaces may be found
+ * without querying the whole activity storage.
+ *
+ * <p>The index is filled from the storage by {@link #startReload()} and {@link
+ * #completeReload(Map)} and then is kept up to date by the activity updates. Changes that are made
+ * while the index is being reloaded take precedence over the reloaded values.
+ */
+class WorkspaceExpiryIndex {
+
+  private static final Comparator<Expiration> EXPIRATION_ORDER =
+      Comparator.comparingLong((Expiration e) -> e.time).thenComparing(e -> e.workspaceId);
+
+  private final Map<String, Expiration> expirations = new HashMap<>();
+  private final NavigableSet<Expiration> timeline = new TreeSet<>(EXPIRATION_ORDER);
+
+  private boolean loaded;
+  private Set<String> changedDuringReload;
+
+  /** Returns true if the index was loaded from the storage at least once. */
+  synchronized boolean isLoaded() {
+    return loaded;
+  }
+
+  /** Sets the expiration time of the given workspace. */
+  synchronized void set(String workspaceId, long expirationTime) {
+    doSet(workspaceId, expirationTime);
+    markChanged(workspaceId);
+  }
+
+  /** Removes the expiration time of the given workspace. */
+  synchronized void remove(String workspaceId) {
+    doRemove(workspaceId);
+    markChanged(workspaceId);
+  }
+
+  /**
+   * Removes the workspaces which expired before the given time from the index and returns their ids
+   * ordered by the expiration time.
+   */
+  synchronized List<String> pollExpired(long timestamp) {
+    List<String> expired = new ArrayList<>();
+    for (Iterator<Expiration> it = timeline.iterator(); it.hasNext(); ) {
+      Expiration expiration = it.next();
+      if (expiration.time >= timestamp) {
+        break;
+      }
+      it.remove();
+      expirations.remove(expiration.workspaceId);
+      expired.add(expiration.workspaceId);
+    }
+    return expired;
+  }
+
+  /** Starts tracking of the changes which must survive the reload. */
+  synchronized void startReload() {
+    changedDuringReload = new HashSet<>();
+  }
+
+  /**
+   * Replaces the content of the index with the persisted expiration times, except of the ones that
+   * were changed since {@link #startReload()}.
+   *
+   * @param persisted expiration times indexed by the workspaces ids
+   */
+  synchronized void completeReload(Map<String, Long> persisted) {
+    Set<String> changed = changedDuringReload != null ? changedDuringReload : new HashSet<>();
+    changedDuringReload = null;
+    for (String workspaceId : new ArrayList<>(expirations.keySet())) {
+      if (!changed.contains(workspaceId) && !persisted.containsKey(workspaceId)) {
+        doRemove(workspaceId);
+      }
+    }
+    persisted.forEach(
+        (workspaceId, time) -> {
+          if (!changed.contains(workspaceId)) {
+            doSet(workspaceId, time);
+          }
+        });
+    loaded = true;
+  }
+
+  /** Stops tracking of the changes without modifying the index content. */
+  synchronized void cancelReload() {
+    changedDuringReload = null;
+  }
+
+  private void doSet(String workspaceId, long time) {
+    Expiration expiration = new Expiration(workspaceId, time);
+    Expiration previous = expirations.put(workspaceId, expiration);
+    if (previous != null) {
+      timeline.remove(previous);
+    }
+    timeline.add(expiration);
+  }
+
+  private void doRemove(String workspaceId) {
+    Expiration previous = expirations.remove(workspaceId);
+    if (previous != null) {
+      timeline.remove(previous);
+    }
+  }
+
+  private void markChanged(String workspaceId) {
+    if (changedDuringReload != null) {
+      changedDuringReload.add(workspaceId);
+    }
+  }
+
+  private static class Expiration {
+    final String workspaceId;
+    final long time;
+
+    Expiration(String workspaceId, long time) {
+      this.workspaceId = workspaceId;
+      this.time = time;
+    }
+  }
+}
@@ -12,11 +12,14 @@
 package org.eclipse.che.api.workspace.activity.inject;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.Multibinder;
 import org.eclipse.che.api.workspace.activity.JpaWorkspaceActivityDao;
 import org.eclipse.che.api.workspace.activity.WorkspaceActivityChecker;
 import org.eclipse.che.api.workspace.activity.WorkspaceActivityDao;
 import org.eclipse.che.api.workspace.activity.WorkspaceActivityManager;
+import org.eclipse.che.api.workspace.activity.WorkspaceActivityRecoveryPrioritizer;
 import org.eclipse.che.api.workspace.activity.WorkspaceActivityService;
+import org.eclipse.che.api.workspace.server.RuntimeRecoveryPrioritizer;
 
 public class WorkspaceActivityModule extends AbstractModule {
 
@@ -28,5 +31,9 @@ public class WorkspaceActivityModule extends AbstractModule {
     bind(WorkspaceActivityManager.class);
     bind(WorkspaceActivityChecker.class);
     bind(WorkspaceActivityDao.class).to(JpaWorkspaceActivityDao.class);
+
+    Multibinder.newSetBinder(binder(), RuntimeRecoveryPrioritizer.class)
+        .addBinding()
+        .to(WorkspaceActivityRecoveryPrioritizer.class);
   }
 }
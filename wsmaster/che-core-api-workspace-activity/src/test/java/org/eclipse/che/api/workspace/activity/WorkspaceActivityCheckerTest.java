@@ -17,6 +17,7 @@ import static java.util.Collections.singleton;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -37,6 +38,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
@@ -69,7 +71,7 @@ public class WorkspaceActivityCheckerTest {
 
     WorkspaceActivityManager activityManager =
         new WorkspaceActivityManager(
-            workspaceManager, workspaceActivityDao, eventService, DEFAULT_TIMEOUT, clock);
+            workspaceManager, workspaceActivityDao, eventService, DEFAULT_TIMEOUT, -1, clock);
 
     lenient()
         .when(workspaceActivityDao.getAll(anyInt(), anyLong()))
@@ -98,6 +100,82 @@ public class WorkspaceActivityCheckerTest {
     verify(workspaceActivityDao).removeExpiration(eq("3"));
   }
 
+  @Test
+  public void shouldFindExpiredWorkspacesInIndexLoadedByCleanup() throws Exception {
+    // given
+    String wsId = "1";
+    WorkspaceActivity activity = new WorkspaceActivity();
+    activity.setWorkspaceId(wsId);
+    activity.setCreated(clock.millis());
+    activity.setStatus(WorkspaceStatus.RUNNING);
+    activity.setLastRunning(clock.millis());
+    activity.setExpiration(clock.millis() + DEFAULT_TIMEOUT);
+    doAnswer(
+            inv -> {
+              int maxItems = inv.getArgument(0);
+              long skipCount = inv.getArgument(1);
+              return new Page<>(
+                  skipCount < 1 ? singleton(activity) : emptyList(), skipCount, maxItems, 1);
+            })
+        .when(workspaceActivityDao)
+        .getAll(anyInt(), anyLong());
+    when(workspaceRuntimes.getStatus(eq(wsId))).thenReturn(WorkspaceStatus.RUNNING);
+    when(workspaceManager.getWorkspace(eq(wsId)))
+        .thenReturn(WorkspaceImpl.builder().setId(wsId).setAttributes(new HashMap<>()).build());
+    when(workspaceActivityDao.findActivity(wsId)).thenReturn(activity);
+    checker.cleanup();
+
+    // when
+    checker.expire();
+    clock.forward(Duration.ofMillis(DEFAULT_TIMEOUT + 1));
+    checker.expire();
+
+    // then
+    verify(workspaceManager, times(1)).stopWorkspace(eq(wsId), anyMap());
+    verify(workspaceActivityDao).removeExpiration(eq(wsId));
+    verify(workspaceActivityDao, never()).findExpired(anyLong());
+  }
+
+  @Test
+  public void shouldNotStopWorkspaceWhichExpirationWasProlongedByAnotherServer() throws Exception {
+    // given
+    String wsId = "1";
+    WorkspaceActivity activity = new WorkspaceActivity();
+    activity.setWorkspaceId(wsId);
+    activity.setCreated(clock.millis());
+    activity.setStatus(WorkspaceStatus.RUNNING);
+    activity.setLastRunning(clock.millis());
+    activity.setExpiration(clock.millis() + DEFAULT_TIMEOUT);
+    doAnswer(
+            inv -> {
+              int maxItems = inv.getArgument(0);
+              long skipCount = inv.getArgument(1);
+              return new Page<>(
+                  skipCount < 1 ? singleton(activity) : emptyList(), skipCount, maxItems, 1);
+            })
+        .when(workspaceActivityDao)
+        .getAll(anyInt(), anyLong());
+    when(workspaceRuntimes.getStatus(eq(wsId))).thenReturn(WorkspaceStatus.RUNNING);
+    when(workspaceManager.getWorkspace(eq(wsId)))
+        .thenReturn(WorkspaceImpl.builder().setId(wsId).setAttributes(new HashMap<>()).build());
+    checker.cleanup();
+    // activity is recorded by another server
+    WorkspaceActivity prolonged = new WorkspaceActivity();
+    prolonged.setWorkspaceId(wsId);
+    prolonged.setExpiration(clock.millis() + 2 * DEFAULT_TIMEOUT);
+    when(workspaceActivityDao.findActivity(wsId)).thenReturn(prolonged);
+
+    // when
+    clock.forward(Duration.ofMillis(DEFAULT_TIMEOUT + 1));
+    checker.expire();
+    clock.forward(Duration.ofMillis(DEFAULT_TIMEOUT));
+    checker.expire();
+
+    // then
+    verify(workspaceManager, times(1)).stopWorkspace(eq(wsId), anyMap());
+    verify(workspaceActivityDao, times(2)).findActivity(wsId);
+  }
+
   @Test
   public void shouldRecreateMissingActivityRecord() throws Exception {
     // given
@@ -13,9 +13,12 @@ package org.eclipse.che.api.workspace.activity;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,6 +27,7 @@ import static org.testng.AssertJUnit.assertEquals;
 import com.google.common.collect.ImmutableMap;
 import java.util.stream.Stream;
 import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
@@ -68,7 +72,7 @@ public class WorkspaceActivityManagerTest {
   private void setUp() throws Exception {
     activityManager =
         new WorkspaceActivityManager(
-            workspaceManager, workspaceActivityDao, eventService, DEFAULT_TIMEOUT);
+            workspaceManager, workspaceActivityDao, eventService, DEFAULT_TIMEOUT, -1);
 
     lenient().when(account.getName()).thenReturn("accountName");
     lenient().when(account.getId()).thenReturn("account123");
@@ -88,6 +92,70 @@ public class WorkspaceActivityManagerTest {
         .setExpirationTime(eq(wsId), eq(activityTime + DEFAULT_TIMEOUT));
   }
 
+  @Test
+  public void shouldPersistOnlyLatestActivityOnFlush() throws Exception {
+    WorkspaceActivityManager bufferingManager =
+        new WorkspaceActivityManager(
+            workspaceManager, workspaceActivityDao, eventService, DEFAULT_TIMEOUT, 10);
+
+    bufferingManager.update("ws1", 2000L);
+    bufferingManager.update("ws1", 1000L);
+    bufferingManager.update("ws2", 3000L);
+
+    verify(workspaceActivityDao, never()).setExpirationTime(anyString(), anyLong());
+    verify(workspaceActivityDao, never()).setExpirationTimes(anyMap());
+
+    bufferingManager.flush();
+
+    verify(workspaceActivityDao)
+        .setExpirationTimes(
+            ImmutableMap.of("ws1", 2000L + DEFAULT_TIMEOUT, "ws2", 3000L + DEFAULT_TIMEOUT));
+
+    bufferingManager.flush();
+
+    verify(workspaceActivityDao, times(1)).setExpirationTimes(anyMap());
+  }
+
+  @Test
+  public void shouldKeepActivityIfFlushFailed() throws Exception {
+    WorkspaceActivityManager bufferingManager =
+        new WorkspaceActivityManager(
+            workspaceManager, workspaceActivityDao, eventService, DEFAULT_TIMEOUT, 10);
+    bufferingManager.update("ws1", 1000L);
+    doThrow(new ServerException("oops"))
+        .doNothing()
+        .when(workspaceActivityDao)
+        .setExpirationTimes(anyMap());
+
+    bufferingManager.flush();
+    bufferingManager.flush();
+
+    verify(workspaceActivityDao, times(2))
+        .setExpirationTimes(ImmutableMap.of("ws1", 1000L + DEFAULT_TIMEOUT));
+  }
+
+  @Test
+  public void shouldDiscardPendingActivityOfStoppedWorkspace() throws Exception {
+    WorkspaceActivityManager bufferingManager =
+        new WorkspaceActivityManager(
+            workspaceManager, workspaceActivityDao, eventService, DEFAULT_TIMEOUT, 10);
+    bufferingManager.subscribe();
+    verify(eventService)
+        .subscribe(statusChangeEventCaptor.capture(), eq(WorkspaceStatusEvent.class));
+    bufferingManager.update("ws1", 1000L);
+
+    statusChangeEventCaptor
+        .getValue()
+        .onEvent(
+            DtoFactory.newDto(WorkspaceStatusEvent.class)
+                .withStatus(WorkspaceStatus.STOPPED)
+                .withWorkspaceId("ws1"));
+    bufferingManager.flush();
+
+    verify(workspaceActivityDao).removeExpiration("ws1");
+    verify(workspaceActivityDao, never()).setExpirationTimes(anyMap());
+  }
+
   @Test
   public void shouldAddWorkspaceForTrackActivityWhenWorkspaceRunning() throws Exception {
     final String wsId = "testWsId";
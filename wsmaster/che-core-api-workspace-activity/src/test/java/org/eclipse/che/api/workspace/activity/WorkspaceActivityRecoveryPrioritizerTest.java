@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.activity;
+
+import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.eclipse.che.api.core.ServerException;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link WorkspaceActivityRecoveryPrioritizer}. */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceActivityRecoveryPrioritizerTest {
+
+  private static final long IDLE_TIMEOUT = 1000;
+
+  @Mock private WorkspaceActivityDao activityDao;
+
+  private WorkspaceActivityRecoveryPrioritizer prioritizer;
+
+  @BeforeMethod
+  public void setUp() {
+    prioritizer = new WorkspaceActivityRecoveryPrioritizer(activityDao, IDLE_TIMEOUT);
+  }
+
+  @Test
+  public void shouldDeriveLastActivityTimeFromExpiration() throws Exception {
+    WorkspaceActivity activity = new WorkspaceActivity();
+    activity.setLastRunning(500);
+    activity.setExpiration(3000L);
+    when(activityDao.findActivity("ws1")).thenReturn(activity);
+
+    assertEquals(prioritizer.getLastActivityTime("ws1"), 2000);
+  }
+
+  @Test
+  public void shouldUseLastStartTimeIfWorkspaceDoesNotExpire() throws Exception {
+    WorkspaceActivity activity = new WorkspaceActivity();
+    activity.setLastStarting(400);
+    activity.setLastRunning(500);
+    when(activityDao.findActivity("ws1")).thenReturn(activity);
+
+    assertEquals(prioritizer.getLastActivityTime("ws1"), 500);
+  }
+
+  @Test
+  public void shouldReturnZeroIfActivityIsUnknown() throws Exception {
+    when(activityDao.findActivity("ws1")).thenReturn(null);
+
+    assertEquals(prioritizer.getLastActivityTime("ws1"), 0);
+  }
+
+  @Test
+  public void shouldReturnZeroIfActivityCannotBeFetched() throws Exception {
+    when(activityDao.findActivity("ws1")).thenThrow(new ServerException("oops"));
+
+    assertEquals(prioritizer.getLastActivityTime("ws1"), 0);
+  }
+
+  @Test
+  public void shouldLoadActivityTimesOfAllWorkspacesAtOnce() throws Exception {
+    WorkspaceActivity activity1 = new WorkspaceActivity();
+    activity1.setWorkspaceId("ws1");
+    activity1.setExpiration(3000L);
+    WorkspaceActivity activity2 = new WorkspaceActivity();
+    activity2.setWorkspaceId("ws2");
+    activity2.setLastRunning(500);
+    when(activityDao.findActivities(asList("ws1", "ws2", "ws3")))
+        .thenReturn(asList(activity1, activity2));
+
+    Map<String, Long> times = prioritizer.getLastActivityTimes(asList("ws1", "ws2", "ws3"));
+
+    assertEquals(times, ImmutableMap.of("ws1", 2000L, "ws2", 500L));
+    verify(activityDao, never()).findActivity(anyString());
+  }
+
+  @Test
+  public void shouldReturnNoActivityTimesIfActivitiesCannotBeFetched() throws Exception {
+    when(activityDao.findActivities(anyCollection())).thenThrow(new ServerException("oops"));
+
+    assertTrue(prioritizer.getLastActivityTimes(asList("ws1", "ws2")).isEmpty());
+  }
+}
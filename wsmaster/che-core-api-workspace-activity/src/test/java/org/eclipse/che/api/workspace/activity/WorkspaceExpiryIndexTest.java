@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.activity;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link WorkspaceExpiryIndex}. */
+public class WorkspaceExpiryIndexTest {
+
+  private WorkspaceExpiryIndex index;
+
+  @BeforeMethod
+  public void setUp() {
+    index = new WorkspaceExpiryIndex();
+  }
+
+  @Test
+  public void shouldPollExpiredWorkspacesOrderedByExpirationTime() {
+    index.set("ws1", 30);
+    index.set("ws2", 10);
+    index.set("ws3", 50);
+
+    assertEquals(index.pollExpired(40), asList("ws2", "ws1"));
+    assertEquals(index.pollExpired(40), emptyList());
+    assertEquals(index.pollExpired(60), asList("ws3"));
+  }
+
+  @Test
+  public void shouldReplacePreviousExpirationTime() {
+    index.set("ws1", 10);
+    index.set("ws1", 100);
+
+    assertEquals(index.pollExpired(50), emptyList());
+    assertEquals(index.pollExpired(150), asList("ws1"));
+  }
+
+  @Test
+  public void shouldNotReturnRemovedWorkspaces() {
+    index.set("ws1", 10);
+    index.remove("ws1");
+
+    assertEquals(index.pollExpired(50), emptyList());
+  }
+
+  @Test
+  public void shouldReplaceContentOnReload() {
+    index.set("ws1", 10);
+    index.startReload();
+
+    index.completeReload(ImmutableMap.of("ws2", 20L));
+
+    assertTrue(index.isLoaded());
+    assertEquals(index.pollExpired(50), asList("ws2"));
+  }
+
+  @Test
+  public void shouldPreserveChangesMadeDuringReload() {
+    index.set("ws1", 10);
+    index.startReload();
+    index.set("ws2", 100);
+    index.remove("ws1");
+
+    index.completeReload(ImmutableMap.of("ws1", 10L, "ws2", 20L, "ws3", 30L));
+
+    assertEquals(index.pollExpired(50), asList("ws3"));
+    assertEquals(index.pollExpired(150), asList("ws2"));
+  }
+
+  @Test
+  public void shouldNotBeLoadedWhenReloadCancelled() {
+    index.startReload();
+    index.cancelReload();
+
+    assertFalse(index.isLoaded());
+  }
+}
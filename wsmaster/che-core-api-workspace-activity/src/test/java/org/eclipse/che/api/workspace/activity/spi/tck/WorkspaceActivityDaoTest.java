@@ -21,8 +21,10 @@ import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -138,6 +140,34 @@ public class WorkspaceActivityDaoTest {
     assertEquals(found, expected);
   }
 
+  @Test
+  public void shouldFindActivitiesOfSeveralWorkspaces() throws Exception {
+    List<WorkspaceActivity> found =
+        workspaceActivityDao.findActivities(
+            asList(activities[0].getWorkspaceId(), activities[2].getWorkspaceId(), "missing"));
+
+    assertEquals(new HashSet<>(found), ImmutableSet.of(activities[0], activities[2]));
+  }
+
+  @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
+  public void shouldUpdateSeveralExpirationsAtOnce() throws Exception {
+    // activity record should be created if missing
+    workspaceActivityDao.removeActivity(activities[1].getWorkspaceId());
+
+    workspaceActivityDao.setExpirationTimes(
+        ImmutableMap.of(
+            activities[1].getWorkspaceId(), 1_250_000L,
+            activities[2].getWorkspaceId(), 1_750_000L));
+
+    List<String> found = workspaceActivityDao.findExpired(2_500_000);
+    assertEquals(
+        found,
+        asList(
+            activities[0].getWorkspaceId(),
+            activities[1].getWorkspaceId(),
+            activities[2].getWorkspaceId()));
+  }
+
   @Test(
       expectedExceptions = ServerException.class,
       expectedExceptionsMessageRegExp =
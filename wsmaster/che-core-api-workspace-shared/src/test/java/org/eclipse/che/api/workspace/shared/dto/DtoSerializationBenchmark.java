@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.runtime.MachineStatus;
+import org.eclipse.che.api.core.model.workspace.runtime.ServerStatus;
+import org.eclipse.che.api.workspace.shared.dto.devfile.ComponentDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.DevfileActionDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.DevfileCommandDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.DevfileDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.EndpointDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.EnvDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.MetadataDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.ProjectDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.SourceDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.NullOrEmptyCollectionAdapter;
+import org.eclipse.che.dto.server.NullOrEmptyMapAdapter;
+import org.eclipse.che.dto.server.SerializableInterfaceAdapterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the streaming type adapters generated for server DTO implementations with the
+ * reflective Gson serialization used before for workspace, devfile and runtime DTOs.
+ *
+ * <p>The reflective Gson is configured as the one of {@link DtoFactory} except that it has no
+ * generated adapters, so both paths produce the same JSON.
+ *
+ * <p>Run it with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DtoSerializationBenchmark {
+
+  @Param({"workspace", "devfile", "runtime"})
+  private String dtoType;
+
+  private Gson generatedGson;
+  private Gson reflectiveGson;
+  private Class<?> dtoInterface;
+  private Object dto;
+  private String json;
+
+  @Setup
+  public void setUp() {
+    generatedGson = DtoFactory.getInstance().getGson();
+    reflectiveGson = createReflectiveGson();
+    switch (dtoType) {
+      case "workspace":
+        dtoInterface = WorkspaceDto.class;
+        dto = createWorkspace();
+        break;
+      case "devfile":
+        dtoInterface = DevfileDto.class;
+        dto = createDevfile();
+        break;
+      case "runtime":
+        dtoInterface = RuntimeDto.class;
+        dto = createRuntime();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown DTO type " + dtoType);
+    }
+    json = generatedGson.toJson(dto);
+    if (!json.equals(reflectiveGson.toJson(dto))) {
+      throw new IllegalStateException("Generated and reflective adapters produce different JSON");
+    }
+  }
+
+  @Benchmark
+  public String writeGenerated() {
+    return generatedGson.toJson(dto);
+  }
+
+  @Benchmark
+  public String writeReflective() {
+    return reflectiveGson.toJson(dto);
+  }
+
+  @Benchmark
+  public Object readGenerated() {
+    return generatedGson.fromJson(json, dtoInterface);
+  }
+
+  @Benchmark
+  public Object readReflective() {
+    return reflectiveGson.fromJson(json, dtoInterface);
+  }
+
+  /** Builds Gson the way {@link DtoFactory} did before the type adapters were generated. */
+  private static Gson createReflectiveGson() {
+    return new GsonBuilder()
+        .registerTypeAdapterFactory(
+            new TypeAdapterFactory() {
+              @Override
+              @SuppressWarnings("unchecked")
+              public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                Class<? super T> rawType = type.getRawType();
+                if (rawType.isInterface() && DtoFactory.getInstance().hasProvider(rawType)) {
+                  return (TypeAdapter<T>) gson.getAdapter(newDto(rawType).getClass());
+                }
+                return null;
+              }
+            })
+        .registerTypeAdapterFactory(new NullOrEmptyCollectionAdapter())
+        .registerTypeAdapterFactory(new NullOrEmptyMapAdapter())
+        .registerTypeAdapterFactory(new SerializableInterfaceAdapterFactory())
+        .create();
+  }
+
+  private static WorkspaceDto createWorkspace() {
+    return newDto(WorkspaceDto.class)
+        .withId("workspace123")
+        .withNamespace("user123")
+        .withStatus(WorkspaceStatus.RUNNING)
+        .withTemporary(false)
+        .withAttributes(map("created", "1571234567890", "stackId", "java-maven"))
+        .withLinks(
+            map(
+                "self",
+                "https://che.example.com/api/workspace/workspace123",
+                "ide",
+                "https://che.example.com/user123/java-app"))
+        .withDevfile(createDevfile())
+        .withRuntime(createRuntime());
+  }
+
+  private static DevfileDto createDevfile() {
+    return newDto(DevfileDto.class)
+        .withApiVersion("1.0.0")
+        .withMetadata(newDto(MetadataDto.class).withName("java-app"))
+        .withProjects(
+            singletonList(
+                newDto(ProjectDto.class)
+                    .withName("console-java-simple")
+                    .withSource(
+                        newDto(SourceDto.class)
+                            .withType("git")
+                            .withLocation("https://github.com/che-samples/console-java-simple.git")
+                            .withBranch("java1.11"))))
+        .withComponents(
+            asList(
+                newDto(ComponentDto.class)
+                    .withType("chePlugin")
+                    .withId("redhat/java/latest")
+                    .withMemoryLimit("1536M"),
+                newDto(ComponentDto.class)
+                    .withAlias("maven")
+                    .withType("dockerimage")
+                    .withImage("quay.io/eclipse/che-java11-maven:nightly")
+                    .withMemoryLimit("512M")
+                    .withMountSources(true)
+                    .withCommand(asList("tail", "-f", "/dev/null"))
+                    .withEnv(
+                        asList(
+                            newDto(EnvDto.class).withName("MAVEN_CONFIG").withValue(""),
+                            newDto(EnvDto.class)
+                                .withName("JAVA_OPTS")
+                                .withValue("-XX:MaxRAMPercentage=50.0")))
+                    .withEndpoints(
+                        singletonList(
+                            newDto(EndpointDto.class)
+                                .withName("8080/tcp")
+                                .withPort(8080)
+                                .withAttributes(singletonMap("public", "true"))))))
+        .withCommands(
+            asList(
+                newDto(DevfileCommandDto.class)
+                    .withName("maven build")
+                    .withActions(
+                        singletonList(
+                            newDto(DevfileActionDto.class)
+                                .withType("exec")
+                                .withComponent("maven")
+                                .withCommand("mvn clean install")
+                                .withWorkdir("${CHE_PROJECTS_ROOT}/console-java-simple"))),
+                newDto(DevfileCommandDto.class)
+                    .withName("run")
+                    .withActions(
+                        singletonList(
+                            newDto(DevfileActionDto.class)
+                                .withType("exec")
+                                .withComponent("maven")
+                                .withCommand("java -jar target/*.jar")
+                                .withWorkdir("${CHE_PROJECTS_ROOT}/console-java-simple")))));
+  }
+
+  private static RuntimeDto createRuntime() {
+    Map<String, MachineDto> machines = new HashMap<>();
+    for (String name : asList("maven", "theia-ide", "vscode-java")) {
+      Map<String, ServerDto> servers = new HashMap<>();
+      for (int i = 0; i < 3; i++) {
+        servers.put(
+            name + "-server-" + i,
+            newDto(ServerDto.class)
+                .withUrl("https://che.example.com/server" + i + "/" + name)
+                .withStatus(ServerStatus.RUNNING)
+                .withAttributes(map("type", "ide", "port", "300" + i)));
+      }
+      machines.put(
+          name,
+          newDto(MachineDto.class)
+              .withStatus(MachineStatus.RUNNING)
+              .withAttributes(map("memoryLimitBytes", "536870912", "source", "tool"))
+              .withServers(servers));
+    }
+    return newDto(RuntimeDto.class)
+        .withActiveEnv("default")
+        .withOwner("user123")
+        .withMachineToken("machine-token-123")
+        .withMachines(machines);
+  }
+
+  private static Map<String, String> map(String... keysAndValues) {
+    Map<String, String> map = new HashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      map.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return map;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(DtoSerializationBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -11,30 +11,61 @@
  */
 package org.eclipse.che.api.workspace.server;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Striped;
 import com.google.inject.Singleton;
-import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import javax.inject.Inject;
+import javax.inject.Named;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 
 /**
- * Default implementation of {@link WorkspaceLockService} that uses {@link StripedLocks}.
+ * Default implementation of {@link WorkspaceLockService} that uses striped read/write locks.
+ *
+ * <p>Read locks of the same stripe may be held simultaneously, so the number of stripes should be
+ * big enough to make it unlikely for operations on different workspaces to wait each other. Locks
+ * acquisitions are recorded to {@link WorkspaceLockStatistics}.
  *
  * @author Anton Korneta
  */
 @Singleton
 public class DefaultWorkspaceLockService implements WorkspaceLockService {
-  private final StripedLocks delegate;
+
+  @VisibleForTesting static final int DEFAULT_STRIPES = 64;
+
+  private final Striped<ReadWriteLock> striped;
+  private final WorkspaceLockStatistics statistics;
+
+  @Inject
+  public DefaultWorkspaceLockService(
+      @Named("che.workspace.lock.stripes") int stripes, WorkspaceLockStatistics statistics) {
+    this.striped = Striped.readWriteLock(stripes);
+    this.statistics = statistics;
+  }
 
   public DefaultWorkspaceLockService() {
-    this.delegate = new StripedLocks(16);
+    this(DEFAULT_STRIPES, new WorkspaceLockStatistics());
   }
 
   @Override
   public Unlocker readLock(String key) {
-    return delegate.readLock(key);
+    return lock(key, striped.get(key).readLock(), false);
   }
 
   @Override
   public Unlocker writeLock(String key) {
-    return delegate.writeLock(key);
+    return lock(key, striped.get(key).writeLock(), true);
+  }
+
+  private Unlocker lock(String key, Lock lock, boolean write) {
+    if (lock.tryLock()) {
+      statistics.recordAcquisition(key, write, false, 0);
+    } else {
+      long startNanos = System.nanoTime();
+      lock.lock();
+      statistics.recordAcquisition(key, write, true, System.nanoTime() - startNanos);
+    }
+    return lock::unlock;
   }
 }
@@ -13,17 +13,22 @@ package org.eclipse.che.api.workspace.server;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 
 /**
  * Default implementation of {@link WorkspaceStatusCache} based on {@link ConcurrentHashMap}.
  *
+ * <p>Status changes are applied to the {@link WorkspaceStatusIndex} within the atomic operation of
+ * the map, so the index follows the map content.
+ *
  * @author Anton Korneta
  */
 public class DefaultWorkspaceStatusCache implements WorkspaceStatusCache {
 
   private final ConcurrentHashMap<String, WorkspaceStatus> delegate = new ConcurrentHashMap<>();
+  private final WorkspaceStatusIndex index = new WorkspaceStatusIndex();
 
   @Override
   public WorkspaceStatus get(String workspaceId) {
@@ -32,27 +37,95 @@ public class DefaultWorkspaceStatusCache implements WorkspaceStatusCache {
 
   @Override
   public WorkspaceStatus replace(String workspaceId, WorkspaceStatus newStatus) {
-    return delegate.replace(workspaceId, newStatus);
+    WorkspaceStatus[] previous = new WorkspaceStatus[1];
+    delegate.computeIfPresent(
+        workspaceId,
+        (id, current) -> {
+          previous[0] = current;
+          index.statusSet(id, newStatus);
+          return newStatus;
+        });
+    return previous[0];
   }
 
   @Override
   public boolean replace(
       String workspaceId, WorkspaceStatus prevStatus, WorkspaceStatus newStatus) {
-    return delegate.replace(workspaceId, prevStatus, newStatus);
+    boolean[] replaced = new boolean[1];
+    delegate.computeIfPresent(
+        workspaceId,
+        (id, current) -> {
+          if (current != prevStatus) {
+            return current;
+          }
+          replaced[0] = true;
+          index.statusSet(id, newStatus);
+          return newStatus;
+        });
+    return replaced[0];
   }
 
   @Override
   public WorkspaceStatus remove(String workspaceId) {
-    return delegate.remove(workspaceId);
+    WorkspaceStatus[] previous = new WorkspaceStatus[1];
+    delegate.computeIfPresent(
+        workspaceId,
+        (id, current) -> {
+          previous[0] = current;
+          index.statusRemoved(id);
+          return null;
+        });
+    return previous[0];
   }
 
   @Override
   public WorkspaceStatus putIfAbsent(String workspaceId, WorkspaceStatus status) {
-    return delegate.putIfAbsent(workspaceId, status);
+    WorkspaceStatus[] previous = new WorkspaceStatus[1];
+    delegate.compute(
+        workspaceId,
+        (id, current) -> {
+          if (current != null) {
+            previous[0] = current;
+            return current;
+          }
+          index.statusSet(id, status);
+          return status;
+        });
+    return previous[0];
   }
 
   @Override
   public Map<String, WorkspaceStatus> asMap() {
     return new HashMap<>(delegate);
   }
+
+  @Override
+  public Set<String> getByStatus(WorkspaceStatus status) {
+    return index.getByStatus(status);
+  }
+
+  @Override
+  public int count(WorkspaceStatus status) {
+    return index.count(status);
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public void setOwner(String workspaceId, String ownerId) {
+    delegate.computeIfPresent(
+        workspaceId,
+        (id, current) -> {
+          index.ownerSet(id, ownerId);
+          return current;
+        });
+  }
+
+  @Override
+  public Set<String> getOwnedBy(String ownerId) {
+    return index.getByOwner(ownerId);
+  }
 }
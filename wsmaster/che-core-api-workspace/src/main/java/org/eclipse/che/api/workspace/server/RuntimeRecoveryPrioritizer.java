@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tells how recently a workspace was used, so that runtimes of the workspaces which are in use are
+ * recovered first after Che Server restart.
+ *
+ * <p>Implementations are bound with a multibinder, the most recent of the times reported by all the
+ * implementations is used as the priority of the runtime recovery.
+ *
+ * @see RuntimeRecoveryQueue
+ */
+public interface RuntimeRecoveryPrioritizer {
+
+  /**
+   * Returns the time of the last known activity in the workspace with the given identifier, in
+   * milliseconds, or 0 if the activity is unknown.
+   *
+   * @param workspaceId identifier of the workspace whose runtime is going to be recovered
+   */
+  long getLastActivityTime(String workspaceId);
+
+  /**
+   * Returns the times of the last known activity in the workspaces with the given identifiers, in
+   * milliseconds. Workspaces whose activity is unknown may be omitted. Implementations which fetch
+   * the activity from a storage should override this method to fetch it at once.
+   *
+   * @param workspaceIds identifiers of the workspaces whose runtimes are going to be recovered
+   */
+  default Map<String, Long> getLastActivityTimes(Collection<String> workspaceIds) {
+    Map<String, Long> times = new HashMap<>();
+    for (String workspaceId : workspaceIds) {
+      times.put(workspaceId, getLastActivityTime(workspaceId));
+    }
+    return times;
+  }
+}
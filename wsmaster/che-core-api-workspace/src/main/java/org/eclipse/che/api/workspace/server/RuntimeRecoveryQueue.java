@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.Comparator.comparingLong;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queue of runtimes which are tracked by the infrastructure and are waiting to be recovered after
+ * Che Server restart.
+ *
+ * <p>Queued runtimes are recovered by a bounded number of threads, runtimes of the workspaces that
+ * were used most recently, as reported by {@link RuntimeRecoveryPrioritizer}s, are recovered first.
+ * A runtime which is still in the queue may be taken out of it with {@link #remove(String)} and
+ * recovered on demand. Also collects statistics of the recovery progress.
+ */
+@Singleton
+public class RuntimeRecoveryQueue {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RuntimeRecoveryQueue.class);
+
+  private final int parallelism;
+  private final ExecutorService executor;
+  private final Set<RuntimeRecoveryPrioritizer> prioritizers;
+  private final Map<String, RuntimeIdentity> queued = new ConcurrentHashMap<>();
+
+  private final LongAdder recovered = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private volatile int total;
+  private volatile long startNanos;
+
+  @Inject
+  public RuntimeRecoveryQueue(
+      @Named("che.workspace.recovery.parallelism") int parallelism,
+      Set<RuntimeRecoveryPrioritizer> prioritizers,
+      ExecutorServiceWrapper executorServiceWrapper) {
+    this(
+        parallelism,
+        prioritizers,
+        executorServiceWrapper.wrap(
+            newExecutor(parallelism), RuntimeRecoveryQueue.class.getName()));
+  }
+
+  @VisibleForTesting
+  RuntimeRecoveryQueue(
+      int parallelism, Set<RuntimeRecoveryPrioritizer> prioritizers, ExecutorService executor) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException(
+          "Value of 'che.workspace.recovery.parallelism' must be positive, but was " + parallelism);
+    }
+    this.parallelism = parallelism;
+    this.prioritizers = prioritizers;
+    this.executor = executor;
+  }
+
+  /**
+   * Queues the given runtimes and recovers them with the given action, the method returns when all
+   * the queued runtimes are processed. Runtimes which are removed from the queue meanwhile are
+   * skipped.
+   *
+   * @param identities identities of the runtimes to recover
+   * @param action recovers a single runtime, it is expected to {@link #remove(String) remove} the
+   *     runtime from the queue under the workspace lock
+   * @throws InterruptedException if the current thread is interrupted while waiting for recovery
+   */
+  void recoverAll(Collection<? extends RuntimeIdentity> identities, RecoveryAction action)
+      throws InterruptedException {
+    for (RuntimeIdentity identity : identities) {
+      queued.put(identity.getWorkspaceId(), identity);
+    }
+    total = identities.size();
+    startNanos = System.nanoTime();
+
+    Queue<RuntimeIdentity> ordered = new ConcurrentLinkedQueue<>(prioritize(identities));
+    List<Future<?>> workers = new ArrayList<>(parallelism);
+    try {
+      for (int i = 0; i < Math.min(parallelism, ordered.size()); i++) {
+        workers.add(executor.submit(() -> recoverQueued(ordered, action)));
+      }
+    } catch (RejectedExecutionException x) {
+      LOG.warn("Runtimes recovery pool rejected the task, recovering in the current thread");
+      recoverQueued(ordered, action);
+    }
+    for (Future<?> worker : workers) {
+      try {
+        worker.get();
+      } catch (ExecutionException x) {
+        LOG.error("Runtimes recovery failed. Error: {}", x.getCause().getMessage(), x.getCause());
+      }
+    }
+  }
+
+  /**
+   * Takes the runtime of the workspace with the given identifier out of the queue.
+   *
+   * @return identity of the removed runtime or null if the runtime is not queued
+   */
+  RuntimeIdentity remove(String workspaceId) {
+    return queued.remove(workspaceId);
+  }
+
+  /** Returns the number of runtimes waiting to be recovered. */
+  public int getQueuedCount() {
+    return queued.size();
+  }
+
+  /** Returns the number of runtimes recovered by this queue. */
+  public long getRecoveredCount() {
+    return recovered.sum();
+  }
+
+  /** Returns the number of runtimes this queue failed to recover. */
+  public long getFailedCount() {
+    return failed.sum();
+  }
+
+  /**
+   * Estimates the time remaining until all the queued runtimes are recovered, based on the average
+   * pace of the recovery so far.
+   *
+   * @return estimated time or {@link Double#NaN} if no runtime is recovered yet
+   */
+  public double getEstimatedRemainingTime(TimeUnit timeUnit) {
+    int remaining = queued.size();
+    if (remaining == 0) {
+      return 0;
+    }
+    int done = total - remaining;
+    if (done <= 0) {
+      return Double.NaN;
+    }
+    double elapsed = (double) (System.nanoTime() - startNanos) / timeUnit.toNanos(1);
+    return elapsed / done * remaining;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void recoverQueued(Queue<RuntimeIdentity> ordered, RecoveryAction action) {
+    RuntimeIdentity identity;
+    while ((identity = ordered.poll()) != null) {
+      if (!queued.containsKey(identity.getWorkspaceId())) {
+        // recovered on demand
+        continue;
+      }
+      try {
+        if (action.recover(identity)) {
+          recovered.increment();
+        }
+      } catch (Exception x) {
+        failed.increment();
+        LOG.error(
+            "An error occurred while attempting to recover runtime '{}'. Reason: '{}'",
+            identity.getWorkspaceId(),
+            x.getMessage(),
+            x);
+      } finally {
+        queued.remove(identity.getWorkspaceId(), identity);
+      }
+    }
+  }
+
+  private List<RuntimeIdentity> prioritize(Collection<? extends RuntimeIdentity> identities) {
+    List<RuntimeIdentity> ordered = new ArrayList<>(identities);
+    if (prioritizers.isEmpty()) {
+      return ordered;
+    }
+    Set<String> workspaceIds = new HashSet<>();
+    for (RuntimeIdentity identity : identities) {
+      workspaceIds.add(identity.getWorkspaceId());
+    }
+    Map<String, Long> activityTimes = new HashMap<>();
+    for (RuntimeRecoveryPrioritizer prioritizer : prioritizers) {
+      getLastActivityTimes(prioritizer, workspaceIds)
+          .forEach((workspaceId, time) -> activityTimes.merge(workspaceId, time, Math::max));
+    }
+    ordered.sort(
+        comparingLong((RuntimeIdentity id) -> activityTimes.getOrDefault(id.getWorkspaceId(), 0L))
+            .reversed());
+    return ordered;
+  }
+
+  /**
+   * Fetches the activity times of all the workspaces at once, if it fails the times are fetched one
+   * by one, so a single workspace can't affect the priority of the others.
+   */
+  private Map<String, Long> getLastActivityTimes(
+      RuntimeRecoveryPrioritizer prioritizer, Set<String> workspaceIds) {
+    try {
+      return prioritizer.getLastActivityTimes(workspaceIds);
+    } catch (RuntimeException x) {
+      LOG.debug("Failed to get last activity times of workspaces. Reason: '{}'", x.getMessage());
+    }
+    Map<String, Long> activityTimes = new HashMap<>();
+    for (String workspaceId : workspaceIds) {
+      try {
+        activityTimes.put(workspaceId, prioritizer.getLastActivityTime(workspaceId));
+      } catch (RuntimeException x) {
+        LOG.warn(
+            "Failed to get last activity time of workspace '{}'. Reason: '{}'",
+            workspaceId,
+            x.getMessage());
+      }
+    }
+    return activityTimes;
+  }
+
+  private static ExecutorService newExecutor(int parallelism) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("RuntimeRecovery-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /** Recovers a single runtime. */
+  interface RecoveryAction {
+
+    /**
+     * Recovers the runtime with the given identity.
+     *
+     * @return true if the runtime is recovered, false if it is skipped e.g. because it was already
+     *     recovered on demand
+     * @throws Exception if the runtime can't be recovered
+     */
+    boolean recover(RuntimeIdentity identity) throws Exception;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.Runtime;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.ServerStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+
+/**
+ * Caches snapshots of workspaces runtimes, so repeated reads of the same runtime don't go to the
+ * infrastructure, which may fetch machines and commands from the database.
+ *
+ * <p>A snapshot is a detached copy of the runtime, each read returns a new copy of it, so callers
+ * are free to modify returned instances. Snapshot of a workspace is invalidated when {@link
+ * MachineStatusEvent}, {@link ServerStatusEvent} or {@link WorkspaceStatusEvent} of the workspace
+ * is published. Components which learn about runtimes changes in another way (e.g. from other Che
+ * Server instances) invalidate snapshots with {@link #invalidate(String)}.
+ *
+ * <p>Snapshots are versioned per workspace, each invalidation of a workspace starts a new version
+ * of its snapshot and a snapshot is stored only if the version of the workspace was not changed
+ * while the snapshot was being built. So a snapshot built from the runtime state which was changed
+ * concurrently is never cached, while invalidations of other workspaces don't affect it.
+ */
+@Singleton
+public class RuntimeSnapshotCache {
+
+  private final Map<String, Version> versions = new ConcurrentHashMap<>();
+  private final EventService eventService;
+  private final EventSubscriber<MachineStatusEvent> machineStatusSubscriber;
+  private final EventSubscriber<ServerStatusEvent> serverStatusSubscriber;
+  private final EventSubscriber<WorkspaceStatusEvent> workspaceStatusSubscriber;
+
+  @Inject
+  public RuntimeSnapshotCache(EventService eventService) {
+    this.eventService = eventService;
+    this.machineStatusSubscriber = event -> invalidate(event.getIdentity().getWorkspaceId());
+    this.serverStatusSubscriber = event -> invalidate(event.getIdentity().getWorkspaceId());
+    this.workspaceStatusSubscriber = event -> invalidate(event.getWorkspaceId());
+  }
+
+  @PostConstruct
+  void subscribe() {
+    eventService.subscribe(machineStatusSubscriber, MachineStatusEvent.class);
+    eventService.subscribe(serverStatusSubscriber, ServerStatusEvent.class);
+    eventService.subscribe(workspaceStatusSubscriber, WorkspaceStatusEvent.class);
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    eventService.unsubscribe(machineStatusSubscriber, MachineStatusEvent.class);
+    eventService.unsubscribe(serverStatusSubscriber, ServerStatusEvent.class);
+    eventService.unsubscribe(workspaceStatusSubscriber, WorkspaceStatusEvent.class);
+  }
+
+  /**
+   * Returns a copy of the runtime snapshot of the given workspace. If there is no snapshot yet it
+   * is built with the given loader.
+   *
+   * @param workspaceId identifier of the workspace which runtime is requested
+   * @param loader loads the runtime of the workspace
+   * @return a copy of the workspace runtime
+   * @throws ServerException if the runtime loading fails
+   */
+  public RuntimeImpl get(String workspaceId, RuntimeLoader loader) throws ServerException {
+    Version version = versions.computeIfAbsent(workspaceId, id -> new Version());
+    RuntimeImpl snapshot = version.snapshot;
+    if (snapshot == null) {
+      try {
+        snapshot = new RuntimeImpl(loader.load());
+      } catch (ServerException | RuntimeException x) {
+        versions.remove(workspaceId, version);
+        throw x;
+      }
+      // if the workspace was invalidated meanwhile the version is already detached from the cache
+      version.snapshot = snapshot;
+    }
+    return new RuntimeImpl(snapshot);
+  }
+
+  /** Drops the runtime snapshot of the given workspace. */
+  public void invalidate(String workspaceId) {
+    versions.remove(workspaceId);
+  }
+
+  /** Drops the runtime snapshots of all the workspaces. */
+  public void invalidateAll() {
+    versions.clear();
+  }
+
+  @VisibleForTesting
+  boolean contains(String workspaceId) {
+    Version version = versions.get(workspaceId);
+    return version != null && version.snapshot != null;
+  }
+
+  /** A version of the workspace runtime, lives until the workspace is invalidated. */
+  private static class Version {
+    volatile RuntimeImpl snapshot;
+  }
+
+  /** Loads the current state of a workspace runtime. */
+  public interface RuntimeLoader {
+    Runtime load() throws ServerException;
+  }
+}
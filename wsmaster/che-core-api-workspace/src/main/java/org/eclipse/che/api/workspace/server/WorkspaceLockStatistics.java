@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects statistics of workspace locks acquisitions performed by {@link WorkspaceLockService}
+ * implementations, so the contention on workspace locks can be monitored.
+ *
+ * <p>Acquisitions which took longer than {@link #SLOW_ACQUISITION_THRESHOLD_MS} are logged along
+ * with the lock key, which allows to find hot locks.
+ */
+@Singleton
+public class WorkspaceLockStatistics {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WorkspaceLockStatistics.class);
+
+  static final long SLOW_ACQUISITION_THRESHOLD_MS = 1000;
+
+  private static final long SLOW_ACQUISITION_THRESHOLD_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(SLOW_ACQUISITION_THRESHOLD_MS);
+
+  private final LongAdder readAcquisitions = new LongAdder();
+  private final LongAdder readContended = new LongAdder();
+  private final LongAdder readWaitNanos = new LongAdder();
+  private final LongAdder writeAcquisitions = new LongAdder();
+  private final LongAdder writeContended = new LongAdder();
+  private final LongAdder writeWaitNanos = new LongAdder();
+
+  /**
+   * Records the acquisition of a lock.
+   *
+   * @param key the key of the acquired lock
+   * @param write whether the write lock is acquired
+   * @param contended whether the lock was held by another owner when acquisition began
+   * @param waitNanos the time spent for the lock acquisition in nanoseconds
+   */
+  public void recordAcquisition(String key, boolean write, boolean contended, long waitNanos) {
+    if (write) {
+      writeAcquisitions.increment();
+      writeWaitNanos.add(waitNanos);
+      if (contended) {
+        writeContended.increment();
+      }
+    } else {
+      readAcquisitions.increment();
+      readWaitNanos.add(waitNanos);
+      if (contended) {
+        readContended.increment();
+      }
+    }
+    if (waitNanos >= SLOW_ACQUISITION_THRESHOLD_NANOS) {
+      LOG.warn(
+          "Acquisition of {} lock '{}' took {}ms",
+          write ? "write" : "read",
+          key,
+          TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+  }
+
+  /** Returns the number of acquired locks of the given kind. */
+  public long getAcquisitionsCount(boolean write) {
+    return write ? writeAcquisitions.sum() : readAcquisitions.sum();
+  }
+
+  /** Returns the number of acquisitions of the given kind that had to wait for another owner. */
+  public long getContendedCount(boolean write) {
+    return write ? writeContended.sum() : readContended.sum();
+  }
+
+  /** Returns the total time spent for acquisitions of locks of the given kind. */
+  public double getWaitTime(boolean write, TimeUnit timeUnit) {
+    long nanos = write ? writeWaitNanos.sum() : readWaitNanos.sum();
+    return (double) nanos / TimeUnit.NANOSECONDS.convert(1, timeUnit);
+  }
+}
@@ -28,7 +28,9 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_GENERATE_
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_INFRASTRUCTURE_NAMESPACE_ATTRIBUTE;
 
 import com.google.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -50,6 +52,7 @@ import org.eclipse.che.api.workspace.server.devfile.exception.DevfileFormatExcep
 import org.eclipse.che.api.workspace.server.devfile.validator.DevfileIntegrityValidator;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.MetadataImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
@@ -253,6 +256,51 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets summaries of workspaces which user can read ordered by workspace identifiers.
+   *
+   * <p>Unlike {@link #getWorkspaces(String, boolean, int, long)} neither workspace configs nor
+   * runtimes are fetched, the status of each workspace is taken from the workspaces statuses cache.
+   * Pagination is keyset based: the next page is requested with the identifier of the last summary
+   * of the previous page as {@code afterId}.
+   *
+   * @param user the id of the user
+   * @param status when not null, only summaries of workspaces with this status are returned
+   * @param afterId when not null, only summaries of workspaces which identifiers are greater than
+   *     this one are returned
+   * @param maxItems the maximum number of summaries to return
+   * @return the list of workspaces summaries or empty list if user can't read any workspace
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting workspaces summaries
+   */
+  public List<WorkspaceSummaryImpl> getWorkspaceSummaries(
+      String user, @Nullable WorkspaceStatus status, @Nullable String afterId, int maxItems)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    // statuses of not stopped workspaces are known, so they can be filtered in the query,
+    // the stopped ones are filtered out page by page
+    final Set<String> ids =
+        status == null || status == STOPPED ? null : runtimes.getWithStatus(status);
+    final List<WorkspaceSummaryImpl> result = new ArrayList<>(maxItems);
+    String lastId = afterId;
+    while (result.size() < maxItems) {
+      final List<WorkspaceSummaryImpl> page =
+          workspaceDao.getWorkspaceSummaries(user, ids, lastId, maxItems);
+      for (WorkspaceSummaryImpl summary : page) {
+        summary.setStatus(runtimes.getStatus(summary.getId()));
+        if ((status == null || status == summary.getStatus()) && result.size() < maxItems) {
+          result.add(summary);
+        }
+      }
+      if (page.size() < maxItems) {
+        break;
+      }
+      lastId = page.get(page.size() - 1).getId();
+    }
+    return result;
+  }
+
   /**
    * Gets list of workspaces which has given namespace
    *
@@ -37,9 +37,9 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Sets.SetView;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -64,6 +64,7 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.server.devfile.convert.DevfileConverter;
 import org.eclipse.che.api.workspace.server.event.RuntimeAbnormalStoppedEvent;
 import org.eclipse.che.api.workspace.server.event.RuntimeAbnormalStoppingEvent;
+import org.eclipse.che.api.workspace.server.event.RuntimeStartPhaseEvent;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
 import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
@@ -107,6 +108,15 @@ public class WorkspaceRuntimes {
 
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceRuntimes.class);
 
+  /** The number of runtime identities fetched from the infrastructure at once on recovery. */
+  private static final int IDENTITIES_PAGE_SIZE = 100;
+
+  /** Start phase of waiting for a free thread to start the runtime. */
+  public static final String START_QUEUED_PHASE = "queued";
+
+  /** Start phase of the runtime start by the infrastructure. */
+  public static final String RUNTIME_START_PHASE = "runtime_start";
+
   private ConcurrentMap<String, InternalRuntime<?>> runtimes;
   private final WorkspaceStatusCache statuses;
   private final WorkspaceLockService lockService;
@@ -118,6 +128,8 @@ public class WorkspaceRuntimes {
   private final RuntimeInfrastructure infrastructure;
   private final ProbeScheduler probeScheduler;
   private final DevfileConverter devfileConverter;
+  private final RuntimeRecoveryQueue recoveryQueue;
+  private final RuntimeSnapshotCache runtimeSnapshots;
   // Unique identifier for this workspace runtimes
   private final String workspaceRuntimesId;
 
@@ -133,7 +145,9 @@ public class WorkspaceRuntimes {
       ProbeScheduler probeScheduler,
       WorkspaceStatusCache statuses,
       WorkspaceLockService lockService,
-      DevfileConverter devfileConverter) {
+      DevfileConverter devfileConverter,
+      RuntimeRecoveryQueue recoveryQueue,
+      RuntimeSnapshotCache runtimeSnapshots) {
     this(
         eventService,
         envFactories,
@@ -144,7 +158,9 @@ public class WorkspaceRuntimes {
         probeScheduler,
         statuses,
         lockService,
-        devfileConverter);
+        devfileConverter,
+        recoveryQueue,
+        runtimeSnapshots);
     this.runtimes = runtimes;
   }
 
@@ -159,7 +175,9 @@ public class WorkspaceRuntimes {
       ProbeScheduler probeScheduler,
       WorkspaceStatusCache statuses,
       WorkspaceLockService lockService,
-      DevfileConverter devfileConverter) {
+      DevfileConverter devfileConverter,
+      RuntimeRecoveryQueue recoveryQueue,
+      RuntimeSnapshotCache runtimeSnapshots) {
     this.probeScheduler = probeScheduler;
     this.runtimes = new ConcurrentHashMap<>();
     this.statuses = statuses;
@@ -171,6 +189,8 @@ public class WorkspaceRuntimes {
     this.environmentFactories = ImmutableMap.copyOf(envFactories);
     this.lockService = lockService;
     this.devfileConverter = devfileConverter;
+    this.recoveryQueue = recoveryQueue;
+    this.runtimeSnapshots = runtimeSnapshots;
     LOG.info("Configured factories for environments: '{}'", envFactories.keySet());
     LOG.info("Registered infrastructure '{}'", infra.getName());
     SetView<String> notSupportedByInfra =
@@ -300,6 +320,9 @@ public class WorkspaceRuntimes {
    * org.eclipse.che.api.core.model.workspace.Runtime} into the workspace object, if the workspace
    * doesn't have runtime sets the status to {@link WorkspaceStatus#STOPPED}.
    *
+   * <p>Injected runtime is a copy of the snapshot kept by {@link RuntimeSnapshotCache}, so the
+   * infrastructure is queried only when the runtime changed since the previous call.
+   *
    * @param workspace the workspace to inject runtime into
    */
   public void injectRuntime(WorkspaceImpl workspace) throws ServerException {
@@ -319,7 +342,8 @@ public class WorkspaceRuntimes {
         return;
       }
 
-      workspace.setRuntime(asRuntime(internalRuntime));
+      workspace.setRuntime(
+          runtimeSnapshots.get(workspace.getId(), () -> asRuntime(internalRuntime)));
       workspace.setStatus(workspaceStatus);
     }
   }
@@ -340,7 +364,8 @@ public class WorkspaceRuntimes {
    * Returns {@link InternalRuntime} implementation for workspace with the specified id.
    *
    * <p>If memory-storage does not contain internal runtime, then runtime will be recovered if it is
-   * active. Otherwise, an exception will be thrown.
+   * active. Otherwise, an exception will be thrown. Runtime which is still waiting in the {@link
+   * RuntimeRecoveryQueue} is taken out of the queue and recovered immediately.
    *
    * @param workspaceId identifier of workspace to fetch runtime
    * @return {@link InternalRuntime} implementation for workspace with the specified id.
@@ -354,18 +379,16 @@ public class WorkspaceRuntimes {
       InternalRuntime<?> runtime = runtimes.get(workspaceId);
       if (runtime == null) {
         try {
-          final Optional<RuntimeIdentity> runtimeIdentity =
-              infrastructure
-                  .getIdentities()
-                  .stream()
-                  .filter(id -> id.getWorkspaceId().equals(workspaceId))
-                  .findAny();
-
-          if (runtimeIdentity.isPresent()) {
+          RuntimeIdentity runtimeIdentity = recoveryQueue.remove(workspaceId);
+          if (runtimeIdentity == null) {
+            runtimeIdentity = infrastructure.getIdentity(workspaceId).orElse(null);
+          }
+
+          if (runtimeIdentity != null) {
             LOG.info(
                 "Runtime for workspace '{}' is requested but there is no cached one. Recovering it.",
                 workspaceId);
-            runtime = recoverOne(infrastructure, runtimeIdentity.get());
+            runtime = recoverOne(infrastructure, runtimeIdentity);
           } else {
             // runtime is not considered by Infrastructure as active
             throw new ServerException("No active runtime is found");
@@ -385,13 +408,15 @@ public class WorkspaceRuntimes {
   /**
    * Gets workspace status by its identifier.
    *
+   * <p>Status is read without acquiring workspace lock, as {@link #hasRuntime(String)} does, since
+   * a single read of statuses cache is atomic and status transitions are performed by writers under
+   * the write lock. This saves a lock round-trip in distributed deployments.
+   *
    * @param workspaceId workspace identifier
    */
   public WorkspaceStatus getStatus(String workspaceId) {
-    try (Unlocker ignored = lockService.readLock(workspaceId)) {
-      final WorkspaceStatus status = statuses.get(workspaceId);
-      return status != null ? status : STOPPED;
-    }
+    final WorkspaceStatus status = statuses.get(workspaceId);
+    return status != null ? status : STOPPED;
   }
 
   /**
@@ -485,7 +510,8 @@ public class WorkspaceRuntimes {
 
       publishWorkspaceStatusEvent(workspaceId, STARTING, STOPPED, null);
       return CompletableFuture.runAsync(
-          ThreadLocalPropagateContext.wrap(new StartRuntimeTask(workspace, options, runtime)),
+          ThreadLocalPropagateContext.wrap(
+              new StartRuntimeTask(workspace, options, runtime, runtimeId, internalEnv.getType())),
           sharedPool.getExecutor());
     } catch (ValidationException e) {
       LOG.error(e.getLocalizedMessage(), e);
@@ -563,13 +589,12 @@ public class WorkspaceRuntimes {
 
   /** Returns workspace ids which has {@link WorkspaceStatus#RUNNING} runtimes. */
   public Set<String> getRunning() {
-    return statuses
-        .asMap()
-        .entrySet()
-        .stream()
-        .filter(e -> RUNNING == e.getValue())
-        .map(Entry::getKey)
-        .collect(toSet());
+    return statuses.getByStatus(RUNNING);
+  }
+
+  /** Returns identifiers of workspaces which runtimes have the given status. */
+  public Set<String> getWithStatus(WorkspaceStatus status) {
+    return statuses.getByStatus(status);
   }
 
   /**
@@ -588,7 +613,7 @@ public class WorkspaceRuntimes {
    * WorkspaceStatus#STOPPED}), otherwise returns false.
    */
   public boolean isAnyActive() {
-    return !statuses.asMap().isEmpty();
+    return statuses.size() > 0;
   }
 
   /**
@@ -597,12 +622,9 @@ public class WorkspaceRuntimes {
    */
   public Set<String> getInProgress() {
     return statuses
-        .asMap()
-        .entrySet()
+        .getOwnedBy(workspaceRuntimesId)
         .stream()
-        .filter(e -> STARTING == e.getValue() || STOPPING == e.getValue())
-        .map(Entry::getKey)
-        .filter(this::containsThisRuntimesId)
+        .filter(this::isInProgress)
         .collect(toSet());
   }
 
@@ -611,13 +633,12 @@ public class WorkspaceRuntimes {
    * {@link WorkspaceStatus#STARTING} or {@link WorkspaceStatus#STOPPING}), otherwise returns false.
    */
   public boolean isAnyInProgress() {
-    return statuses
-        .asMap()
-        .entrySet()
-        .stream()
-        .filter(e -> STARTING == e.getValue() || STOPPING == e.getValue())
-        .map(Entry::getKey)
-        .anyMatch(this::containsThisRuntimesId);
+    return statuses.getOwnedBy(workspaceRuntimesId).stream().anyMatch(this::isInProgress);
+  }
+
+  private boolean isInProgress(String workspaceId) {
+    WorkspaceStatus status = statuses.get(workspaceId);
+    return STARTING == status || STOPPING == status;
   }
 
   /**
@@ -646,7 +667,7 @@ public class WorkspaceRuntimes {
     }
     Set<RuntimeIdentity> identities;
     try {
-      identities = infrastructure.getIdentities();
+      identities = fetchIdentities();
     } catch (UnsupportedOperationException e) {
       LOG.warn("Not recoverable infrastructure: '{}'", infrastructure.getName());
       return;
@@ -675,6 +696,24 @@ public class WorkspaceRuntimes {
     sharedPool.execute(new RecoverRuntimesTask(identities));
   }
 
+  /**
+   * Fetches identities of the runtimes tracked by the infrastructure page by page, so that the
+   * infrastructure doesn't need to load all the runtimes states at once.
+   */
+  private Set<RuntimeIdentity> fetchIdentities() throws InfrastructureException {
+    Set<RuntimeIdentity> identities = new HashSet<>();
+    List<RuntimeIdentity> page;
+    String afterWorkspaceId = null;
+    do {
+      page = infrastructure.getIdentities(afterWorkspaceId, IDENTITIES_PAGE_SIZE);
+      identities.addAll(page);
+      if (!page.isEmpty()) {
+        afterWorkspaceId = page.get(page.size() - 1).getWorkspaceId();
+      }
+    } while (page.size() == IDENTITIES_PAGE_SIZE);
+    return identities;
+  }
+
   @VisibleForTesting
   InternalRuntime<?> recoverOne(RuntimeInfrastructure infra, RuntimeIdentity identity)
       throws ServerException, ConflictException {
@@ -800,6 +839,7 @@ public class WorkspaceRuntimes {
   }
 
   private void setRuntimesId(String workspaceId) {
+    statuses.setOwner(workspaceId, workspaceRuntimesId);
     try {
       final WorkspaceImpl workspace = workspaceDao.get(workspaceId);
       workspace.getAttributes().put(WORKSPACE_RUNTIMES_ID_ATTRIBUTE, workspaceRuntimesId);
@@ -812,22 +852,6 @@ public class WorkspaceRuntimes {
     }
   }
 
-  /** Checks whether workspace with given id, related to this workspace runtimes. */
-  private boolean containsThisRuntimesId(String workspaceId) {
-    try {
-      final WorkspaceImpl workspace = workspaceDao.get(workspaceId);
-      if (workspaceRuntimesId.equals(
-          workspace.getAttributes().get(WORKSPACE_RUNTIMES_ID_ATTRIBUTE))) {
-        return true;
-      }
-    } catch (NotFoundException | ServerException ex) {
-      LOG.warn(
-          String.format(
-              "Failed to get processing workspace %s. Cause: %s", workspaceId, ex.getMessage()));
-    }
-    return false;
-  }
-
   private String getStoppedBy(Workspace workspace) {
     return firstNonNull(
         sessionUserIdOr(workspace.getAttributes().get(WORKSPACE_STOPPED_BY)), "undefined");
@@ -849,6 +873,10 @@ public class WorkspaceRuntimes {
     return nameIfNoUser;
   }
 
+  /**
+   * Recovers the given runtimes using {@link RuntimeRecoveryQueue}, so runtimes are recovered in
+   * parallel and the runtimes of recently used workspaces are recovered first.
+   */
   @VisibleForTesting
   class RecoverRuntimesTask implements Runnable {
 
@@ -862,25 +890,12 @@ public class WorkspaceRuntimes {
     public void run() {
       long startTime = System.currentTimeMillis();
       LOG.info("Recovering of runtimes is started.");
-      for (RuntimeIdentity identity : identities) {
-        try (Unlocker ignored = lockService.writeLock(identity.getWorkspaceId())) {
-          try {
-            InternalRuntime<?> runtime = runtimes.get(identity.getWorkspaceId());
-            if (runtime == null) {
-              LOG.info("Recovering runtime {}", identity.getWorkspaceId());
-              recoverOne(infrastructure, identity);
-            } else {
-              LOG.info("Runtime {} already restored. Skipping it.", identity.getWorkspaceId());
-            }
-          } catch (Exception e) {
-            LOG.error(
-                "An error occurred while attempting to recover runtime '{}' using infrastructure '{}'. Reason: '{}'",
-                identity.getWorkspaceId(),
-                infrastructure.getName(),
-                e.getMessage(),
-                e);
-          }
-        }
+      try {
+        recoveryQueue.recoverAll(identities, this::recover);
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+        LOG.warn("Recovering of runtimes is interrupted.");
+        return;
       }
 
       long finishTime = System.currentTimeMillis();
@@ -888,6 +903,19 @@ public class WorkspaceRuntimes {
           "All runtimes have been recovered in {} seconds.",
           TimeUnit.MILLISECONDS.toSeconds(finishTime - startTime));
     }
+
+    private boolean recover(RuntimeIdentity identity) throws ServerException, ConflictException {
+      String workspaceId = identity.getWorkspaceId();
+      try (Unlocker ignored = lockService.writeLock(workspaceId)) {
+        if (recoveryQueue.remove(workspaceId) == null || runtimes.get(workspaceId) != null) {
+          LOG.info("Runtime {} already restored. Skipping it.", workspaceId);
+          return false;
+        }
+        LOG.info("Recovering runtime {}", workspaceId);
+        recoverOne(infrastructure, identity);
+        return true;
+      }
+    }
   }
 
   private class StartRuntimeTask implements Runnable {
@@ -895,19 +923,38 @@ public class WorkspaceRuntimes {
     private final WorkspaceImpl workspace;
     private final Map<String, String> options;
     private final InternalRuntime runtime;
+    private final RuntimeIdentity runtimeId;
+    private final String recipeType;
+    private final long submittedNanos;
 
     public StartRuntimeTask(
-        WorkspaceImpl workspace, Map<String, String> options, InternalRuntime runtime) {
+        WorkspaceImpl workspace,
+        Map<String, String> options,
+        InternalRuntime runtime,
+        RuntimeIdentity runtimeId,
+        String recipeType) {
       this.workspace = workspace;
       this.options = options;
       this.runtime = runtime;
+      this.runtimeId = runtimeId;
+      this.recipeType = recipeType;
+      this.submittedNanos = System.nanoTime();
     }
 
     @Override
     public void run() {
       String workspaceId = workspace.getId();
+      long startNanos = System.nanoTime();
+      publishStartPhaseEvent(START_QUEUED_PHASE, startNanos - submittedNanos, true);
       try {
-        runtime.start(options);
+        boolean started = false;
+        try {
+          runtime.start(options);
+          started = true;
+        } finally {
+          // the failed phase is reported for any failure, not only for infrastructure ones
+          publishStartPhaseEvent(RUNTIME_START_PHASE, System.nanoTime() - startNanos, started);
+        }
         try (Unlocker ignored = lockService.writeLock(workspaceId)) {
           statuses.replace(workspaceId, RUNNING);
         }
@@ -947,6 +994,12 @@ public class WorkspaceRuntimes {
         throw new RuntimeException(e);
       }
     }
+
+    private void publishStartPhaseEvent(String phase, long durationNanos, boolean succeeded) {
+      eventService.publish(
+          new RuntimeStartPhaseEvent(
+              runtimeId, infrastructure.getName(), recipeType, phase, durationNanos, succeeded));
+    }
   }
 
   private class StopRuntimeTask implements Runnable {
@@ -38,6 +38,7 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Example;
 import io.swagger.annotations.ExampleProperty;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -66,6 +67,7 @@ import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.config.ServerConfig;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.workspace.server.devfile.FileContentProvider;
@@ -75,6 +77,7 @@ import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.token.MachineAccessForbidden;
 import org.eclipse.che.api.workspace.server.token.MachineTokenException;
 import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
@@ -88,6 +91,7 @@ import org.eclipse.che.api.workspace.shared.dto.RuntimeDto;
 import org.eclipse.che.api.workspace.shared.dto.ServerDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.DevfileDto;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -362,6 +366,61 @@ public class WorkspaceService extends Service {
         .build();
   }
 
+  @GET
+  @Path("/summary")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+      value = "Get summaries of workspaces which user can read",
+      notes =
+          "Summaries contain neither workspace configurations nor runtimes. "
+              + "Workspaces are ordered by their identifiers, the link to the next page "
+              + "is provided in the 'Link' header",
+      response = WorkspaceSummaryDto.class,
+      responseContainer = "List")
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The workspaces summaries successfully fetched"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")
+  })
+  public Response getWorkspaceSummaries(
+      @ApiParam("The identifier of the last workspace of the previous page") @QueryParam("after")
+          String afterId,
+      @ApiParam("The limit of the items in the response, default is 30")
+          @DefaultValue("30")
+          @QueryParam("maxItems")
+          Integer maxItems,
+      @ApiParam("Workspace status") @QueryParam("status") String status)
+      throws ServerException, BadRequestException {
+    if (maxItems < 0) {
+      throw new BadRequestException("The number of items to return can't be negative.");
+    }
+    WorkspaceStatus workspaceStatus = null;
+    if (status != null) {
+      try {
+        workspaceStatus = WorkspaceStatus.valueOf(status.toUpperCase());
+      } catch (IllegalArgumentException x) {
+        throw new BadRequestException("Unknown workspace status '" + status + "'");
+      }
+    }
+    List<WorkspaceSummaryImpl> summaries =
+        workspaceManager.getWorkspaceSummaries(
+            EnvironmentContext.getCurrent().getSubject().getUserId(),
+            workspaceStatus,
+            afterId,
+            maxItems);
+    Response.ResponseBuilder response =
+        Response.ok().entity(summaries.stream().map(DtoConverter::asDto).collect(toList()));
+    if (maxItems > 0 && summaries.size() == maxItems) {
+      URI next =
+          uriInfo
+              .getRequestUriBuilder()
+              .replaceQueryParam("after", summaries.get(summaries.size() - 1).getId())
+              .build();
+      response.header("Link", format("<%s>; rel=\"next\"", next));
+    }
+    return response.build();
+  }
+
   @GET
   @Path("/namespace/{namespace:.*}")
   @Produces(APPLICATION_JSON)
@@ -125,7 +125,7 @@ public class WorkspaceServiceTermination implements ServiceTermination {
   @Override
   public void suspend() throws InterruptedException, UnsupportedOperationException {
     try {
-      runtimeInfrastructure.getIdentities();
+      runtimeInfrastructure.getIdentities(null, 1);
     } catch (UnsupportedOperationException | InfrastructureException e) {
       throw new UnsupportedOperationException("Current infrastructure does not support suspend.");
     }
@@ -12,6 +12,7 @@
 package org.eclipse.che.api.workspace.server;
 
 import java.util.Map;
+import java.util.Set;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 
 /**
@@ -70,4 +71,43 @@ public interface WorkspaceStatusCache {
 
   /** Returns copy of this cache as map. */
   Map<String, WorkspaceStatus> asMap();
+
+  /**
+   * Returns identifiers of workspaces which have the given status. Unlike filtering of {@link
+   * #asMap()} the cost of this operation depends only on the number of matching workspaces.
+   *
+   * @param status workspace status
+   * @return identifiers of workspaces with the given status or an empty set if there are none
+   */
+  Set<String> getByStatus(WorkspaceStatus status);
+
+  /**
+   * Returns the number of workspaces which have the given status in constant time.
+   *
+   * @param status workspace status
+   * @return the number of workspaces with the given status
+   */
+  int count(WorkspaceStatus status);
+
+  /** Returns the number of workspaces which statuses are in this cache. */
+  int size();
+
+  /**
+   * Marks the given workspace as owned by the given Che Server instance, e.g. the one which is
+   * starting or stopping the workspace runtime. The owner is removed together with the workspace
+   * status. Does nothing if there is no status mapped to the given workspace id.
+   *
+   * @param workspaceId workspace identifier
+   * @param ownerId identifier of the owner
+   */
+  void setOwner(String workspaceId, String ownerId);
+
+  /**
+   * Returns identifiers of workspaces owned by the given Che Server instance.
+   *
+   * @param ownerId identifier of the owner
+   * @return identifiers of owned workspaces or an empty set if there are none
+   * @see #setOwner(String, String)
+   */
+  Set<String> getOwnedBy(String ownerId);
 }
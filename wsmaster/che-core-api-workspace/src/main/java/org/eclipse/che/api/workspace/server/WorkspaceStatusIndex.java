@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.Collections.emptySet;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+
+/**
+ * Secondary indexes of {@link WorkspaceStatusCache} content.
+ *
+ * <p>Keeps identifiers of workspaces grouped by status and by owner, so the workspaces with a
+ * certain status or owner are found without scanning all the cached statuses, and the number of
+ * workspaces with a certain status is computed in constant time.
+ *
+ * <p>Each workspace change is applied atomically, while queries are weakly consistent: a workspace
+ * which status is being changed concurrently may be reported with either the previous or the new
+ * status.
+ */
+public class WorkspaceStatusIndex {
+
+  private final Map<String, WorkspaceStatus> statuses = new ConcurrentHashMap<>();
+  private final Map<String, String> owners = new ConcurrentHashMap<>();
+  private final Map<WorkspaceStatus, Set<String>> byStatus = new EnumMap<>(WorkspaceStatus.class);
+  private final Map<String, Set<String>> byOwner = new ConcurrentHashMap<>();
+
+  public WorkspaceStatusIndex() {
+    for (WorkspaceStatus status : WorkspaceStatus.values()) {
+      byStatus.put(status, ConcurrentHashMap.newKeySet());
+    }
+  }
+
+  /** Indexes the new status of the given workspace. */
+  public void statusSet(String workspaceId, WorkspaceStatus status) {
+    statuses.compute(
+        workspaceId,
+        (id, previous) -> {
+          if (previous != null) {
+            byStatus.get(previous).remove(id);
+          }
+          byStatus.get(status).add(id);
+          return status;
+        });
+  }
+
+  /** Removes the given workspace status and owner from the indexes. */
+  public void statusRemoved(String workspaceId) {
+    statuses.computeIfPresent(
+        workspaceId,
+        (id, previous) -> {
+          byStatus.get(previous).remove(id);
+          return null;
+        });
+    ownerRemoved(workspaceId);
+  }
+
+  /** Indexes the new owner of the given workspace. */
+  public void ownerSet(String workspaceId, String ownerId) {
+    owners.compute(
+        workspaceId,
+        (id, previous) -> {
+          if (previous != null) {
+            byOwner.get(previous).remove(id);
+          }
+          byOwner.computeIfAbsent(ownerId, k -> ConcurrentHashMap.newKeySet()).add(id);
+          return ownerId;
+        });
+  }
+
+  /** Removes the owner of the given workspace from the indexes. */
+  public void ownerRemoved(String workspaceId) {
+    owners.computeIfPresent(
+        workspaceId,
+        (id, previous) -> {
+          byOwner.get(previous).remove(id);
+          return null;
+        });
+  }
+
+  /** Removes all the indexed statuses and owners. */
+  public void clear() {
+    statuses.keySet().forEach(this::statusRemoved);
+    owners.keySet().forEach(this::ownerRemoved);
+  }
+
+  /** Returns identifiers of workspaces which have the given status. */
+  public Set<String> getByStatus(WorkspaceStatus status) {
+    return ImmutableSet.copyOf(byStatus.get(status));
+  }
+
+  /** Returns the number of workspaces which have the given status. */
+  public int count(WorkspaceStatus status) {
+    return byStatus.get(status).size();
+  }
+
+  /** Returns the number of indexed workspaces statuses. */
+  public int size() {
+    return statuses.size();
+  }
+
+  /** Returns identifiers of workspaces which are owned by the given owner. */
+  public Set<String> getByOwner(String ownerId) {
+    Set<String> owned = byOwner.get(ownerId);
+    return owned == null ? emptySet() : ImmutableSet.copyOf(owned);
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STATUS_CHANGED_METHOD;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+
+/**
+ * Considers workspaces whose status is listened by websocket clients as active at the moment, so
+ * their runtimes are recovered first.
+ */
+@Singleton
+public class WorkspaceSubscriptionsRecoveryPrioritizer implements RuntimeRecoveryPrioritizer {
+
+  private final RemoteSubscriptionStorage subscriptionStorage;
+
+  @Inject
+  public WorkspaceSubscriptionsRecoveryPrioritizer(RemoteSubscriptionStorage subscriptionStorage) {
+    this.subscriptionStorage = subscriptionStorage;
+  }
+
+  @Override
+  public long getLastActivityTime(String workspaceId) {
+    return subscriptionStorage
+            .getByScope(WORKSPACE_STATUS_CHANGED_METHOD, "workspaceId", workspaceId)
+            .isEmpty()
+        ? 0
+        : System.currentTimeMillis();
+  }
+}
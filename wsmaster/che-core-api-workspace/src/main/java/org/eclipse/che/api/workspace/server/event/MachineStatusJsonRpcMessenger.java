@@ -33,7 +33,11 @@ public class MachineStatusJsonRpcMessenger {
   @PostConstruct
   private void postConstruct() {
     remoteSubscriptionManager.register(
-        MACHINE_STATUS_CHANGED_METHOD, MachineStatusEvent.class, this::predicate);
+        MACHINE_STATUS_CHANGED_METHOD,
+        MachineStatusEvent.class,
+        "workspaceId",
+        event -> event.getIdentity().getWorkspaceId(),
+        this::predicate);
   }
 
   private boolean predicate(MachineStatusEvent event, Map<String, String> scope) {
@@ -39,9 +39,18 @@ public class RuntimeLogJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    subscriptionManager.register(RUNTIME_LOG_METHOD, RuntimeLogEvent.class, this::predicate);
     subscriptionManager.register(
-        MACHINE_LOG_METHOD, RuntimeLogEvent.class, this::predicateMachineLog);
+        RUNTIME_LOG_METHOD,
+        RuntimeLogEvent.class,
+        "workspaceId",
+        event -> event.getRuntimeId().getWorkspaceId(),
+        this::predicate);
+    subscriptionManager.register(
+        MACHINE_LOG_METHOD,
+        RuntimeLogEvent.class,
+        "workspaceId",
+        event -> event.getRuntimeId().getWorkspaceId(),
+        this::predicateMachineLog);
   }
 
   private boolean predicate(RuntimeLogEvent event, Map<String, String> scope) {
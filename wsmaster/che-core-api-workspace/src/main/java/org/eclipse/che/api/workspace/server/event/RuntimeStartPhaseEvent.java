@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+
+/**
+ * Should be propagated when a phase of a runtime start is finished, e.g. preparation of volumes or
+ * waiting for machines servers readiness. Phases are named by the publisher and may be nested or
+ * overlap each other.
+ */
+public class RuntimeStartPhaseEvent {
+
+  private final RuntimeIdentity runtimeId;
+  private final String infrastructure;
+  private final String recipeType;
+  private final String phase;
+  private final long durationNanos;
+  private final boolean succeeded;
+
+  public RuntimeStartPhaseEvent(
+      RuntimeIdentity runtimeId,
+      String infrastructure,
+      String recipeType,
+      String phase,
+      long durationNanos,
+      boolean succeeded) {
+    this.runtimeId = runtimeId;
+    this.infrastructure = infrastructure;
+    this.recipeType = recipeType;
+    this.phase = phase;
+    this.durationNanos = durationNanos;
+    this.succeeded = succeeded;
+  }
+
+  public RuntimeIdentity getIdentity() {
+    return runtimeId;
+  }
+
+  /** Returns the name of infrastructure which starts the runtime, may be null if unknown. */
+  public String getInfrastructure() {
+    return infrastructure;
+  }
+
+  /** Returns the type of the runtime environment recipe, may be null if unknown. */
+  public String getRecipeType() {
+    return recipeType;
+  }
+
+  public String getPhase() {
+    return phase;
+  }
+
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * Returns true if the phase is successfully finished, false if the runtime start failed in it.
+   */
+  public boolean isSucceeded() {
+    return succeeded;
+  }
+}
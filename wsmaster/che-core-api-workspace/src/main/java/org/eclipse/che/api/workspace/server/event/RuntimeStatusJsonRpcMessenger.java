@@ -31,7 +31,11 @@ public class RuntimeStatusJsonRpcMessenger {
   @PostConstruct
   private void postConstruct() {
     remoteSubscriptionManager.register(
-        "runtime/statusChanged", RuntimeStatusEvent.class, this::predicate);
+        "runtime/statusChanged",
+        RuntimeStatusEvent.class,
+        "workspaceId",
+        event -> event.getIdentity().getWorkspaceId(),
+        this::predicate);
   }
 
   private boolean predicate(RuntimeStatusEvent event, Map<String, String> scope) {
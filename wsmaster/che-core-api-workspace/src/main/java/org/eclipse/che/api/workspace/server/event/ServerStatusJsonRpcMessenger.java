@@ -33,7 +33,11 @@ public class ServerStatusJsonRpcMessenger {
   @PostConstruct
   private void postConstruct() {
     remoteSubscriptionManager.register(
-        SERVER_STATUS_CHANGED_METHOD, ServerStatusEvent.class, this::predicate);
+        SERVER_STATUS_CHANGED_METHOD,
+        ServerStatusEvent.class,
+        "workspaceId",
+        event -> event.getIdentity().getWorkspaceId(),
+        this::predicate);
   }
 
   private boolean predicate(ServerStatusEvent event, Map<String, String> scope) {
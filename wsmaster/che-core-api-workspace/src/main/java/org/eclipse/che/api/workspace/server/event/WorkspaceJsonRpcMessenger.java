@@ -33,7 +33,11 @@ public class WorkspaceJsonRpcMessenger {
   @PostConstruct
   private void postConstruct() {
     remoteSubscriptionManager.register(
-        WORKSPACE_STATUS_CHANGED_METHOD, WorkspaceStatusEvent.class, this::predicate);
+        WORKSPACE_STATUS_CHANGED_METHOD,
+        WorkspaceStatusEvent.class,
+        "workspaceId",
+        WorkspaceStatusEvent::getWorkspaceId,
+        this::predicate);
   }
 
   private boolean predicate(WorkspaceStatusEvent event, Map<String, String> scope) {
@@ -15,7 +15,6 @@ import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.Timer;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,9 +38,9 @@ public class HttpConnectionServerChecker extends ServerChecker {
       long timeout,
       int successThreshold,
       TimeUnit timeUnit,
-      Timer timer,
+      ServerCheckerScheduler scheduler,
       String token) {
-    super(machineName, serverRef, period, timeout, successThreshold, timeUnit, timer);
+    super(machineName, serverRef, period, timeout, successThreshold, timeUnit, scheduler);
     this.url = url;
     this.token = token;
   }
@@ -11,9 +11,8 @@
  */
 package org.eclipse.che.api.workspace.server.hc;
 
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -22,16 +21,26 @@ import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 /**
  * Checks availability of a server.
  *
+ * <p>Unsuccessful checks are repeated with an exponential backoff which starts from {@link
+ * #INITIAL_PERIOD_MS} and is limited by the configured period, so a server that becomes available
+ * shortly after the check start is detected without waiting for the whole period.
+ *
  * @author Alexander Garagatyi
  */
 public abstract class ServerChecker {
+  /** Delay before the first retry of an unsuccessful check. */
+  static final long INITIAL_PERIOD_MS = 250;
+
   private final String machineName;
   private final String serverRef;
   private final long period;
   private final long deadLine;
   private final int successThreshold;
   private final CompletableFuture<String> reportFuture;
-  private final Timer timer;
+  private final ServerCheckerScheduler scheduler;
+
+  private volatile boolean stopped;
+  private volatile ScheduledFuture<?> nextCheck;
 
   /**
    * Creates server checker instance.
@@ -44,6 +53,7 @@ public abstract class ServerChecker {
    * @param timeout max time allowed for the server availability checks to last before server is
    *     treated unavailable, measured in {@code timeUnit}
    * @param timeUnit measurement unit for {@code period} and {@code timeout} parameters
+   * @param scheduler scheduler which executes the checks
    */
   protected ServerChecker(
       String machineName,
@@ -52,11 +62,11 @@ public abstract class ServerChecker {
       long timeout,
       int successThreshold,
       TimeUnit timeUnit,
-      Timer timer) {
+      ServerCheckerScheduler scheduler) {
     this.machineName = machineName;
     this.serverRef = serverRef;
     this.successThreshold = successThreshold;
-    this.timer = timer;
+    this.scheduler = scheduler;
     this.period = TimeUnit.MILLISECONDS.convert(period, timeUnit);
     this.reportFuture = new CompletableFuture<>();
     this.deadLine = System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(timeout, timeUnit);
@@ -67,7 +77,16 @@ public abstract class ServerChecker {
    * checking times out.
    */
   public void start() {
-    timer.schedule(new ServerCheckingTask(0), 0);
+    schedule(new ServerCheckingTask(0, Math.min(INITIAL_PERIOD_MS, period)), 0);
+  }
+
+  /** Stops server availability checking if it is not finished yet. */
+  public void stop() {
+    stopped = true;
+    ScheduledFuture<?> check = nextCheck;
+    if (check != null) {
+      check.cancel(false);
+    }
   }
 
   /**
@@ -107,29 +126,48 @@ public abstract class ServerChecker {
     return System.currentTimeMillis() > deadLine;
   }
 
-  private class ServerCheckingTask extends TimerTask {
-    private int currentNumberOfSequentialSuccessfulPings;
+  private void schedule(ServerCheckingTask task, long delayMs) {
+    if (!stopped && !reportFuture.isDone()) {
+      nextCheck = scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private class ServerCheckingTask implements Runnable {
+    private final int currentNumberOfSequentialSuccessfulPings;
+    /** Delay before the next check if the current one is unsuccessful. */
+    private final long retryDelay;
 
-    public ServerCheckingTask(int currentNumberOfSequentialSuccessfulPings) {
+    ServerCheckingTask(int currentNumberOfSequentialSuccessfulPings, long retryDelay) {
       this.currentNumberOfSequentialSuccessfulPings = currentNumberOfSequentialSuccessfulPings;
+      this.retryDelay = retryDelay;
     }
 
     @Override
     public void run() {
+      if (stopped || reportFuture.isDone()) {
+        return;
+      }
       if (isTimedOut()) {
         reportFuture.completeExceptionally(
             new InfrastructureException(
                 String.format(
                     "Server '%s' in container '%s' not available.", serverRef, machineName)));
-      } else if (isAvailable()) {
-        currentNumberOfSequentialSuccessfulPings++;
-        if (currentNumberOfSequentialSuccessfulPings == successThreshold) {
+        return;
+      }
+
+      long start = System.nanoTime();
+      boolean available = isAvailable();
+      scheduler.recordCheck(System.nanoTime() - start, available);
+
+      if (available) {
+        int successfulPings = currentNumberOfSequentialSuccessfulPings + 1;
+        if (successfulPings == successThreshold) {
           reportFuture.complete(serverRef);
         } else {
-          timer.schedule(new ServerCheckingTask(currentNumberOfSequentialSuccessfulPings), period);
+          schedule(new ServerCheckingTask(successfulPings, retryDelay), period);
         }
       } else {
-        timer.schedule(new ServerCheckingTask(0), period);
+        schedule(new ServerCheckingTask(0, Math.min(retryDelay * 2, period)), retryDelay);
       }
     }
   }
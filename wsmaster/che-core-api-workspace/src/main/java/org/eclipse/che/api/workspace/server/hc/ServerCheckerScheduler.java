@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
+
+/**
+ * Shared scheduler of servers readiness checks.
+ *
+ * <p>Checks of all the machines that are being started are executed on a single pool, so the number
+ * of threads used for the servers readiness checking doesn't depend on the number of starting
+ * workspaces. Also collects statistics of performed checks.
+ */
+@Singleton
+public class ServerCheckerScheduler {
+
+  private final ScheduledExecutorService executor;
+
+  private final LongAdder availableChecks = new LongAdder();
+  private final LongAdder availableChecksNanos = new LongAdder();
+  private final LongAdder unavailableChecks = new LongAdder();
+  private final LongAdder unavailableChecksNanos = new LongAdder();
+
+  @Inject
+  public ServerCheckerScheduler(
+      @Named("che.workspace.server.ping_pool_size") int poolSize,
+      ExecutorServiceWrapper executorServiceWrapper) {
+    ScheduledThreadPoolExecutor scheduledExecutor =
+        new ScheduledThreadPoolExecutor(
+            poolSize,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ServersChecker-%s").build());
+    scheduledExecutor.setRemoveOnCancelPolicy(true);
+    this.executor =
+        executorServiceWrapper.wrap(scheduledExecutor, ServerCheckerScheduler.class.getName());
+  }
+
+  @VisibleForTesting
+  ServerCheckerScheduler(ScheduledExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /** Schedules a server check that becomes enabled after the given delay. */
+  ScheduledFuture<?> schedule(Runnable check, long delay, TimeUnit timeUnit) {
+    return executor.schedule(check, delay, timeUnit);
+  }
+
+  /**
+   * Records the result of a single server check.
+   *
+   * @param durationNanos duration of the check in nanoseconds
+   * @param available whether the server was available
+   */
+  void recordCheck(long durationNanos, boolean available) {
+    if (available) {
+      availableChecks.increment();
+      availableChecksNanos.add(durationNanos);
+    } else {
+      unavailableChecks.increment();
+      unavailableChecksNanos.add(durationNanos);
+    }
+  }
+
+  /** Returns the number of performed checks with the given result. */
+  public long getChecksCount(boolean available) {
+    return available ? availableChecks.sum() : unavailableChecks.sum();
+  }
+
+  /** Returns the total duration of performed checks with the given result. */
+  public double getChecksTotalTime(boolean available, TimeUnit timeUnit) {
+    long nanos = available ? availableChecksNanos.sum() : unavailableChecksNanos.sum();
+    return (double) nanos / TimeUnit.NANOSECONDS.convert(1, timeUnit);
+  }
+}
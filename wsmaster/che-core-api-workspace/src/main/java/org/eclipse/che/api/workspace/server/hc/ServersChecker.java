@@ -20,7 +20,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -49,8 +48,8 @@ public class ServersChecker {
   private final int serverPingSuccessThreshold;
   private final long serverPingIntervalMillis;
   private final Set<String> livenessProbes;
+  private final ServerCheckerScheduler scheduler;
 
-  private Timer timer;
   private long resultTimeoutSeconds;
   private CompletableFuture<?> result;
 
@@ -68,11 +67,12 @@ public class ServersChecker {
       MachineTokenProvider machineTokenProvider,
       @Named("che.workspace.server.ping_success_threshold") int serverPingSuccessThreshold,
       @Named("che.workspace.server.ping_interval_milliseconds") long serverPingInterval,
-      @Named("che.workspace.server.liveness_probes") String[] livenessProbes) {
+      @Named("che.workspace.server.liveness_probes") String[] livenessProbes,
+      ServerCheckerScheduler scheduler) {
     this.runtimeIdentity = runtimeIdentity;
     this.machineName = machineName;
     this.servers = servers;
-    this.timer = new Timer("ServersChecker", true);
+    this.scheduler = scheduler;
     this.machineTokenProvider = machineTokenProvider;
     this.serverPingSuccessThreshold = serverPingSuccessThreshold;
     this.serverPingIntervalMillis = serverPingInterval;
@@ -91,7 +91,6 @@ public class ServersChecker {
    */
   public CompletableFuture<?> startAsync(Consumer<String> serverReadinessHandler)
       throws InfrastructureException {
-    timer = new Timer("ServersChecker", true);
     List<ServerChecker> serverCheckers = getServerCheckers();
     // should be completed with an exception if a server considered unavailable
     CompletableFuture<Void> firstNonAvailable = new CompletableFuture<>();
@@ -106,7 +105,7 @@ public class ServersChecker {
                         .exceptionally(
                             e -> {
                               // cleanup checkers tasks
-                              timer.cancel();
+                              serverCheckers.forEach(ServerChecker::stop);
                               firstNonAvailable.completeExceptionally(e);
                               return null;
                             }))
@@ -218,7 +217,7 @@ public class ServersChecker {
           TimeUnit.SECONDS.toMillis(180),
           serverPingSuccessThreshold,
           TimeUnit.MILLISECONDS,
-          timer,
+          scheduler,
           token);
     }
     // TODO do not hardcode timeouts, use server conf instead
@@ -230,7 +229,7 @@ public class ServersChecker {
         TimeUnit.SECONDS.toMillis(180),
         serverPingSuccessThreshold,
         TimeUnit.MILLISECONDS,
-        timer,
+        scheduler,
         token);
   }
 }
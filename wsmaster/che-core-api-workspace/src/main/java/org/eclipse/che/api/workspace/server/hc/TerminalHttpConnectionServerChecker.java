@@ -14,7 +14,6 @@ package org.eclipse.che.api.workspace.server.hc;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.Timer;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -33,9 +32,10 @@ class TerminalHttpConnectionServerChecker extends HttpConnectionServerChecker {
       long timeout,
       int successThreshold,
       TimeUnit timeUnit,
-      Timer timer,
+      ServerCheckerScheduler scheduler,
       String token) {
-    super(url, machineName, serverRef, period, timeout, successThreshold, timeUnit, timer, token);
+    super(
+        url, machineName, serverRef, period, timeout, successThreshold, timeUnit, scheduler, token);
   }
 
   @Override
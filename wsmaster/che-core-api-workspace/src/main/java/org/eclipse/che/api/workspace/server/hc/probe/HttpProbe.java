@@ -12,6 +12,7 @@
 package org.eclipse.che.api.workspace.server.hc.probe;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.HashMap;
@@ -20,18 +21,22 @@ import java.util.Map;
 /**
  * Probes a HTTP(s) URL for a response with code >=200 and <400
  *
+ * <p>Response body is drained after the status code is received, so the underlying connection is
+ * returned to the JDK keep-alive cache and reused by the next probe of the same server instead of
+ * opening a new connection on every probe period.
+ *
  * @author Alexander Garagatyi
  */
 public class HttpProbe extends Probe {
 
-  private static final String CONNECTION_HEADER = "Connection";
-  private static final String CONNECTION_CLOSE = "close";
+  /** Max number of response body bytes to drain for the connection to be reused. */
+  private static final int MAX_DRAIN_BYTES = 8 * 1024;
 
   private final URL url;
   private final int timeout;
   private final Map<String, String> headers;
 
-  private HttpURLConnection httpURLConnection;
+  private volatile HttpURLConnection httpURLConnection;
 
   /**
    * Creates probe
@@ -46,24 +51,29 @@ public class HttpProbe extends Probe {
     if (headers != null) {
       this.headers.putAll(headers);
     }
-    this.headers.put(CONNECTION_HEADER, CONNECTION_CLOSE);
   }
 
   @Override
   public boolean doProbe() {
+    HttpURLConnection conn = null;
     try {
-      httpURLConnection = (HttpURLConnection) url.openConnection();
-      httpURLConnection.setConnectTimeout(timeout);
-      httpURLConnection.setReadTimeout(timeout);
-      headers.forEach((name, value) -> httpURLConnection.setRequestProperty(name, value));
-      return isConnectionSuccessful(httpURLConnection);
+      conn = (HttpURLConnection) url.openConnection();
+      httpURLConnection = conn;
+      conn.setConnectTimeout(timeout);
+      conn.setReadTimeout(timeout);
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        conn.setRequestProperty(header.getKey(), header.getValue());
+      }
+      boolean successful = isConnectionSuccessful(conn);
+      release(conn);
+      return successful;
     } catch (IOException e) {
+      if (conn != null) {
+        conn.disconnect();
+      }
       return false;
     } finally {
-      if (httpURLConnection != null) {
-        httpURLConnection.disconnect();
-        this.httpURLConnection = null;
-      }
+      this.httpURLConnection = null;
     }
   }
 
@@ -74,8 +84,10 @@ public class HttpProbe extends Probe {
    */
   @Override
   public void cancel() {
-    httpURLConnection.disconnect();
-    this.httpURLConnection = null;
+    HttpURLConnection conn = httpURLConnection;
+    if (conn != null) {
+      conn.disconnect();
+    }
   }
 
   private boolean isConnectionSuccessful(HttpURLConnection conn) {
@@ -86,4 +98,47 @@ public class HttpProbe extends Probe {
       return false;
     }
   }
+
+  /**
+   * Reads and closes the response body so the connection can be reused. The connection is dropped
+   * when the body is too big to be drained or can't be read. It is dropped before the body stream
+   * is closed, otherwise closing hands the connection to the JDK keep-alive cleaner which drains
+   * the rest of the body and caches the connection anyway.
+   */
+  private void release(HttpURLConnection conn) {
+    InputStream body;
+    try {
+      body = conn.getInputStream();
+    } catch (IOException e) {
+      body = conn.getErrorStream();
+    }
+    if (body == null) {
+      return;
+    }
+    boolean drained = false;
+    try {
+      byte[] buffer = new byte[1024];
+      int total = 0;
+      int read;
+      while (total <= MAX_DRAIN_BYTES && (read = body.read(buffer)) != -1) {
+        total += read;
+      }
+      drained = total <= MAX_DRAIN_BYTES;
+    } catch (IOException ignored) {
+      // connection is dropped below
+    } finally {
+      if (!drained) {
+        conn.disconnect();
+      }
+      closeQuietly(body);
+    }
+  }
+
+  private static void closeQuietly(InputStream body) {
+    try {
+      body.close();
+    } catch (IOException ignored) {
+      // connection is either returned to the cache or dropped already
+    }
+  }
 }
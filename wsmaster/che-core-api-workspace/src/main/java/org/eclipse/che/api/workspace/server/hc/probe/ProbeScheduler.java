@@ -15,8 +15,6 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -45,9 +43,10 @@ public class ProbeScheduler {
    * Use single thread for a scheduling of tasks interruption by timeout. Single thread can be used
    * since it is supposed that interruption is a very quick call. Separate thread is needed to
    * prevent a situation when executor is full of jobs and current ones are hanging but we need to
-   * time them out.
+   * time them out. Timeout tasks are removed from the queue as soon as they are cancelled, so the
+   * queue size is limited by the number of probes that are being executed at the moment.
    */
-  private final Timer timeouts;
+  private final ScheduledExecutorService timeouts;
   /** Mapping of workspaceId to a list of futures with probes of a workspace. */
   private final Map<String, List<ScheduledFuture>> probesFutures;
 
@@ -64,7 +63,16 @@ public class ProbeScheduler {
                     .setNameFormat("ServerProbes-%s")
                     .build()),
             ProbeScheduler.class.getName());
-    timeouts = new Timer("ServerProbesTimeouts", true);
+    ScheduledThreadPoolExecutor timeoutsExecutor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("ServerProbesTimeouts-%s")
+                .build());
+    timeoutsExecutor.setRemoveOnCancelPolicy(true);
+    timeouts =
+        executorServiceWrapper.wrap(timeoutsExecutor, ProbeScheduler.class.getName() + "-timeouts");
     probesFutures = new ConcurrentHashMap<>();
   }
 
@@ -160,6 +168,7 @@ public class ProbeScheduler {
         Thread.currentThread().interrupt();
       }
     }
+    timeouts.shutdownNow();
   }
 
   private void schedule(
@@ -213,11 +222,10 @@ public class ProbeScheduler {
         return;
       }
       Probe probe = probeFactory.get();
-      TimeoutProbeTask timeoutProbeTask = new TimeoutProbeTask(probe);
-      timeouts.schedule(
-          timeoutProbeTask, TimeUnit.SECONDS.toMillis(probeConfig.getTimeoutSeconds()));
+      ScheduledFuture<?> timeoutFuture =
+          timeouts.schedule(probe::cancel, probeConfig.getTimeoutSeconds(), TimeUnit.SECONDS);
       boolean success = probe.probe();
-      timeoutProbeTask.cancel();
+      timeoutFuture.cancel(false);
       if (success) {
         // current success increases successes count and clears failures count
         successes++;
@@ -305,17 +313,4 @@ public class ProbeScheduler {
       }
     }
   }
-
-  private class TimeoutProbeTask extends TimerTask {
-    private final Probe probe;
-
-    public TimeoutProbeTask(Probe probe) {
-      this.probe = probe;
-    }
-
-    @Override
-    public void run() {
-      probe.cancel();
-    }
-  }
 }
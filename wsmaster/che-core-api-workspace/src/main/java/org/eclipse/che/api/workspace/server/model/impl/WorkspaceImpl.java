@@ -69,7 +69,29 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
       query = "SELECT COUNT(w) " + "FROM Workspace w " + "WHERE w.account.name = :namespace "),
   @NamedQuery(
       name = "Workspace.getByTemporaryCount",
-      query = "SELECT COUNT(w) " + "FROM Workspace w " + "WHERE w.isTemporary = :temporary ")
+      query = "SELECT COUNT(w) " + "FROM Workspace w " + "WHERE w.isTemporary = :temporary "),
+  @NamedQuery(
+      name = "Workspace.getSummaries",
+      query =
+          "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl("
+              + "w.id, w.name, w.account.name, w.isTemporary) "
+              + "FROM Workspace w "
+              + "WHERE w.id > :afterId "
+              + "ORDER BY w.id"),
+  @NamedQuery(
+      name = "Workspace.getSummariesByIds",
+      query =
+          "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl("
+              + "w.id, w.name, w.account.name, w.isTemporary) "
+              + "FROM Workspace w "
+              + "WHERE w.id > :afterId AND w.id IN :ids "
+              + "ORDER BY w.id"),
+  @NamedQuery(
+      name = "Workspace.getSummaryAttributes",
+      query =
+          "SELECT w.id, KEY(a), VALUE(a) "
+              + "FROM Workspace w JOIN w.attributes a "
+              + "WHERE w.id IN :ids AND KEY(a) IN :names")
 })
 @EntityListeners(WorkspaceImpl.SyncNameOnUpdateAndPersistEventListener.class)
 public class WorkspaceImpl implements Workspace {
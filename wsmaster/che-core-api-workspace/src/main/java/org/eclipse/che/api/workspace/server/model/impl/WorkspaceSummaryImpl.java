@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.ERROR_MESSAGE_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ABNORMALLY_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_INFRASTRUCTURE_NAMESPACE_ATTRIBUTE;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+
+/**
+ * Short description of a {@link WorkspaceImpl workspace}.
+ *
+ * <p>Instances are created by the projection queries of workspace DAO, so neither workspace config
+ * nor devfile is loaded to build them. Only {@link #SUMMARY_ATTRIBUTES} are fetched from workspace
+ * attributes.
+ */
+public class WorkspaceSummaryImpl {
+
+  /** Names of workspace attributes which are included into workspace summary. */
+  public static final Set<String> SUMMARY_ATTRIBUTES =
+      ImmutableSet.of(
+          CREATED_ATTRIBUTE_NAME,
+          UPDATED_ATTRIBUTE_NAME,
+          STOPPED_ATTRIBUTE_NAME,
+          STOPPED_ABNORMALLY_ATTRIBUTE_NAME,
+          ERROR_MESSAGE_ATTRIBUTE_NAME,
+          WORKSPACE_INFRASTRUCTURE_NAMESPACE_ATTRIBUTE);
+
+  private final String id;
+  private final String name;
+  private final String namespace;
+  private final boolean isTemporary;
+
+  private Map<String, String> attributes;
+  private WorkspaceStatus status;
+
+  public WorkspaceSummaryImpl(String id, String name, String namespace, boolean isTemporary) {
+    this.id = id;
+    this.name = name;
+    this.namespace = namespace;
+    this.isTemporary = isTemporary;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getNamespace() {
+    return namespace;
+  }
+
+  public boolean isTemporary() {
+    return isTemporary;
+  }
+
+  public Map<String, String> getAttributes() {
+    if (attributes == null) {
+      attributes = new HashMap<>();
+    }
+    return attributes;
+  }
+
+  public void setAttributes(Map<String, String> attributes) {
+    this.attributes = attributes;
+  }
+
+  public WorkspaceStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(WorkspaceStatus status) {
+    this.status = status;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof WorkspaceSummaryImpl)) {
+      return false;
+    }
+    final WorkspaceSummaryImpl that = (WorkspaceSummaryImpl) obj;
+    return isTemporary == that.isTemporary
+        && Objects.equals(id, that.id)
+        && Objects.equals(name, that.name)
+        && Objects.equals(namespace, that.namespace)
+        && Objects.equals(status, that.status)
+        && getAttributes().equals(that.getAttributes());
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 7;
+    hash = 31 * hash + Objects.hashCode(id);
+    hash = 31 * hash + Objects.hashCode(name);
+    hash = 31 * hash + Objects.hashCode(namespace);
+    hash = 31 * hash + Objects.hashCode(status);
+    hash = 31 * hash + getAttributes().hashCode();
+    hash = 31 * hash + Boolean.hashCode(isTemporary);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceSummaryImpl{"
+        + "id='"
+        + id
+        + '\''
+        + ", name='"
+        + name
+        + '\''
+        + ", namespace='"
+        + namespace
+        + '\''
+        + ", isTemporary="
+        + isTemporary
+        + ", status="
+        + status
+        + ", attributes="
+        + attributes
+        + '}';
+  }
+}
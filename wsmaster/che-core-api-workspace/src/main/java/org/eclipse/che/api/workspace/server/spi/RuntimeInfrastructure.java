@@ -11,16 +11,22 @@
  */
 package org.eclipse.che.api.workspace.server.spi;
 
+import static java.util.stream.Collectors.toList;
+
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalEnvironment;
 import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentProvisioner;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Starting point of describing the contract which infrastructure provider should implement for
@@ -79,6 +85,45 @@ public abstract class RuntimeInfrastructure {
     throw new UnsupportedOperationException("The implementation does not track runtimes");
   }
 
+  /**
+   * Returns the identity of the tracked runtime of the workspace with the given id. Infrastructures
+   * which track runtimes should override this method with a keyed lookup, the default
+   * implementation scans all the identities returned by {@link #getIdentities()}.
+   *
+   * @param workspaceId identifier of the workspace which runtime identity should be returned
+   * @return optional with the runtime identity or empty optional if the runtime is not tracked
+   * @throws UnsupportedOperationException if implementation does not support runtimes tracking
+   * @throws InfrastructureException if any other error occurred
+   */
+  public Optional<RuntimeIdentity> getIdentity(String workspaceId) throws InfrastructureException {
+    return getIdentities().stream().filter(id -> id.getWorkspaceId().equals(workspaceId)).findAny();
+  }
+
+  /**
+   * Returns a page of the tracked runtimes identities ordered by workspace id. To iterate over all
+   * the identities, the workspace id of the last identity of the previous page should be passed as
+   * {@code afterWorkspaceId} until a page with less than {@code maxItems} items is returned.
+   * Infrastructures which track runtimes should override this method with a paged lookup, the
+   * default implementation pages over the identities returned by {@link #getIdentities()}.
+   *
+   * @param afterWorkspaceId when not null, only identities of workspaces which ids are greater than
+   *     the given one are returned
+   * @param maxItems the maximum number of identities to return
+   * @return page of runtime identities
+   * @throws UnsupportedOperationException if implementation does not support runtimes tracking
+   * @throws InfrastructureException if any other error occurred
+   */
+  public List<RuntimeIdentity> getIdentities(@Nullable String afterWorkspaceId, int maxItems)
+      throws InfrastructureException {
+    return getIdentities()
+        .stream()
+        .filter(
+            id -> afterWorkspaceId == null || id.getWorkspaceId().compareTo(afterWorkspaceId) > 0)
+        .sorted(Comparator.comparing(RuntimeIdentity::getWorkspaceId))
+        .limit(maxItems)
+        .collect(toList());
+  }
+
   /**
    * Starting the Runtime is a two phase process:
    *
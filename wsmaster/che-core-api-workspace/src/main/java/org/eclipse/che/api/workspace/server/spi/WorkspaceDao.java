@@ -11,12 +11,16 @@
  */
 package org.eclipse.che.api.workspace.server.spi;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -134,4 +138,24 @@ public interface WorkspaceDao {
    */
   Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
       throws ServerException;
+
+  /**
+   * Gets summaries of workspaces which user can read ordered by workspace identifiers.
+   *
+   * <p>Summaries are fetched with projection queries, so workspace configs and devfiles are not
+   * loaded. Pagination is keyset based: the next page is requested with the identifier of the last
+   * workspace of the previous page as {@code afterId}.
+   *
+   * @param userId id of user
+   * @param ids when not null, only summaries of workspaces with these identifiers are returned
+   * @param afterId when not null, only summaries of workspaces which identifiers are greater than
+   *     this one are returned
+   * @param maxItems the maximum number of summaries to return
+   * @return list of workspaces summaries or empty list if no workspaces were found
+   * @throws ServerException when any other error occurs during workspaces fetching
+   * @throws IllegalArgumentException when {@code maxItems} is negative
+   */
+  List<WorkspaceSummaryImpl> getWorkspaceSummaries(
+      String userId, @Nullable Collection<String> ids, @Nullable String afterId, int maxItems)
+      throws ServerException;
 }
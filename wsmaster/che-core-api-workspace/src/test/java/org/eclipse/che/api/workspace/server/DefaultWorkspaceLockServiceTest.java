@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link DefaultWorkspaceLockService}. */
+public class DefaultWorkspaceLockServiceTest {
+
+  private WorkspaceLockStatistics statistics;
+  private DefaultWorkspaceLockService lockService;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    statistics = new WorkspaceLockStatistics();
+    lockService = new DefaultWorkspaceLockService(16, statistics);
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldAllowSimultaneousReadLocks() throws Exception {
+    try (Unlocker ignored = lockService.readLock("ws1")) {
+      executor.submit(() -> lockService.readLock("ws1").unlock()).get(1, TimeUnit.SECONDS);
+    }
+
+    assertEquals(statistics.getAcquisitionsCount(false), 2);
+    assertEquals(statistics.getContendedCount(false), 0);
+  }
+
+  @Test
+  public void shouldRecordContendedWriteLockAcquisition() throws Exception {
+    Future<?> waiter;
+    try (Unlocker ignored = lockService.writeLock("ws1")) {
+      waiter = executor.submit(() -> lockService.writeLock("ws1").unlock());
+      assertWaits(waiter);
+    }
+    waiter.get(1, TimeUnit.SECONDS);
+
+    assertEquals(statistics.getAcquisitionsCount(true), 2);
+    assertEquals(statistics.getContendedCount(true), 1);
+    assertTrue(statistics.getWaitTime(true, TimeUnit.NANOSECONDS) > 0);
+  }
+
+  @Test
+  public void shouldBlockReadLockWhileWriteLockIsHeld() throws Exception {
+    Future<?> reader;
+    try (Unlocker ignored = lockService.writeLock("ws1")) {
+      reader = executor.submit(() -> lockService.readLock("ws1").unlock());
+      assertWaits(reader);
+    }
+    reader.get(1, TimeUnit.SECONDS);
+
+    assertEquals(statistics.getContendedCount(false), 1);
+  }
+
+  private static void assertWaits(Future<?> future) throws Exception {
+    try {
+      future.get(100, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException expected) {
+      return;
+    }
+    throw new AssertionError("Lock was acquired while conflicting lock is held");
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.Collections.emptySet;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link DefaultWorkspaceStatusCache}. */
+public class DefaultWorkspaceStatusCacheTest {
+
+  private DefaultWorkspaceStatusCache cache;
+
+  @BeforeMethod
+  public void setUp() {
+    cache = new DefaultWorkspaceStatusCache();
+  }
+
+  @Test
+  public void shouldIndexPutStatuses() {
+    cache.putIfAbsent("ws1", STARTING);
+    cache.putIfAbsent("ws2", STARTING);
+    cache.putIfAbsent("ws3", RUNNING);
+
+    assertEquals(cache.getByStatus(STARTING), ImmutableSet.of("ws1", "ws2"));
+    assertEquals(cache.getByStatus(RUNNING), ImmutableSet.of("ws3"));
+    assertEquals(cache.getByStatus(STOPPING), emptySet());
+    assertEquals(cache.count(STARTING), 2);
+    assertEquals(cache.size(), 3);
+  }
+
+  @Test
+  public void shouldNotReindexWhenStatusIsAlreadyPresent() {
+    cache.putIfAbsent("ws1", STARTING);
+
+    assertEquals(cache.putIfAbsent("ws1", RUNNING), STARTING);
+
+    assertEquals(cache.getByStatus(STARTING), ImmutableSet.of("ws1"));
+    assertEquals(cache.count(RUNNING), 0);
+  }
+
+  @Test
+  public void shouldMoveWorkspaceBetweenStatusesOnReplace() {
+    cache.putIfAbsent("ws1", STARTING);
+
+    assertEquals(cache.replace("ws1", RUNNING), STARTING);
+
+    assertEquals(cache.count(STARTING), 0);
+    assertEquals(cache.getByStatus(RUNNING), ImmutableSet.of("ws1"));
+  }
+
+  @Test
+  public void shouldNotReindexWhenConditionalReplaceFails() {
+    cache.putIfAbsent("ws1", STARTING);
+
+    assertFalse(cache.replace("ws1", RUNNING, STOPPING));
+
+    assertEquals(cache.getByStatus(STARTING), ImmutableSet.of("ws1"));
+    assertEquals(cache.count(STOPPING), 0);
+  }
+
+  @Test
+  public void shouldReindexWhenConditionalReplaceSucceeds() {
+    cache.putIfAbsent("ws1", RUNNING);
+
+    assertTrue(cache.replace("ws1", RUNNING, STOPPING));
+
+    assertEquals(cache.count(RUNNING), 0);
+    assertEquals(cache.getByStatus(STOPPING), ImmutableSet.of("ws1"));
+  }
+
+  @Test
+  public void shouldNotIndexReplacedStatusOfAbsentWorkspace() {
+    assertNull(cache.replace("ws1", RUNNING));
+
+    assertEquals(cache.count(RUNNING), 0);
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldRemoveStatusAndOwnerFromIndex() {
+    cache.putIfAbsent("ws1", RUNNING);
+    cache.setOwner("ws1", "owner");
+
+    assertEquals(cache.remove("ws1"), RUNNING);
+
+    assertEquals(cache.count(RUNNING), 0);
+    assertEquals(cache.getOwnedBy("owner"), emptySet());
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldReturnWorkspacesOwnedByTheGivenOwner() {
+    cache.putIfAbsent("ws1", STARTING);
+    cache.putIfAbsent("ws2", STOPPING);
+    cache.putIfAbsent("ws3", RUNNING);
+    cache.setOwner("ws1", "owner1");
+    cache.setOwner("ws2", "owner1");
+    cache.setOwner("ws3", "owner2");
+
+    assertEquals(cache.getOwnedBy("owner1"), ImmutableSet.of("ws1", "ws2"));
+    assertEquals(cache.getOwnedBy("owner2"), ImmutableSet.of("ws3"));
+  }
+
+  @Test
+  public void shouldMoveWorkspaceToTheNewOwner() {
+    cache.putIfAbsent("ws1", STOPPING);
+    cache.setOwner("ws1", "owner1");
+
+    cache.setOwner("ws1", "owner2");
+
+    assertEquals(cache.getOwnedBy("owner1"), emptySet());
+    assertEquals(cache.getOwnedBy("owner2"), ImmutableSet.of("ws1"));
+  }
+
+  @Test
+  public void shouldNotSetOwnerOfWorkspaceWithoutStatus() {
+    cache.setOwner("ws1", "owner");
+
+    assertEquals(cache.getOwnedBy("owner"), emptySet());
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link RuntimeRecoveryQueue}. */
+@Listeners(MockitoTestNGListener.class)
+public class RuntimeRecoveryQueueTest {
+
+  @Mock private RuntimeRecoveryPrioritizer prioritizer1;
+  @Mock private RuntimeRecoveryPrioritizer prioritizer2;
+
+  private RuntimeRecoveryQueue queue;
+
+  @AfterMethod
+  public void tearDown() {
+    if (queue != null) {
+      queue.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldRecoverRuntimesOfRecentlyUsedWorkspacesFirst() throws Exception {
+    queue =
+        new RuntimeRecoveryQueue(
+            1,
+            new LinkedHashSet<>(asList(prioritizer1, prioritizer2)),
+            Executors.newFixedThreadPool(1));
+    when(prioritizer1.getLastActivityTimes(anyCollection()))
+        .thenReturn(ImmutableMap.of("ws1", 100L, "ws2", 200L));
+    // batch lookup fails, the prioritizer is asked for each workspace separately
+    when(prioritizer2.getLastActivityTimes(anyCollection())).thenThrow(new RuntimeException());
+    lenient().when(prioritizer2.getLastActivityTime(anyString())).thenReturn(0L);
+    lenient().when(prioritizer2.getLastActivityTime("ws3")).thenReturn(300L);
+    lenient().when(prioritizer2.getLastActivityTime("ws4")).thenThrow(new RuntimeException());
+    List<String> recovered = Collections.synchronizedList(new ArrayList<>());
+
+    queue.recoverAll(
+        asList(identity("ws1"), identity("ws2"), identity("ws3"), identity("ws4")),
+        id -> {
+          queue.remove(id.getWorkspaceId());
+          recovered.add(id.getWorkspaceId());
+          return true;
+        });
+
+    assertEquals(recovered, asList("ws3", "ws2", "ws1", "ws4"));
+    assertEquals(queue.getRecoveredCount(), 4);
+    assertEquals(queue.getQueuedCount(), 0);
+  }
+
+  @Test
+  public void shouldRecoverRuntimesInParallel() throws Exception {
+    queue = new RuntimeRecoveryQueue(4, emptySet(), Executors.newFixedThreadPool(4));
+    List<RuntimeIdentity> identities = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      identities.add(identity("ws" + i));
+    }
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    Set<String> recovered = ConcurrentHashMap.newKeySet();
+
+    queue.recoverAll(
+        identities,
+        id -> {
+          queue.remove(id.getWorkspaceId());
+          threads.add(Thread.currentThread().getName());
+          assertTrue(recovered.add(id.getWorkspaceId()));
+          Thread.sleep(1);
+          return true;
+        });
+
+    assertEquals(recovered.size(), 100);
+    assertTrue(threads.size() > 1);
+    assertEquals(queue.getRecoveredCount(), 100);
+  }
+
+  @Test
+  public void shouldSkipRuntimesRemovedFromQueue() throws Exception {
+    queue = new RuntimeRecoveryQueue(1, emptySet(), Executors.newFixedThreadPool(1));
+    List<String> recovered = Collections.synchronizedList(new ArrayList<>());
+
+    queue.recoverAll(
+        asList(identity("ws1"), identity("ws2")),
+        id -> {
+          // the second runtime is requested while the first one is recovered
+          queue.remove("ws2");
+          recovered.add(id.getWorkspaceId());
+          return true;
+        });
+
+    assertEquals(recovered, singletonList("ws1"));
+    assertEquals(queue.getRecoveredCount(), 1);
+  }
+
+  @Test
+  public void shouldCountFailedRecoveriesAndContinue() throws Exception {
+    queue = new RuntimeRecoveryQueue(1, emptySet(), Executors.newFixedThreadPool(1));
+
+    queue.recoverAll(
+        asList(identity("ws1"), identity("ws2")),
+        id -> {
+          if (id.getWorkspaceId().equals("ws1")) {
+            throw new IllegalStateException("oops");
+          }
+          return true;
+        });
+
+    assertEquals(queue.getFailedCount(), 1);
+    assertEquals(queue.getRecoveredCount(), 1);
+    assertEquals(queue.getQueuedCount(), 0);
+  }
+
+  @Test
+  public void shouldEstimateRemainingTimeOfRecovery() throws Exception {
+    queue = new RuntimeRecoveryQueue(1, emptySet(), Executors.newFixedThreadPool(1));
+    List<Double> estimations = new ArrayList<>();
+
+    queue.recoverAll(
+        asList(identity("ws1"), identity("ws2"), identity("ws3")),
+        id -> {
+          estimations.add(queue.getEstimatedRemainingTime(TimeUnit.MILLISECONDS));
+          Thread.sleep(10);
+          queue.remove(id.getWorkspaceId());
+          return true;
+        });
+
+    assertTrue(Double.isNaN(estimations.get(0)));
+    assertTrue(estimations.get(1) > 0);
+    assertEquals(queue.getEstimatedRemainingTime(TimeUnit.MILLISECONDS), 0.0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldNotAllowNonPositiveParallelism() {
+    new RuntimeRecoveryQueue(0, singleton(prioritizer1), Executors.newFixedThreadPool(1));
+  }
+
+  private static RuntimeIdentity identity(String workspaceId) {
+    return new RuntimeIdentityImpl(workspaceId, "env", "owner", "namespace");
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.HashMap;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.runtime.MachineStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.RuntimeSnapshotCache.RuntimeLoader;
+import org.eclipse.che.api.workspace.server.model.impl.MachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.ServerStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link RuntimeSnapshotCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class RuntimeSnapshotCacheTest {
+
+  private static final String WORKSPACE_ID = "workspace123";
+
+  @Mock private RuntimeLoader loader;
+
+  private EventService eventService;
+  private RuntimeSnapshotCache cache;
+  private RuntimeImpl runtime;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    eventService = new EventService();
+    cache = new RuntimeSnapshotCache(eventService);
+    cache.subscribe();
+    runtime =
+        new RuntimeImpl(
+            "env",
+            new HashMap<>(
+                singletonMap(
+                    "machine",
+                    new MachineImpl(
+                        singletonMap("attr", "value"), emptyMap(), MachineStatus.RUNNING))),
+            "owner",
+            emptyList(),
+            emptyList());
+    when(loader.load()).thenReturn(runtime);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    cache.unsubscribe();
+  }
+
+  @Test
+  public void shouldLoadRuntimeOnceAndReturnCopiesOfSnapshot() throws Exception {
+    RuntimeImpl first = cache.get(WORKSPACE_ID, loader);
+    RuntimeImpl second = cache.get(WORKSPACE_ID, loader);
+
+    verify(loader).load();
+    assertEquals(first, runtime);
+    assertEquals(second, runtime);
+    assertNotSame(first, second);
+    assertNotSame(first.getMachines().get("machine"), second.getMachines().get("machine"));
+  }
+
+  @Test
+  public void shouldNotChangeSnapshotWhenReturnedRuntimeIsModified() throws Exception {
+    cache.get(WORKSPACE_ID, loader).getMachines().get("machine").getAttributes().clear();
+
+    assertEquals(cache.get(WORKSPACE_ID, loader), runtime);
+  }
+
+  @Test
+  public void shouldInvalidateSnapshotOnMachineStatusEvent() throws Exception {
+    cache.get(WORKSPACE_ID, loader);
+
+    eventService.publish(newDto(MachineStatusEvent.class).withIdentity(identity(WORKSPACE_ID)));
+
+    assertFalse(cache.contains(WORKSPACE_ID));
+    cache.get(WORKSPACE_ID, loader);
+    verify(loader, times(2)).load();
+  }
+
+  @Test
+  public void shouldInvalidateSnapshotOnServerStatusEvent() throws Exception {
+    cache.get(WORKSPACE_ID, loader);
+
+    eventService.publish(newDto(ServerStatusEvent.class).withIdentity(identity(WORKSPACE_ID)));
+
+    assertFalse(cache.contains(WORKSPACE_ID));
+  }
+
+  @Test
+  public void shouldInvalidateSnapshotOnWorkspaceStatusEvent() throws Exception {
+    cache.get(WORKSPACE_ID, loader);
+
+    eventService.publish(
+        newDto(WorkspaceStatusEvent.class)
+            .withWorkspaceId(WORKSPACE_ID)
+            .withStatus(WorkspaceStatus.STOPPING));
+
+    assertFalse(cache.contains(WORKSPACE_ID));
+  }
+
+  @Test
+  public void shouldNotInvalidateSnapshotsOfOtherWorkspaces() throws Exception {
+    cache.get(WORKSPACE_ID, loader);
+
+    eventService.publish(newDto(MachineStatusEvent.class).withIdentity(identity("other")));
+
+    assertTrue(cache.contains(WORKSPACE_ID));
+  }
+
+  @Test
+  public void shouldNotCacheSnapshotWhenRuntimeChangedWhileItWasLoaded() throws Exception {
+    when(loader.load())
+        .thenAnswer(
+            inv -> {
+              cache.invalidate(WORKSPACE_ID);
+              return runtime;
+            });
+
+    RuntimeImpl result = cache.get(WORKSPACE_ID, loader);
+
+    assertEquals(result, runtime);
+    assertFalse(cache.contains(WORKSPACE_ID));
+  }
+
+  @Test
+  public void shouldCacheSnapshotWhenOtherWorkspaceChangedWhileItWasLoaded() throws Exception {
+    when(loader.load())
+        .thenAnswer(
+            inv -> {
+              cache.invalidate("other");
+              return runtime;
+            });
+
+    cache.get(WORKSPACE_ID, loader);
+
+    assertTrue(cache.contains(WORKSPACE_ID));
+  }
+
+  @Test
+  public void shouldNotCacheSnapshotWhenRuntimeLoadingFails() throws Exception {
+    when(loader.load()).thenThrow(new ServerException("oops"));
+
+    try {
+      cache.get(WORKSPACE_ID, loader);
+      fail("ServerException expected");
+    } catch (ServerException expected) {
+      assertFalse(cache.contains(WORKSPACE_ID));
+    }
+  }
+
+  @Test
+  public void shouldInvalidateAllSnapshots() throws Exception {
+    cache.get(WORKSPACE_ID, loader);
+    cache.get("other", loader);
+
+    cache.invalidateAll();
+
+    assertFalse(cache.contains(WORKSPACE_ID));
+    assertFalse(cache.contains("other"));
+  }
+
+  private static RuntimeIdentityDto identity(String workspaceId) {
+    return newDto(RuntimeIdentityDto.class)
+        .withWorkspaceId(workspaceId)
+        .withEnvName("env")
+        .withOwnerId("owner");
+  }
+}
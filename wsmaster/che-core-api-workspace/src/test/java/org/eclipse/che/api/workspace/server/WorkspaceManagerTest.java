@@ -53,6 +53,7 @@ import static org.testng.Assert.assertTrue;
 import static org.testng.util.Strings.isNullOrEmpty;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -89,6 +90,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WarningImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.NamespaceResolutionContext;
@@ -392,6 +394,62 @@ public class WorkspaceManagerTest {
     assertFalse(res2.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void getsWorkspaceSummariesWithStatusesOfRuntimes() throws Exception {
+    final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("ws1", "a", NAMESPACE_1, false);
+    final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("ws2", "b", NAMESPACE_1, true);
+    when(workspaceDao.getWorkspaceSummaries(USER_ID, null, null, 30))
+        .thenReturn(asList(summary1, summary2));
+    lenient().when(runtimes.getStatus("ws1")).thenReturn(STOPPED);
+    lenient().when(runtimes.getStatus("ws2")).thenReturn(RUNNING);
+
+    final List<WorkspaceSummaryImpl> result =
+        workspaceManager.getWorkspaceSummaries(USER_ID, null, null, 30);
+
+    assertEquals(result, asList(summary1, summary2));
+    assertEquals(result.get(0).getStatus(), STOPPED);
+    assertEquals(result.get(1).getStatus(), RUNNING);
+    verify(runtimes, never()).injectRuntime(any());
+  }
+
+  @Test
+  public void fetchesOnlySummariesOfWorkspacesWithRequestedRuntimeStatus() throws Exception {
+    final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl("ws2", "b", NAMESPACE_1, false);
+    when(runtimes.getWithStatus(RUNNING)).thenReturn(ImmutableSet.of("ws2"));
+    when(workspaceDao.getWorkspaceSummaries(USER_ID, ImmutableSet.of("ws2"), "ws1", 30))
+        .thenReturn(singletonList(summary));
+    when(runtimes.getStatus("ws2")).thenReturn(RUNNING);
+
+    final List<WorkspaceSummaryImpl> result =
+        workspaceManager.getWorkspaceSummaries(USER_ID, RUNNING, "ws1", 30);
+
+    assertEquals(result, singletonList(summary));
+    assertEquals(result.get(0).getStatus(), RUNNING);
+  }
+
+  @Test
+  public void fetchesNextPagesUntilRequestedNumberOfStoppedWorkspaceSummariesIsFound()
+      throws Exception {
+    final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("ws1", "a", NAMESPACE_1, false);
+    final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("ws2", "b", NAMESPACE_1, false);
+    final WorkspaceSummaryImpl summary3 = new WorkspaceSummaryImpl("ws3", "c", NAMESPACE_1, false);
+    doReturn(asList(summary1, summary2))
+        .when(workspaceDao)
+        .getWorkspaceSummaries(USER_ID, null, null, 2);
+    doReturn(singletonList(summary3))
+        .when(workspaceDao)
+        .getWorkspaceSummaries(USER_ID, null, "ws2", 2);
+    lenient().when(runtimes.getStatus("ws1")).thenReturn(RUNNING);
+    lenient().when(runtimes.getStatus("ws2")).thenReturn(STOPPED);
+    lenient().when(runtimes.getStatus("ws3")).thenReturn(STOPPED);
+
+    final List<WorkspaceSummaryImpl> result =
+        workspaceManager.getWorkspaceSummaries(USER_ID, STOPPED, null, 2);
+
+    assertEquals(result, asList(summary2, summary3));
+    verify(runtimes, never()).getWithStatus(any());
+  }
+
   @Test
   public void getsWorkspacesByNamespaceWithoutRuntimes() throws Exception {
     // given
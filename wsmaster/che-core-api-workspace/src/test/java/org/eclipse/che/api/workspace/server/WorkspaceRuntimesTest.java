@@ -15,6 +15,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.workspace.shared.Constants.ERROR_MESSAGE_ATTRIBUTE_NAME;
 import static org.eclipse.che.api.workspace.shared.Constants.NO_ENVIRONMENT_RECIPE_TYPE;
@@ -30,7 +31,9 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -48,11 +51,15 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -69,6 +76,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.devfile.convert.DevfileConverter;
 import org.eclipse.che.api.workspace.server.event.RuntimeAbnormalStoppedEvent;
 import org.eclipse.che.api.workspace.server.event.RuntimeAbnormalStoppingEvent;
+import org.eclipse.che.api.workspace.server.event.RuntimeStartPhaseEvent;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
 import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
@@ -131,12 +139,18 @@ public class WorkspaceRuntimesTest {
   @Mock private InternalEnvironmentFactory<InternalEnvironment> testEnvFactory;
   private ConcurrentMap<String, InternalRuntime<?>> runtimesMap;
 
+  private RuntimeRecoveryQueue recoveryQueue;
+
+  private RuntimeSnapshotCache runtimeSnapshots;
+
   private WorkspaceRuntimes runtimes;
 
   @BeforeMethod
   public void setUp() throws Exception {
     infrastructure = spy(new TestInfrastructure());
     runtimesMap = new ConcurrentHashMap<>();
+    recoveryQueue = new RuntimeRecoveryQueue(4, emptySet(), Executors.newFixedThreadPool(4));
+    runtimeSnapshots = new RuntimeSnapshotCache(eventService);
     runtimes =
         new WorkspaceRuntimes(
             runtimesMap,
@@ -149,7 +163,9 @@ public class WorkspaceRuntimesTest {
             probeScheduler,
             statuses,
             lockService,
-            devfileConverter);
+            devfileConverter,
+            recoveryQueue,
+            runtimeSnapshots);
 
     lenient().when(sharedPool.getExecutor()).thenReturn(executorService);
   }
@@ -157,6 +173,7 @@ public class WorkspaceRuntimesTest {
   @AfterMethod
   public void tearDown() {
     EnvironmentContext.reset();
+    recoveryQueue.shutdown();
   }
 
   @Test(
@@ -205,6 +222,81 @@ public class WorkspaceRuntimesTest {
     assertEquals(runtimeId.getInfrastructureNamespace(), "infraNamespace");
   }
 
+  @Test
+  public void shouldPublishStartPhasesEvents() throws Exception {
+    EnvironmentContext.getCurrent().setSubject(new SubjectImpl("username", "user123", null, false));
+    WorkspaceImpl workspace = mockWorkspaceWithDevfile("workspace123", "env");
+    workspace.getAttributes().put(WORKSPACE_INFRASTRUCTURE_NAMESPACE_ATTRIBUTE, "infraNamespace");
+    RuntimeIdentity identity =
+        new RuntimeIdentityImpl("workspace123", "env", "user123", "infraNamespace");
+    RuntimeContext context = mockContext(identity);
+    when(context.getEnvironment().getType()).thenReturn(TEST_ENVIRONMENT_TYPE);
+    InternalRuntime runtime = mock(InternalRuntime.class);
+    when(context.getRuntime()).thenReturn(runtime);
+
+    runtimes.startAsync(workspace, null, emptyMap());
+    ArgumentCaptor<Runnable> startTaskCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(executorService).execute(startTaskCaptor.capture());
+    startTaskCaptor.getValue().run();
+
+    verify(runtime).start(emptyMap());
+    ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(eventService, atLeastOnce()).publish(eventCaptor.capture());
+    List<RuntimeStartPhaseEvent> events =
+        eventCaptor
+            .getAllValues()
+            .stream()
+            .filter(RuntimeStartPhaseEvent.class::isInstance)
+            .map(RuntimeStartPhaseEvent.class::cast)
+            .collect(Collectors.toList());
+    assertEquals(events.size(), 2);
+    assertEquals(events.get(0).getPhase(), WorkspaceRuntimes.START_QUEUED_PHASE);
+    assertEquals(events.get(1).getPhase(), WorkspaceRuntimes.RUNTIME_START_PHASE);
+    for (RuntimeStartPhaseEvent event : events) {
+      assertEquals(event.getIdentity(), identity);
+      assertEquals(event.getInfrastructure(), "test");
+      assertEquals(event.getRecipeType(), TEST_ENVIRONMENT_TYPE);
+      assertTrue(event.isSucceeded());
+    }
+  }
+
+  @Test
+  public void shouldPublishFailedRuntimeStartPhaseWhenRuntimeStartFailsUnexpectedly()
+      throws Exception {
+    EnvironmentContext.getCurrent().setSubject(new SubjectImpl("username", "user123", null, false));
+    WorkspaceImpl workspace = mockWorkspaceWithDevfile("workspace123", "env");
+    workspace.getAttributes().put(WORKSPACE_INFRASTRUCTURE_NAMESPACE_ATTRIBUTE, "infraNamespace");
+    RuntimeContext context =
+        mockContext(new RuntimeIdentityImpl("workspace123", "env", "user123", "infraNamespace"));
+    when(context.getEnvironment().getType()).thenReturn(TEST_ENVIRONMENT_TYPE);
+    InternalRuntime runtime = mock(InternalRuntime.class);
+    when(context.getRuntime()).thenReturn(runtime);
+    doThrow(new IllegalStateException("unexpected")).when(runtime).start(emptyMap());
+
+    runtimes.startAsync(workspace, null, emptyMap());
+    ArgumentCaptor<Runnable> startTaskCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(executorService).execute(startTaskCaptor.capture());
+    try {
+      startTaskCaptor.getValue().run();
+      fail("Runtime start is expected to fail");
+    } catch (IllegalStateException expected) {
+      // runtime failure is propagated
+    }
+
+    ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(eventService, atLeastOnce()).publish(eventCaptor.capture());
+    List<RuntimeStartPhaseEvent> events =
+        eventCaptor
+            .getAllValues()
+            .stream()
+            .filter(RuntimeStartPhaseEvent.class::isInstance)
+            .map(RuntimeStartPhaseEvent.class::cast)
+            .collect(Collectors.toList());
+    assertEquals(events.size(), 2);
+    assertEquals(events.get(1).getPhase(), WorkspaceRuntimes.RUNTIME_START_PHASE);
+    assertFalse(events.get(1).isSucceeded());
+  }
+
   @Test
   public void internalEnvironmentCreationShouldRespectNoEnvironmentCase() throws Exception {
     InternalEnvironmentFactory noEnvFactory = mock(InternalEnvironmentFactory.class);
@@ -220,7 +312,9 @@ public class WorkspaceRuntimesTest {
             probeScheduler,
             statuses,
             lockService,
-            devfileConverter);
+            devfileConverter,
+            recoveryQueue,
+            runtimeSnapshots);
     InternalEnvironment expectedEnvironment = mock(InternalEnvironment.class);
     when(noEnvFactory.create(eq(null))).thenReturn(expectedEnvironment);
 
@@ -462,6 +556,23 @@ public class WorkspaceRuntimesTest {
     assertEquals(workspace3.getStatus(), WorkspaceStatus.STARTING);
   }
 
+  @Test
+  public void shouldFetchRuntimeIdentitiesPageByPageOnRecovery() throws Exception {
+    // given
+    Set<RuntimeIdentity> identities = generateRuntimeIdentitySet(250);
+    doReturn(identities).when(infrastructure).getIdentities();
+
+    // when
+    runtimes.recover();
+
+    // then
+    verify(infrastructure, times(3)).getIdentities(any(), eq(100));
+    for (RuntimeIdentity identity : identities) {
+      verify(statuses).putIfAbsent(identity.getWorkspaceId(), WorkspaceStatus.STARTING);
+    }
+    verify(sharedPool).execute(any(WorkspaceRuntimes.RecoverRuntimesTask.class));
+  }
+
   @Test
   public void shouldRecoverEachRuntimeOnlyOnce() throws Exception {
     // Given
@@ -593,7 +704,9 @@ public class WorkspaceRuntimesTest {
             probeScheduler,
             statuses,
             lockService,
-            devfileConverter);
+            devfileConverter,
+            recoveryQueue,
+            runtimeSnapshots);
     localRuntimes.init();
     RuntimeIdentityDto identity =
         DtoFactory.newDto(RuntimeIdentityDto.class)
@@ -635,7 +748,9 @@ public class WorkspaceRuntimesTest {
             probeScheduler,
             statuses,
             lockService,
-            devfileConverter);
+            devfileConverter,
+            recoveryQueue,
+            runtimeSnapshots);
     localRuntimes.init();
     RuntimeIdentityDto identity =
         DtoFactory.newDto(RuntimeIdentityDto.class)
@@ -686,7 +801,9 @@ public class WorkspaceRuntimesTest {
             probeScheduler,
             statuses,
             lockService,
-            devfileConverter);
+            devfileConverter,
+            recoveryQueue,
+            runtimeSnapshots);
 
     // when
     localRuntimes.injectRuntime(workspace);
@@ -696,6 +813,50 @@ public class WorkspaceRuntimesTest {
     assertEquals(workspace.getRuntime(), asRuntime(testRuntime));
   }
 
+  @Test
+  public void shouldRecoverQueuedRuntimeOnDemand() throws Exception {
+    // given
+    RuntimeIdentity identity =
+        new RuntimeIdentityImpl("workspace123", "my-env", "myId", "infraNamespace");
+    mockWorkspaceWithConfig(identity);
+    RuntimeContext context = mockContext(identity);
+    TestInternalRuntime testRuntime =
+        new TestInternalRuntime(context, emptyMap(), WorkspaceStatus.STARTING);
+    when(context.getRuntime()).thenReturn(testRuntime);
+    doReturn(context).when(infrastructure).prepare(eq(identity), any());
+    doReturn(mock(InternalEnvironment.class)).when(testEnvFactory).create(any());
+
+    // keep the runtime in the queue until it is requested
+    CountDownLatch queued = new CountDownLatch(1);
+    CountDownLatch requested = new CountDownLatch(1);
+    Thread recovery =
+        new Thread(
+            () -> {
+              try {
+                recoveryQueue.recoverAll(
+                    singleton(identity),
+                    id -> {
+                      queued.countDown();
+                      requested.await();
+                      return false;
+                    });
+              } catch (InterruptedException ignored) {
+              }
+            });
+    recovery.start();
+    assertTrue(queued.await(10, TimeUnit.SECONDS));
+
+    // when
+    InternalRuntime<?> runtime = runtimes.getInternalRuntime(identity.getWorkspaceId());
+    requested.countDown();
+    recovery.join(10_000);
+
+    // then
+    assertEquals(runtime, testRuntime);
+    assertEquals(recoveryQueue.getQueuedCount(), 0);
+    verify(infrastructure, never()).getIdentity(anyString());
+  }
+
   @Test
   public void shouldRecoverRuntimeWhenThereIsNotCachedOneDuringInjecting() throws Exception {
     // given
@@ -712,7 +873,7 @@ public class WorkspaceRuntimesTest {
         new TestInternalRuntime(context, machines, WorkspaceStatus.STARTING);
     when(context.getRuntime()).thenReturn(testRuntime);
     doReturn(mock(InternalEnvironment.class)).when(testEnvFactory).create(any());
-    doReturn(ImmutableSet.of(identity)).when(infrastructure).getIdentities();
+    doReturn(Optional.of(identity)).when(infrastructure).getIdentity("workspace123");
 
     // when
     WorkspaceImpl workspace = new WorkspaceImpl();
@@ -830,14 +991,8 @@ public class WorkspaceRuntimesTest {
   @Test
   public void shouldReturnWorkspaceIdsOfRunningRuntimes() {
     // given
-    when(statuses.asMap())
-        .thenReturn(
-            ImmutableMap.of(
-                "ws1", WorkspaceStatus.STARTING,
-                "ws2", WorkspaceStatus.RUNNING,
-                "ws3", WorkspaceStatus.RUNNING,
-                "ws4", WorkspaceStatus.RUNNING,
-                "ws5", WorkspaceStatus.STOPPING));
+    when(statuses.getByStatus(WorkspaceStatus.RUNNING))
+        .thenReturn(ImmutableSet.of("ws2", "ws3", "ws4"));
 
     // when
     Set<String> running = runtimes.getRunning();
@@ -847,6 +1002,52 @@ public class WorkspaceRuntimesTest {
     assertTrue(running.containsAll(asList("ws2", "ws3", "ws4")));
   }
 
+  @Test
+  public void shouldReturnIdsOfStartingAndStoppingWorkspacesOwnedByThisRuntimes() {
+    // given
+    when(statuses.getOwnedBy(anyString())).thenReturn(ImmutableSet.of("ws1", "ws2", "ws3"));
+    doReturn(WorkspaceStatus.STARTING).when(statuses).get("ws1");
+    doReturn(WorkspaceStatus.RUNNING).when(statuses).get("ws2");
+    doReturn(WorkspaceStatus.STOPPING).when(statuses).get("ws3");
+
+    // when
+    Set<String> inProgress = runtimes.getInProgress();
+
+    // then
+    assertEquals(inProgress, ImmutableSet.of("ws1", "ws3"));
+    verify(statuses, never()).asMap();
+  }
+
+  @Test
+  public void shouldReturnFalseWhenThereIsNoOwnedWorkspaceInProgress() {
+    // given
+    when(statuses.getOwnedBy(anyString())).thenReturn(ImmutableSet.of("ws2"));
+    when(statuses.get("ws2")).thenReturn(WorkspaceStatus.RUNNING);
+
+    // when
+    boolean anyInProgress = runtimes.isAnyInProgress();
+
+    // then
+    assertFalse(anyInProgress);
+  }
+
+  @Test
+  public void shouldMarkWorkspaceAsOwnedByThisRuntimesWhenStoppingIt() throws Exception {
+    // given
+    WorkspaceImpl workspace = new WorkspaceImpl();
+    workspace.setId("ws1");
+    when(workspaceDao.get("ws1")).thenReturn(workspace);
+    when(statuses.get("ws1")).thenReturn(WorkspaceStatus.RUNNING);
+    when(statuses.replace("ws1", WorkspaceStatus.RUNNING, WorkspaceStatus.STOPPING))
+        .thenReturn(true);
+
+    // when
+    runtimes.stopAsync(workspace, emptyMap());
+
+    // then
+    verify(statuses).setOwner(eq("ws1"), anyString());
+  }
+
   private RuntimeIdentityImpl newRandomRuntimeIdentity() {
     return new RuntimeIdentityImpl(
         generate("workspace", 6),
@@ -75,7 +75,7 @@ public class WorkspaceServiceTerminationTest {
     when(workspaceRuntimes.getActive()).thenReturn(Collections.singleton(workspaceId));
     when(workspaceRuntimes.getStatus(workspaceId)).thenReturn(status);
 
-    when(runtimeInfrastructure.getIdentities()).thenReturn(Collections.emptySet());
+    when(runtimeInfrastructure.getIdentities(null, 1)).thenReturn(Collections.emptyList());
 
     // once stopped change the flag
     doAnswer(
@@ -41,6 +41,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -78,6 +80,7 @@ import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ServerImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.api.workspace.shared.dto.CommandDto;
@@ -89,6 +92,7 @@ import org.eclipse.che.api.workspace.shared.dto.ServerDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.DevfileDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.MetadataDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.ProjectDto;
@@ -804,6 +808,64 @@ public class WorkspaceServiceTest {
         singletonList(workspace2));
   }
 
+  @Test
+  public void shouldGetWorkspaceSummariesWithLinkToNextPage() throws Exception {
+    final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("ws1", "a", NAMESPACE, false);
+    summary1.setStatus(WorkspaceStatus.RUNNING);
+    summary1.getAttributes().put("created", "12345");
+    final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("ws2", "b", NAMESPACE, true);
+    summary2.setStatus(WorkspaceStatus.RUNNING);
+    when(wsManager.getWorkspaceSummaries(USER_ID, WorkspaceStatus.RUNNING, "ws0", 2))
+        .thenReturn(asList(summary1, summary2));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary?status=running&maxItems=2&after=ws0");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertTrue(response.getHeader("Link").contains("after=ws2"));
+    assertTrue(response.getHeader("Link").endsWith("rel=\"next\""));
+    assertEquals(
+        unwrapDtoList(response, WorkspaceSummaryDto.class),
+        asList(asDto(summary1), asDto(summary2)));
+  }
+
+  @Test
+  public void shouldNotProvideLinkToNextPageWhenLastPageOfWorkspaceSummariesIsReturned()
+      throws Exception {
+    final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl("ws1", "a", NAMESPACE, false);
+    summary.setStatus(STOPPED);
+    when(wsManager.getWorkspaceSummaries(USER_ID, null, null, 30))
+        .thenReturn(singletonList(summary));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertNull(response.getHeader("Link"));
+    assertEquals(unwrapDtoList(response, WorkspaceSummaryDto.class), singletonList(asDto(summary)));
+  }
+
+  @Test
+  public void shouldRespondWithBadRequestWhenWorkspaceSummariesStatusIsUnknown() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary?status=unknown");
+
+    assertEquals(response.getStatusCode(), 400);
+    verify(wsManager, never()).getWorkspaceSummaries(any(), any(), any(), anyInt());
+  }
+
   @Test
   public void shouldUpdateTheWorkspace() throws Exception {
     final WorkspaceImpl workspace = createWorkspace(createConfigDto());
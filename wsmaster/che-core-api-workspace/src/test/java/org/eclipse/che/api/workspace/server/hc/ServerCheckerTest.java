@@ -17,11 +17,13 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
-import java.util.Timer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -36,17 +38,19 @@ public class ServerCheckerTest {
   private static final long TEST_TIMEOUT_MS = CHECKER_TIMEOUT_MS + 5000;
   private static final int SUCCESS_THRESHOLD = 1;
 
-  private Timer timer;
+  private ScheduledExecutorService executor;
+  private ServerCheckerScheduler scheduler;
   private TestServerChecker checker;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    timer = new Timer(true);
+    executor = Executors.newSingleThreadScheduledExecutor();
+    scheduler = new ServerCheckerScheduler(executor);
   }
 
   @AfterMethod
   public void tearDown() throws Exception {
-    timer.cancel();
+    executor.shutdownNow();
   }
 
   @Test(timeOut = TEST_TIMEOUT_MS)
@@ -59,7 +63,7 @@ public class ServerCheckerTest {
             CHECKER_TIMEOUT_MS,
             SUCCESS_THRESHOLD,
             TimeUnit.MILLISECONDS,
-            timer);
+            scheduler);
     CompletableFuture<String> reportCompFuture = checker.getReportCompFuture();
     // not considered as available before start
     assertFalse(reportCompFuture.isDone());
@@ -89,7 +93,7 @@ public class ServerCheckerTest {
             PERIOD_MS * 2,
             SUCCESS_THRESHOLD,
             TimeUnit.MILLISECONDS,
-            timer);
+            scheduler);
 
     // ensure server not available before start
     checker.setAvailable(false);
@@ -107,6 +111,53 @@ public class ServerCheckerTest {
     }
   }
 
+  @Test(timeOut = TEST_TIMEOUT_MS)
+  public void shouldRecordPerformedChecks() throws Exception {
+    AtomicInteger checks = new AtomicInteger();
+    ServerChecker checker =
+        new ServerChecker(
+            MACHINE_NAME,
+            SERVER_REF,
+            PERIOD_MS,
+            CHECKER_TIMEOUT_MS,
+            SUCCESS_THRESHOLD,
+            TimeUnit.MILLISECONDS,
+            scheduler) {
+          @Override
+          public boolean isAvailable() {
+            // unavailable on the first check only
+            return checks.incrementAndGet() > 1;
+          }
+        };
+
+    checker.start();
+    checker.getReportCompFuture().get();
+
+    assertEquals(scheduler.getChecksCount(false), 1);
+    assertEquals(scheduler.getChecksCount(true), 1);
+  }
+
+  @Test(timeOut = TEST_TIMEOUT_MS)
+  public void shouldNotCheckServerAfterStop() throws Exception {
+    checker =
+        new TestServerChecker(
+            MACHINE_NAME,
+            SERVER_REF,
+            PERIOD_MS,
+            CHECKER_TIMEOUT_MS,
+            SUCCESS_THRESHOLD,
+            TimeUnit.MILLISECONDS,
+            scheduler);
+    CountDownLatch isAvailableCountDownLatch = checker.setAvailable(false);
+    checker.start();
+    isAvailableCountDownLatch.await();
+
+    checker.stop();
+    isAvailableCountDownLatch = checker.setAvailable(true);
+
+    assertFalse(isAvailableCountDownLatch.await(PERIOD_MS * 10, TimeUnit.MILLISECONDS));
+  }
+
   @Test(expectedExceptions = InfrastructureException.class)
   public void checkOnceThrowsExceptionIfServerIsNotAvailable() throws InfrastructureException {
     new TestServerChecker("test", "test", 1, 1, 1, TimeUnit.SECONDS, null).checkOnce(ref -> {});
@@ -125,8 +176,8 @@ public class ServerCheckerTest {
         long timeout,
         int successThreshold,
         TimeUnit timeUnit,
-        Timer timer) {
-      super(machineName, serverRef, period, timeout, successThreshold, timeUnit, timer);
+        ServerCheckerScheduler scheduler) {
+      super(machineName, serverRef, period, timeout, successThreshold, timeUnit, scheduler);
     }
 
     @Override
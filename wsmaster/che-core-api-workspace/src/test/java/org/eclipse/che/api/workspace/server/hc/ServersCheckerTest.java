@@ -62,6 +62,7 @@ public class ServersCheckerTest {
   @Mock private MachineTokenProvider machineTokenProvider;
   @Mock private HttpConnectionServerChecker connectionChecker;
   @Mock private RuntimeIdentity runtimeIdentity;
+  @Mock private ServerCheckerScheduler scheduler;
   private Map<String, ServerImpl> servers;
 
   private ServersChecker checker;
@@ -91,7 +92,8 @@ public class ServersCheckerTest {
                 machineTokenProvider,
                 SERVER_PING_SUCCESS_THRESHOLD,
                 SERVER_PING_INTERVAL_MILLIS,
-                CONFIGURED_SERVERS));
+                CONFIGURED_SERVERS,
+                scheduler));
     when(checker.doCreateChecker(any(URL.class), anyString(), anyString()))
         .thenReturn(connectionChecker);
     when(machineTokenProvider.getToken(anyString(), anyString())).thenReturn(MACHINE_TOKEN);
@@ -17,7 +17,6 @@ import static org.testng.Assert.assertTrue;
 
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.Timer;
 import java.util.concurrent.TimeUnit;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -31,7 +30,7 @@ public class TerminalHttpConnectionServerCheckerTest {
   private String MACHINE_NAME = "mach1";
   private String SERVER_REF = "ref1";
 
-  @Mock private Timer timer;
+  @Mock private ServerCheckerScheduler scheduler;
   @Mock private HttpURLConnection conn;
 
   private TerminalHttpConnectionServerChecker checker;
@@ -47,7 +46,7 @@ public class TerminalHttpConnectionServerCheckerTest {
             10,
             1,
             TimeUnit.SECONDS,
-            timer,
+            scheduler,
             null);
   }
 
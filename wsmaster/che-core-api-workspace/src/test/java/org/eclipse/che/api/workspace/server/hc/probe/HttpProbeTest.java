@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link HttpProbe}. */
+public class HttpProbeTest {
+
+  private static final int TIMEOUT = 5_000;
+
+  private HttpServer server;
+  /** Client side addresses of the connections that requests were received from. */
+  private Set<InetSocketAddress> connections;
+
+  private volatile int responseCode;
+  private volatile byte[] responseBody;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    connections = ConcurrentHashMap.newKeySet();
+    responseCode = 200;
+    responseBody = "ok".getBytes(UTF_8);
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          connections.add(exchange.getRemoteAddress());
+          byte[] body = responseBody;
+          exchange.sendResponseHeaders(responseCode, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    server.start();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void shouldReuseConnectionForConsecutiveProbesOfServer() throws Exception {
+    assertTrue(newProbe().probe());
+    assertTrue(newProbe().probe());
+    assertTrue(newProbe().probe());
+
+    assertEquals(connections.size(), 1);
+  }
+
+  @Test
+  public void shouldReuseConnectionAfterFailedProbe() throws Exception {
+    responseCode = 503;
+    responseBody = "unavailable".getBytes(UTF_8);
+
+    assertFalse(newProbe().probe());
+    assertFalse(newProbe().probe());
+
+    assertEquals(connections.size(), 1);
+  }
+
+  @Test
+  public void shouldNotReuseConnectionWhenResponseBodyIsTooBigToBeDrained() throws Exception {
+    byte[] body = new byte[16 * 1024];
+    Arrays.fill(body, (byte) 'a');
+    responseBody = body;
+
+    assertTrue(newProbe().probe());
+    assertTrue(newProbe().probe());
+
+    assertEquals(connections.size(), 2);
+  }
+
+  @Test
+  public void shouldFailProbeWhenServerIsNotAvailable() throws Exception {
+    HttpProbe probe = newProbe();
+    server.stop(0);
+
+    assertFalse(probe.probe());
+  }
+
+  @Test
+  public void shouldIgnoreCancellationOfFinishedProbe() throws Exception {
+    HttpProbe probe = newProbe();
+    assertTrue(probe.probe());
+
+    probe.cancel();
+  }
+
+  private HttpProbe newProbe() throws Exception {
+    InetSocketAddress address = server.getAddress();
+    URL url = new URL("http", address.getHostString(), address.getPort(), "/api/liveness");
+    return new HttpProbe(url, TIMEOUT, emptyMap());
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.eclipse.che.api.workspace.server.hc.probe.ProbeResult.ProbeStatus;
+import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ProbeScheduler}. */
+public class ProbeSchedulerTest {
+
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final int TIMEOUT_SECONDS = 1;
+  private static final int PERIOD_SECONDS = 1;
+
+  private ProbeScheduler probeScheduler;
+  private BlockingQueue<ProbeResult> results;
+  private AtomicInteger probesStarted;
+  private AtomicInteger probesCancelled;
+
+  @BeforeMethod
+  public void setUp() {
+    probeScheduler = new ProbeScheduler(2, new NoopExecutorServiceWrapper());
+    results = new LinkedBlockingQueue<>();
+    probesStarted = new AtomicInteger();
+    probesCancelled = new AtomicInteger();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    probeScheduler.shutdown();
+  }
+
+  @Test
+  public void shouldCancelHangingProbeOnTimeout() throws Exception {
+    CountDownLatch neverReleased = new CountDownLatch(1);
+    probeScheduler.schedule(probes(() -> awaitQuietly(neverReleased)), results::add);
+
+    ProbeResult result = results.poll(TIMEOUT_SECONDS + 5, TimeUnit.SECONDS);
+
+    assertNotNull(result);
+    assertEquals(result.getStatus(), ProbeStatus.FAILED);
+    assertEquals(result.getWorkspaceId(), WORKSPACE_ID);
+    assertTrue(probesCancelled.get() >= 1);
+  }
+
+  @Test
+  public void shouldNotCancelProbesFinishedBeforeTimeout() throws Exception {
+    probeScheduler.schedule(probes(() -> true), results::add);
+
+    for (int i = 0; i < 3; i++) {
+      ProbeResult result = results.poll(PERIOD_SECONDS + 5, TimeUnit.SECONDS);
+      assertNotNull(result);
+      assertEquals(result.getStatus(), ProbeStatus.PASSED);
+    }
+    probeScheduler.cancel(WORKSPACE_ID);
+    // give timeouts of the finished probes a chance to fire if they were not cancelled
+    TimeUnit.MILLISECONDS.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS) + 500);
+
+    assertTrue(probesStarted.get() >= 3);
+    assertEquals(probesCancelled.get(), 0);
+  }
+
+  @Test
+  public void shouldStopProbingWorkspaceWhenItsProbesAreCancelled() throws Exception {
+    probeScheduler.schedule(probes(() -> true), results::add);
+    assertNotNull(results.poll(PERIOD_SECONDS + 5, TimeUnit.SECONDS));
+
+    probeScheduler.cancel(WORKSPACE_ID);
+    // let a probe that is running at the moment of cancellation finish
+    TimeUnit.MILLISECONDS.sleep(500);
+    int startedAfterCancellation = probesStarted.get();
+    TimeUnit.SECONDS.sleep(PERIOD_SECONDS * 2);
+
+    assertEquals(probesStarted.get(), startedAfterCancellation);
+  }
+
+  private WorkspaceProbes probes(BooleanSupplier body) {
+    ProbeConfig config = new TcpProbeConfig(1, 1, TIMEOUT_SECONDS, PERIOD_SECONDS, 0, 80, "host");
+    ProbeFactory factory =
+        new ProbeFactory(WORKSPACE_ID, "machine", "server", config) {
+          @Override
+          public Probe get() {
+            return new Probe() {
+              @Override
+              protected boolean doProbe() {
+                probesStarted.incrementAndGet();
+                return body.getAsBoolean();
+              }
+
+              @Override
+              public void cancel() {
+                probesCancelled.incrementAndGet();
+                super.cancel();
+              }
+            };
+          }
+        };
+    return new WorkspaceProbes(WORKSPACE_ID, singletonList(factory));
+  }
+
+  private static boolean awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+      return true;
+    } catch (InterruptedException e) {
+      return false;
+    }
+  }
+}
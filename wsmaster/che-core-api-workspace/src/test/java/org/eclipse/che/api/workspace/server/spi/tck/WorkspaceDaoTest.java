@@ -12,9 +12,12 @@
 package org.eclipse.che.api.workspace.server.spi.tck;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ABNORMALLY_ATTRIBUTE_NAME;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
@@ -52,6 +55,7 @@ import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.VolumeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.ActionImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.ComponentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
@@ -295,6 +299,59 @@ public class WorkspaceDaoTest {
     workspaceDao.getWorkspaces(true, -2, 0);
   }
 
+  @Test
+  public void shouldGetWorkspaceSummariesPageByPage() throws Exception {
+    final List<WorkspaceSummaryImpl> firstPage =
+        workspaceDao.getWorkspaceSummaries("user", null, null, 2);
+    final List<WorkspaceSummaryImpl> secondPage =
+        workspaceDao.getWorkspaceSummaries("user", null, firstPage.get(1).getId(), 2);
+    final List<WorkspaceSummaryImpl> lastPage =
+        workspaceDao.getWorkspaceSummaries("user", null, secondPage.get(1).getId(), 2);
+
+    assertEquals(firstPage, asList(asSummary(workspaces[0]), asSummary(workspaces[1])));
+    assertEquals(secondPage, asList(asSummary(workspaces[2]), asSummary(workspaces[3])));
+    assertEquals(lastPage, singletonList(asSummary(workspaces[4])));
+  }
+
+  @Test
+  public void shouldGetWorkspaceSummariesByIds() throws Exception {
+    final List<WorkspaceSummaryImpl> summaries =
+        workspaceDao.getWorkspaceSummaries(
+            "user",
+            asList(workspaces[3].getId(), workspaces[1].getId(), workspaces[0].getId()),
+            workspaces[0].getId(),
+            30);
+
+    assertEquals(summaries, asList(asSummary(workspaces[1]), asSummary(workspaces[3])));
+  }
+
+  @Test
+  public void shouldReturnEmptySummariesListWhenIdsAreEmpty() throws Exception {
+    assertTrue(workspaceDao.getWorkspaceSummaries("user", emptyList(), null, 30).isEmpty());
+  }
+
+  @Test
+  public void shouldFetchOnlySummaryAttributesOfWorkspaces() throws Exception {
+    final WorkspaceImpl workspace = workspaces[2];
+    workspace.getAttributes().put(CREATED_ATTRIBUTE_NAME, "12345");
+    workspace.getAttributes().put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, "true");
+    workspace.setTemporary(true);
+    workspaceDao.update(workspace);
+
+    final List<WorkspaceSummaryImpl> summaries =
+        workspaceDao.getWorkspaceSummaries("user", singletonList(workspace.getId()), null, 30);
+
+    final WorkspaceSummaryImpl expected = asSummary(workspace);
+    expected.getAttributes().put(CREATED_ATTRIBUTE_NAME, "12345");
+    expected.getAttributes().put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, "true");
+    assertEquals(summaries, singletonList(expected));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionOnNegativeSummariesLimit() throws Exception {
+    workspaceDao.getWorkspaceSummaries("user", null, null, -1);
+  }
+
   @Test
   public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
     final boolean[] isNotified = new boolean[] {false};
@@ -823,6 +880,11 @@ public class WorkspaceDaoTest {
     return wCfg;
   }
 
+  private static WorkspaceSummaryImpl asSummary(WorkspaceImpl workspace) {
+    return new WorkspaceSummaryImpl(
+        workspace.getId(), workspace.getName(), workspace.getNamespace(), workspace.isTemporary());
+  }
+
   public static WorkspaceImpl createWorkspaceFromConfig(
       String id, AccountImpl account, String name) {
     final WorkspaceConfigImpl wCfg = createWorkspaceConfig(name);
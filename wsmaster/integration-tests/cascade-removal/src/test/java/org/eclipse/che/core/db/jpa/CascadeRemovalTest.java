@@ -69,6 +69,8 @@ import org.eclipse.che.api.workspace.activity.WorkspaceActivityDao;
 import org.eclipse.che.api.workspace.activity.inject.WorkspaceActivityModule;
 import org.eclipse.che.api.workspace.server.DefaultWorkspaceLockService;
 import org.eclipse.che.api.workspace.server.DefaultWorkspaceStatusCache;
+import org.eclipse.che.api.workspace.server.RuntimeRecoveryQueue;
+import org.eclipse.che.api.workspace.server.RuntimeSnapshotCache;
 import org.eclipse.che.api.workspace.server.WorkspaceAttributeValidator;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
@@ -239,6 +241,9 @@ public class CascadeRemovalTest {
                 bind(Long.class)
                     .annotatedWith(Names.named("che.limits.workspace.idle.timeout"))
                     .toInstance(100000L);
+                bind(Long.class)
+                    .annotatedWith(Names.named("che.workspace.activity_flush_period_s"))
+                    .toInstance(-1L);
                 bind(UserManager.class);
                 bind(AccountManager.class);
 
@@ -269,7 +274,9 @@ public class CascadeRemovalTest {
                             mock(ProbeScheduler.class),
                             new DefaultWorkspaceStatusCache(),
                             new DefaultWorkspaceLockService(),
-                            mock(DevfileConverter.class)));
+                            mock(DevfileConverter.class),
+                            mock(RuntimeRecoveryQueue.class),
+                            mock(RuntimeSnapshotCache.class)));
                 when(wR.hasRuntime(anyString())).thenReturn(false);
                 bind(WorkspaceRuntimes.class).toInstance(wR);
                 bind(AccountManager.class);